@@ -1,5 +1,6 @@
 package org.qcri.rheem.basic.data;
 
+import org.qcri.rheem.basic.types.RecordType;
 import org.qcri.rheem.core.util.Copyable;
 import org.qcri.rheem.core.util.ReflectionUtils;
 
@@ -9,18 +10,130 @@ import java.util.Objects;
 
 /**
  * A Type that represents a record with a schema, might be replaced with something standard like JPA entity.
+ * <p>Instances can be bound to a {@link RecordType} that declares the classes of its fields (see
+ * {@link #Record(RecordType)}). Then, fixed-width fields (see {@link FieldKind}) are stored as primitives rather than
+ * as boxed objects. Bound and unbound instances with the same field values are equal.</p>
  */
 public class Record implements Serializable, Copyable<Record> {
 
+    /**
+     * Kinds of fields that determine how bound {@link Record}s and {@link RecordBatch}es store them.
+     */
+    public enum FieldKind {
+
+        /**
+         * {@link Integer} fields, stored as {@code int}s.
+         */
+        INT,
+
+        /**
+         * {@link Long} fields, stored as {@code long}s.
+         */
+        LONG,
+
+        /**
+         * {@link Double} fields, stored as {@code double}s.
+         */
+        DOUBLE,
+
+        /**
+         * Any other fields, stored as objects.
+         */
+        OBJECT;
+
+        /**
+         * Determines the {@link FieldKind} for fields of the given {@link Class}.
+         *
+         * @param fieldClass the {@link Class} of the field or {@code null} if unknown
+         * @return the {@link FieldKind}
+         */
+        public static FieldKind of(Class<?> fieldClass) {
+            if (fieldClass == Integer.class || fieldClass == int.class) return INT;
+            if (fieldClass == Long.class || fieldClass == long.class) return LONG;
+            if (fieldClass == Double.class || fieldClass == double.class) return DOUBLE;
+            return OBJECT;
+        }
+
+        /**
+         * Tells whether the given value can be stored as a primitive of this kind.
+         *
+         * @param value the value
+         * @return whether the value is an instance of the {@link Class} that corresponds to this kind
+         */
+        public boolean accepts(Object value) {
+            switch (this) {
+                case INT:
+                    return value instanceof Integer;
+                case LONG:
+                    return value instanceof Long;
+                case DOUBLE:
+                    return value instanceof Double;
+                default:
+                    return false;
+            }
+        }
+    }
+
+    /**
+     * Holds the values of all fields of unbound instances. Bound instances hold here only the values that are not
+     * stored in {@link #primitives}.
+     */
     private Object[] values;
 
+    /**
+     * {@link FieldKind}s of the fields of bound instances; {@code null} for unbound instances.
+     */
+    private FieldKind[] fieldKinds;
+
+    /**
+     * Raw bits of the fixed-width fields of bound instances; {@code null} for unbound instances.
+     */
+    private long[] primitives;
+
+    /**
+     * Bitmask of the fixed-width fields of bound instances that are {@code null}; {@code null} for unbound instances.
+     */
+    private long[] nullFlags;
+
     public Record(Object... values) {
         this.values = values;
     }
 
+    /**
+     * Creates a new instance that is bound to the given {@link RecordType}. All its fields are initially {@code null}.
+     *
+     * @param recordType describes the fields of the new instance
+     */
+    public Record(RecordType recordType) {
+        this(recordType.getFieldKinds());
+    }
+
+    /**
+     * Creates a new, bound instance whose fields are initially {@code null}.
+     *
+     * @param fieldKinds the {@link FieldKind}s of the fields
+     */
+    Record(FieldKind[] fieldKinds) {
+        final int numFields = fieldKinds.length;
+        this.values = new Object[numFields];
+        this.fieldKinds = fieldKinds;
+        this.primitives = new long[numFields];
+        this.nullFlags = new long[(numFields + 63) >>> 6];
+        Arrays.fill(this.nullFlags, -1L);
+    }
+
+    private Record(Record that) {
+        this.values = that.values.clone();
+        this.fieldKinds = that.fieldKinds;
+        if (that.fieldKinds != null) {
+            this.primitives = that.primitives.clone();
+            this.nullFlags = that.nullFlags.clone();
+        }
+    }
+
     @Override
     public Record copy() {
-        return new Record(this.values.clone());
+        return new Record(this);
     }
 
     @Override
@@ -28,21 +141,197 @@ public class Record implements Serializable, Copyable<Record> {
         if (this == o) return true;
         if (o == null || this.getClass() != o.getClass()) return false;
         Record record2 = (Record) o;
-        return Arrays.equals(this.values, record2.values);
+        if (this.fieldKinds == null && record2.fieldKinds == null) {
+            return Arrays.equals(this.values, record2.values);
+        }
+        if (this.size() != record2.size()) return false;
+        for (int i = 0; i < this.size(); i++) {
+            if (!this.isFieldEqual(i, record2)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Compares a field of this instance to the same field of a further instance without boxing fixed-width fields.
+     */
+    private boolean isFieldEqual(int index, Record that) {
+        final FieldKind kind = this.getPrimitiveKind(index);
+        if (kind == null || kind != that.getPrimitiveKind(index)) {
+            return Objects.equals(this.getField(index), that.getField(index));
+        }
+        final long bits1 = this.primitives[index], bits2 = that.primitives[index];
+        if (kind == FieldKind.DOUBLE) {
+            return Double.doubleToLongBits(Double.longBitsToDouble(bits1))
+                    == Double.doubleToLongBits(Double.longBitsToDouble(bits2));
+        }
+        return bits1 == bits2;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(Arrays.hashCode(values));
+        // Consistent with Arrays.hashCode(...) on the boxed fields.
+        int hashCode = 1;
+        for (int i = 0; i < this.size(); i++) {
+            hashCode = 31 * hashCode + this.getFieldHashCode(i);
+        }
+        return hashCode;
+    }
+
+    /**
+     * Calculates the hash code of a field without boxing fixed-width fields.
+     */
+    private int getFieldHashCode(int index) {
+        final FieldKind kind = this.getPrimitiveKind(index);
+        if (kind == null) return Objects.hashCode(this.values[index]);
+        final long bits = this.primitives[index];
+        switch (kind) {
+            case INT:
+                return (int) bits;
+            case LONG:
+                return Long.hashCode(bits);
+            default:
+                return Double.hashCode(Double.longBitsToDouble(bits));
+        }
     }
 
     @Override
     public String toString() {
-        return "Record" + Arrays.toString(this.values);
+        final StringBuilder sb = new StringBuilder("Record[");
+        for (int i = 0; i < this.size(); i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(this.getField(i));
+        }
+        return sb.append(']').toString();
     }
 
     public Object getField(int index) {
-        return this.values[index];
+        final FieldKind kind = this.getPrimitiveKind(index);
+        if (kind == null) return this.values[index];
+        final long bits = this.primitives[index];
+        switch (kind) {
+            case INT:
+                return (int) bits;
+            case LONG:
+                return bits;
+            default:
+                return Double.longBitsToDouble(bits);
+        }
+    }
+
+    /**
+     * Tells whether a field is stored as a primitive.
+     *
+     * @param index the index of the field
+     * @return the {@link FieldKind} of the primitive or {@code null} if the field is stored as an object
+     */
+    private FieldKind getPrimitiveKind(int index) {
+        if (this.fieldKinds == null) return null;
+        final FieldKind kind = this.fieldKinds[index];
+        if (kind == FieldKind.OBJECT || this.values[index] != null || this.isNullFlagged(index)) return null;
+        return kind;
+    }
+
+    private boolean isNullFlagged(int index) {
+        return (this.nullFlags[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private void setNullFlag(int index, boolean isNull) {
+        if (isNull) {
+            this.nullFlags[index >>> 6] |= 1L << index;
+        } else {
+            this.nullFlags[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * Set a field of this instance. For bound instances, fixed-width fields are unboxed.
+     *
+     * @param index the index of the field
+     * @param value the new value of the field
+     */
+    public void setField(int index, Object value) {
+        if (this.fieldKinds != null) {
+            final FieldKind kind = this.fieldKinds[index];
+            if (kind.accepts(value)) {
+                switch (kind) {
+                    case INT:
+                        this.setInt(index, (Integer) value);
+                        return;
+                    case LONG:
+                        this.setLong(index, (Long) value);
+                        return;
+                    default:
+                        this.setDouble(index, (Double) value);
+                        return;
+                }
+            }
+            // Values that do not match the kind of their field (and nulls) are stored as objects.
+            this.setNullFlag(index, value == null);
+        }
+        this.values[index] = value;
+    }
+
+    /**
+     * Set a field of this instance to an {@code int}. For bound instances, this does not involve boxing if the
+     * field is of {@link FieldKind#INT}.
+     *
+     * @param index the index of the field
+     * @param value the new value of the field
+     */
+    public void setInt(int index, int value) {
+        if (this.fieldKinds == null || this.fieldKinds[index] != FieldKind.INT) {
+            this.setField(index, (Object) value);
+            return;
+        }
+        this.primitives[index] = value;
+        this.values[index] = null;
+        this.setNullFlag(index, false);
+    }
+
+    /**
+     * Set a field of this instance to a {@code long}. For bound instances, this does not involve boxing if the
+     * field is of {@link FieldKind#LONG}.
+     *
+     * @param index the index of the field
+     * @param value the new value of the field
+     */
+    public void setLong(int index, long value) {
+        if (this.fieldKinds == null || this.fieldKinds[index] != FieldKind.LONG) {
+            this.setField(index, (Object) value);
+            return;
+        }
+        this.primitives[index] = value;
+        this.values[index] = null;
+        this.setNullFlag(index, false);
+    }
+
+    /**
+     * Set a field of this instance to a {@code double}. For bound instances, this does not involve boxing if the
+     * field is of {@link FieldKind#DOUBLE}.
+     *
+     * @param index the index of the field
+     * @param value the new value of the field
+     */
+    public void setDouble(int index, double value) {
+        if (this.fieldKinds == null || this.fieldKinds[index] != FieldKind.DOUBLE) {
+            this.setField(index, (Object) value);
+            return;
+        }
+        this.primitives[index] = Double.doubleToRawLongBits(value);
+        this.values[index] = null;
+        this.setNullFlag(index, false);
+    }
+
+    /**
+     * Tells whether a field is {@code null}.
+     *
+     * @param index the index of the field
+     * @return whether the field is {@code null}
+     */
+    public boolean isNull(int index) {
+        return this.values[index] == null && (this.fieldKinds == null
+                || this.fieldKinds[index] == FieldKind.OBJECT
+                || this.isNullFlagged(index));
     }
 
     /**
@@ -52,9 +341,14 @@ public class Record implements Serializable, Copyable<Record> {
      * @return the {@code double} representation of the field
      */
     public double getDouble(int index) {
+        final FieldKind kind = this.getPrimitiveKind(index);
+        if (kind != null) {
+            final long bits = this.primitives[index];
+            return kind == FieldKind.DOUBLE ? Double.longBitsToDouble(bits) : bits;
+        }
         Object field = this.values[index];
         return ReflectionUtils.toDouble(field);
-       }
+    }
 
     /**
      * Retrieve a field as a {@code long}. It must be castable as such.
@@ -63,7 +357,9 @@ public class Record implements Serializable, Copyable<Record> {
      * @return the {@code long} representation of the field
      */
     public long getLong(int index) {
-        Object field = this.values[index];
+        final FieldKind kind = this.getPrimitiveKind(index);
+        if (kind == FieldKind.LONG || kind == FieldKind.INT) return this.primitives[index];
+        Object field = this.getField(index);
         if (field instanceof Integer) return (Integer) field;
         else if (field instanceof Long) return (Long) field;
         else if (field instanceof Short) return (Short) field;
@@ -78,7 +374,9 @@ public class Record implements Serializable, Copyable<Record> {
      * @return the {@code int} representation of the field
      */
     public int getInt(int index) {
-        Object field = this.values[index];
+        final FieldKind kind = this.getPrimitiveKind(index);
+        if (kind == FieldKind.INT) return (int) this.primitives[index];
+        Object field = this.getField(index);
         if (field instanceof Integer) return (Integer) field;
         else if (field instanceof Short) return (Short) field;
         else if (field instanceof Byte) return (Byte) field;
@@ -92,7 +390,7 @@ public class Record implements Serializable, Copyable<Record> {
      * @return the field as a {@link String} (obtained via {@link Object#toString()}) or {@code null} if the field is {@code null}
      */
     public String getString(int index) {
-        Object field = this.values[index];
+        Object field = this.getField(index);
         return field == null ? null : field.toString();
     }
 
@@ -105,4 +403,88 @@ public class Record implements Serializable, Copyable<Record> {
         return this.values.length;
     }
 
+    /**
+     * Creates a new instance with a subset of the fields of this instance. If this instance is bound, then so is the
+     * new instance and fixed-width fields are not boxed.
+     *
+     * @param fieldIndices the indices of the fields to project on
+     * @return the new instance
+     */
+    public Record project(int... fieldIndices) {
+        if (this.fieldKinds == null) {
+            Object[] projectedFields = new Object[fieldIndices.length];
+            for (int i = 0; i < fieldIndices.length; i++) {
+                projectedFields[i] = this.values[fieldIndices[i]];
+            }
+            return new Record(projectedFields);
+        }
+        final FieldKind[] projectedKinds = new FieldKind[fieldIndices.length];
+        for (int i = 0; i < fieldIndices.length; i++) {
+            projectedKinds[i] = this.fieldKinds[fieldIndices[i]];
+        }
+        final Record projection = new Record(projectedKinds);
+        for (int i = 0; i < fieldIndices.length; i++) {
+            projection.copyField(i, this, fieldIndices[i]);
+        }
+        return projection;
+    }
+
+    /**
+     * Copies a field from a further instance of the same {@link FieldKind} into this (bound) instance.
+     *
+     * @param index       the index of the field in this instance
+     * @param that        the other instance
+     * @param sourceIndex the index of the field in the other instance
+     */
+    private void copyField(int index, Record that, int sourceIndex) {
+        if (that.getPrimitiveKind(sourceIndex) == null) {
+            this.setField(index, that.values[sourceIndex]);
+        } else {
+            this.primitives[index] = that.primitives[sourceIndex];
+            this.setNullFlag(index, false);
+        }
+    }
+
+    /**
+     * Provides the {@link FieldKind}s of this instance.
+     *
+     * @return the {@link FieldKind}s or {@code null} if this instance is not bound
+     */
+    FieldKind[] getFieldKinds() {
+        return this.fieldKinds;
+    }
+
+    /**
+     * Tells whether a field is stored as a primitive, so that its raw bits can be obtained via
+     * {@link #getPrimitiveBits(int)}.
+     *
+     * @param index the index of the field
+     * @return whether the field is stored as a primitive
+     */
+    boolean hasPrimitive(int index) {
+        return this.getPrimitiveKind(index) != null;
+    }
+
+    /**
+     * Provides the raw bits of a field that is stored as a primitive.
+     *
+     * @param index the index of the field
+     * @return the raw bits
+     */
+    long getPrimitiveBits(int index) {
+        return this.primitives[index];
+    }
+
+    /**
+     * Sets a fixed-width field of this (bound) instance to the given raw bits.
+     *
+     * @param index the index of the field
+     * @param bits  the raw bits
+     */
+    void setPrimitiveBits(int index, long bits) {
+        this.primitives[index] = bits;
+        this.values[index] = null;
+        this.setNullFlag(index, false);
+    }
+
 }
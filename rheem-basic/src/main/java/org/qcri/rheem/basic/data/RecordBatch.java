@@ -0,0 +1,413 @@
+package org.qcri.rheem.basic.data;
+
+import org.qcri.rheem.basic.types.RecordType;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Columnar {@link java.util.Collection} of {@link Record}s with a common {@link RecordType}. Fixed-width fields
+ * (see {@link Record.FieldKind}) are stored in primitive arrays. The {@link Record}s provided by an instance are
+ * bound to its {@link Record.FieldKind}s (see {@link Record#Record(RecordType)}), so that they can be consumed
+ * without boxing.
+ * <p>Instances are append-only and not thread-safe while being filled. They are {@link Serializable}, so that they
+ * can be broadcast like other {@link java.util.Collection}s of data quanta.</p>
+ */
+public class RecordBatch extends AbstractCollection<Record> implements Serializable {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /**
+     * Describes the {@link Record}s in this instance.
+     */
+    private final RecordType recordType;
+
+    /**
+     * Describes how the {@link #columns} are stored. This array is replaced rather than altered, because
+     * {@link Record}s provided by this instance share it.
+     */
+    private Record.FieldKind[] fieldKinds;
+
+    /**
+     * Contains an {@code int[]}, {@code long[]}, {@code double[]}, or {@code Object[]} per field according to the
+     * {@link #fieldKinds}.
+     */
+    private final Object[] columns;
+
+    /**
+     * Marks the {@code null} values of the fixed-width columns; entries are created lazily.
+     */
+    private final BitSet[] nullMasks;
+
+    /**
+     * Whether this instance shares its {@link #columns} with another instance and must therefore not be altered.
+     */
+    private final boolean isReadOnly;
+
+    private int capacity, size = 0;
+
+    /**
+     * Creates a new, empty instance.
+     *
+     * @param recordType describes the {@link Record}s to be added
+     */
+    public RecordBatch(RecordType recordType) {
+        this(recordType, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates a new, empty instance.
+     *
+     * @param recordType      describes the {@link Record}s to be added
+     * @param initialCapacity the number of {@link Record}s that can be added without resizing the columns
+     */
+    public RecordBatch(RecordType recordType, int initialCapacity) {
+        this.recordType = recordType;
+        this.fieldKinds = recordType.getFieldKinds();
+        this.capacity = Math.max(1, initialCapacity);
+        this.columns = new Object[this.fieldKinds.length];
+        for (int field = 0; field < this.columns.length; field++) {
+            this.columns[field] = createColumn(this.fieldKinds[field], this.capacity);
+        }
+        this.nullMasks = new BitSet[this.fieldKinds.length];
+        this.isReadOnly = false;
+    }
+
+    /**
+     * Creates a new, read-only instance on the given columns.
+     */
+    private RecordBatch(RecordType recordType,
+                        Record.FieldKind[] fieldKinds,
+                        Object[] columns,
+                        BitSet[] nullMasks,
+                        int size) {
+        this.recordType = recordType;
+        this.fieldKinds = fieldKinds;
+        this.columns = columns;
+        this.nullMasks = nullMasks;
+        this.capacity = this.size = size;
+        this.isReadOnly = true;
+    }
+
+    private static Object createColumn(Record.FieldKind fieldKind, int capacity) {
+        switch (fieldKind) {
+            case INT:
+                return new int[capacity];
+            case LONG:
+                return new long[capacity];
+            case DOUBLE:
+                return new double[capacity];
+            default:
+                return new Object[capacity];
+        }
+    }
+
+    /**
+     * Appends a {@link Record}. Fields that are stored as primitives in the {@link Record} are copied without boxing.
+     *
+     * @param record the {@link Record}; must have as many fields as the {@link RecordType} of this instance
+     * @return {@code true}
+     */
+    @Override
+    public boolean add(Record record) {
+        if (this.isReadOnly) {
+            throw new UnsupportedOperationException("Cannot add to a read-only record batch.");
+        }
+        if (record.size() != this.columns.length) {
+            throw new IllegalArgumentException(String.format("Cannot add %s to a batch of %s.", record, this.recordType));
+        }
+        if (this.size == this.capacity) {
+            this.grow();
+        }
+        final Record.FieldKind[] recordFieldKinds = record.getFieldKinds();
+        final int row = this.size;
+        for (int field = 0; field < this.columns.length; field++) {
+            final Record.FieldKind fieldKind = this.fieldKinds[field];
+            if (fieldKind != Record.FieldKind.OBJECT
+                    && recordFieldKinds != null
+                    && recordFieldKinds[field] == fieldKind
+                    && record.hasPrimitive(field)) {
+                this.setPrimitiveBits(row, field, record.getPrimitiveBits(field));
+            } else {
+                this.setValue(row, field, record.getField(field));
+            }
+        }
+        this.size++;
+        return true;
+    }
+
+    private void grow() {
+        final int newCapacity = (int) Math.min(Integer.MAX_VALUE - 8, this.capacity + (this.capacity >> 1) + 1L);
+        for (int field = 0; field < this.columns.length; field++) {
+            final Object column = this.columns[field];
+            if (column instanceof int[]) {
+                this.columns[field] = Arrays.copyOf((int[]) column, newCapacity);
+            } else if (column instanceof long[]) {
+                this.columns[field] = Arrays.copyOf((long[]) column, newCapacity);
+            } else if (column instanceof double[]) {
+                this.columns[field] = Arrays.copyOf((double[]) column, newCapacity);
+            } else {
+                this.columns[field] = Arrays.copyOf((Object[]) column, newCapacity);
+            }
+        }
+        this.capacity = newCapacity;
+    }
+
+    private void setPrimitiveBits(int row, int field, long bits) {
+        switch (this.fieldKinds[field]) {
+            case INT:
+                ((int[]) this.columns[field])[row] = (int) bits;
+                break;
+            case LONG:
+                ((long[]) this.columns[field])[row] = bits;
+                break;
+            case DOUBLE:
+                ((double[]) this.columns[field])[row] = Double.longBitsToDouble(bits);
+                break;
+            default:
+                throw new IllegalStateException();
+        }
+    }
+
+    private void setValue(int row, int field, Object value) {
+        final Record.FieldKind fieldKind = this.fieldKinds[field];
+        if (fieldKind == Record.FieldKind.OBJECT) {
+            ((Object[]) this.columns[field])[row] = value;
+        } else if (value == null) {
+            if (this.nullMasks[field] == null) this.nullMasks[field] = new BitSet();
+            this.nullMasks[field].set(row);
+        } else if (fieldKind.accepts(value)) {
+            switch (fieldKind) {
+                case INT:
+                    ((int[]) this.columns[field])[row] = (Integer) value;
+                    break;
+                case LONG:
+                    ((long[]) this.columns[field])[row] = (Long) value;
+                    break;
+                default:
+                    ((double[]) this.columns[field])[row] = (Double) value;
+            }
+        } else {
+            // The value does not fit the column, so we need to fall back to boxed values.
+            this.convertToObjectColumn(field);
+            ((Object[]) this.columns[field])[row] = value;
+        }
+    }
+
+    /**
+     * Converts a fixed-width column to an {@code Object[]}.
+     */
+    private void convertToObjectColumn(int field) {
+        final Object[] objectColumn = new Object[this.capacity];
+        for (int row = 0; row < this.size; row++) {
+            objectColumn[row] = this.getField(row, field);
+        }
+        this.columns[field] = objectColumn;
+        this.nullMasks[field] = null;
+        final Record.FieldKind[] newFieldKinds = this.fieldKinds.clone();
+        newFieldKinds[field] = Record.FieldKind.OBJECT;
+        this.fieldKinds = newFieldKinds;
+    }
+
+    /**
+     * Tells whether a field of a {@link Record} is {@code null}.
+     *
+     * @param row   the index of the {@link Record}
+     * @param field the index of the field
+     * @return whether the field is {@code null}
+     */
+    public boolean isNull(int row, int field) {
+        this.checkRow(row);
+        if (this.fieldKinds[field] == Record.FieldKind.OBJECT) {
+            return ((Object[]) this.columns[field])[row] == null;
+        }
+        return this.nullMasks[field] != null && this.nullMasks[field].get(row);
+    }
+
+    /**
+     * Retrieve a field of a {@link Record}.
+     *
+     * @param row   the index of the {@link Record}
+     * @param field the index of the field
+     * @return the field value
+     */
+    public Object getField(int row, int field) {
+        if (this.isNull(row, field)) return null;
+        final Object column = this.columns[field];
+        switch (this.fieldKinds[field]) {
+            case INT:
+                return ((int[]) column)[row];
+            case LONG:
+                return ((long[]) column)[row];
+            case DOUBLE:
+                return ((double[]) column)[row];
+            default:
+                return ((Object[]) column)[row];
+        }
+    }
+
+    /**
+     * Retrieve a field of a {@link Record} as an {@code int}. It must be castable as such.
+     *
+     * @param row   the index of the {@link Record}
+     * @param field the index of the field
+     * @return the {@code int} representation of the field
+     */
+    public int getInt(int row, int field) {
+        if (this.fieldKinds[field] == Record.FieldKind.INT && !this.isNull(row, field)) {
+            return ((int[]) this.columns[field])[row];
+        }
+        return new Record(this.getField(row, field)).getInt(0);
+    }
+
+    /**
+     * Retrieve a field of a {@link Record} as a {@code long}. It must be castable as such.
+     *
+     * @param row   the index of the {@link Record}
+     * @param field the index of the field
+     * @return the {@code long} representation of the field
+     */
+    public long getLong(int row, int field) {
+        if (!this.isNull(row, field)) {
+            switch (this.fieldKinds[field]) {
+                case INT:
+                    return ((int[]) this.columns[field])[row];
+                case LONG:
+                    return ((long[]) this.columns[field])[row];
+            }
+        }
+        return new Record(this.getField(row, field)).getLong(0);
+    }
+
+    /**
+     * Retrieve a field of a {@link Record} as a {@code double}. It must be castable as such.
+     *
+     * @param row   the index of the {@link Record}
+     * @param field the index of the field
+     * @return the {@code double} representation of the field
+     */
+    public double getDouble(int row, int field) {
+        if (!this.isNull(row, field)) {
+            switch (this.fieldKinds[field]) {
+                case INT:
+                    return ((int[]) this.columns[field])[row];
+                case LONG:
+                    return ((long[]) this.columns[field])[row];
+                case DOUBLE:
+                    return ((double[]) this.columns[field])[row];
+            }
+        }
+        return new Record(this.getField(row, field)).getDouble(0);
+    }
+
+    /**
+     * Provides a {@link Record} of this instance. The {@link Record} is bound, so that its fixed-width fields are
+     * not boxed.
+     *
+     * @param row the index of the {@link Record}
+     * @return the {@link Record}
+     */
+    public Record getRecord(int row) {
+        this.checkRow(row);
+        final Record record = new Record(this.fieldKinds);
+        for (int field = 0; field < this.columns.length; field++) {
+            final Object column = this.columns[field];
+            if (this.isNull(row, field)) continue;
+            switch (this.fieldKinds[field]) {
+                case INT:
+                    record.setPrimitiveBits(field, ((int[]) column)[row]);
+                    break;
+                case LONG:
+                    record.setPrimitiveBits(field, ((long[]) column)[row]);
+                    break;
+                case DOUBLE:
+                    record.setPrimitiveBits(field, Double.doubleToRawLongBits(((double[]) column)[row]));
+                    break;
+                default:
+                    record.setField(field, ((Object[]) column)[row]);
+            }
+        }
+        return record;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= this.size) {
+            throw new IndexOutOfBoundsException(String.format("Row %d is out of [0, %d).", row, this.size));
+        }
+    }
+
+    /**
+     * Creates a new instance with a subset of the fields of this instance. The new instance shares the columns with
+     * this instance, i.e., no data is copied, and is read-only. This instance can still be appended to, though, as
+     * this does not affect the {@link Record}s of the new instance.
+     *
+     * @param fieldIndices the indices of the fields to project on
+     * @return the new instance
+     */
+    public RecordBatch project(int... fieldIndices) {
+        final Record.FieldKind[] projectedFieldKinds = new Record.FieldKind[fieldIndices.length];
+        final Object[] projectedColumns = new Object[fieldIndices.length];
+        final BitSet[] projectedNullMasks = new BitSet[fieldIndices.length];
+        for (int i = 0; i < fieldIndices.length; i++) {
+            final int field = fieldIndices[i];
+            projectedFieldKinds[i] = this.fieldKinds[field];
+            projectedColumns[i] = this.columns[field];
+            projectedNullMasks[i] = this.nullMasks[field];
+        }
+        return new RecordBatch(
+                this.recordType.project(fieldIndices),
+                projectedFieldKinds,
+                projectedColumns,
+                projectedNullMasks,
+                this.size
+        );
+    }
+
+    /**
+     * @return the {@link RecordType} of the {@link Record}s in this instance
+     */
+    public RecordType getRecordType() {
+        return this.recordType;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Iterator<Record> iterator() {
+        return new Iterator<Record>() {
+
+            private int nextRow = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.nextRow < RecordBatch.this.size;
+            }
+
+            @Override
+            public Record next() {
+                if (!this.hasNext()) throw new NoSuchElementException();
+                return RecordBatch.this.getRecord(this.nextRow++);
+            }
+        };
+    }
+
+    @Override
+    public Stream<Record> stream() {
+        return IntStream.range(0, this.size).mapToObj(this::getRecord);
+    }
+
+    @Override
+    public Stream<Record> parallelStream() {
+        return this.stream().parallel();
+    }
+
+}
@@ -76,7 +76,7 @@ public class ProjectionDescriptor<Input, Output> extends TransformationDescripto
                 javaImplementation,
                 Arrays.asList(fieldNames),
                 inputType,
-                new RecordType(fieldNames)
+                inputType.project(toIndices(inputType, fieldNames))
         );
     }
 
@@ -180,12 +180,7 @@ public class ProjectionDescriptor<Input, Output> extends TransformationDescripto
         @Override
         @SuppressWarnings("unchecked")
         public Record apply(Record input) {
-            Object[] projectedFields = new Object[this.fieldIndices.length];
-            for (int i = 0; i < this.fieldIndices.length; i++) {
-                int fieldIndex = this.fieldIndices[i];
-                projectedFields[i] = input.getField(fieldIndex);
-            }
-            return new Record(projectedFields);
+            return input.project(this.fieldIndices);
         }
     }
 }
@@ -4,33 +4,106 @@ package org.qcri.rheem.basic.types;
 import org.qcri.rheem.basic.data.Record;
 import org.qcri.rheem.core.types.BasicDataUnitType;
 
+import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Objects;
 
 /**
  * This is a specific {@link BasicDataUnitType} for {@link Record}s. In particular, it adds schema information.
  */
-public class RecordType extends BasicDataUnitType<Record> {
+public class RecordType extends BasicDataUnitType<Record> implements Serializable {
 
     /**
      * Names of fields in the described {@link Record}s in order of appearance.
      */
     private String[] fieldNames;
 
+    /**
+     * {@link Class}es of the fields in the described {@link Record}s or {@code null} if they are not known.
+     */
+    private Class<?>[] fieldClasses;
+
+    /**
+     * {@link Record.FieldKind}s of the fields in the described {@link Record}s as derived from the
+     * {@link #fieldClasses}.
+     */
+    private transient Record.FieldKind[] fieldKinds;
+
     /**
      * Creates a new instance.
      *
      * @param fieldNames names of fields in the described {@link Record}s in order of appearance
      */
     public RecordType(String... fieldNames) {
+        this(fieldNames, null);
+    }
+
+    /**
+     * Creates a new instance that also declares the {@link Class}es of the fields, which allows for a more compact
+     * representation of bound {@link Record}s (see {@link Record#Record(RecordType)}) and
+     * {@link org.qcri.rheem.basic.data.RecordBatch}es. The field {@link Class}es do not affect the equality of
+     * instances, though.
+     *
+     * @param fieldNames   names of fields in the described {@link Record}s in order of appearance
+     * @param fieldClasses {@link Class}es of the fields in the described {@link Record}s or {@code null} if unknown
+     */
+    public RecordType(String[] fieldNames, Class<?>[] fieldClasses) {
         super(Record.class);
+        if (fieldClasses != null && fieldClasses.length != fieldNames.length) {
+            throw new IllegalArgumentException(String.format(
+                    "%d field classes given for %d fields.", fieldClasses.length, fieldNames.length
+            ));
+        }
         this.fieldNames = fieldNames;
+        this.fieldClasses = fieldClasses;
     }
 
     public String[] getFieldNames() {
         return this.fieldNames;
     }
 
+    /**
+     * Provides the {@link Class}es of the fields.
+     *
+     * @return the field {@link Class}es or {@code null} if they are not known
+     */
+    public Class<?>[] getFieldClasses() {
+        return this.fieldClasses;
+    }
+
+    /**
+     * Provides the {@link Record.FieldKind}s of the fields. Fields with unknown {@link Class}es are of
+     * {@link Record.FieldKind#OBJECT}.
+     *
+     * @return the {@link Record.FieldKind}s; must not be altered
+     */
+    public Record.FieldKind[] getFieldKinds() {
+        if (this.fieldKinds == null) {
+            final Record.FieldKind[] fieldKinds = new Record.FieldKind[this.fieldNames.length];
+            for (int i = 0; i < fieldKinds.length; i++) {
+                fieldKinds[i] = Record.FieldKind.of(this.fieldClasses == null ? null : this.fieldClasses[i]);
+            }
+            this.fieldKinds = fieldKinds;
+        }
+        return this.fieldKinds;
+    }
+
+    /**
+     * Creates a new instance that describes a subset of the fields of this instance.
+     *
+     * @param fieldIndices the indices of the fields to retain
+     * @return the new instance
+     */
+    public RecordType project(int... fieldIndices) {
+        final String[] projectedFieldNames = new String[fieldIndices.length];
+        final Class<?>[] projectedFieldClasses = this.fieldClasses == null ? null : new Class<?>[fieldIndices.length];
+        for (int i = 0; i < fieldIndices.length; i++) {
+            projectedFieldNames[i] = this.fieldNames[fieldIndices[i]];
+            if (projectedFieldClasses != null) projectedFieldClasses[i] = this.fieldClasses[fieldIndices[i]];
+        }
+        return new RecordType(projectedFieldNames, projectedFieldClasses);
+    }
+
     @Override
     public boolean isSupertypeOf(BasicDataUnitType<?> that) {
         // A RecordType cannot have subtypes.
@@ -48,7 +121,7 @@ public class RecordType extends BasicDataUnitType<Record> {
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), fieldNames);
+        return Objects.hash(super.hashCode(), Arrays.hashCode(this.fieldNames));
     }
 
     @Override
@@ -56,6 +129,32 @@ public class RecordType extends BasicDataUnitType<Record> {
         return "RecordType" + Arrays.toString(fieldNames);
     }
 
+    /**
+     * Serializes instances via their field names and classes, because the superclasses are not {@link Serializable}.
+     */
+    private Object writeReplace() {
+        return new SerializedForm(this.fieldNames, this.fieldClasses);
+    }
+
+    /**
+     * Serialized form of {@link RecordType}s.
+     */
+    private static class SerializedForm implements Serializable {
+
+        private final String[] fieldNames;
+
+        private final Class<?>[] fieldClasses;
+
+        private SerializedForm(String[] fieldNames, Class<?>[] fieldClasses) {
+            this.fieldNames = fieldNames;
+            this.fieldClasses = fieldClasses;
+        }
+
+        private Object readResolve() {
+            return new RecordType(this.fieldNames, this.fieldClasses);
+        }
+    }
+
     /**
      * Returns the index of a field according to this instance.
      *
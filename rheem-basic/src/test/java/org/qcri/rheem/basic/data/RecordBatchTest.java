@@ -0,0 +1,126 @@
+package org.qcri.rheem.basic.data;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.basic.types.RecordType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Tests for the {@link RecordBatch} and bound {@link Record}s.
+ */
+public class RecordBatchTest {
+
+    private static final RecordType RECORD_TYPE = new RecordType(
+            new String[]{"id", "count", "score", "name"},
+            new Class<?>[]{Integer.class, Long.class, Double.class, String.class}
+    );
+
+    @Test
+    public void testBoundRecords() {
+        final Record boundRecord = new Record(RECORD_TYPE);
+        boundRecord.setInt(0, 1);
+        boundRecord.setLong(1, 2L);
+        boundRecord.setDouble(2, 0.5);
+        boundRecord.setField(3, "one");
+        final Record unboundRecord = new Record(1, 2L, 0.5, "one");
+
+        Assert.assertEquals(unboundRecord, boundRecord);
+        Assert.assertEquals(boundRecord, unboundRecord);
+        Assert.assertEquals(unboundRecord.hashCode(), boundRecord.hashCode());
+        Assert.assertEquals(unboundRecord.toString(), boundRecord.toString());
+        Assert.assertEquals(Integer.valueOf(1), boundRecord.getField(0));
+        Assert.assertEquals(2L, boundRecord.getLong(1));
+        Assert.assertEquals(1L, boundRecord.getLong(0));
+        Assert.assertEquals(0.5, boundRecord.getDouble(2), 0d);
+        Assert.assertEquals(new Record(0.5, 1), boundRecord.project(2, 0));
+
+        // Values that do not match their field kind and nulls must be retained.
+        boundRecord.setField(0, 3L);
+        boundRecord.setField(2, null);
+        Assert.assertEquals(new Record(3L, 2L, null, "one"), boundRecord);
+        Assert.assertTrue(boundRecord.isNull(2));
+        Assert.assertFalse(boundRecord.isNull(1));
+        Assert.assertEquals(boundRecord, boundRecord.copy());
+    }
+
+    @Test
+    public void testAddAndRetrieve() {
+        final List<Record> records = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            records.add(new Record(i, (long) i * i, i / 2d, i % 10 == 0 ? null : "record" + i));
+        }
+        records.add(new Record(null, null, null, null));
+
+        final RecordBatch batch = new RecordBatch(RECORD_TYPE, 4);
+        batch.addAll(records);
+
+        Assert.assertEquals(records.size(), batch.size());
+        Assert.assertEquals(records, new ArrayList<>(batch));
+        Assert.assertEquals(records, batch.parallelStream().collect(Collectors.toList()));
+        Assert.assertEquals(49L * 49L, batch.getLong(49, 1));
+        Assert.assertEquals(49L, batch.getLong(49, 0));
+        Assert.assertEquals(24.5, batch.getDouble(49, 2), 0d);
+        Assert.assertTrue(batch.isNull(100, 0));
+        Assert.assertTrue(batch.isNull(10, 3));
+        Assert.assertFalse(batch.isNull(11, 3));
+    }
+
+    @Test
+    public void testAddMismatchingValues() {
+        final RecordBatch batch = new RecordBatch(RECORD_TYPE);
+        batch.add(new Record(1, 1L, 1d, "one"));
+        batch.add(new Record(Long.MAX_VALUE, 2L, 2d, "two"));
+        Assert.assertEquals(
+                Arrays.asList(new Record(1, 1L, 1d, "one"), new Record(Long.MAX_VALUE, 2L, 2d, "two")),
+                new ArrayList<>(batch)
+        );
+    }
+
+    @Test
+    public void testProject() {
+        final RecordBatch batch = new RecordBatch(RECORD_TYPE);
+        batch.add(new Record(1, 1L, 1d, "one"));
+        batch.add(new Record(2, null, 2d, "two"));
+
+        final RecordBatch projection = batch.project(3, 1);
+        batch.add(new Record(3, 3L, 3d, "three"));
+
+        Assert.assertEquals(new RecordType("name", "count"), projection.getRecordType());
+        Assert.assertEquals(
+                Arrays.asList(new Record("one", 1L), new Record("two", null)),
+                new ArrayList<>(projection)
+        );
+        Assert.assertEquals(3, batch.size());
+    }
+
+    @Test
+    public void testSerialization() throws IOException, ClassNotFoundException {
+        final RecordBatch batch = new RecordBatch(RECORD_TYPE);
+        batch.add(new Record(1, 1L, 1d, "one"));
+        batch.add(new Record(2, null, 2d, null));
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(batch.project(1, 3));
+        }
+        final RecordBatch copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (RecordBatch) in.readObject();
+        }
+
+        Assert.assertEquals(new RecordType("count", "name"), copy.getRecordType());
+        Assert.assertEquals(Long.class, copy.getRecordType().getFieldClasses()[0]);
+        Assert.assertEquals(Arrays.asList(new Record(1L, "one"), new Record(null, null)), new ArrayList<>(copy));
+        Assert.assertEquals(1L, copy.getLong(0, 0));
+    }
+
+}
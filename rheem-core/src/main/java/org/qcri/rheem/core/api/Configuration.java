@@ -21,6 +21,7 @@ import org.qcri.rheem.core.optimizer.ProbabilisticDoubleInterval;
 import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
 import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimator;
 import org.qcri.rheem.core.optimizer.cardinality.FallbackCardinalityEstimator;
+import org.qcri.rheem.core.optimizer.cardinality.LearnedCardinalityEstimator;
 import org.qcri.rheem.core.optimizer.channels.ChannelConversion;
 import org.qcri.rheem.core.optimizer.costs.IntervalLoadEstimator;
 import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimator;
@@ -31,6 +32,7 @@ import org.qcri.rheem.core.optimizer.costs.TimeToCostConverter;
 import org.qcri.rheem.core.optimizer.enumeration.PlanEnumerationPruningStrategy;
 import org.qcri.rheem.core.plan.rheemplan.ElementaryOperator;
 import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
+import org.qcri.rheem.core.plan.rheemplan.Operator;
 import org.qcri.rheem.core.plan.rheemplan.OutputSlot;
 import org.qcri.rheem.core.platform.Platform;
 import org.qcri.rheem.core.plugin.Plugin;
@@ -46,7 +48,11 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigInteger;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -57,6 +63,7 @@ import java.util.OptionalDouble;
 import java.util.OptionalLong;
 import java.util.Properties;
 import java.util.Random;
+import java.util.TreeSet;
 import java.util.function.ToDoubleFunction;
 
 import static org.qcri.rheem.core.util.ReflectionUtils.instantiateDefault;
@@ -321,9 +328,20 @@ public class Configuration {
                             .orElse(null);
                 });
 
+        // Learned option: Consult the cardinalities measured in previous executions first.
+        KeyValueProvider<OutputSlot<?>, CardinalityEstimator> learnedProvider =
+                new FunctionalKeyValueProvider<>(defaultProvider, (outputSlot, requestee) -> {
+                    final Operator operator = outputSlot.getOwner();
+                    if (operator.isSource() || operator.isLoopHead()
+                            || !requestee.getConfiguration().getBooleanProperty("rheem.core.optimizer.cardinality.learned", false)) {
+                        return null;
+                    }
+                    return new LearnedCardinalityEstimator(outputSlot, defaultProvider.provideFor(outputSlot));
+                });
+
         // Customizable layer: Users can override manually.
         KeyValueProvider<OutputSlot<?>, CardinalityEstimator> overrideProvider =
-                new MapBasedKeyValueProvider<>(defaultProvider);
+                new MapBasedKeyValueProvider<>(learnedProvider);
 
         configuration.setCardinalityEstimatorProvider(overrideProvider);
     }
@@ -696,6 +714,26 @@ public class Configuration {
         return this.properties;
     }
 
+    /**
+     * Creates a fingerprint of the effective values of all properties that have been set explicitly in this instance
+     * or its parents. Instances with equal fingerprints provide the same property values.
+     *
+     * @return the fingerprint
+     */
+    public String createPropertiesFingerprint() {
+        Collection<String> keys = new TreeSet<>();
+        this.properties.collectExplicitKeys(keys);
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String key : keys) {
+                digest.update(String.format("%s=%s\n", key, this.properties.optionallyProvideFor(key).orElse(null)).getBytes(StandardCharsets.UTF_8));
+            }
+            return new BigInteger(1, digest.digest()).toString(Character.MAX_RADIX);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RheemException("Could not fingerprint the properties.", e);
+        }
+    }
+
     public void setProperty(String key, String value) {
         this.properties.set(key, value);
     }
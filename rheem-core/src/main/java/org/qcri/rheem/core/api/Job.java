@@ -13,9 +13,11 @@ import org.qcri.rheem.core.optimizer.OptimizationContext;
 import org.qcri.rheem.core.optimizer.ProbabilisticDoubleInterval;
 import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
 import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimatorManager;
+import org.qcri.rheem.core.optimizer.cardinality.SelectivitySampler;
 import org.qcri.rheem.core.optimizer.costs.TimeEstimate;
 import org.qcri.rheem.core.optimizer.costs.TimeToCostConverter;
 import org.qcri.rheem.core.optimizer.enumeration.ExecutionTaskFlow;
+import org.qcri.rheem.core.optimizer.enumeration.PlanCache;
 import org.qcri.rheem.core.optimizer.enumeration.PlanEnumeration;
 import org.qcri.rheem.core.optimizer.enumeration.PlanEnumerator;
 import org.qcri.rheem.core.optimizer.enumeration.PlanImplementation;
@@ -25,9 +27,12 @@ import org.qcri.rheem.core.plan.executionplan.ExecutionPlan;
 import org.qcri.rheem.core.plan.executionplan.ExecutionStage;
 import org.qcri.rheem.core.plan.executionplan.ExecutionTask;
 import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
+import org.qcri.rheem.core.plan.rheemplan.LoopSubplan;
 import org.qcri.rheem.core.plan.rheemplan.Operator;
+import org.qcri.rheem.core.plan.rheemplan.OperatorAlternative;
 import org.qcri.rheem.core.plan.rheemplan.OutputSlot;
 import org.qcri.rheem.core.plan.rheemplan.PlanMetrics;
+import org.qcri.rheem.core.plan.rheemplan.PlanTraversal;
 import org.qcri.rheem.core.plan.rheemplan.RheemPlan;
 import org.qcri.rheem.core.platform.AtomicExecutionGroup;
 import org.qcri.rheem.core.platform.Breakpoint;
@@ -40,6 +45,7 @@ import org.qcri.rheem.core.platform.NoIterationBreakpoint;
 import org.qcri.rheem.core.platform.PartialExecution;
 import org.qcri.rheem.core.platform.Platform;
 import org.qcri.rheem.core.profiling.CardinalityRepository;
+import org.qcri.rheem.core.profiling.CostModelCalibrator;
 import org.qcri.rheem.core.profiling.CostMeasurement;
 import org.qcri.rheem.core.profiling.ExecutionLog;
 import org.qcri.rheem.core.profiling.ExecutionPlanMeasurement;
@@ -59,6 +65,7 @@ import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -306,6 +313,9 @@ public class Job extends OneTimeExecutable {
             if (this.configuration.getBooleanProperty("rheem.core.log.enabled")) {
                 this.logExecution();
             }
+            if (this.configuration.getBooleanProperty("rheem.core.optimizer.costs.calibration", false)) {
+                this.calibrateCostModel();
+            }
         } catch (RheemException e) {
             throw e;
         } catch (Throwable t) {
@@ -331,6 +341,9 @@ public class Job extends OneTimeExecutable {
         this.rheemPlan.prepare();
         this.optimizationRound.stop("Prepare", "Prune&Isolate");
 
+        // Measure the selectivities of the UDFs on samples of the input data.
+        this.sampleSelectivities();
+
         // Apply the mappings to the plan to form a hyperplan.
         this.optimizationRound.start("Prepare", "Transformations");
         final Collection<PlanTransformation> transformations = this.gatherTransformations();
@@ -344,6 +357,23 @@ public class Job extends OneTimeExecutable {
         this.optimizationRound.stop("Prepare");
     }
 
+    /**
+     * Applies the {@link SelectivitySampler} specified in the {@link #configuration} (if any) to the {@link #rheemPlan}.
+     */
+    private void sampleSelectivities() {
+        final Optional<String> samplerClass = this.configuration.getOptionalStringProperty("rheem.core.optimizer.sampling");
+        if (!samplerClass.isPresent()) return;
+
+        this.optimizationRound.start("Prepare", "Sampling");
+        try {
+            final SelectivitySampler sampler = ReflectionUtils.instantiateDefault(samplerClass.get());
+            sampler.sample(this.rheemPlan, this.configuration);
+        } catch (Exception e) {
+            this.logger.error("Sampling UDF selectivities failed.", e);
+        }
+        this.optimizationRound.stop("Prepare", "Sampling");
+    }
+
     /**
      * Gather all available {@link PlanTransformation}s from the {@link #configuration}.
      */
@@ -392,12 +422,36 @@ public class Job extends OneTimeExecutable {
         this.optimizationRound.start("Create Initial Execution Plan");
 
         // Enumerate all possible plan.
-        final PlanEnumerator planEnumerator = this.createPlanEnumerator();
-
         final TimeMeasurement enumerateMeasurment = this.optimizationRound.start("Create Initial Execution Plan", "Enumerate");
-        planEnumerator.setTimeMeasurement(enumerateMeasurment);
-        final PlanEnumeration comprehensiveEnumeration = planEnumerator.enumerate(true);
-        planEnumerator.setTimeMeasurement(null);
+        final PlanCache planCache = this.configuration.getBooleanProperty("rheem.core.optimizer.plancache.enabled", false) ?
+                this.rheemContext.getPlanCache() :
+                null;
+        final PlanCache.Key planCacheKey = planCache == null ?
+                null :
+                planCache.createKey(this.rheemPlan, this.optimizationContext, this.rheemContext.getCostModelVersion());
+        PlanEnumeration comprehensiveEnumeration = null;
+        if (planCacheKey != null) {
+            // Try to re-instantiate the choices from a previous optimization of the same plan.
+            final Map<OperatorAlternative, OperatorAlternative.Alternative> cachedAlternatives = planCache.lookup(planCacheKey);
+            if (cachedAlternatives != null) {
+                this.logger.info("Re-instantiating cached execution plan...");
+                comprehensiveEnumeration = this.enumerate(
+                        new PlanEnumerator(this.rheemPlan, this.optimizationContext, cachedAlternatives),
+                        enumerateMeasurment
+                );
+                if (comprehensiveEnumeration == null || comprehensiveEnumeration.getPlanImplementations().isEmpty()) {
+                    this.logger.info("Cached execution plan is not valid anymore.");
+                    planCache.invalidate(planCacheKey);
+                    comprehensiveEnumeration = null;
+                }
+            }
+        }
+        if (comprehensiveEnumeration == null) {
+            final PlanEnumerator planEnumerator = this.createPlanEnumerator();
+            planEnumerator.setTimeMeasurement(enumerateMeasurment);
+            comprehensiveEnumeration = planEnumerator.enumerate(true);
+            planEnumerator.setTimeMeasurement(null);
+        }
         this.optimizationRound.stop("Create Initial Execution Plan", "Enumerate");
 
         final Collection<PlanImplementation> executionPlans = comprehensiveEnumeration.getPlanImplementations();
@@ -412,6 +466,7 @@ public class Job extends OneTimeExecutable {
         this.pickBestExecutionPlan(executionPlans, null, null, null);
         this.timeEstimates.add(planImplementation.getTimeEstimate());
         this.costEstimates.add(planImplementation.getCostEstimate());
+        if (planCacheKey != null) planCache.store(planCacheKey, this.planImplementation);
         this.optimizationRound.stop("Create Initial Execution Plan", "Pick Best Plan");
 
         this.logger.info("Compiling execution plan...");
@@ -458,6 +513,98 @@ public class Job extends OneTimeExecutable {
         return this.cardinalityEstimatorManager.pushCardinalityUpdates(executionState, this.planImplementation);
     }
 
+    /**
+     * Captures the current output {@link CardinalityEstimate}s of all {@link Operator}s in the given
+     * {@link OptimizationContext}, including those nested in composite {@link Operator}s and loop iterations.
+     *
+     * @return the {@link CardinalityEstimate}s indexed by their {@link OptimizationContext.OperatorContext}s
+     */
+    static Map<OptimizationContext.OperatorContext, CardinalityEstimate[]> snapshotCardinalities(
+            OptimizationContext optimizationContext) {
+        Map<OptimizationContext.OperatorContext, CardinalityEstimate[]> snapshot = new HashMap<>();
+        snapshotCardinalities(optimizationContext, snapshot);
+        return snapshot;
+    }
+
+    private static void snapshotCardinalities(OptimizationContext optimizationContext,
+                                              Map<OptimizationContext.OperatorContext, CardinalityEstimate[]> snapshot) {
+        for (OptimizationContext.OperatorContext operatorContext : optimizationContext.getLocalOperatorContexts().values()) {
+            snapshot.put(operatorContext, operatorContext.getOutputCardinalities().clone());
+            final Operator operator = operatorContext.getOperator();
+            if (operator.isLoopSubplan()) {
+                final OptimizationContext.LoopContext loopContext =
+                        optimizationContext.getNestedLoopContext((LoopSubplan) operator);
+                if (loopContext == null) continue;
+                for (OptimizationContext iterationContext : loopContext.getIterationContexts()) {
+                    snapshotCardinalities(iterationContext, snapshot);
+                }
+            }
+        }
+    }
+
+    /**
+     * Determine the top-level {@link Operator}s that contain an {@link Operator} whose output
+     * {@link CardinalityEstimate}s changed significantly w.r.t. the given snapshot along with all their downstream
+     * {@link Operator}s.
+     *
+     * @param previousCardinalities obtained via {@link #snapshotCardinalities(OptimizationContext)}
+     * @param threshold             the factor by which {@link CardinalityEstimate}s must deviate to be significant
+     * @return the affected top-level {@link Operator}s
+     */
+    static Set<Operator> collectAffectedOperators(
+            Map<OptimizationContext.OperatorContext, CardinalityEstimate[]> previousCardinalities,
+            double threshold) {
+        Collection<Operator> changedOperators = new HashSet<>();
+        for (Map.Entry<OptimizationContext.OperatorContext, CardinalityEstimate[]> entry : previousCardinalities.entrySet()) {
+            final CardinalityEstimate[] previousEstimates = entry.getValue();
+            final CardinalityEstimate[] currentEstimates = entry.getKey().getOutputCardinalities();
+            for (int i = 0; i < previousEstimates.length; i++) {
+                if (isSignificantChange(previousEstimates[i], currentEstimates[i], threshold)) {
+                    changedOperators.add(getTopLevelOperator(entry.getKey().getOperator()));
+                    break;
+                }
+            }
+        }
+        return new HashSet<>(PlanTraversal.downstream().traverse(changedOperators).getTraversedNodes());
+    }
+
+    /**
+     * Tells whether two {@link CardinalityEstimate}s deviate by more than the given factor.
+     */
+    static boolean isSignificantChange(CardinalityEstimate previous, CardinalityEstimate current, double threshold) {
+        if (previous == null || current == null) return previous != current;
+        final double previousMean = previous.getGeometricMeanEstimate() + 1d;
+        final double currentMean = current.getGeometricMeanEstimate() + 1d;
+        return Math.max(previousMean, currentMean) / Math.min(previousMean, currentMean) > threshold;
+    }
+
+    /**
+     * Find the top-level {@link Operator} that (indirectly) contains the given {@link Operator}.
+     */
+    private static Operator getTopLevelOperator(Operator operator) {
+        while (operator.getParent() != null) {
+            operator = operator.getParent();
+        }
+        return operator;
+    }
+
+    /**
+     * Run the given {@link PlanEnumerator} on pre-settled choices.
+     *
+     * @return the {@link PlanEnumeration} or {@code null} if the choices cannot be implemented
+     */
+    private PlanEnumeration enumerate(PlanEnumerator planEnumerator, TimeMeasurement timeMeasurement) {
+        planEnumerator.setTimeMeasurement(timeMeasurement);
+        try {
+            return planEnumerator.enumerate(true);
+        } catch (RheemException e) {
+            this.logger.debug("Could not enumerate pre-settled choices.", e);
+            return null;
+        } finally {
+            planEnumerator.setTimeMeasurement(null);
+        }
+    }
+
     /**
      * Creates a new {@link PlanEnumerator} for the {@link #rheemPlan} and {@link #configuration}.
      */
@@ -574,13 +721,27 @@ public class Job extends OneTimeExecutable {
         final TimeMeasurement round = this.optimizationRound.start(String.format("Post-processing %d", executionId));
 
         round.start("Reestimate Cardinalities&Time");
+        final Map<OptimizationContext.OperatorContext, CardinalityEstimate[]> previousCardinalities =
+                this.configuration.getBooleanProperty("rheem.core.optimizer.reoptimize.incremental", true) ?
+                        snapshotCardinalities(this.optimizationContext) :
+                        null;
         boolean isCardinalitiesUpdated = this.reestimateCardinalities(this.crossPlatformExecutor);
+        final Set<Operator> affectedOperators = isCardinalitiesUpdated && previousCardinalities != null ?
+                collectAffectedOperators(
+                        previousCardinalities,
+                        this.configuration.getDoubleProperty("rheem.core.optimizer.reoptimize.incremental.threshold", 2d)
+                ) :
+                null;
         round.stop("Reestimate Cardinalities&Time");
 
         round.start("Update Execution Plan");
-        if (isCardinalitiesUpdated) {
+        if (affectedOperators != null && affectedOperators.isEmpty()) {
+            this.logger.info("Skipping re-optimization: no significant changes of cardinalities.");
+            this.timeEstimates.add(this.timeEstimates.get(this.timeEstimates.size() - 1));
+            this.costEstimates.add(this.costEstimates.get(this.costEstimates.size() - 1));
+        } else if (isCardinalitiesUpdated) {
             this.logger.info("Re-optimizing execution plan.");
-            this.updateExecutionPlan(executionPlan);
+            this.updateExecutionPlan(executionPlan, affectedOperators);
         } else {
             this.logger.info("Skipping re-optimization: no new insights on cardinalities.");
             this.timeEstimates.add(this.timeEstimates.get(this.timeEstimates.size() - 1));
@@ -597,7 +758,7 @@ public class Job extends OneTimeExecutable {
     /**
      * Enumerate possible execution plans from the given {@link RheemPlan} and determine the (seemingly) best one.
      */
-    private void updateExecutionPlan(ExecutionPlan executionPlan) {
+    private void updateExecutionPlan(ExecutionPlan executionPlan, Set<Operator> affectedOperators) {
         // Defines the plan that we want to use in the end.
         // Find and copy the open Channels.
         final Set<ExecutionStage> completedStages = this.crossPlatformExecutor.getCompletedStages();
@@ -608,9 +769,25 @@ public class Job extends OneTimeExecutable {
         // Find Channels that have yet to be consumed by unexecuted ExecutionTasks and scrap unexecuted bits of the plan.
         final Set<Channel> openChannels = executionPlan.retain(completedStages);
 
-        // Enumerate all possible plan.
-        final PlanEnumerator planEnumerator = this.createPlanEnumerator(executionPlan, openChannels);
-        final PlanEnumeration comprehensiveEnumeration = planEnumerator.enumerate(true);
+        // Enumerate all possible plan. If we know the affected Operators, keep the choices for all other Operators.
+        PlanEnumeration comprehensiveEnumeration = null;
+        if (affectedOperators != null) {
+            final Map<OperatorAlternative, OperatorAlternative.Alternative> unaffectedAlternatives =
+                    this.planImplementation.collectSettledAlternatives();
+            unaffectedAlternatives.keySet().removeIf(
+                    operatorAlternative -> affectedOperators.contains(getTopLevelOperator(operatorAlternative))
+            );
+            this.logger.info("Re-enumerating {} affected operators, keeping {} picked alternatives.",
+                    affectedOperators.size(), unaffectedAlternatives.size());
+            comprehensiveEnumeration = this.enumerate(
+                    new PlanEnumerator(this.rheemPlan, this.optimizationContext, executionPlan, openChannels, unaffectedAlternatives),
+                    null
+            );
+        }
+        if (comprehensiveEnumeration == null || comprehensiveEnumeration.getPlanImplementations().isEmpty()) {
+            final PlanEnumerator planEnumerator = this.createPlanEnumerator(executionPlan, openChannels);
+            comprehensiveEnumeration = planEnumerator.enumerate(true);
+        }
         final Collection<PlanImplementation> executionPlans = comprehensiveEnumeration.getPlanImplementations();
         this.logger.debug("Enumerated {} plans.", executionPlans.size());
         for (PlanImplementation planImplementation : executionPlans) {
@@ -643,13 +820,29 @@ public class Job extends OneTimeExecutable {
         if (this.crossPlatformExecutor != null) this.crossPlatformExecutor.shutdown();
     }
 
+    /**
+     * Feeds the {@link PartialExecution}s of this instance into the {@link CostModelCalibrator} of the
+     * {@link #rheemContext}, so that subsequent {@link Job}s benefit from the calibrated cost model.
+     */
+    private void calibrateCostModel() {
+        this.stopWatch.start("Post-processing", "Calibrate Cost Model");
+        try {
+            this.rheemContext.getCostModelCalibrator().update(this.crossPlatformExecutor.getPartialExecutions());
+        } catch (Exception e) {
+            this.logger.error("Calibrating the cost model failed.", e);
+        }
+        this.stopWatch.stop("Post-processing", "Calibrate Cost Model");
+    }
+
     private void logExecution() {
         this.stopWatch.start("Post-processing", "Log measurements");
 
-        // For the last time, update the cardinalities and store them.
+        // For the last time, update the cardinalities and store them if they are to be learned.
         this.reestimateCardinalities(this.crossPlatformExecutor);
-        final CardinalityRepository cardinalityRepository = this.rheemContext.getCardinalityRepository();
-        cardinalityRepository.storeAll(this.crossPlatformExecutor, this.optimizationContext);
+        if (this.configuration.getBooleanProperty("rheem.core.optimizer.cardinality.learned", false)) {
+            final CardinalityRepository cardinalityRepository = this.rheemContext.getCardinalityRepository();
+            cardinalityRepository.storeAll(this.crossPlatformExecutor, this.optimizationContext);
+        }
 
         // Execution times.
         final Collection<PartialExecution> partialExecutions = this.crossPlatformExecutor.getPartialExecutions();
@@ -799,6 +992,10 @@ public class Job extends OneTimeExecutable {
         return this.configuration;
     }
 
+    public RheemContext getRheemContext() {
+        return this.rheemContext;
+    }
+
     public Set<String> getUdfJarPaths() {
         return this.udfJarPaths;
     }
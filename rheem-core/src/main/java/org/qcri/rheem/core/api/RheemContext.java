@@ -4,10 +4,12 @@ import de.hpi.isg.profiledb.store.model.Experiment;
 import de.hpi.isg.profiledb.store.model.Subject;
 import org.qcri.rheem.core.monitor.Monitor;
 import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimator;
+import org.qcri.rheem.core.optimizer.enumeration.PlanCache;
 import org.qcri.rheem.core.plan.executionplan.ExecutionPlan;
 import org.qcri.rheem.core.plan.rheemplan.RheemPlan;
 import org.qcri.rheem.core.plugin.Plugin;
 import org.qcri.rheem.core.profiling.CardinalityRepository;
+import org.qcri.rheem.core.profiling.CostModelCalibrator;
 import org.qcri.rheem.core.util.ReflectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,6 +27,16 @@ public class RheemContext {
      */
     private CardinalityRepository cardinalityRepository;
 
+    /**
+     * Remembers the optimizer's choices for recurring {@link RheemPlan}s.
+     */
+    private PlanCache planCache;
+
+    /**
+     * Calibrates the cost model with the measured executions.
+     */
+    private CostModelCalibrator costModelCalibrator;
+
     private final Configuration configuration;
 
     public RheemContext() {
@@ -159,10 +171,33 @@ public class RheemContext {
         return this.configuration;
     }
 
-    public CardinalityRepository getCardinalityRepository() {
+    public synchronized CardinalityRepository getCardinalityRepository() {
         if (this.cardinalityRepository == null) {
             this.cardinalityRepository = new CardinalityRepository(this.configuration);
         }
         return this.cardinalityRepository;
     }
+
+    public synchronized PlanCache getPlanCache() {
+        if (this.planCache == null) {
+            this.planCache = new PlanCache(this.configuration);
+        }
+        return this.planCache;
+    }
+
+    public synchronized CostModelCalibrator getCostModelCalibrator() {
+        if (this.costModelCalibrator == null) {
+            this.costModelCalibrator = new CostModelCalibrator(this.configuration);
+        }
+        return this.costModelCalibrator;
+    }
+
+    /**
+     * Provides the version of the cost model, which changes whenever the {@link CostModelCalibrator} has been updated.
+     *
+     * @return the version
+     */
+    public synchronized long getCostModelVersion() {
+        return this.costModelCalibrator == null ? 0L : this.costModelCalibrator.getVersion();
+    }
 }
@@ -5,6 +5,7 @@ import org.qcri.rheem.core.api.exception.RheemException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
 import java.util.Optional;
 
 /**
@@ -112,6 +113,18 @@ public abstract class KeyValueProvider<Key, Value> {
         return this;
     }
 
+    /**
+     * Collect the keys of all values that have been set explicitly (rather than cached) in this instance and its
+     * {@link #parent}s.
+     *
+     * @param collector collects the keys
+     */
+    public void collectExplicitKeys(Collection<Key> collector) {
+        if (this.parent != null) {
+            this.parent.collectExplicitKeys(collector);
+        }
+    }
+
     public void set(Key key, Value value) {
         throw new RheemException(String.format("Setting values not supported for %s.", this.getClass().getSimpleName()));
     }
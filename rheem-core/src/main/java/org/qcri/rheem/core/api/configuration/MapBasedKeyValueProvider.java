@@ -3,8 +3,11 @@ package org.qcri.rheem.core.api.configuration;
 import org.apache.commons.lang3.Validate;
 import org.qcri.rheem.core.api.Configuration;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Implementation of {@link KeyValueProvider} that uses a {@link Map} to provide a value.
@@ -13,6 +16,11 @@ public class MapBasedKeyValueProvider<Key, Value> extends KeyValueProvider<Key,
 
     private final Map<Key, Value> storedValues = new HashMap<>();
 
+    /**
+     * Keys of the {@link #storedValues} that have been {@link #set(Object, Object)} explicitly.
+     */
+    private final Set<Key> explicitKeys = new HashSet<>();
+
     private final boolean isCaching;
 
     /**
@@ -76,6 +84,13 @@ public class MapBasedKeyValueProvider<Key, Value> extends KeyValueProvider<Key,
     public void set(Key key, Value value) {
         Validate.notNull(key);
         this.storedValues.put(key, value);
+        this.explicitKeys.add(key);
+    }
+
+    @Override
+    public void collectExplicitKeys(Collection<Key> collector) {
+        super.collectExplicitKeys(collector);
+        collector.addAll(this.explicitKeys);
     }
 
 }
@@ -0,0 +1,170 @@
+package org.qcri.rheem.core.optimizer.cardinality;
+
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.api.exception.RheemException;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Detects heavy-hitter keys in samples of the input of key-based operators (e.g., joins and reduce-bys), so that
+ * platforms can split them over multiple partitions rather than processing them in a single overloaded task.
+ * <p>Platforms draw the samples themselves; this class decides whether sampling is worthwhile and which of the
+ * sampled keys should be split.</p>
+ */
+public class HeavyKeyDetector implements Serializable {
+
+    /**
+     * Minimum number of occurrences of a key in a sample to regard it as heavy, so as to avoid splitting keys
+     * due to mere sampling noise.
+     */
+    private static final long MIN_SAMPLED_OCCURRENCES = 10;
+
+    /**
+     * Modes of the skew handling.
+     */
+    public enum Mode {
+
+        /**
+         * Never sample the keys.
+         */
+        OFF,
+
+        /**
+         * Sample the keys if the input is estimated to be large.
+         */
+        AUTO,
+
+        /**
+         * Always sample the keys.
+         */
+        ON
+
+    }
+
+    private final Mode mode;
+
+    /**
+     * Minimum upper cardinality estimate of an input to sample its keys in {@link Mode#AUTO}.
+     */
+    private final long minCardinality;
+
+    /**
+     * Targeted number of data quanta per sample.
+     */
+    private final long sampleSize;
+
+    /**
+     * A key is heavy if its share of the sample multiplied with the number of partitions exceeds this threshold,
+     * i.e., if it alone would fill more than so many average partitions.
+     */
+    private final double threshold;
+
+    /**
+     * Creates a new instance from the properties {@code <keyPrefix>.mode}, {@code <keyPrefix>.min-cardinality},
+     * {@code <keyPrefix>.sample-size}, and {@code <keyPrefix>.threshold}.
+     *
+     * @param configuration provides the properties
+     * @param keyPrefix     common prefix of the property keys, e.g., {@code rheem.spark.skew}
+     * @return the new instance
+     */
+    public static HeavyKeyDetector create(Configuration configuration, String keyPrefix) {
+        final String mode = configuration.getStringProperty(keyPrefix + ".mode", "off");
+        try {
+            return new HeavyKeyDetector(
+                    Mode.valueOf(mode.trim().toUpperCase()),
+                    configuration.getLongProperty(keyPrefix + ".min-cardinality", 1000000L),
+                    configuration.getLongProperty(keyPrefix + ".sample-size", 10000L),
+                    configuration.getDoubleProperty(keyPrefix + ".threshold", 1.5d)
+            );
+        } catch (IllegalArgumentException e) {
+            throw new RheemException(String.format("Unknown skew handling mode \"%s\".", mode), e);
+        }
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param mode           whether to sample the keys of inputs
+     * @param minCardinality minimum upper cardinality estimate of an input to sample its keys in {@link Mode#AUTO}
+     * @param sampleSize     targeted number of data quanta per sample
+     * @param threshold      number of average partitions that a key must exceed to be heavy
+     */
+    public HeavyKeyDetector(Mode mode, long minCardinality, long sampleSize, double threshold) {
+        this.mode = mode;
+        this.minCardinality = minCardinality;
+        this.sampleSize = Math.max(1L, sampleSize);
+        this.threshold = threshold;
+    }
+
+    /**
+     * Tells whether the keys of an input should be sampled.
+     *
+     * @param inputCardinality the {@link CardinalityEstimate} of the input or {@code null} if unknown
+     * @param numPartitions    the number of partitions that the input is to be shuffled into
+     * @return whether the keys should be sampled
+     */
+    public boolean isSamplingRequested(CardinalityEstimate inputCardinality, int numPartitions) {
+        if (numPartitions <= this.threshold) return false;
+        switch (this.mode) {
+            case ON:
+                return true;
+            case AUTO:
+                return inputCardinality != null && inputCardinality.getUpperEstimate() >= this.minCardinality;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Determines the Bernoulli sampling fraction to obtain samples of the requested size.
+     *
+     * @param inputCardinality the {@link CardinalityEstimate} of the input or {@code null} if unknown
+     * @return the sampling fraction
+     */
+    public double getSampleFraction(CardinalityEstimate inputCardinality) {
+        if (inputCardinality == null) return 1d;
+        return Math.min(1d, this.sampleSize / Math.max(1d, inputCardinality.getGeometricMeanEstimate()));
+    }
+
+    /**
+     * Determines the heavy keys in a sample and into how many parts each of them should be split.
+     *
+     * @param sampledKeyCounts the number of occurrences of each key in the sample
+     * @param numPartitions    the number of partitions that the input is to be shuffled into
+     * @return the heavy keys associated with their number of parts (at least 2); empty if there is no skew
+     */
+    public <Key> Map<Key, Integer> detect(Map<Key, Long> sampledKeyCounts, int numPartitions) {
+        final Map<Key, Integer> heavyKeys = new HashMap<>();
+        final double sampleSize = sampledKeyCounts.values().stream().mapToLong(Long::longValue).sum();
+        for (Map.Entry<Key, Long> entry : sampledKeyCounts.entrySet()) {
+            if (entry.getValue() < MIN_SAMPLED_OCCURRENCES) continue;
+            final double numFilledPartitions = entry.getValue() / sampleSize * numPartitions;
+            if (numFilledPartitions > this.threshold) {
+                heavyKeys.put(entry.getKey(), (int) Math.min(numPartitions, Math.ceil(numFilledPartitions)));
+            }
+        }
+        return heavyKeys;
+    }
+
+    /**
+     * Selects the input of a two-way operator (e.g., a join) whose heavy keys should be split, while the matching
+     * data quanta of the other input are replicated. That is the input that is estimated to be larger.
+     *
+     * @param operatorContext provides the input cardinalities; may be {@code null}
+     * @return the index of the selected input
+     */
+    public static int selectSplitInput(OptimizationContext.OperatorContext operatorContext) {
+        if (operatorContext == null) return 0;
+        final CardinalityEstimate cardinality0 = operatorContext.getInputCardinality(0);
+        final CardinalityEstimate cardinality1 = operatorContext.getInputCardinality(1);
+        return cardinality0 == null || cardinality1 == null
+                || cardinality0.getUpperEstimate() >= cardinality1.getUpperEstimate() ? 0 : 1;
+    }
+
+    public Mode getMode() {
+        return this.mode;
+    }
+}
@@ -0,0 +1,47 @@
+package org.qcri.rheem.core.optimizer.cardinality;
+
+import org.qcri.rheem.core.api.Job;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.plan.rheemplan.OutputSlot;
+import org.qcri.rheem.core.profiling.CardinalityRepository;
+
+/**
+ * {@link CardinalityEstimator} that derives {@link CardinalityEstimate}s from the cardinalities measured in previous
+ * executions as kept by the {@link CardinalityRepository}. If there are no such measurements, it delegates to
+ * another {@link CardinalityEstimator}.
+ */
+public class LearnedCardinalityEstimator implements CardinalityEstimator {
+
+    /**
+     * Identifies the estimated {@link OutputSlot}'s owner in the {@link CardinalityRepository}.
+     */
+    private final String fingerprint;
+
+    /**
+     * Index of the estimated {@link OutputSlot}.
+     */
+    private final int outputIndex;
+
+    /**
+     * Provides {@link CardinalityEstimate}s in the absence of measurements.
+     */
+    private final CardinalityEstimator fallbackEstimator;
+
+    public LearnedCardinalityEstimator(OutputSlot<?> outputSlot, CardinalityEstimator fallbackEstimator) {
+        this.fingerprint = CardinalityRepository.createFingerprint(outputSlot.getOwner());
+        this.outputIndex = outputSlot.getIndex();
+        this.fallbackEstimator = fallbackEstimator;
+    }
+
+    @Override
+    public CardinalityEstimate estimate(OptimizationContext optimizationContext, CardinalityEstimate... inputEstimates) {
+        final Job job = optimizationContext.getJob();
+        if (this.fingerprint != null && job != null && job.getRheemContext() != null) {
+            final CardinalityEstimate estimate = job.getRheemContext().getCardinalityRepository()
+                    .estimate(this.fingerprint, this.outputIndex, inputEstimates);
+            if (estimate != null) return estimate;
+        }
+        return this.fallbackEstimator.estimate(optimizationContext, inputEstimates);
+    }
+
+}
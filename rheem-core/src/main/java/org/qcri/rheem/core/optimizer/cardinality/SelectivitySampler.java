@@ -0,0 +1,23 @@
+package org.qcri.rheem.core.optimizer.cardinality;
+
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.function.FunctionDescriptor;
+import org.qcri.rheem.core.plan.rheemplan.RheemPlan;
+
+/**
+ * Measures the selectivities of the UDFs in a {@link RheemPlan} by applying them to samples of its input data
+ * before the optimization. Implementations must provide a default constructor.
+ */
+public interface SelectivitySampler {
+
+    /**
+     * Measure the selectivities of the {@link FunctionDescriptor}s in the {@code rheemPlan} and register them with
+     * the {@link Configuration#getUdfSelectivityProvider()}.
+     *
+     * @param rheemPlan     whose {@link FunctionDescriptor}s should be sampled; it has been pruned and its loops
+     *                      have been isolated but no transformations have been applied yet
+     * @param configuration receives the measured selectivities
+     */
+    void sample(RheemPlan rheemPlan, Configuration configuration);
+
+}
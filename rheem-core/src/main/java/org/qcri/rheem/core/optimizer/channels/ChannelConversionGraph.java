@@ -17,6 +17,7 @@ import org.qcri.rheem.core.plan.rheemplan.OutputSlot;
 import org.qcri.rheem.core.platform.ChannelDescriptor;
 import org.qcri.rheem.core.platform.Junction;
 import org.qcri.rheem.core.util.Bitmask;
+import org.qcri.rheem.core.util.LruCache;
 import org.qcri.rheem.core.util.OneTimeExecutable;
 import org.qcri.rheem.core.util.ReflectionUtils;
 import org.qcri.rheem.core.util.RheemCollections;
@@ -34,8 +35,11 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
 
@@ -59,6 +63,27 @@ public class ChannelConversionGraph {
      */
     private final TreeSelectionStrategy treeSelectionStrategy;
 
+    /**
+     * Caches the {@link Tree}s found by {@link ShortestTreeSearcher}s for recurring conversion requests.
+     */
+    private final Map<TreeCacheKey, Tree> treeCache;
+
+    /**
+     * Base of the logarithm used to bucket {@link CardinalityEstimate}s in the {@link #treeCache}.
+     */
+    private final double cardinalityBucketBase;
+
+    /**
+     * Counts the requests that have been served by a revalidated {@link Tree} from the {@link #treeCache}.
+     */
+    private final AtomicInteger numTreeCacheHits = new AtomicInteger(0);
+
+    /**
+     * Maps {@link ChannelDescriptor}s to all {@link ChannelDescriptor}s that can be reached from them via
+     * {@link ChannelConversion}s (inclusive of themselves). Created lazily.
+     */
+    private Map<ChannelDescriptor, Set<ChannelDescriptor>> reachabilityIndex;
+
     private static final Logger logger = LoggerFactory.getLogger(ChannelConversionGraph.class);
 
     /**
@@ -68,6 +93,11 @@ public class ChannelConversionGraph {
      */
     public ChannelConversionGraph(Configuration configuration) {
         this.costSquasher = configuration.getCostSquasherProvider().provide();
+        final int treeCacheCapacity = (int) configuration.getLongProperty("rheem.core.optimizer.channels.junctioncache.capacity", 0);
+        this.treeCache = treeCacheCapacity > 0 ?
+                Collections.synchronizedMap(new LruCache<>(treeCacheCapacity)) :
+                null;
+        this.cardinalityBucketBase = configuration.getDoubleProperty("rheem.core.optimizer.channels.junctioncache.bucketbase", 2d);
         configuration.getChannelConversionProvider().provideAll().forEach(this::add);
         String treeSelectionStrategyClassName = configuration.getStringProperty(
                 "rheem.core.optimizer.channels.selection",
@@ -79,9 +109,58 @@ public class ChannelConversionGraph {
     /**
      * Register a new {@code channelConversion} in this instance, which effectively adds an edge.
      */
-    public void add(ChannelConversion channelConversion) {
+    public synchronized void add(ChannelConversion channelConversion) {
         final List<ChannelConversion> edges = this.getOrCreateChannelConversions(channelConversion.getSourceChannelDescriptor());
         edges.add(channelConversion);
+        this.reachabilityIndex = null;
+        if (this.treeCache != null) this.treeCache.clear();
+    }
+
+    /**
+     * Tells how many requests have been served by a cached {@link Tree} so far.
+     *
+     * @return the number of cache hits
+     */
+    public int getNumTreeCacheHits() {
+        return this.numTreeCacheHits.get();
+    }
+
+    /**
+     * Provides the {@link #reachabilityIndex}, thereby creating it if necessary.
+     */
+    private synchronized Map<ChannelDescriptor, Set<ChannelDescriptor>> getReachabilityIndex() {
+        if (this.reachabilityIndex == null) {
+            Map<ChannelDescriptor, Set<ChannelDescriptor>> reachabilityIndex = new HashMap<>(this.conversions.size());
+            for (ChannelDescriptor channelDescriptor : this.conversions.keySet()) {
+                Set<ChannelDescriptor> reachableChannelDescriptors = new HashSet<>();
+                reachableChannelDescriptors.add(channelDescriptor);
+                Queue<ChannelDescriptor> queue = new LinkedList<>(reachableChannelDescriptors);
+                while (!queue.isEmpty()) {
+                    for (ChannelConversion conversion : this.conversions.getOrDefault(queue.poll(), Collections.emptyList())) {
+                        if (reachableChannelDescriptors.add(conversion.getTargetChannelDescriptor())) {
+                            queue.add(conversion.getTargetChannelDescriptor());
+                        }
+                    }
+                }
+                reachabilityIndex.put(channelDescriptor, reachableChannelDescriptors);
+            }
+            this.reachabilityIndex = reachabilityIndex;
+        }
+        return this.reachabilityIndex;
+    }
+
+    /**
+     * Tells whether any of the given {@link ChannelDescriptor}s can be reached from a {@link ChannelDescriptor}.
+     *
+     * @param source  the {@link ChannelDescriptor} to start from
+     * @param targets the {@link ChannelDescriptor}s to be reached
+     * @return whether the {@code source} is or can be converted to any of the {@code targets}
+     */
+    private boolean isReachable(ChannelDescriptor source, Collection<ChannelDescriptor> targets) {
+        final Set<ChannelDescriptor> reachableChannelDescriptors = this.getReachabilityIndex().get(source);
+        return reachableChannelDescriptors == null ?
+                targets.contains(source) :
+                !Collections.disjoint(reachableChannelDescriptors, targets);
     }
 
     /**
@@ -467,8 +546,22 @@ public class ChannelConversionGraph {
 
         @Override
         protected void doExecute() {
-            // Start from the root vertex.
-            final Tree tree = this.searchTree();
+            // Look for a cached tree that is still applicable.
+            final TreeCacheKey treeCacheKey = this.createTreeCacheKey();
+            Tree tree = treeCacheKey == null ? null : treeCache.get(treeCacheKey);
+            if (tree != null) {
+                if (tree.root.getChildChannelConversions().stream().anyMatch(this::isFiltered)) {
+                    tree = null;
+                } else {
+                    numTreeCacheHits.incrementAndGet();
+                }
+            }
+
+            // Otherwise, start from the root vertex.
+            if (tree == null && this.isEveryDestinationReachable()) {
+                tree = this.searchTree();
+                if (tree != null && treeCacheKey != null) treeCache.put(treeCacheKey, tree);
+            }
             if (tree != null) {
                 this.createJunction(tree);
             } else {
@@ -476,6 +569,31 @@ public class ChannelConversionGraph {
             }
         }
 
+        /**
+         * Creates a {@link TreeCacheKey} for the search of this instance.
+         *
+         * @return the {@link TreeCacheKey} or {@code null} if the search cannot be cached, e.g., because it has to
+         * incorporate existing {@link Channel}s
+         */
+        private TreeCacheKey createTreeCacheKey() {
+            if (treeCache == null || !this.existingChannels.isEmpty() || this.cardinality == null) return null;
+            final long cardinalityBucket = (long) Math.floor(
+                    Math.log1p(this.cardinality.getGeometricMeanEstimate()) / Math.log(cardinalityBucketBase)
+            );
+            return new TreeCacheKey(this.sourceChannelDescriptor, this.destChannelDescriptorSets,
+                    cardinalityBucket, this.numExecutions, this.isRequestBreakpoint);
+        }
+
+        /**
+         * Checks via the {@link #reachabilityIndex} whether every destination can be reached at all.
+         */
+        private boolean isEveryDestinationReachable() {
+            for (Set<ChannelDescriptor> destChannelDescriptors : this.kernelDestChannelDescriptorSetsToIndices.keySet()) {
+                if (!isReachable(this.sourceChannelDescriptor, destChannelDescriptors)) return false;
+            }
+            return true;
+        }
+
         /**
          * Rule out any non-reusable {@link ChannelDescriptor}s in recurring {@link ChannelDescriptor} sets.
          *
@@ -560,11 +678,12 @@ public class ChannelConversionGraph {
             final HashSet<ChannelDescriptor> visitedChannelDescriptors = new HashSet<>(16);
             visitedChannelDescriptors.add(this.sourceChannelDescriptor);
 
-            // Perform the traversal.
+            // Perform the traversal. Note that the settled indices are altered during the traversal, so we must not
+            // pass the shared Bitmask#EMPTY_BITMASK here.
             final Map<Bitmask, Tree> solutions = this.enumerate(
                     visitedChannelDescriptors,
                     this.sourceChannelDescriptor,
-                    Bitmask.EMPTY_BITMASK,
+                    new Bitmask(this.destChannelDescriptorSets.size()),
                     this.sourceChannelDescriptor.isSuitableForBreakpoint()
             );
 
@@ -663,6 +782,11 @@ public class ChannelConversionGraph {
                     continue;
                 }
 
+                // Skip if no destination can be reached from the target channel descriptor.
+                if (!isReachable(targetChannelDescriptor, this.kernelDestChannelDescriptorsToIndices.keySet())) {
+                    continue;
+                }
+
                 if (visitedChannelDescriptors.add(targetChannelDescriptor)) {
                     final Map<Bitmask, Tree> childSolutions = this.enumerate(
                             visitedChannelDescriptors,
@@ -948,6 +1072,52 @@ public class ChannelConversionGraph {
 
     }
 
+    /**
+     * Identifies the request of a {@link ShortestTreeSearcher} in the {@link #treeCache}.
+     */
+    private static class TreeCacheKey {
+
+        private final ChannelDescriptor sourceChannelDescriptor;
+
+        private final List<Set<ChannelDescriptor>> destChannelDescriptorSets;
+
+        private final long cardinalityBucket;
+
+        private final int numExecutions;
+
+        private final boolean isRequestBreakpoint;
+
+        private TreeCacheKey(ChannelDescriptor sourceChannelDescriptor,
+                             List<Set<ChannelDescriptor>> destChannelDescriptorSets,
+                             long cardinalityBucket,
+                             int numExecutions,
+                             boolean isRequestBreakpoint) {
+            this.sourceChannelDescriptor = sourceChannelDescriptor;
+            this.destChannelDescriptorSets = destChannelDescriptorSets;
+            this.cardinalityBucket = cardinalityBucket;
+            this.numExecutions = numExecutions;
+            this.isRequestBreakpoint = isRequestBreakpoint;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || this.getClass() != o.getClass()) return false;
+            TreeCacheKey that = (TreeCacheKey) o;
+            return this.cardinalityBucket == that.cardinalityBucket &&
+                    this.numExecutions == that.numExecutions &&
+                    this.isRequestBreakpoint == that.isRequestBreakpoint &&
+                    Objects.equals(this.sourceChannelDescriptor, that.sourceChannelDescriptor) &&
+                    Objects.equals(this.destChannelDescriptorSets, that.destChannelDescriptorSets);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.sourceChannelDescriptor, this.destChannelDescriptorSets,
+                    this.cardinalityBucket, this.numExecutions, this.isRequestBreakpoint);
+        }
+    }
+
     /**
      * A tree consisting of {@link TreeVertex}es connected by {@link TreeEdge}s.
      */
@@ -0,0 +1,79 @@
+package org.qcri.rheem.core.optimizer.costs;
+
+import java.util.Collection;
+
+/**
+ * {@link LoadProfileEstimator} that scales the {@link LoadProfile}s of another {@link LoadProfileEstimator} by a
+ * calibration factor, e.g., to correct its estimates in the light of observed execution times.
+ */
+public class CalibratedLoadProfileEstimator implements LoadProfileEstimator {
+
+    /**
+     * The {@link LoadProfileEstimator} whose {@link LoadProfile}s are scaled.
+     */
+    private final LoadProfileEstimator delegate;
+
+    /**
+     * Scales the CPU, disk, and network loads of the {@link #delegate}.
+     */
+    private final double factor;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param delegate whose {@link LoadProfile}s should be scaled
+     * @param factor   to scale the {@link LoadProfile}s with
+     */
+    public CalibratedLoadProfileEstimator(LoadProfileEstimator delegate, double factor) {
+        this.delegate = delegate;
+        this.factor = factor;
+    }
+
+    @Override
+    public LoadProfile estimate(EstimationContext context) {
+        return this.delegate.estimate(context).times(this.factor);
+    }
+
+    @Override
+    public void nest(LoadProfileEstimator loadProfileEstimator) {
+        this.delegate.nest(loadProfileEstimator);
+    }
+
+    @Override
+    public Collection<LoadProfileEstimator> getNestedEstimators() {
+        return this.delegate.getNestedEstimators();
+    }
+
+    @Override
+    public String getConfigurationKey() {
+        return this.delegate.getConfigurationKey();
+    }
+
+    @Override
+    public String getTemplateKey() {
+        return this.delegate.getTemplateKey();
+    }
+
+    @Override
+    public LoadProfileEstimator copy() {
+        return new CalibratedLoadProfileEstimator(this.delegate.copy(), this.factor);
+    }
+
+    /**
+     * Provides the uncalibrated {@link LoadProfileEstimator}.
+     *
+     * @return the scaled {@link LoadProfileEstimator}
+     */
+    public LoadProfileEstimator getDelegate() {
+        return this.delegate;
+    }
+
+    public double getFactor() {
+        return this.factor;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[%s, x%.2f]", this.getClass().getSimpleName(), this.delegate, this.factor);
+    }
+}
@@ -28,6 +28,20 @@ public class LoadEstimate extends ProbabilisticIntervalEstimate implements JsonS
         return new LoadEstimate(this.getLowerEstimate() * n, this.getUpperEstimate() * n, this.getCorrectnessProbability());
     }
 
+    /**
+     * Scales the estimated load. The correctness probability is not altered.
+     *
+     * @param factor scalar to multiply with
+     * @return the product
+     */
+    public LoadEstimate times(double factor) {
+        return new LoadEstimate(
+                Math.round(this.getLowerEstimate() * factor),
+                Math.round(this.getUpperEstimate() * factor),
+                this.getCorrectnessProbability()
+        );
+    }
+
     /**
      * Adds a this and the given instance.
      *
@@ -152,6 +152,30 @@ public class LoadProfile implements JsonSerializable {
         return product;
     }
 
+    /**
+     * Scales the values of this instance and nested instances except for the RAM usage, which will not be altered.
+     * The overhead and the resource utilization are not altered either.
+     *
+     * @param factor the factor to multiply with
+     * @return the product
+     */
+    public LoadProfile times(double factor) {
+        if (factor == 1d) return this;
+
+        LoadProfile product = new LoadProfile(
+                this.cpuUsage.times(factor),
+                this.ramUsage,
+                this.networkUsage != null ? this.networkUsage.times(factor) : null,
+                this.diskUsage != null ? this.diskUsage.times(factor) : null,
+                this.resourceUtilization,
+                this.overheadMillis
+        );
+        for (LoadProfile subprofile : this.getSubprofiles()) {
+            product.nest(subprofile.times(factor));
+        }
+        return product;
+    }
+
     /**
      * Adds a this and the given instance.
      *
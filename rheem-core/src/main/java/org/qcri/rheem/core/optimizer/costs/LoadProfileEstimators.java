@@ -15,9 +15,13 @@ import org.qcri.rheem.core.util.mathex.DefaultContext;
 import org.qcri.rheem.core.util.mathex.Expression;
 import org.qcri.rheem.core.util.mathex.ExpressionBuilder;
 import org.qcri.rheem.core.util.mathex.exceptions.EvaluationException;
+import org.qcri.rheem.core.util.mathex.exceptions.MathExException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -26,6 +30,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.function.ToDoubleBiFunction;
 import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
 import java.util.function.ToLongBiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -48,6 +53,7 @@ public class LoadProfileEstimators {
                 "logGrowth",
                 vals -> OptimizationUtils.logisticGrowth(vals[0], vals[1], vals[2], vals[3])
         );
+        ctx.setFunction("sqrt", vals -> Math.sqrt(vals[0]));
         baseContext = ctx;
     }
 
@@ -283,6 +289,15 @@ public class LoadProfileEstimators {
                                                                int numInputs,
                                                                int numOutputs,
                                                                List<String> additionalProperties) {
+        // Try to evaluate the expression as compiled MathEx expression.
+        final VariableSlots variableSlots = new VariableSlots(numInputs, numOutputs, additionalProperties, 0d);
+        final ToDoubleFunction<double[]> compiledJuel = compileJuel(juel, variableSlots);
+        if (compiledJuel != null) {
+            // JUEL would coerce the result to a Long by truncation.
+            return (estimationContext, inCards, outCards) ->
+                    (long) compiledJuel.applyAsDouble(variableSlots.bind(estimationContext, inCards, outCards));
+        }
+
         final Map<String, Class<?>> parameterClasses = createJuelParameterClasses(
                 numInputs,
                 numOutputs,
@@ -301,11 +316,35 @@ public class LoadProfileEstimators {
      * @return a {@link ToLongBiFunction} wrapping the JUEL expression
      */
     private static ToDoubleBiFunction<long[], long[]> parseResourceUsageJuel(String juel, int numInputs, int numOutputs) {
+        final VariableSlots variableSlots = new VariableSlots(numInputs, numOutputs, Collections.emptyList(), 0d);
+        final ToDoubleFunction<double[]> compiledJuel = compileJuel(juel, variableSlots);
+        if (compiledJuel != null) {
+            return (inCards, outCards) -> compiledJuel.applyAsDouble(variableSlots.bind(null, inCards, outCards));
+        }
+
         final Map<String, Class<?>> parameterClasses = createJuelParameterClasses(numInputs, numOutputs);
         final JuelUtils.JuelFunction<Double> juelFunction = new JuelUtils.JuelFunction<>(juel, Double.class, parameterClasses);
         return (inCards, outCards) -> applyJuelFunction(juelFunction, null, inCards, outCards, Collections.emptyList());
     }
 
+    /**
+     * Translates a JUEL expression to MathEx and compiles it.
+     *
+     * @param juel          a JUEL expression
+     * @param variableSlots resolves the variables of the expression
+     * @return the compiled expression or {@code null} if the {@code juel} expression cannot be compiled
+     */
+    private static ToDoubleFunction<double[]> compileJuel(String juel, VariableSlots variableSlots) {
+        final String mathEx = JuelUtils.translateToMathEx(juel);
+        if (mathEx == null) return null;
+        try {
+            return ExpressionBuilder.parse(mathEx).specify(baseContext).compile(variableSlots);
+        } catch (MathExException e) {
+            logger.debug("Could not compile JUEL expression \"{}\".", juel, e);
+            return null;
+        }
+    }
+
     /**
      * Creates parameters classes for JUEL expressions based on input and output cardinalities.
      *
@@ -361,6 +400,14 @@ public class LoadProfileEstimators {
      */
     private static SinglePointEstimationFunction compile(String expression) {
         final Expression expr = ExpressionBuilder.parse(expression).specify(baseContext);
+        final VariableSlots variableSlots = new VariableSlots(Double.NaN);
+        try {
+            final ToDoubleFunction<double[]> compiledExpr = expr.compile(variableSlots);
+            return (context, inCards, outCards) ->
+                    Math.round(compiledExpr.applyAsDouble(variableSlots.bind(context, inCards, outCards)));
+        } catch (EvaluationException e) {
+            logger.debug("Could not compile \"{}\", will interpret it instead.", expression, e);
+        }
         return (context, inCards, outCards) -> {
             Context mathContext = createMathContext(context, inCards, outCards);
             return Math.round(expr.evaluate(mathContext));
@@ -375,6 +422,13 @@ public class LoadProfileEstimators {
      */
     private static ToDoubleBiFunction<long[], long[]> compileResourceUsage(String expression) {
         final Expression expr = ExpressionBuilder.parse(expression).specify(baseContext);
+        final VariableSlots variableSlots = new VariableSlots(Double.NaN);
+        try {
+            final ToDoubleFunction<double[]> compiledExpr = expr.compile(variableSlots);
+            return (inCards, outCards) -> compiledExpr.applyAsDouble(variableSlots.bind(null, inCards, outCards));
+        } catch (EvaluationException e) {
+            logger.debug("Could not compile \"{}\", will interpret it instead.", expression, e);
+        }
         return (inCards, outCards) -> {
             Context mathContext = createMathContext(null, inCards, outCards);
             return expr.evaluate(mathContext);
@@ -450,6 +504,7 @@ public class LoadProfileEstimators {
      * Utility to nest the {@link LoadProfileEstimator} of a {@link FunctionDescriptor}.
      *
      * @param mainEstimatorOpt   an optional {@link LoadProfileEstimator}; should be a {@link NestableLoadProfileEstimator}
+     *                           or an estimator that forwards nested estimators to one
      * @param functionDescriptor whose {@link LoadProfileEstimator} should be nested
      * @param configuration      provides the UDF {@link LoadProfileEstimator}
      */
@@ -457,7 +512,7 @@ public class LoadProfileEstimators {
                                         FunctionDescriptor functionDescriptor,
                                         Configuration configuration) {
         final LoadProfileEstimator mainEstimator = mainEstimatorOpt.orElse(null);
-        if (mainEstimator == null || !(mainEstimator instanceof NestableLoadProfileEstimator)) return;
+        if (mainEstimator == null) return;
         final LoadProfileEstimator subestimator = configuration
                 .getFunctionLoadProfileEstimatorProvider()
                 .provideFor(functionDescriptor);
@@ -468,4 +523,121 @@ public class LoadProfileEstimators {
 
     private static final ToDoubleBiFunction<long[], long[]> DEFAULT_RESOURCE_UTILIZATION_ESTIMATOR = (in, out) -> 1d;
 
+    /**
+     * Assigns the variables of compiled {@link Expression}s to slots in a value array and fills such arrays with the
+     * input and output cardinalities ({@code in***}, {@code out***}) and {@link EstimationContext} properties.
+     */
+    private static final class VariableSlots implements ToIntFunction<String> {
+
+        /**
+         * Marks slots that are served from the {@link EstimationContext}.
+         */
+        private static final int PROPERTY = -1;
+
+        /**
+         * Limit the accepted variables; {@code null} {@link #properties} accept any property.
+         */
+        private final int numInputs, numOutputs;
+
+        private final Collection<String> properties;
+
+        /**
+         * Value for properties that are not provided by the {@link EstimationContext}.
+         */
+        private final double propertyFallback;
+
+        /**
+         * The names of the variables in slot order.
+         */
+        private final List<String> variableNames = new ArrayList<>();
+
+        /**
+         * Per slot, the index of the input cardinality, {@code -2 - }the index of the output cardinality, or
+         * {@link #PROPERTY}.
+         */
+        private int[] sources = new int[0];
+
+        /**
+         * Creates a new instance that accepts any variables.
+         */
+        private VariableSlots(double propertyFallback) {
+            this(Integer.MAX_VALUE, Integer.MAX_VALUE, null, propertyFallback);
+        }
+
+        /**
+         * Creates a new instance that accepts only the given variables.
+         */
+        private VariableSlots(int numInputs, int numOutputs, Collection<String> properties, double propertyFallback) {
+            this.numInputs = numInputs;
+            this.numOutputs = numOutputs;
+            this.properties = properties;
+            this.propertyFallback = propertyFallback;
+        }
+
+        @Override
+        public int applyAsInt(String variableName) {
+            int slot = this.variableNames.indexOf(variableName);
+            if (slot != -1) return slot;
+
+            final int source;
+            int index;
+            if ((index = parseIndex(variableName, "in")) != -1) {
+                if (index >= this.numInputs) return -1;
+                source = index;
+            } else if ((index = parseIndex(variableName, "out")) != -1) {
+                if (index >= this.numOutputs) return -1;
+                source = -2 - index;
+            } else {
+                if (this.properties != null && !this.properties.contains(variableName)) return -1;
+                source = PROPERTY;
+            }
+            slot = this.variableNames.size();
+            this.variableNames.add(variableName);
+            this.sources = Arrays.copyOf(this.sources, slot + 1);
+            this.sources[slot] = source;
+            return slot;
+        }
+
+        /**
+         * Parses variable names such as {@code in999}.
+         *
+         * @return the index in the variable name or {@code -1} if it does not match the {@code prefix}
+         */
+        private static int parseIndex(String variableName, String prefix) {
+            if (!variableName.startsWith(prefix) || variableName.length() == prefix.length()) return -1;
+            int accu = 0;
+            for (int i = prefix.length(); i < variableName.length(); i++) {
+                char c = variableName.charAt(i);
+                if (!Character.isDigit(c)) return -1;
+                accu = 10 * accu + (c - '0');
+            }
+            return accu;
+        }
+
+        /**
+         * Provide the variable values for a compiled {@link Expression}.
+         *
+         * @param context             provides properties or is {@code null}
+         * @param inputCardinalities  provides input cardinalities ({@code in***})
+         * @param outputCardinalities provides output cardinalities ({@code out***})
+         * @return the values in slot order
+         */
+        private double[] bind(EstimationContext context, long[] inputCardinalities, long[] outputCardinalities) {
+            final int[] sources = this.sources;
+            double[] values = new double[sources.length];
+            for (int slot = 0; slot < sources.length; slot++) {
+                final int source = sources[slot];
+                if (source >= 0) {
+                    values[slot] = inputCardinalities[source];
+                } else if (source != PROPERTY) {
+                    values[slot] = outputCardinalities[-2 - source];
+                } else if (context != null) {
+                    values[slot] = context.getDoubleProperty(this.variableNames.get(slot), this.propertyFallback);
+                } else {
+                    values[slot] = this.propertyFallback;
+                }
+            }
+            return values;
+        }
+    }
 }
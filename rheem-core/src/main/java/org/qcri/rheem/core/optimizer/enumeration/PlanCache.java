@@ -0,0 +1,260 @@
+package org.qcri.rheem.core.optimizer.enumeration;
+
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+import org.qcri.rheem.core.plan.rheemplan.CompositeOperator;
+import org.qcri.rheem.core.plan.rheemplan.InputSlot;
+import org.qcri.rheem.core.plan.rheemplan.Operator;
+import org.qcri.rheem.core.plan.rheemplan.OperatorAlternative;
+import org.qcri.rheem.core.plan.rheemplan.OperatorContainer;
+import org.qcri.rheem.core.plan.rheemplan.OutputSlot;
+import org.qcri.rheem.core.plan.rheemplan.PlanTraversal;
+import org.qcri.rheem.core.plan.rheemplan.RheemPlan;
+import org.qcri.rheem.core.profiling.CardinalityRepository;
+import org.qcri.rheem.core.util.LruCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remembers which {@link OperatorAlternative.Alternative}s have been picked for previously optimized
+ * {@link RheemPlan}s. This allows to skip the exploration of the search space for recurring plans and have the
+ * {@link PlanEnumerator} only connect the known choices.
+ * <p>{@link RheemPlan}s are identified by their shape (i.e., their {@link Operator}s, UDFs, and topology), the
+ * magnitude of their estimated cardinalities, the {@link Configuration}, and the version of the cost model. Hence,
+ * entries become unreachable as soon as learned cardinalities or calibrated costs diverge.</p>
+ */
+public class PlanCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlanCache.class);
+
+    /**
+     * Caches the indices of the picked {@link OperatorAlternative.Alternative}s as listed in the
+     * {@link Key#operatorAlternatives}; {@code -1} marks {@link OperatorAlternative}s without a choice.
+     */
+    private final LruCache<String, int[]> entries;
+
+    /**
+     * Base of the logarithm used to bucket cardinalities.
+     */
+    private final double cardinalityBucketBase;
+
+    private int numHits = 0, numMisses = 0;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param configuration provides the capacity and the cardinality bucketing
+     */
+    public PlanCache(Configuration configuration) {
+        this.entries = new LruCache<>((int) configuration.getLongProperty("rheem.core.optimizer.plancache.capacity", 100));
+        this.cardinalityBucketBase = configuration.getDoubleProperty("rheem.core.optimizer.plancache.bucketbase", 2d);
+    }
+
+    /**
+     * Create a {@link Key} for the given prepared {@link RheemPlan}.
+     *
+     * @param rheemPlan           whose {@link OperatorAlternative}s have been inflated already
+     * @param optimizationContext holds the estimated cardinalities of the {@code rheemPlan} and its {@link Configuration}
+     * @param costModelVersion    identifies the state of the cost model, e.g., of its calibration
+     * @return the {@link Key} or {@code null} if the {@code rheemPlan} cannot be identified reliably, e.g., because
+     * of UDFs that cannot be told apart
+     */
+    public Key createKey(RheemPlan rheemPlan, OptimizationContext optimizationContext, long costModelVersion) {
+        // Bring all Operators in a canonical order.
+        List<Operator> operators = new ArrayList<>();
+        PlanTraversal.upstream()
+                .withCallback(operator -> this.collect(operator, operators))
+                .traverse(rheemPlan.getSinks());
+        Map<Operator, Integer> operatorIds = new IdentityHashMap<>(operators.size());
+        for (Operator operator : operators) {
+            operatorIds.put(operator, operatorIds.size());
+        }
+
+        // Describe the optimization parameters.
+        StringBuilder sb = new StringBuilder();
+        sb.append(optimizationContext.getConfiguration().createPropertiesFingerprint())
+                .append('@').append(costModelVersion).append(';');
+
+        // Describe the Operators and their topology.
+        List<OperatorAlternative> operatorAlternatives = new ArrayList<>();
+        for (Operator operator : operators) {
+            final String operatorFingerprint = CardinalityRepository.createFingerprint(operator);
+            if (operatorFingerprint == null) {
+                logger.debug("Cannot cache plan: {} has no stable fingerprint.", operator);
+                return null;
+            }
+            sb.append(operator.getClass().getName()).append('|').append(operatorFingerprint);
+            final CompositeOperator parent = operator.getParent();
+            if (parent != null) {
+                sb.append('^').append(operatorIds.get(parent));
+                if (parent.isAlternative()) {
+                    sb.append('/').append(((OperatorAlternative) parent).getAlternatives().indexOf(operator.getContainer()));
+                }
+            }
+            sb.append('(');
+            for (InputSlot<?> input : operator.getAllInputs()) {
+                final OutputSlot<?> occupant = input.getOccupant();
+                if (occupant == null) {
+                    sb.append('-');
+                } else {
+                    sb.append(operatorIds.get(occupant.getOwner())).append('.').append(occupant.getIndex());
+                }
+                sb.append(',');
+            }
+            sb.append(')');
+
+            // Bucket the output cardinalities, which might stem from learned estimates.
+            final OptimizationContext.OperatorContext operatorContext = optimizationContext.getOperatorContext(operator);
+            if (operatorContext != null) {
+                for (int outputIndex = 0; outputIndex < operator.getNumOutputs(); outputIndex++) {
+                    final CardinalityEstimate cardinality = operatorContext.getOutputCardinality(outputIndex);
+                    if (cardinality != null) {
+                        sb.append('#').append(this.toBucket(cardinality));
+                    }
+                }
+            }
+            if (operator.isAlternative()) {
+                operatorAlternatives.add((OperatorAlternative) operator);
+            }
+            sb.append(';');
+        }
+
+        return new Key(sb.toString(), operatorAlternatives);
+    }
+
+    /**
+     * Adds the {@code operator} and, if it is composite, all its contained {@link Operator}s to the {@code operators}.
+     */
+    private void collect(Operator operator, List<Operator> operators) {
+        operators.add(operator);
+        if (!operator.isElementary()) {
+            for (OperatorContainer container : ((CompositeOperator) operator).getContainers()) {
+                container.traverse((containedOperator, fromInput, fromOutput) -> this.collect(containedOperator, operators));
+            }
+        }
+    }
+
+    /**
+     * Determine the bucket for the given {@link CardinalityEstimate}.
+     */
+    private long toBucket(CardinalityEstimate cardinality) {
+        return (long) Math.floor(Math.log1p(cardinality.getGeometricMeanEstimate()) / Math.log(this.cardinalityBucketBase));
+    }
+
+    /**
+     * Look up the {@link OperatorAlternative.Alternative}s picked for a {@link RheemPlan} with the given {@link Key}.
+     *
+     * @param key identifies the {@link RheemPlan}
+     * @return the picked {@link OperatorAlternative.Alternative}s or {@code null} if there is no (valid) entry
+     */
+    public synchronized Map<OperatorAlternative, OperatorAlternative.Alternative> lookup(Key key) {
+        final int[] pickedIndices = this.entries.get(key.fingerprint);
+        if (pickedIndices == null || pickedIndices.length != key.operatorAlternatives.size()) {
+            this.numMisses++;
+            return null;
+        }
+
+        Map<OperatorAlternative, OperatorAlternative.Alternative> pickedAlternatives = new HashMap<>(pickedIndices.length);
+        for (int i = 0; i < pickedIndices.length; i++) {
+            if (pickedIndices[i] == -1) continue;
+            final List<OperatorAlternative.Alternative> alternatives = key.operatorAlternatives.get(i).getAlternatives();
+            if (pickedIndices[i] >= alternatives.size()) {
+                this.entries.remove(key.fingerprint);
+                this.numMisses++;
+                return null;
+            }
+            pickedAlternatives.put(key.operatorAlternatives.get(i), alternatives.get(pickedIndices[i]));
+        }
+        this.numHits++;
+        logger.debug("Plan cache hit ({} hits, {} misses).", this.numHits, this.numMisses);
+        return pickedAlternatives;
+    }
+
+    /**
+     * Remember the {@link OperatorAlternative.Alternative}s settled in the given {@link PlanImplementation}.
+     *
+     * @param key                identifies the {@link RheemPlan} that the {@code planImplementation} implements
+     * @param planImplementation that has been picked for execution
+     */
+    public void store(Key key, PlanImplementation planImplementation) {
+        this.store(key, planImplementation.collectSettledAlternatives());
+    }
+
+    /**
+     * Remember the given picked {@link OperatorAlternative.Alternative}s.
+     *
+     * @param key                identifies the {@link RheemPlan} that contains the {@link OperatorAlternative}s
+     * @param pickedAlternatives the picked {@link OperatorAlternative.Alternative}s
+     */
+    public synchronized void store(Key key, Map<OperatorAlternative, OperatorAlternative.Alternative> pickedAlternatives) {
+        int[] pickedIndices = new int[key.operatorAlternatives.size()];
+        for (int i = 0; i < pickedIndices.length; i++) {
+            final OperatorAlternative operatorAlternative = key.operatorAlternatives.get(i);
+            final OperatorAlternative.Alternative alternative = pickedAlternatives.get(operatorAlternative);
+            pickedIndices[i] = alternative == null ? -1 : operatorAlternative.getAlternatives().indexOf(alternative);
+        }
+        this.entries.put(key.fingerprint, pickedIndices);
+    }
+
+    /**
+     * Discard the entry for the given {@link Key}, e.g., because its choices could not be implemented.
+     *
+     * @param key identifies the entry
+     */
+    public synchronized void invalidate(Key key) {
+        this.entries.remove(key.fingerprint);
+    }
+
+    public synchronized int getNumHits() {
+        return this.numHits;
+    }
+
+    public synchronized int getNumMisses() {
+        return this.numMisses;
+    }
+
+    /**
+     * Identifies a {@link RheemPlan} in a {@link PlanCache}.
+     */
+    public static class Key {
+
+        /**
+         * Canonical description of the {@link RheemPlan}.
+         */
+        private final String fingerprint;
+
+        /**
+         * The {@link OperatorAlternative}s of the {@link RheemPlan} in canonical order.
+         */
+        private final List<OperatorAlternative> operatorAlternatives;
+
+        private Key(String fingerprint, List<OperatorAlternative> operatorAlternatives) {
+            this.fingerprint = fingerprint;
+            this.operatorAlternatives = operatorAlternatives;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || this.getClass() != o.getClass()) return false;
+            return this.fingerprint.equals(((Key) o).fingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.fingerprint.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s[%d alternatives]", this.getClass().getSimpleName(), this.operatorAlternatives.size());
+        }
+    }
+}
@@ -22,14 +22,17 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Represents a collection of {@link PlanImplementation}s that all implement the same section of a {@link RheemPlan} (which
@@ -278,7 +281,8 @@ public class PlanEnumeration {
      * @param concatenationEnumeration to which the {@link PlanImplementation}s should be added
      * @param concatenationMeasurement
      * @param isRequestBreakpoint      whether a breakpoint-capable {@link Channel} should be inserted
-     * @return the concatenated {@link PlanImplementation}s
+     * @return the concatenated {@link PlanImplementation}s; if a beam width is configured, only that many of the
+     * cheapest ones
      */
     private Collection<PlanImplementation> concatenatePartialPlansBatchwise(
             OutputSlot<?> openOutputSlot,
@@ -291,6 +295,10 @@ public class PlanEnumeration {
 
         // Preparatory initializations.
         final ChannelConversionGraph channelConversionGraph = optimizationContext.getChannelConversionGraph();
+        final int beamWidth = (int) optimizationContext.getConfiguration().getLongProperty(
+                "rheem.core.optimizer.enumeration.beamwidth", 0
+        );
+        final Beam beam = beamWidth > 0 ? new Beam(beamWidth) : null;
 
         // Allocate result collector.
         Collection<PlanImplementation> result = new LinkedList<>();
@@ -352,7 +360,22 @@ public class PlanEnumeration {
         for (PlanEnumeration enumeration : orderedEnumerations) {
             orderedConcatGroups.add(enum2concatGroup.get(enumeration));
         }
-        for (List<PlanImplementation.ConcatenationGroupDescriptor> concatGroupCombo : RheemCollections.streamedCrossProduct(orderedConcatGroups)) {
+        // The partial plans are shared among the concatenation group combinations, so let us compute their costs upfront.
+        if (beam != null) {
+            for (Set<PlanImplementation.ConcatenationDescriptor> concatDescriptors : concatGroup2concatDescriptor.values()) {
+                concatDescriptors.forEach(concatDescriptor -> concatDescriptor.getPlanImplementation().getSquashedCostEstimate(true));
+            }
+        }
+        // The concatenation group combinations are independent of each other, so we can process them in parallel.
+        List<List<PlanImplementation.ConcatenationGroupDescriptor>> concatGroupCombos = new ArrayList<>();
+        RheemCollections.streamedCrossProduct(orderedConcatGroups).forEach(concatGroupCombos::add);
+        // Their indices serve the Beam to break cost ties independently of the processing order.
+        List<Integer> concatGroupComboIndices = IntStream.range(0, concatGroupCombos.size())
+                .boxed()
+                .collect(Collectors.toList());
+        List<Collection<PlanImplementation>> comboResults = PlanEnumerator.mapAll(concatGroupComboIndices, comboIndex -> {
+            Collection<PlanImplementation> comboResult = new LinkedList<>();
+            final List<PlanImplementation.ConcatenationGroupDescriptor> concatGroupCombo = concatGroupCombos.get(comboIndex);
             // Determine the execution output along with its OptimizationContext.
             PlanImplementation.ConcatenationGroupDescriptor baseConcatGroup = concatGroupCombo.get(0);
             final OutputSlot<?> execOutput = baseConcatGroup.execOutput;
@@ -375,8 +398,9 @@ public class PlanEnumeration {
             // Construct a Junction between the ExecutionOperators.
             final Operator outputOperator = execOutput.getOwner();
             assert outputOperator.isExecutionOperator() : String.format("Expected execution operator, found %s.", outputOperator);
-            TimeMeasurement channelConversionMeasurement = concatenationMeasurement == null ?
-                    null : concatenationMeasurement.start("Channel Conversion");
+            TimeMeasurement comboMeasurement = PlanEnumerator.confine(concatenationMeasurement);
+            TimeMeasurement channelConversionMeasurement = comboMeasurement == null ?
+                    null : comboMeasurement.start("Channel Conversion");
             final Junction junction = openChannels == null || openChannels.isEmpty() ?
                     channelConversionGraph.findMinimumCostJunction(
                             execOutput,
@@ -390,10 +414,10 @@ public class PlanEnumeration {
                             execInputs,
                             innerPlanImplementation.getOptimizationContext());
             if (channelConversionMeasurement != null) channelConversionMeasurement.stop();
-            if (junction == null) continue;
+            if (junction == null) return comboResult;
 
             // If we found a junction, then we can enumerate all PlanImplementation combinations.
-            final List<Set<PlanImplementation>> groupPlans = RheemCollections.map(
+            final List<Collection<PlanImplementation>> groupPlans = RheemCollections.map(
                     concatGroupCombo,
                     concatGroup -> {
                         Set<PlanImplementation.ConcatenationDescriptor> concatDescriptors = concatGroup2concatDescriptor.get(concatGroup);
@@ -401,18 +425,27 @@ public class PlanEnumeration {
                         for (PlanImplementation.ConcatenationDescriptor concatDescriptor : concatDescriptors) {
                             planImplementations.add(concatDescriptor.getPlanImplementation());
                         }
-                        return planImplementations;
+                        return beam == null ? planImplementations : Beam.sort(planImplementations);
                     });
 
+            long planComboIndex = -1;
             for (List<PlanImplementation> planCombo : RheemCollections.streamedCrossProduct(groupPlans)) {
+                planComboIndex++;
+                // Skip combinations that cannot make it into the beam anymore.
+                if (beam != null && !beam.isPromising(Beam.getCostLowerBound(planCombo, junction))) continue;
+
                 PlanImplementation basePlan = planCombo.get(0);
                 List<PlanImplementation> targetPlans = planCombo.subList(0, planCombo.size());
                 PlanImplementation concatenatedPlan = basePlan.concatenate(targetPlans, junction, basePlan, concatenationEnumeration);
                 if (concatenatedPlan != null) {
-                    result.add(concatenatedPlan);
+                    if (beam != null) beam.offer(concatenatedPlan, comboIndex, planComboIndex);
+                    else comboResult.add(concatenatedPlan);
                 }
             }
-        }
+            return comboResult;
+        });
+        comboResults.forEach(result::addAll);
+        if (beam != null) result.addAll(beam.getPlanImplementations());
 
         return result;
     }
@@ -595,6 +628,133 @@ public class PlanEnumeration {
         return this.executedTasks;
     }
 
+    /**
+     * Retains the cheapest {@link PlanImplementation}s created during a concatenation and tells apart combinations of
+     * partial {@link PlanImplementation}s that cannot be among those anyway. This allows to prune the enumeration
+     * while concatenating rather than after the full cross product has been materialized.
+     */
+    private static class Beam {
+
+        /**
+         * The maximum number of retained {@link PlanImplementation}s.
+         */
+        private final int width;
+
+        /**
+         * The retained {@link PlanImplementation}s, most expensive first.
+         */
+        private final PriorityQueue<Candidate> candidates;
+
+        /**
+         * The cost of the most expensive retained {@link PlanImplementation} once the beam is full.
+         */
+        private volatile double threshold = Double.POSITIVE_INFINITY;
+
+        private Beam(int width) {
+            this.width = width;
+            this.candidates = new PriorityQueue<>(width, Comparator.reverseOrder());
+        }
+
+        /**
+         * Tells whether a concatenated {@link PlanImplementation} with the given cost lower bound could enter this instance.
+         * Combinations at the {@link #threshold} might still win a cost tie.
+         */
+        private boolean isPromising(double costLowerBound) {
+            return costLowerBound <= this.threshold;
+        }
+
+        /**
+         * Retain the given {@link PlanImplementation} if it is among the cheapest ones seen so far. Cost ties are broken
+         * by the enumeration order, so that the retained {@link PlanImplementation}s do not depend on the order in which
+         * (possibly concurrent) callers offer them.
+         *
+         * @param planImplementation the {@link PlanImplementation} to offer
+         * @param comboIndex         index of the concatenation group combination that produced it
+         * @param planComboIndex     index of the {@link PlanImplementation} combination within that concatenation group
+         *                           combination
+         */
+        private synchronized void offer(PlanImplementation planImplementation, int comboIndex, long planComboIndex) {
+            final Candidate candidate = new Candidate(planImplementation, comboIndex, planComboIndex);
+            if (this.candidates.size() < this.width) {
+                this.candidates.add(candidate);
+            } else if (candidate.compareTo(this.candidates.peek()) < 0) {
+                this.candidates.poll();
+                this.candidates.add(candidate);
+            }
+            if (this.candidates.size() == this.width) {
+                this.threshold = this.candidates.peek().cost;
+            }
+        }
+
+        /**
+         * @return the retained {@link PlanImplementation}s, cheapest first
+         */
+        private synchronized Collection<PlanImplementation> getPlanImplementations() {
+            return this.candidates.stream()
+                    .sorted()
+                    .map(candidate -> candidate.planImplementation)
+                    .collect(Collectors.toList());
+        }
+
+        /**
+         * Estimates an admissible lower bound for the cost of concatenating the given {@link PlanImplementation}s.
+         * As they implement disjoint parts of the {@link RheemPlan}, the concatenation incurs at least their costs
+         * (without global overheads) and the cost of the {@link Junction}.
+         */
+        private static double getCostLowerBound(List<PlanImplementation> planImplementations, Junction junction) {
+            double costLowerBound = 0d;
+            for (PlanImplementation planImplementation : planImplementations) {
+                costLowerBound += planImplementation.getSquashedCostEstimate(false);
+            }
+            final OptimizationContext baseOptimizationContext = planImplementations.get(0).getOptimizationContext();
+            for (OptimizationContext optimizationContext : baseOptimizationContext.getDefaultOptimizationContexts()) {
+                costLowerBound += junction.getSquashedCostEstimate(optimizationContext);
+            }
+            return costLowerBound;
+        }
+
+        /**
+         * Orders the given {@link PlanImplementation}s by their cost, so that cheap combinations are concatenated first.
+         */
+        private static List<PlanImplementation> sort(Collection<PlanImplementation> planImplementations) {
+            List<PlanImplementation> sortedPlanImplementations = new ArrayList<>(planImplementations);
+            sortedPlanImplementations.sort(
+                    (p1, p2) -> Double.compare(p1.getSquashedCostEstimate(true), p2.getSquashedCostEstimate(true))
+            );
+            return sortedPlanImplementations;
+        }
+
+        /**
+         * A {@link PlanImplementation} offered to a {@link Beam} along with its position in the enumeration.
+         * Instances are ordered by their cost and then by that position.
+         */
+        private static class Candidate implements Comparable<Candidate> {
+
+            private final PlanImplementation planImplementation;
+
+            private final double cost;
+
+            private final int comboIndex;
+
+            private final long planComboIndex;
+
+            private Candidate(PlanImplementation planImplementation, int comboIndex, long planComboIndex) {
+                this.planImplementation = planImplementation;
+                this.cost = planImplementation.getSquashedCostEstimate(true);
+                this.comboIndex = comboIndex;
+                this.planComboIndex = planComboIndex;
+            }
+
+            @Override
+            public int compareTo(Candidate that) {
+                int result = Double.compare(this.cost, that.cost);
+                if (result == 0) result = Integer.compare(this.comboIndex, that.comboIndex);
+                if (result == 0) result = Long.compare(this.planComboIndex, that.planComboIndex);
+                return result;
+            }
+        }
+    }
+
     @Override
     public String toString() {
         return this.toIOString();
@@ -24,6 +24,7 @@ import org.qcri.rheem.core.util.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -37,7 +38,11 @@ import java.util.Objects;
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -45,9 +50,22 @@ import java.util.stream.Stream;
 /**
  * The plan partitioner recursively dissects a {@link RheemPlan} into {@link PlanEnumeration}s and then assembles
  * them.
+ * <p>If {@code rheem.core.optimizer.enumeration.parallelism} is greater than {@code 1}, independent branches,
+ * {@link OperatorAlternative.Alternative}s, and concatenation groups are enumerated concurrently in an
+ * {@link EnumerationPool}. The results are always combined in the same order as for a sequential enumeration.</p>
  */
 public class PlanEnumerator {
 
+    /**
+     * {@link EnumerationPool}s to enumerate in parallel indexed by their parallelism.
+     */
+    private static final Map<Integer, EnumerationPool> enumerationPools = new ConcurrentHashMap<>();
+
+    /**
+     * Tells whether the current thread executes a task forked by {@link #mapAll(List, Function)}.
+     */
+    private static final ThreadLocal<Boolean> isInForkedTask = ThreadLocal.withInitial(() -> false);
+
     /**
      * Logger.
      */
@@ -129,6 +147,17 @@ public class PlanEnumerator {
      */
     private boolean isEnumeratingBranchesFirst;
 
+    /**
+     * Number of threads to enumerate with.
+     */
+    private int parallelism;
+
+    /**
+     * Tells whether the {@link #presettledAlternatives} stem from executed {@link ExecutionTask}s and must thus not
+     * be filtered.
+     */
+    private boolean isExemptingPresettledAlternatives = true;
+
     /**
      * Creates a new instance.
      *
@@ -144,6 +173,25 @@ public class PlanEnumerator {
                 Collections.emptyMap());
     }
 
+    /**
+     * Creates a new instance that enumerates only the given {@link OperatorAlternative.Alternative}s, e.g., as
+     * obtained from a {@link PlanCache}. Unlike executed parts of a plan, these are still subject to filtering.
+     *
+     * @param rheemPlan              a hyperplan that should be used for enumeration.
+     * @param presettledAlternatives {@link OperatorAlternative.Alternative}s that should be picked
+     */
+    public PlanEnumerator(RheemPlan rheemPlan,
+                          OptimizationContext optimizationContext,
+                          Map<OperatorAlternative, OperatorAlternative.Alternative> presettledAlternatives) {
+        this(rheemPlan.collectReachableTopLevelSources(),
+                optimizationContext,
+                null,
+                presettledAlternatives,
+                Collections.emptyMap(),
+                Collections.emptyMap());
+        this.isExemptingPresettledAlternatives = false;
+    }
+
     /**
      * Creates a new instance, thereby encorporating already executed parts of the {@code rheemPlan}.
      *
@@ -154,6 +202,23 @@ public class PlanEnumerator {
                           OptimizationContext optimizationContext,
                           ExecutionPlan baseplan,
                           Set<Channel> openChannels) {
+        this(rheemPlan, optimizationContext, baseplan, openChannels, Collections.emptyMap());
+    }
+
+    /**
+     * Creates a new instance, thereby encorporating already executed parts of the {@code rheemPlan} and keeping
+     * further {@link OperatorAlternative.Alternative}s that need not be reconsidered.
+     *
+     * @param rheemPlan           a hyperplan that should be used for enumeration.
+     * @param baseplan            an {@link ExecutionPlan} that has been already executed (for re-optimization)
+     * @param settledAlternatives {@link OperatorAlternative.Alternative}s that should be kept unless they conflict
+     *                            with the executed parts of the {@code baseplan}
+     */
+    public PlanEnumerator(RheemPlan rheemPlan,
+                          OptimizationContext optimizationContext,
+                          ExecutionPlan baseplan,
+                          Set<Channel> openChannels,
+                          Map<OperatorAlternative, OperatorAlternative.Alternative> settledAlternatives) {
 
         this(rheemPlan.collectReachableTopLevelSources(),
                 optimizationContext,
@@ -171,6 +236,7 @@ public class PlanEnumerator {
                 .map(ExecutionTask::getOperator)
                 .flatMap(this::streamPickedAlternatives)
                 .forEach(alternative -> this.presettledAlternatives.put(alternative.toOperator(), alternative));
+        settledAlternatives.forEach(this.presettledAlternatives::putIfAbsent);
 
         // Index the existing Channels by their user-specified Operator's OutputSlot.
         // Note that we must always take the outermost OutputSlots because only those will be connected if the RheemPlan is sane.
@@ -215,6 +281,7 @@ public class PlanEnumerator {
         this.isEnumeratingBranchesFirst = configuration.getBooleanProperty(
                 "rheem.core.optimizer.enumeration.branchesfirst", true
         );
+        this.parallelism = (int) configuration.getLongProperty("rheem.core.optimizer.enumeration.parallelism", 1);
 
         // Configure the concatenations.
         final String priorityFunctionName = configuration.getStringProperty(
@@ -305,30 +372,94 @@ public class PlanEnumerator {
      */
     private synchronized void run() {
         if (this.resultReference == null) {
-            while (!this.activatedEnumerations.isEmpty()) {
-                // Try to enumerate branches.
-                EnumerationActivator enumerationActivator;
-                if ((enumerationActivator = this.activatedEnumerations.poll()) != null) {
-                    if (this.isTopLevel()) {
-                        this.logger.debug("Execute {}.", enumerationActivator);
-                    }
-                    this.enumerateBranchStartingFrom(enumerationActivator);
-                }
+            if (this.parallelism > 1 && !isParallelEnumeration()) {
+                final EnumerationPool enumerationPool = enumerationPools.computeIfAbsent(this.parallelism, EnumerationPool::new);
+                enumerationPool.invoke(ForkJoinTask.adapt(this::doRun));
+            } else {
+                this.doRun();
+            }
+        }
+    }
+
+    /**
+     * Execute the enumeration in the current thread.
+     */
+    private void doRun() {
+        while (!this.activatedEnumerations.isEmpty()) {
+            // Enumerate the branches of all activated EnumerationActivators. They are independent of each other...
+            final List<EnumerationActivator> enumerationActivators = new ArrayList<>(this.activatedEnumerations);
+            this.activatedEnumerations.clear();
+            if (this.isTopLevel()) {
+                enumerationActivators.forEach(activator -> this.logger.debug("Execute {}.", activator));
             }
+            final List<PlanEnumeration> branchEnumerations = mapAll(enumerationActivators, this::enumerateBranchStartingFrom);
 
-            ConcatenationActivator concatenationActivator;
-            while ((concatenationActivator = this.activatedConcatenations.poll()) != null) {
-                if (this.isTopLevel()) {
-                    this.logger.debug("Execute {} (open inputs: {}).",
-                            concatenationActivator,
-                            concatenationActivator.getBaseEnumeration().getRequestedInputSlots()
-                    );
+            // ...but their activations must be propagated in order to keep the enumeration deterministic.
+            for (int i = 0; i < branchEnumerations.size(); i++) {
+                final PlanEnumeration branchEnumeration = branchEnumerations.get(i);
+                if (branchEnumeration != null) {
+                    this.postProcess(branchEnumeration, enumerationActivators.get(i).getOptimizationContext());
                 }
-                this.concatenate(concatenationActivator);
             }
+        }
+
+        ConcatenationActivator concatenationActivator;
+        while ((concatenationActivator = this.activatedConcatenations.poll()) != null) {
+            if (this.isTopLevel()) {
+                this.logger.debug("Execute {} (open inputs: {}).",
+                        concatenationActivator,
+                        concatenationActivator.getBaseEnumeration().getRequestedInputSlots()
+                );
+            }
+            this.concatenate(concatenationActivator);
+        }
+
+        this.constructResultEnumeration();
+    }
+
+    /**
+     * Tells whether the current thread takes part in a parallel enumeration.
+     *
+     * @return whether the current thread belongs to an {@link EnumerationPool}
+     */
+    static boolean isParallelEnumeration() {
+        return ForkJoinTask.getPool() instanceof EnumerationPool;
+    }
 
-            this.constructResultEnumeration();
+    /**
+     * Applies the {@code function} to all {@code elements}. In a parallel enumeration, this happens concurrently.
+     * Either way, the results are ordered as their {@code elements}.
+     *
+     * @param elements to be mapped
+     * @param function maps the {@code elements}; must not interfere with the other invocations
+     * @return the mapped {@code elements}
+     */
+    static <S, T> List<T> mapAll(List<S> elements, Function<S, T> function) {
+        if (elements.size() <= 1 || !isParallelEnumeration()) {
+            return RheemCollections.map(elements, function);
         }
+        final List<ForkJoinTask<T>> tasks = RheemCollections.map(elements, element -> ForkJoinTask.adapt(() -> {
+            final boolean wasInForkedTask = isInForkedTask.get();
+            isInForkedTask.set(true);
+            try {
+                return function.apply(element);
+            } finally {
+                isInForkedTask.set(wasInForkedTask);
+            }
+        }));
+        ForkJoinTask.invokeAll(tasks);
+        return RheemCollections.map(tasks, task -> task.join());
+    }
+
+    /**
+     * {@link TimeMeasurement}s are not thread-safe, so we do not measure within tasks forked by
+     * {@link #mapAll(List, Function)}.
+     *
+     * @param timeMeasurement that might be used
+     * @return the {@code timeMeasurement} or {@code null} if it must not be used by the current thread
+     */
+    static TimeMeasurement confine(TimeMeasurement timeMeasurement) {
+        return isInForkedTask.get() ? null : timeMeasurement;
     }
 
     /**
@@ -341,8 +472,9 @@ public class PlanEnumerator {
      * </ol>
      *
      * @param enumerationActivator the activated {@link EnumerationActivator}
+     * @return the {@link PlanEnumeration} for the branch or {@code null} if none could be created
      */
-    private void enumerateBranchStartingFrom(EnumerationActivator enumerationActivator) {
+    private PlanEnumeration enumerateBranchStartingFrom(EnumerationActivator enumerationActivator) {
         assert !enumerationActivator.wasExecuted();
         enumerationActivator.markAsExecuted();
 
@@ -350,7 +482,7 @@ public class PlanEnumerator {
         Operator currentOperator = enumerationActivator.activatableOperator;
         List<Operator> branch = this.collectBranchOperatorsStartingFrom(currentOperator);
         if (branch == null) {
-            return;
+            return null;
         }
         if (this.isTopLevel()) {
             this.logger.debug("Enumerating top-level {}.", branch);
@@ -358,12 +490,7 @@ public class PlanEnumerator {
 
         // Go over the branch and create a PlanEnumeration for it.
         final OptimizationContext currentOptimizationCtx = enumerationActivator.getOptimizationContext();
-        PlanEnumeration branchEnumeration = this.enumerateBranch(branch, currentOptimizationCtx);
-        if (branchEnumeration == null) {
-            return;
-        }
-
-        this.postProcess(branchEnumeration, currentOptimizationCtx);
+        return this.enumerateBranch(branch, currentOptimizationCtx);
     }
 
     /**
@@ -454,7 +581,7 @@ public class PlanEnumerator {
                 // However, we must not filter operators that are pre-settled (i.e., that have been executed already).
                 boolean isPresettled = false;
                 OperatorContainer container = operator.getContainer();
-                if (container instanceof OperatorAlternative.Alternative) {
+                if (this.isExemptingPresettledAlternatives && container instanceof OperatorAlternative.Alternative) {
                     OperatorAlternative.Alternative alternative = (OperatorAlternative.Alternative) container;
                     OperatorAlternative operatorAlternative = alternative.getOperatorAlternative();
                     isPresettled = this.presettledAlternatives.get(operatorAlternative) == alternative;
@@ -485,7 +612,7 @@ public class PlanEnumerator {
                         this.openChannels.get(output),
                         Collections.singletonMap(operator.getInput(0), operatorEnumeration),
                         optimizationContext,
-                        this.timeMeasurement);
+                        confine(this.timeMeasurement));
 
                 if (branchEnumeration.getPlanImplementations().isEmpty()) {
                     if (this.isTopLevel()) {
@@ -516,14 +643,17 @@ public class PlanEnumerator {
                 this.presettledAlternatives == null || !this.presettledAlternatives.containsKey(operatorAlternative) ?
                         operatorAlternative.getAlternatives() :
                         Collections.singletonList(this.presettledAlternatives.get(operatorAlternative));
-        for (OperatorAlternative.Alternative alternative : alternatives) {
 
-            // Recursively enumerate all alternatives.
-            final PlanEnumerator alternativeEnumerator = this.forkFor(alternative, optimizationContext);
-            final PlanEnumeration alternativeEnumeration = alternativeEnumerator.enumerate(false);
+        // Recursively enumerate all alternatives.
+        final List<PlanEnumeration> alternativeEnumerations = mapAll(
+                alternatives,
+                alternative -> this.forkFor(alternative, optimizationContext).enumerate(false)
+        );
 
+        for (int i = 0; i < alternatives.size(); i++) {
+            final PlanEnumeration alternativeEnumeration = alternativeEnumerations.get(i);
             if (alternativeEnumeration != null) {
-                final PlanEnumeration escapedEnumeration = alternativeEnumeration.escape(alternative);
+                final PlanEnumeration escapedEnumeration = alternativeEnumeration.escape(alternatives.get(i));
                 if (result == null) result = escapedEnumeration;
                 else result.unionInPlace(escapedEnumeration);
             }
@@ -545,7 +675,8 @@ public class PlanEnumerator {
                 this.presettledAlternatives,
                 this.executedTasks,
                 this.openChannels);
-        fork.setTimeMeasurement(this.timeMeasurement);
+        fork.isExemptingPresettledAlternatives = this.isExemptingPresettledAlternatives;
+        fork.setTimeMeasurement(confine(this.timeMeasurement));
         return fork;
     }
 
@@ -559,7 +690,8 @@ public class PlanEnumerator {
                 this.presettledAlternatives,
                 this.executedTasks,
                 this.openChannels);
-        fork.setTimeMeasurement(this.timeMeasurement);
+        fork.isExemptingPresettledAlternatives = this.isExemptingPresettledAlternatives;
+        fork.setTimeMeasurement(confine(this.timeMeasurement));
         return fork;
     }
 
@@ -580,7 +712,7 @@ public class PlanEnumerator {
                 this.openChannels.get(concatenationActivator.outputSlot),
                 concatenationActivator.getAdjacentEnumerations(),
                 concatenationActivator.getOptimizationContext(),
-                this.timeMeasurement
+                confine(this.timeMeasurement)
         );
 
         if (concatenatedEnumeration.getPlanImplementations().isEmpty()) {
@@ -771,8 +903,8 @@ public class PlanEnumerator {
      * @param planEnumeration to which the pruning should be applied
      */
     private void prune(final PlanEnumeration planEnumeration) {
-        TimeMeasurement pruneMeasurement =
-                this.timeMeasurement == null ? null : this.timeMeasurement.start("Prune");
+        final TimeMeasurement timeMeasurement = confine(this.timeMeasurement);
+        TimeMeasurement pruneMeasurement = timeMeasurement == null ? null : timeMeasurement.start("Prune");
 
 
         if (this.logger.isDebugEnabled()) {
@@ -1097,4 +1229,15 @@ public class PlanEnumerator {
     public void setTimeMeasurement(TimeMeasurement timeMeasurement) {
         this.timeMeasurement = timeMeasurement;
     }
+
+    /**
+     * {@link ForkJoinPool} that runs parallel enumerations.
+     */
+    private static class EnumerationPool extends ForkJoinPool {
+
+        EnumerationPool(int parallelism) {
+            super(parallelism);
+        }
+
+    }
 }
@@ -17,6 +17,7 @@ import org.qcri.rheem.core.plan.rheemplan.OperatorAlternative;
 import org.qcri.rheem.core.plan.rheemplan.OutputSlot;
 import org.qcri.rheem.core.plan.rheemplan.RheemPlan;
 import org.qcri.rheem.core.plan.rheemplan.Slot;
+import org.qcri.rheem.core.platform.CrossPlatformExecutor;
 import org.qcri.rheem.core.platform.Junction;
 import org.qcri.rheem.core.platform.Platform;
 import org.qcri.rheem.core.util.Canonicalizer;
@@ -547,6 +548,22 @@ public class PlanImplementation {
         return this.settledAlternatives.get(operatorAlternative);
     }
 
+    /**
+     * Collects all {@link OperatorAlternative.Alternative}s picked by this instance, including those picked in the
+     * bodies of its {@link LoopImplementation}s.
+     *
+     * @return the picked {@link OperatorAlternative.Alternative}s indexed by their {@link OperatorAlternative}s
+     */
+    public Map<OperatorAlternative, OperatorAlternative.Alternative> collectSettledAlternatives() {
+        Map<OperatorAlternative, OperatorAlternative.Alternative> collector = new HashMap<>(this.settledAlternatives);
+        for (LoopImplementation loopImplementation : this.loopImplementations.values()) {
+            for (LoopImplementation.IterationImplementation iteration : loopImplementation.getIterationImplementations()) {
+                iteration.getBodyImplementation().collectSettledAlternatives().forEach(collector::putIfAbsent);
+            }
+        }
+        return collector;
+    }
+
     /**
      * Retrieves the {@link TimeEstimate} for this instance, including platform overhead.
      *
@@ -590,14 +607,29 @@ public class PlanImplementation {
      * @return the cost estimate
      */
     public ProbabilisticDoubleInterval getCostEstimate() {
-
-        if (this.optimizationContext.getConfiguration().getBooleanProperty("rheem.core.optimizer.enumeration.parallel-tasks")) {
+        if (this.isParallelStageExecution()) {
             return this.getParallelCostEstimate(true);
         } else {
             return this.getCostEstimate(true);
         }
     }
 
+    /**
+     * Tells whether the {@link CrossPlatformExecutor} would execute independent branches of this instance concurrently,
+     * so that they should be costed by their most expensive branch rather than by their sum. That requires a stage
+     * pool ({@code rheem.core.executor.stage-parallelism}) and either several {@link Platform}s or a {@link Platform}
+     * that admits concurrent stages ({@code rheem.<platform>.executor.max-concurrent-stages}).
+     *
+     * @return whether to use parallel costing
+     */
+    private boolean isParallelStageExecution() {
+        final Configuration configuration = this.optimizationContext.getConfiguration();
+        if (configuration.getLongProperty("rheem.core.executor.stage-parallelism", 1) <= 1) return false;
+        final Set<Platform> platforms = this.getUtilizedPlatforms();
+        return platforms.size() > 1 || platforms.stream()
+                .anyMatch(platform -> CrossPlatformExecutor.getMaxConcurrentStages(platform, configuration) > 1);
+    }
+
     /**
      * Retrieves the cost estimate for this instance.
      *
@@ -635,8 +667,7 @@ public class PlanImplementation {
      * @return the cost estimate
      */
     public double getSquashedCostEstimate() {
-        // Check if the parallel cost calculation is enabled in the configuration file
-        if (this.optimizationContext.getConfiguration().getBooleanProperty("rheem.core.optimizer.enumeration.parallel-tasks")) {
+        if (this.isParallelStageExecution()) {
             return this.getSquashedParallelCostEstimate(true);
         } else {
             return this.getSquashedCostEstimate(true);
@@ -65,6 +65,12 @@ public abstract class Channel {
      */
     private boolean isMarkedForInstrumentation = false;
 
+    /**
+     * Flag whether the instrumentation of this instance may extrapolate its cardinality from a sample of its data
+     * quanta rather than counting them all.
+     */
+    private boolean isInstrumentationSamplingAllowed = false;
+
     /**
      * Other {@link Channel}s that represent the same {@link OutputSlot}-to-{@link InputSlot} connection from a
      * {@link RheemPlan} and share properties such as {@link #getCardinalityEstimate(OptimizationContext)} and {@link #getDataSetType()}.
@@ -188,6 +194,19 @@ public abstract class Channel {
 
     }
 
+    /**
+     * Tells whether this instance is {@link #isMarkedForInstrumentation() marked for instrumentation} and all of
+     * those markings allow to extrapolate its cardinality from a sample.
+     *
+     * @return whether the instrumentation may be sampled
+     * @see #markForInstrumentation(boolean)
+     */
+    public boolean isInstrumentationSamplingAllowed() {
+        return this.isMarkedForInstrumentation() && this.withSiblings(false)
+                .filter(sibling -> sibling.isMarkedForInstrumentation)
+                .allMatch(sibling -> sibling.isInstrumentationSamplingAllowed);
+    }
+
     /**
      * Creates a {@link Stream} of this instance and its siblings. The sibling relationship must not be altered
      * while processing the {@link Stream}.
@@ -212,7 +231,21 @@ public abstract class Channel {
     }
 
     public void markForInstrumentation() {
+        this.markForInstrumentation(false);
+    }
+
+    /**
+     * Marks this instance and its siblings for instrumentation. A marking that requires an exact cardinality takes
+     * precedence over ones that allow sampling.
+     *
+     * @param isSamplingAllowed whether platforms may extrapolate the cardinality from a sample of the data quanta,
+     *                          which is cheaper for large data
+     */
+    public void markForInstrumentation(boolean isSamplingAllowed) {
         this.withSiblings(false).forEach(channel -> {
+            channel.isInstrumentationSamplingAllowed = channel.isMarkedForInstrumentation ?
+                    channel.isInstrumentationSamplingAllowed && isSamplingAllowed :
+                    isSamplingAllowed;
             channel.isMarkedForInstrumentation = true;
             LoggerFactory.getLogger(this.getClass()).debug("Marked {} for instrumentation.", channel);
         });
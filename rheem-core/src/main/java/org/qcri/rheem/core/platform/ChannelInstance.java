@@ -38,6 +38,13 @@ public interface ChannelInstance extends ExecutionResource {
         return this.getChannel().isMarkedForInstrumentation();
     }
 
+    /**
+     * Tells whether the instrumentation of this instance may extrapolate its cardinality from a sample.
+     */
+    default boolean isInstrumentationSamplingAllowed() {
+        return this.getChannel().isInstrumentationSamplingAllowed();
+    }
+
     /**
      * Provides a {@link ChannelLineageNode} that keeps around (at least) all non-executed predecessor
      * {@link ChannelInstance}s and {@link org.qcri.rheem.core.optimizer.OptimizationContext.OperatorContext}s.
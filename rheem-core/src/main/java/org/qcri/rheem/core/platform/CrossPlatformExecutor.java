@@ -2,6 +2,7 @@ package org.qcri.rheem.core.platform;
 
 import org.qcri.rheem.core.api.Configuration;
 import org.qcri.rheem.core.api.Job;
+import org.qcri.rheem.core.api.exception.RheemException;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
 import org.qcri.rheem.core.plan.executionplan.Channel;
 import org.qcri.rheem.core.plan.executionplan.ExecutionPlan;
@@ -27,10 +28,20 @@ import java.util.LinkedList;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.function.Supplier;
 
 /**
- * Executes a (cross-platform) {@link ExecutionPlan}.
+ * Executes a (cross-platform) {@link ExecutionPlan}. Activated {@link ExecutionStage}s are executed concurrently
+ * on a work-stealing pool (cf. {@code rheem.core.executor.stage-parallelism}), whereby each {@link Platform}
+ * runs at most {@code rheem.<platform>.executor.max-concurrent-stages} of them at the same time. The bookkeeping,
+ * i.e., activating and disposing, takes place on the thread that runs this instance.
  */
 public class CrossPlatformExecutor implements ExecutionState {
 
@@ -54,7 +65,7 @@ public class CrossPlatformExecutor implements ExecutionState {
     /**
      * Activated and considered for execution.
      */
-    private final Queue<StageActivator> activatedStageActivators = new LinkedList<>();
+    private final Queue<StageActivator> activatedStageActivators = new ConcurrentLinkedQueue<>();
 
     /**
      * Keeps track of {@link StageActivator}s.
@@ -64,7 +75,7 @@ public class CrossPlatformExecutor implements ExecutionState {
     /**
      * Maintains the {@link Executor}s for each {@link Platform}.
      */
-    private final Map<Platform, Executor> executors = new HashMap<>();
+    private final Map<Platform, Executor> executors = new ConcurrentHashMap<>();
 
     /**
      * We keep them around if we want to go on without re-optimization.
@@ -76,7 +87,7 @@ public class CrossPlatformExecutor implements ExecutionState {
      * among all iterations. If we would go with our normal handling scheme, we might lose them after the first
      * iteration. Therefore, we actively keep track of them via {@link ExecutionStageLoopContext}s.
      */
-    private final Map<ExecutionStageLoop, ExecutionStageLoopContext> loopContexts = new HashMap<>();
+    private final Map<ExecutionStageLoop, ExecutionStageLoopContext> loopContexts = new ConcurrentHashMap<>();
 
     /**
      * Marks {@link Channel}s for instrumentation.
@@ -91,7 +102,7 @@ public class CrossPlatformExecutor implements ExecutionState {
     /**
      * Keeps track of {@link ChannelInstance} cardinalities.
      */
-    private final Collection<ChannelInstance> cardinalityMeasurements = new LinkedList<>();
+    private final Collection<ChannelInstance> cardinalityMeasurements = new ConcurrentLinkedQueue<>();
 
     /**
      * Maintains {@link ExecutionResource}s that are "global" w.r.t. to this instance, i.e., they will not be
@@ -102,22 +113,23 @@ public class CrossPlatformExecutor implements ExecutionState {
     /**
      * Keeps track of {@link ChannelInstance}s so as to reuse them among {@link Executor} runs.
      */
-    private final Map<Channel, ChannelInstance> channelInstances = new HashMap<>();
+    private final Map<Channel, ChannelInstance> channelInstances = new ConcurrentHashMap<>();
 
     /**
      * Gathers {@link PartialExecution}s created during the execution.
      */
-    private final Collection<PartialExecution> partialExecutions = new LinkedList<>();
+    private final Collection<PartialExecution> partialExecutions = new ConcurrentLinkedQueue<>();
 
     /**
-     * Gathers {@link ParallelExecutionThread}s created during parallel execution.
+     * {@link ExecutionStage}s that are currently being executed.
      */
-    private final ArrayList<Thread> parallelExecutionThreads = new ArrayList<>();
+    private final Set<ExecutionStage> runningStages = new HashSet<>();
 
     /**
-     * Keeps track of the completed {@link ParallelExecutionThread}s created during parallel execution.
+     * Executes {@link ExecutionStage}s concurrently; created lazily and only if the configured stage parallelism
+     * is greater than {@code 1}.
      */
-    private volatile int completedThreads;
+    private ForkJoinPool stagePool;
 
     public CrossPlatformExecutor(Job job, InstrumentationStrategy instrumentationStrategy) {
         this.job = job;
@@ -227,7 +239,25 @@ public class CrossPlatformExecutor implements ExecutionState {
         }
 
         // Otherwise, execute the stage.
+        this.getOrCreateExecutorFor(stageActivator.getStage());
         this.execute(stageActivator);
+        this.completeStage(stageActivator);
+    }
+
+    /**
+     * Registers an executed {@link ExecutionStage}, activates its successors, and disposes obsolete
+     * {@link ChannelInstance}s. Must be invoked by the thread that runs this instance.
+     *
+     * @param stageActivator of the executed {@link ExecutionStage}
+     */
+    private void completeStage(StageActivator stageActivator) {
+        final ExecutionStage stage = stageActivator.getStage();
+
+        // Remember that we have executed the stage.
+        this.completedStages.add(stage);
+        if (stage.isLoopHead()) {
+            this.getOrCreateLoopContext(stage.getLoop()).scrapPreviousTransitionContext();
+        }
 
         // Try to activate the successor stages.
         this.tryToActivateSuccessors(stageActivator);
@@ -241,6 +271,9 @@ public class CrossPlatformExecutor implements ExecutionState {
             final Map.Entry<Channel, ChannelInstance> channelInstanceEntry = iterator.next();
             final ChannelInstance channelInstance = channelInstanceEntry.getValue();
 
+            // Running stages might not have handed over their output ChannelInstances to their consumers yet.
+            if (this.runningStages.contains(channelInstanceEntry.getKey().getProducer().getStage())) continue;
+
             // If this is instance is the only one to still use this ChannelInstance, discard it.
             if (channelInstance.getNumReferences() == 1) {
                 channelInstance.noteDiscardedReference(true);
@@ -249,34 +282,111 @@ public class CrossPlatformExecutor implements ExecutionState {
         }
     }
 
-
     /**
-     * Run parallel threads executing activated {@link ExecutionStage}s
+     * Execute the {@link #activatedStageActivators} and all {@link ExecutionStage}s that are thereby activated
+     * concurrently on the {@link #stagePool} if there is one.
+     *
+     * @param isBreakpointsDisabled whether the {@link #breakpoint} should be ignored
      */
-    private void runParallelExecution(boolean isBreakpointsDisabled) {
-        int numActiveStages = this.activatedStageActivators.size();
-
-        // Create execution threads
-        for (int i = 1; i <= numActiveStages; ++i) {
-            // TODO: Better pass the stage to the thread rather than letting the thread retrieve the stage itself (to avoid concurrency issues).
-            Thread thread = new Thread(new ParallelExecutionThread(isBreakpointsDisabled, "T" + String.valueOf(i), this));
-            // Start thread execution
-            thread.start();
-            this.parallelExecutionThreads.add(thread);
+    private void executeActivatedStages(boolean isBreakpointsDisabled) {
+        final ForkJoinPool stagePool = this.getStagePool();
+        if (stagePool == null) {
+            StageActivator stageActivator;
+            while ((stageActivator = this.activatedStageActivators.poll()) != null) {
+                this.executeSingleStage(isBreakpointsDisabled, stageActivator);
+            }
+            return;
         }
 
-        //Join all created threads
-        for (Thread t : this.parallelExecutionThreads) {
+        final CompletionService<StageActivator> completionService = new ExecutorCompletionService<>(stagePool);
+        final Map<Future<StageActivator>, StageActivator> runningStageActivators = new HashMap<>();
+        final Map<Platform, Integer> numRunningStagesPerPlatform = new HashMap<>();
+        final Collection<StageActivator> deferredStageActivators = new LinkedList<>();
+        RuntimeException failure = null;
+        while (true) {
+            // Dispatch the activated stages as far as their Platforms admit.
+            StageActivator stageActivator;
+            while (failure == null && (stageActivator = this.activatedStageActivators.poll()) != null) {
+                if (!isBreakpointsDisabled && this.suspendIfBreakpointRequest(stageActivator)) continue;
+                final ExecutionStage stage = stageActivator.getStage();
+                final Platform platform = stage.getPlatformExecution().getPlatform();
+                final int numRunningStages = numRunningStagesPerPlatform.getOrDefault(platform, 0);
+                if (numRunningStages >= getMaxConcurrentStages(platform, this.getConfiguration())) {
+                    deferredStageActivators.add(stageActivator);
+                    continue;
+                }
+
+                this.getOrCreateExecutorFor(stage);
+                if (this.runningStages.isEmpty()
+                        && this.activatedStageActivators.isEmpty()
+                        && deferredStageActivators.isEmpty()) {
+                    // Nothing to overlap with, so avoid the thread hand-over.
+                    this.execute(stageActivator);
+                    this.completeStage(stageActivator);
+                } else {
+                    numRunningStagesPerPlatform.put(platform, numRunningStages + 1);
+                    this.runningStages.add(stage);
+                    final StageActivator runningStageActivator = stageActivator;
+                    runningStageActivators.put(completionService.submit(() -> {
+                        this.execute(runningStageActivator);
+                        return runningStageActivator;
+                    }), runningStageActivator);
+                }
+            }
+            this.activatedStageActivators.addAll(deferredStageActivators);
+            deferredStageActivators.clear();
+            if (this.runningStages.isEmpty()) break;
+
+            // Wait for any running stage and complete it. Once a stage failed, we only wait for the running ones.
             try {
-                t.join();
+                final Future<StageActivator> future = completionService.take();
+                final StageActivator executedStageActivator = runningStageActivators.remove(future);
+                final ExecutionStage executedStage = executedStageActivator.getStage();
+                numRunningStagesPerPlatform.merge(executedStage.getPlatformExecution().getPlatform(), -1, Integer::sum);
+                this.runningStages.remove(executedStage);
+                future.get();
+                if (failure == null) this.completeStage(executedStageActivator);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException ?
+                            (RuntimeException) e.getCause() :
+                            new RheemException("Stage execution failed.", e.getCause());
+                }
             } catch (InterruptedException e) {
-                CrossPlatformExecutor.this.logger.error("Thread Interrupted!", e);
+                Thread.currentThread().interrupt();
+                throw new RheemException("Interrupted while executing stages.", e);
             }
         }
+        if (failure != null) throw failure;
+    }
 
-        // Clear the list of created threads
-        parallelExecutionThreads.clear();
-        CrossPlatformExecutor.this.logger.info("Parallel execution ended!");
+    /**
+     * Provide the {@link #stagePool}.
+     *
+     * @return the {@link #stagePool} or {@code null} if {@link ExecutionStage}s should be executed sequentially
+     */
+    private ForkJoinPool getStagePool() {
+        if (this.stagePool == null) {
+            final long stageParallelism = this.getConfiguration().getLongProperty("rheem.core.executor.stage-parallelism", 1);
+            if (stageParallelism <= 1) return null;
+            this.stagePool = new ForkJoinPool((int) stageParallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+        }
+        return this.stagePool;
+    }
+
+    /**
+     * Determine how many {@link ExecutionStage}s the {@link Executor} of the given {@link Platform} may execute
+     * concurrently.
+     *
+     * @param platform      the {@link Platform}
+     * @param configuration provides the {@code max-concurrent-stages} properties
+     * @return the maximum number of concurrent {@link ExecutionStage}s
+     */
+    public static int getMaxConcurrentStages(Platform platform, Configuration configuration) {
+        final long maxConcurrentStages = configuration
+                .getOptionalLongProperty(String.format("rheem.%s.executor.max-concurrent-stages", platform.getConfigurationName()))
+                .orElseGet(() -> configuration.getLongProperty("rheem.core.executor.max-concurrent-stages", 1));
+        return (int) Math.max(1, maxConcurrentStages);
     }
 
     /**
@@ -290,18 +400,7 @@ public class CrossPlatformExecutor implements ExecutionState {
         boolean isBreakpointsDisabled = false;
         do {
             // Execute and activate as long as possible.
-            while (!this.activatedStageActivators.isEmpty()) {
-                // Check if there is multiple activated stages to start parallelization
-                if (this.activatedStageActivators.size() > 1 &&
-                        this.getConfiguration().getBooleanProperty("rheem.core.optimizer.enumeration.parallel-tasks")) {
-                    // Run multiple threads for each independant stage
-                    this.runParallelExecution(isBreakpointsDisabled);
-                } else {
-                    final StageActivator stageActivator = this.activatedStageActivators.poll();
-                    // Execute one single ExecutionStage
-                    this.executeSingleStage(isBreakpointsDisabled, stageActivator);
-                }
-            }
+            this.executeActivatedStages(isBreakpointsDisabled);
 
             // Safety net to recover from illegal Breakpoint configurations.
             numExecutedStages = this.completedStages.size() - numPriorExecutedStages;
@@ -339,10 +438,10 @@ public class CrossPlatformExecutor implements ExecutionState {
     }
 
     /**
-     * Tries to execute the given {@link ExecutionStage}.
+     * Executes the given {@link ExecutionStage}. This method can be invoked concurrently for independent
+     * {@link ExecutionStage}s, given that their {@link Executor}s have been created beforehand.
      *
      * @param stageActivator that should be executed
-     * @return whether the {@link ExecutionStage} was really executed
      */
     private void execute(StageActivator stageActivator) {
         final ExecutionStage stage = stageActivator.getStage();
@@ -360,13 +459,6 @@ public class CrossPlatformExecutor implements ExecutionState {
         executor.execute(stage, optimizationContext, this);
         long finishTime = System.currentTimeMillis();
         CrossPlatformExecutor.this.logger.info("Executed {} in {}.", stage, Formats.formatDuration(finishTime - startTime, true));
-
-        // Remember that we have executed the stage.
-        this.completedStages.add(stage);
-
-        if (stage.isLoopHead()) {
-            this.getOrCreateLoopContext(stage.getLoop()).scrapPreviousTransitionContext();
-        }
     }
 
     private Executor getOrCreateExecutorFor(ExecutionStage stage) {
@@ -593,6 +685,12 @@ public class CrossPlatformExecutor implements ExecutionState {
     }
 
     public void shutdown() {
+        // Stop the stagePool.
+        if (this.stagePool != null) {
+            this.stagePool.shutdown();
+            this.stagePool = null;
+        }
+
         // Release global resources.
         this.globalResources.forEach(resource -> resource.noteDiscardedReference(true));
         this.globalResources.clear();
@@ -775,8 +873,12 @@ public class CrossPlatformExecutor implements ExecutionState {
                 // Check if the ChannelInstance is already known.
                 if (this.inputChannelInstances.containsKey(channel)) continue;
 
-                // Otherwise, check if it is available now.
-                final ChannelInstance channelInstance = CrossPlatformExecutor.this.getChannelInstance(channel, isFeedback);
+                // Otherwise, check if it is available now. Note that running stages register their output
+                // ChannelInstances before they are completed.
+                final ChannelInstance channelInstance =
+                        CrossPlatformExecutor.this.runningStages.contains(channel.getProducer().getStage()) ?
+                                null :
+                                CrossPlatformExecutor.this.getChannelInstance(channel, isFeedback);
                 if (channelInstance != null) {
                     // If so, reference it.
                     this.inputChannelInstances.put(channel, channelInstance);
@@ -833,7 +935,8 @@ public class CrossPlatformExecutor implements ExecutionState {
 
 
     /**
-     * Keeps track of {@link ExecutionResource}s of an {@link ExecutionStageLoop}.
+     * Keeps track of {@link ExecutionResource}s of an {@link ExecutionStageLoop}. Instances are thread-safe, as
+     * concurrently executed {@link ExecutionStage}s register their {@link ChannelInstance}s with them.
      */
     private class ExecutionStageLoopContext extends AbstractReferenceCountable {
 
@@ -863,7 +966,7 @@ public class CrossPlatformExecutor implements ExecutionState {
          *
          * @param loopInvariant the said {@link ExecutionResource}
          */
-        void registerLoopInvariant(ExecutionResource loopInvariant) {
+        synchronized void registerLoopInvariant(ExecutionResource loopInvariant) {
             if (this.loopInvariants.add(loopInvariant)) {
                 loopInvariant.noteObtainedReference();
             }
@@ -873,7 +976,7 @@ public class CrossPlatformExecutor implements ExecutionState {
          * Switch the state of this instance: Age the next to the previous transition and create a new
          * current {@link ExecutionStageLoopIterationContext}.
          */
-        public void activateNextIteration() {
+        public synchronized void activateNextIteration() {
             logger.info("Activating next iteration.");
             if (this.currentIteration != null) this.currentIteration.noteDiscardedReference(true);
             this.currentIteration = this.createIterationContext();
@@ -894,7 +997,7 @@ public class CrossPlatformExecutor implements ExecutionState {
          *
          * @return the {@link ExecutionStageLoopIterationContext} for the next transition
          */
-        public ExecutionStageLoopIterationContext getOrCreateNextTransition() {
+        public synchronized ExecutionStageLoopIterationContext getOrCreateNextTransition() {
             if (this.nextTransition == null) {
                 this.nextTransition = this.createIterationContext();
             }
@@ -923,7 +1026,7 @@ public class CrossPlatformExecutor implements ExecutionState {
          *
          * @param channelInstance the {@link ChannelInstance}
          */
-        public void register(ChannelInstance channelInstance) {
+        public synchronized void register(ChannelInstance channelInstance) {
             final Channel channel = channelInstance.getChannel();
             boolean isFeedback = false, isIterationLocal = false;
             for (ExecutionTask consumer : channel.getConsumers()) {
@@ -946,8 +1049,8 @@ public class CrossPlatformExecutor implements ExecutionState {
          *                                  may be accessed
          * @return the {@link ChannelInstance} or {@code null} if it cannot be found
          */
-        public ChannelInstance getChannelInstance(Channel channel,
-                                                  boolean isPeekingToNextTransition) {
+        public synchronized ChannelInstance getChannelInstance(Channel channel,
+                                                               boolean isPeekingToNextTransition) {
             if (isPeekingToNextTransition) {
                 return this.getOrCreateNextTransition().getChannelInstance(channel);
             }
@@ -967,7 +1070,7 @@ public class CrossPlatformExecutor implements ExecutionState {
          * Removes the previous transition {@link ExecutionStageLoopIterationContext}. Included resources
          * will not be provided anymore by this instance.
          */
-        public void scrapPreviousTransitionContext() {
+        public synchronized void scrapPreviousTransitionContext() {
             if (this.prevTransition != null) this.prevTransition.noteDiscardedReference(true);
             this.prevTransition = null;
         }
@@ -1008,150 +1111,15 @@ public class CrossPlatformExecutor implements ExecutionState {
          *
          * @param channelInstance that should be registered
          */
-        public void register(ChannelInstance channelInstance) {
+        public synchronized void register(ChannelInstance channelInstance) {
             channelInstance.noteObtainedReference();
             final ChannelInstance oldInstance = this.channelInstances.put(channelInstance.getChannel(), channelInstance);
             if (oldInstance != null) oldInstance.noteDiscardedReference(true);
         }
 
-        public ChannelInstance getChannelInstance(Channel channel) {
+        public synchronized ChannelInstance getChannelInstance(Channel channel) {
             return this.channelInstances.get(channel);
         }
     }
 
-    /**
-     * Executes {@link ExecutionStage}s in parallel threads
-     * It continues to live as long as there is a {@link ExecutionStage} activated after first {@link ExecutionStage} execution and another running {@link ParallelExecutionThread}s,
-     * if multiple {@link ExecutionStage} are activated it will create new threads to execute new {@link ExecutionStage} in recursive manner
-     */
-
-    private class ParallelExecutionThread implements Runnable {
-
-        /**
-         * Thread identifier of {@link ParallelExecutionThread}
-         */
-        public String threadId;
-
-        /**
-         * Check if #breakpoint permits the execution of {@link ExecutionStage}
-         */
-        private boolean thread_isBreakpointDisabled;
-
-        /**
-         * {@link CrossPlatformExecutor} initiating the running thread
-         */
-        private final CrossPlatformExecutor crossPlatformExecutor;
-
-        /**
-         * Creates a new instance.
-         */
-        public ParallelExecutionThread(boolean isBreakpointsDisabled, String id, CrossPlatformExecutor cpe) {
-            this.thread_isBreakpointDisabled = isBreakpointsDisabled;
-            this.threadId = id;
-            this.crossPlatformExecutor = cpe;
-        }
-
-        /**
-         * Execution code of the thread.
-         */
-        @Override
-        public void run() {
-
-            StageActivator stageActivator;
-            this.crossPlatformExecutor.logger.info("Thread " + String.valueOf(this.threadId) + " started");
-            // Loop until there is no activated stage or only one thread running
-            do {
-                // Get the stageActivator for the stage to execute
-                synchronized (this.crossPlatformExecutor) {
-                    stageActivator = this.crossPlatformExecutor.activatedStageActivators.poll();
-                    if (stageActivator == null)
-                        break;
-                }
-                this.crossPlatformExecutor.logger.info(this.threadId + " started executing Stage: {}:", stageActivator.getStage());
-
-                // Check if #breakpoint permits the execution.
-                if (!this.thread_isBreakpointDisabled && this.crossPlatformExecutor.suspendIfBreakpointRequest(stageActivator)) {
-                    return;
-                }
-
-                // Otherwise, execute the stage.
-
-                final ExecutionStage stage = stageActivator.getStage();
-                final OptimizationContext optimizationContext = stageActivator.getOptimizationContext();
-
-                // Find parts of the stage to instrument.
-                this.crossPlatformExecutor.instrumentationStrategy.applyTo(stage);
-
-                // Obtain an Executor for the stage.
-                final Executor executor = this.crossPlatformExecutor.getOrCreateExecutorFor(stage);
-
-                // Have the execution done.
-                CrossPlatformExecutor.this.logger.info("Having {} execute {}:\n{}", executor, stage, stage.getPlanAsString("> "));
-                long startTime = System.currentTimeMillis();
-
-                // synchronize(this.crossplateform) can be used here to avoid error when we have two stages running same operators even on the same platform but still with different executors
-                synchronized (executor) {
-                    executor.execute(stage, optimizationContext, this.crossPlatformExecutor);
-                    long finishTime = System.currentTimeMillis();
-
-                    CrossPlatformExecutor.this.logger.info("Executed {} in {}.", stage, Formats.formatDuration(finishTime - startTime, true));
-
-                    // Remember that we have executed the stage.
-                    this.crossPlatformExecutor.completedStages.add(stage);
-                    if (stage.isLoopHead()) {
-                        this.crossPlatformExecutor.getOrCreateLoopContext(stage.getLoop()).scrapPreviousTransitionContext();
-                    }
-
-                    // Try to activate the successor stages.
-                    this.crossPlatformExecutor.tryToActivateSuccessors(stageActivator);
-                }
-                // We can now dispose the stageActivator that collected the input ChannelInstances.
-                stageActivator.dispose();
-
-                // Dispose obsolete ChannelInstances.
-                final Iterator<Map.Entry<Channel, ChannelInstance>> iterator = this.crossPlatformExecutor.channelInstances.entrySet().iterator();
-                while (iterator.hasNext()) {
-                    final Map.Entry<Channel, ChannelInstance> channelInstanceEntry = iterator.next();
-                    final ChannelInstance channelInstance = channelInstanceEntry.getValue();
-
-                    // If this is instance is the only one to still use this ChannelInstance, discard it.
-                    if (channelInstance.getNumReferences() == 1) {
-                        channelInstance.noteDiscardedReference(true);
-                        iterator.remove();
-                    }
-
-                }
-
-                this.crossPlatformExecutor.logger.info(this.threadId + " completed executing Stage : {}:", stageActivator.getStage());
-
-                // Create new threads for more than one activated stages recursively
-                if (CrossPlatformExecutor.this.activatedStageActivators.size() > 1) {
-                    // Create new threads other than the existing thread
-                    for (int i = 1; i <= CrossPlatformExecutor.this.activatedStageActivators.size() - 1; i++) {
-                        // TODO: Better use Java's ForkJoinPool to reduce thread creation overhead and control concurrency.
-                        // Create parallel stage execution thread
-                        Thread thread = new Thread(new ParallelExecutionThread(this.thread_isBreakpointDisabled, "T" + String.valueOf(i) + "@" + this.threadId, this.crossPlatformExecutor));
-                        thread.start();
-                        synchronized (this.crossPlatformExecutor) {
-                            //Add the created thread to {@link #parallelExecutionThreads}
-                            CrossPlatformExecutor.this.parallelExecutionThreads.add(thread);
-                        }
-                    }
-                }
-
-            }
-
-            // TODO: Do not busy-wait (could be solved with the ForkJoinPool as well).
-            while (CrossPlatformExecutor.this.activatedStageActivators.size() >= 1 &&
-                    CrossPlatformExecutor.this.parallelExecutionThreads.size() - CrossPlatformExecutor.this.completedThreads > 1);
-
-            // Increment a global variable of completed threads
-            // As long as the variable is volatile so there is no concern of race condition
-            CrossPlatformExecutor.this.completedThreads++;
-
-            // Notify thread ended
-            CrossPlatformExecutor.this.logger.info(this.threadId + " ended");
-        }
-    }
-
 }
@@ -13,6 +13,7 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.OptionalLong;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -59,14 +60,14 @@ public abstract class ExecutorTemplate extends AbstractReferenceCountable implem
     }
 
     @Override
-    public void register(ExecutionResource resource) {
+    public synchronized void register(ExecutionResource resource) {
         if (!this.registeredResources.add(resource)) {
             this.logger.warn("Registered {} twice.", resource);
         }
     }
 
     @Override
-    public void unregister(ExecutionResource resource) {
+    public synchronized void unregister(ExecutionResource resource) {
         if (!this.registeredResources.remove(resource)) {
             this.logger.warn("Could not unregister {}, as it was not registered.", resource);
         }
@@ -166,7 +167,11 @@ public abstract class ExecutorTemplate extends AbstractReferenceCountable implem
             this.logger.warn("Disposing {} although it is still being referenced.", this);
         }
 
-        for (ExecutionResource resource : new ArrayList<>(this.registeredResources)) {
+        final List<ExecutionResource> resources;
+        synchronized (this) {
+            resources = new ArrayList<>(this.registeredResources);
+        }
+        for (ExecutionResource resource : resources) {
             resource.dispose();
         }
 
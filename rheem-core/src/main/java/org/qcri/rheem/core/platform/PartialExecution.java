@@ -1,19 +1,39 @@
 package org.qcri.rheem.core.platform;
 
+import gnu.trove.map.hash.TObjectDoubleHashMap;
+import org.apache.commons.lang3.SerializationException;
+import org.json.JSONArray;
 import org.json.JSONObject;
 import org.qcri.rheem.core.api.Configuration;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
 import org.qcri.rheem.core.optimizer.ProbabilisticDoubleInterval;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+import org.qcri.rheem.core.optimizer.costs.ConstantLoadProfileEstimator;
 import org.qcri.rheem.core.optimizer.costs.EstimationContext;
+import org.qcri.rheem.core.optimizer.costs.LoadEstimate;
+import org.qcri.rheem.core.optimizer.costs.LoadProfile;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimator;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimators;
+import org.qcri.rheem.core.optimizer.costs.SimpleEstimationContext;
 import org.qcri.rheem.core.optimizer.costs.TimeEstimate;
 import org.qcri.rheem.core.optimizer.costs.TimeToCostConverter;
+import org.qcri.rheem.core.plan.executionplan.ExecutionTask;
 import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
 import org.qcri.rheem.core.platform.lineage.ExecutionLineageNode;
 import org.qcri.rheem.core.util.JsonSerializables;
 import org.qcri.rheem.core.util.JsonSerializer;
+import org.qcri.rheem.core.util.ReflectionUtils;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -42,6 +62,13 @@ public class PartialExecution {
      */
     private Collection<Platform> initializedPlatforms = new LinkedList<>();
 
+    /**
+     * Wall times in milliseconds of the {@link ExecutionTask}s that contributed to this instance, indexed by their
+     * descriptions. As {@link ExecutionTask}s might be executed concurrently, these need not add up to the
+     * {@link #measuredExecutionTime}.
+     */
+    private final Map<String, Long> taskWallTimes = new LinkedHashMap<>();
+
     /**
      * Creates a new instance according to the measurement data.
      *
@@ -165,6 +192,25 @@ public class PartialExecution {
         this.initializedPlatforms.add(platform);
     }
 
+    /**
+     * Registers the wall time of an {@link ExecutionTask} that contributed to this instance.
+     *
+     * @param task     the {@link ExecutionTask}
+     * @param wallTime the wall time in milliseconds
+     */
+    public void addTaskWallTime(ExecutionTask task, long wallTime) {
+        this.taskWallTimes.merge(task.toString(), wallTime, Long::sum);
+    }
+
+    /**
+     * Provide the wall times of the {@link ExecutionTask}s that contributed to this instance.
+     *
+     * @return the wall times in milliseconds indexed by descriptions of the {@link ExecutionTask}s
+     */
+    public Map<String, Long> getTaskWallTimes() {
+        return Collections.unmodifiableMap(this.taskWallTimes);
+    }
+
     /**
      * Provide the {@link AtomicExecutionGroup}s captured by this instance
      *
@@ -205,7 +251,8 @@ public class PartialExecution {
                     .putOpt(
                             "initPlatforms",
                             JsonSerializables.serializeAll(pe.initializedPlatforms, true, Platform.jsonSerializer)
-                    );
+                    )
+                    .putOpt("taskMillis", pe.taskWallTimes.isEmpty() ? null : new JSONObject(pe.taskWallTimes));
         }
 
         @Override
@@ -225,9 +272,252 @@ public class PartialExecution {
                     atomicExecutionGroups, measuredExecutionTime, lowerCost, uppserCost
             );
             partialExecution.initializedPlatforms.addAll(initializedPlatforms);
+            final JSONObject taskWallTimes = json.optJSONObject("taskMillis");
+            if (taskWallTimes != null) {
+                for (String task : taskWallTimes.keySet()) {
+                    partialExecution.taskWallTimes.put(task, taskWallTimes.getLong(task));
+                }
+            }
             return partialExecution;
         }
     }
 
+    /**
+     * Compact binary serializer for {@link PartialExecution}s. It mirrors the JSON representation of the
+     * {@link Serializer}, i.e., {@link LoadProfileEstimator}s are stored by their configuration keys or as
+     * constant {@link LoadProfile}s, but avoids the parsing overhead of JSON.
+     */
+    public static class BinarySerializer {
+
+        /**
+         * Tags the types of serialized {@link LoadProfileEstimator}s.
+         */
+        private static final byte KEY_ESTIMATOR = 0, LOAD_ESTIMATOR = 1;
+
+        private final Configuration configuration;
+
+        /**
+         * Caches the {@link Platform}s by their class names.
+         */
+        private final Map<String, Platform> platforms = new HashMap<>();
+
+        /**
+         * Creates a new instance.
+         *
+         * @param configuration is required for deserialization; can otherwise be {@code null}
+         */
+        public BinarySerializer(Configuration configuration) {
+            this.configuration = configuration;
+        }
+
+        /**
+         * Writes the given {@link PartialExecution}.
+         *
+         * @param partialExecution that should be written
+         * @param out              to which the {@code partialExecution} should be written
+         */
+        public void serialize(PartialExecution partialExecution, DataOutput out) throws IOException {
+            serialize(new Serializer(this.configuration).serialize(partialExecution), out);
+        }
+
+        /**
+         * Writes a {@link PartialExecution} given in the format of the {@link Serializer}, e.g., to convert
+         * JSON-based execution logs.
+         *
+         * @param json that should be written
+         * @param out  to which the {@code json} should be written
+         */
+        public static void serialize(JSONObject json, DataOutput out) throws IOException {
+            out.writeLong(json.getLong("millis"));
+            out.writeDouble(json.optDouble("lowerCost", -1));
+            out.writeDouble(json.optDouble("upperCost", -1));
+
+            final JSONArray execGroups = json.getJSONArray("execGroups");
+            out.writeInt(execGroups.length());
+            for (int i = 0; i < execGroups.length(); i++) {
+                final JSONObject execGroup = execGroups.getJSONObject(i);
+                final JSONObject ctx = execGroup.getJSONObject("ctx");
+                writeCardinalities(ctx.getJSONArray("inCards"), out);
+                writeCardinalities(ctx.getJSONArray("outCards"), out);
+                out.writeInt(ctx.getInt("executions"));
+                final JSONObject properties = ctx.optJSONObject("properties");
+                out.writeInt(properties == null ? 0 : properties.length());
+                if (properties != null) {
+                    for (String key : properties.keySet()) {
+                        out.writeUTF(key);
+                        out.writeDouble(properties.getDouble(key));
+                    }
+                }
+                out.writeUTF(execGroup.getJSONObject("platform").getString("_class"));
+
+                final JSONArray executions = execGroup.getJSONArray("executions");
+                out.writeInt(executions.length());
+                for (int j = 0; j < executions.length(); j++) {
+                    final JSONArray estimators = executions.getJSONObject(j).getJSONArray("estimators");
+                    out.writeInt(estimators.length());
+                    for (int k = 0; k < estimators.length(); k++) {
+                        final JSONObject estimator = estimators.getJSONObject(k);
+                        if (estimator.has("key")) {
+                            out.writeByte(KEY_ESTIMATOR);
+                            out.writeUTF(estimator.getString("key"));
+                        } else {
+                            out.writeByte(LOAD_ESTIMATOR);
+                            writeLoadProfile(estimator.getJSONObject("load"), out);
+                        }
+                    }
+                }
+            }
+
+            final JSONArray initPlatforms = json.optJSONArray("initPlatforms");
+            out.writeInt(initPlatforms == null ? 0 : initPlatforms.length());
+            if (initPlatforms != null) {
+                for (int i = 0; i < initPlatforms.length(); i++) {
+                    out.writeUTF(initPlatforms.getJSONObject(i).getString("_class"));
+                }
+            }
+
+            final JSONObject taskMillis = json.optJSONObject("taskMillis");
+            out.writeInt(taskMillis == null ? 0 : taskMillis.length());
+            if (taskMillis != null) {
+                for (String task : taskMillis.keySet()) {
+                    out.writeUTF(task);
+                    out.writeLong(taskMillis.getLong(task));
+                }
+            }
+        }
+
+        private static void writeCardinalities(JSONArray cardinalities, DataOutput out) throws IOException {
+            out.writeInt(cardinalities.length());
+            for (int i = 0; i < cardinalities.length(); i++) {
+                final Object cardinality = cardinalities.opt(i);
+                out.writeBoolean(!JsonSerializables.isJsonNull(cardinality));
+                if (!JsonSerializables.isJsonNull(cardinality)) {
+                    final JSONObject json = (JSONObject) cardinality;
+                    out.writeLong(json.getLong("lowerBound"));
+                    out.writeLong(json.getLong("upperBound"));
+                    out.writeDouble(json.getDouble("confidence"));
+                }
+            }
+        }
+
+        private static void writeLoadProfile(JSONObject json, DataOutput out) throws IOException {
+            writeLoadEstimate(json.getJSONObject("cpu"), out);
+            writeLoadEstimate(json.getJSONObject("ram"), out);
+            writeLoadEstimate(json.optJSONObject("network"), out);
+            writeLoadEstimate(json.optJSONObject("disk"), out);
+            out.writeDouble(json.getDouble("utilization"));
+            out.writeLong(json.getLong("overhead"));
+        }
+
+        private static void writeLoadEstimate(JSONObject json, DataOutput out) throws IOException {
+            out.writeBoolean(json != null);
+            if (json != null) {
+                out.writeLong(json.getLong("lower"));
+                out.writeLong(json.getLong("upper"));
+                out.writeDouble(json.getDouble("prob"));
+            }
+        }
+
+        /**
+         * Reads a {@link PartialExecution}.
+         *
+         * @param in from which the {@link PartialExecution} should be read
+         * @return the {@link PartialExecution}
+         */
+        public PartialExecution deserialize(DataInput in) throws IOException {
+            final long measuredExecutionTime = in.readLong();
+            final double lowerCost = in.readDouble();
+            final double upperCost = in.readDouble();
+
+            final int numExecGroups = in.readInt();
+            final Collection<AtomicExecutionGroup> atomicExecutionGroups = new ArrayList<>(numExecGroups);
+            for (int i = 0; i < numExecGroups; i++) {
+                final CardinalityEstimate[] inputCardinalities = readCardinalities(in);
+                final CardinalityEstimate[] outputCardinalities = readCardinalities(in);
+                final int numExecutions = in.readInt();
+                final int numProperties = in.readInt();
+                final TObjectDoubleHashMap<String> doubleProperties = new TObjectDoubleHashMap<>(numProperties);
+                for (int j = 0; j < numProperties; j++) {
+                    doubleProperties.put(in.readUTF(), in.readDouble());
+                }
+                final Platform platform = this.getPlatform(in.readUTF());
+
+                final int numAtomicExecutions = in.readInt();
+                final Collection<AtomicExecution> atomicExecutions = new ArrayList<>(numAtomicExecutions);
+                for (int j = 0; j < numAtomicExecutions; j++) {
+                    final int numEstimators = in.readInt();
+                    if (numEstimators < 1) {
+                        throw new IllegalStateException("Expected at least one serialized estimator.");
+                    }
+                    final LoadProfileEstimator mainEstimator = this.readEstimator(in);
+                    for (int k = 1; k < numEstimators; k++) {
+                        mainEstimator.nest(this.readEstimator(in));
+                    }
+                    atomicExecutions.add(new AtomicExecution(mainEstimator));
+                }
+
+                atomicExecutionGroups.add(new AtomicExecutionGroup(
+                        new SimpleEstimationContext(inputCardinalities, outputCardinalities, doubleProperties, numExecutions),
+                        platform,
+                        this.configuration,
+                        atomicExecutions
+                ));
+            }
+
+            final PartialExecution partialExecution = new PartialExecution(
+                    atomicExecutionGroups, measuredExecutionTime, lowerCost, upperCost
+            );
+            final int numInitializedPlatforms = in.readInt();
+            for (int i = 0; i < numInitializedPlatforms; i++) {
+                partialExecution.initializedPlatforms.add(this.getPlatform(in.readUTF()));
+            }
+            final int numTaskWallTimes = in.readInt();
+            for (int i = 0; i < numTaskWallTimes; i++) {
+                partialExecution.taskWallTimes.put(in.readUTF(), in.readLong());
+            }
+            return partialExecution;
+        }
+
+        private static CardinalityEstimate[] readCardinalities(DataInput in) throws IOException {
+            final CardinalityEstimate[] cardinalities = new CardinalityEstimate[in.readInt()];
+            for (int i = 0; i < cardinalities.length; i++) {
+                if (in.readBoolean()) {
+                    cardinalities[i] = new CardinalityEstimate(in.readLong(), in.readLong(), in.readDouble());
+                }
+            }
+            return cardinalities;
+        }
+
+        private LoadProfileEstimator readEstimator(DataInput in) throws IOException {
+            final byte type = in.readByte();
+            switch (type) {
+                case KEY_ESTIMATOR:
+                    final String key = in.readUTF();
+                    final LoadProfileEstimator estimator = LoadProfileEstimators.createFromSpecification(key, this.configuration);
+                    if (estimator == null) {
+                        throw new SerializationException("Could not create estimator for key " + key);
+                    }
+                    return estimator;
+                case LOAD_ESTIMATOR:
+                    return new ConstantLoadProfileEstimator(new LoadProfile(
+                            readLoadEstimate(in), readLoadEstimate(in), readLoadEstimate(in), readLoadEstimate(in),
+                            in.readDouble(), in.readLong()
+                    ));
+                default:
+                    throw new SerializationException(String.format("Unknown estimator type %d.", type));
+            }
+        }
+
+        private static LoadEstimate readLoadEstimate(DataInput in) throws IOException {
+            return in.readBoolean() ? new LoadEstimate(in.readLong(), in.readLong(), in.readDouble()) : null;
+        }
+
+        private Platform getPlatform(String className) {
+            return this.platforms.computeIfAbsent(
+                    className,
+                    key -> ReflectionUtils.evaluate(key + ".getInstance()")
+            );
+        }
+    }
 
 }
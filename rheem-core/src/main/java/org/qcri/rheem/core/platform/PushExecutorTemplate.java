@@ -1,7 +1,10 @@
 package org.qcri.rheem.core.platform;
 
+import org.qcri.rheem.core.api.Configuration;
 import org.qcri.rheem.core.api.Job;
+import org.qcri.rheem.core.api.exception.RheemException;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.costs.EstimationContext;
 import org.qcri.rheem.core.plan.executionplan.Channel;
 import org.qcri.rheem.core.plan.executionplan.ExecutionStage;
 import org.qcri.rheem.core.plan.executionplan.ExecutionTask;
@@ -15,21 +18,41 @@ import org.qcri.rheem.core.util.Tuple;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * {@link Executor} implementation that employs a push model, i.e., data quanta are "pushed"
- * through the {@link ExecutionStage}.
+ * through the {@link ExecutionStage}. {@link ExecutionTask}s within an {@link ExecutionStage} that do not depend
+ * on each other are executed concurrently on a bounded pool (cf. {@code rheem.core.executor.task-parallelism}).
  */
 public abstract class PushExecutorTemplate extends ExecutorTemplate {
 
+    /**
+     * Provides IDs to name the threads of the {@link #taskPool}s.
+     */
+    private static final AtomicInteger threadIdGenerator = new AtomicInteger(0);
+
     protected final Job job;
 
+    /**
+     * Executes independent {@link ExecutionTask}s concurrently; created lazily and only if the configured
+     * task parallelism is greater than {@code 1}.
+     */
+    private ExecutorService taskPool;
+
     public PushExecutorTemplate(Job job) {
         super(job == null ? null : job.getCrossPlatformExecutor());
         this.job = job;
@@ -44,6 +67,47 @@ public abstract class PushExecutorTemplate extends ExecutorTemplate {
     }
 
 
+    /**
+     * Provide the pool to execute independent {@link ExecutionTask}s concurrently.
+     *
+     * @return the pool or {@code null} if the {@link ExecutionTask}s should be executed sequentially
+     */
+    private synchronized ExecutorService getTaskPool() {
+        if (this.taskPool == null) {
+            final int taskParallelism = this.determineTaskParallelism();
+            if (taskParallelism <= 1) return null;
+            this.taskPool = Executors.newFixedThreadPool(taskParallelism, runnable -> {
+                final Thread thread = new Thread(runnable, "rheem-task-" + threadIdGenerator.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return this.taskPool;
+    }
+
+    /**
+     * Determine the number of {@link ExecutionTask}s within an {@link ExecutionStage} that may be executed
+     * concurrently. Subclasses should override this method if their platform does not support concurrent jobs.
+     *
+     * @return the task parallelism; {@code 1} for sequential execution
+     */
+    protected int determineTaskParallelism() {
+        final Configuration configuration = this.job == null ? null : this.job.getConfiguration();
+        if (configuration == null) return 1;
+        return (int) Math.max(1, configuration.getLongProperty("rheem.core.executor.task-parallelism", 1));
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        synchronized (this) {
+            if (this.taskPool != null) {
+                this.taskPool.shutdown();
+                this.taskPool = null;
+            }
+        }
+    }
+
     /**
      * Executes an {@link ExecutionTask}.
      *
@@ -89,6 +153,11 @@ public abstract class PushExecutorTemplate extends ExecutorTemplate {
 
         private final Collection<ChannelInstance> allChannelInstances = new LinkedList<>();
 
+        /**
+         * Wall times of executed {@link ExecutionTask}s that are not yet assigned to a {@link PartialExecution}.
+         */
+        private final Map<ExecutionTask, Long> lazyTaskWallTimes = new HashMap<>();
+
         /**
          * State from preceeding executions.
          */
@@ -141,26 +210,109 @@ public abstract class PushExecutorTemplate extends ExecutorTemplate {
 
         @Override
         protected void doExecute() {
-            TaskActivator readyActivator;
-            while ((readyActivator = this.readyActivators.poll()) != null) {
-                // Execute the ExecutionTask.
-                final ExecutionTask task = readyActivator.getTask();
-                final Tuple<List<ChannelInstance>, PartialExecution> executionResult = this.execute(readyActivator, task);
-                readyActivator.dispose();
-
-                // Register the outputChannelInstances (to obtain cardinality measurements and for further stages).
-                final List<ChannelInstance> outputChannelInstances = executionResult.getField0();
-                outputChannelInstances.stream().filter(Objects::nonNull).forEach(this::store);
-
-                // Log executions.
-                final PartialExecution partialExecution = executionResult.getField1();
-                if (partialExecution != null) {
-                    this.executionState.add(partialExecution);
+            final ExecutorService taskPool = this.executor().getTaskPool();
+            final CompletionService<TaskExecution> completionService =
+                    taskPool == null ? null : new ExecutorCompletionService<>(taskPool);
+            int numRunningTasks = 0;
+            RuntimeException failure = null;
+            while (true) {
+                // Dispatch the ready ExecutionTasks. A single one is executed right away, so as to avoid
+                // thread hand-overs for linear pipelines, which are common for lazily executed tasks.
+                TaskActivator readyActivator;
+                while (failure == null && (readyActivator = this.readyActivators.poll()) != null) {
+                    if (completionService == null || (numRunningTasks == 0 && this.readyActivators.isEmpty())) {
+                        this.complete(this.run(readyActivator));
+                    } else {
+                        final TaskActivator activator = readyActivator;
+                        completionService.submit(() -> this.run(activator));
+                        numRunningTasks++;
+                    }
                 }
+                if (numRunningTasks == 0) break;
+
+                // Wait for any running ExecutionTask and activate its successors. Once an ExecutionTask failed,
+                // we only wait for the running ones to finish.
+                try {
+                    final TaskExecution taskExecution = completionService.take().get();
+                    if (failure == null) this.complete(taskExecution);
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof RuntimeException ?
+                                (RuntimeException) e.getCause() :
+                                new RheemException("Task execution failed.", e.getCause());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RheemException("Interrupted while executing tasks.", e);
+                }
+                numRunningTasks--;
+            }
+            if (failure != null) throw failure;
+        }
 
-                // Activate successor ExecutionTasks.
-                this.activateSuccessorTasks(task, outputChannelInstances);
-                outputChannelInstances.stream().filter(Objects::nonNull).forEach(ChannelInstance::disposeIfUnreferenced);
+        /**
+         * Executes the {@link ExecutionTask} of the given {@link TaskActivator} and measures its wall time.
+         * This method can be invoked concurrently.
+         *
+         * @param readyActivator activates the {@link ExecutionTask}
+         * @return the {@link TaskExecution}
+         */
+        private TaskExecution run(TaskActivator readyActivator) {
+            final long startTime = System.currentTimeMillis();
+            final Tuple<List<ChannelInstance>, PartialExecution> executionResult =
+                    this.execute(readyActivator, readyActivator.getTask());
+            final long wallTime = System.currentTimeMillis() - startTime;
+            return new TaskExecution(readyActivator, executionResult, wallTime);
+        }
+
+        /**
+         * Processes a finished {@link TaskExecution}, i.e., registers its results and activates successor
+         * {@link ExecutionTask}s. This method must be invoked by the thread that executes this instance.
+         *
+         * @param taskExecution the {@link TaskExecution}
+         */
+        private void complete(TaskExecution taskExecution) {
+            final TaskActivator readyActivator = taskExecution.activator;
+            final ExecutionTask task = readyActivator.getTask();
+            readyActivator.dispose();
+
+            // Register the outputChannelInstances (to obtain cardinality measurements and for further stages).
+            final List<ChannelInstance> outputChannelInstances = taskExecution.result.getField0();
+            outputChannelInstances.stream().filter(Objects::nonNull).forEach(this::store);
+
+            // Log executions along with the wall times of the ExecutionTasks that took part in them.
+            final PartialExecution partialExecution = taskExecution.result.getField1();
+            this.lazyTaskWallTimes.put(task, taskExecution.wallTime);
+            if (partialExecution != null) {
+                this.assignTaskWallTimes(partialExecution);
+                this.executionState.add(partialExecution);
+            }
+
+            // Activate successor ExecutionTasks.
+            this.activateSuccessorTasks(task, outputChannelInstances);
+            outputChannelInstances.stream().filter(Objects::nonNull).forEach(ChannelInstance::disposeIfUnreferenced);
+        }
+
+        /**
+         * Moves the wall times of all {@link ExecutionTask}s, whose {@link ExecutionOperator}s are captured by
+         * the given {@link PartialExecution}, from the {@link #lazyTaskWallTimes} to the {@link PartialExecution}.
+         *
+         * @param partialExecution the {@link PartialExecution}
+         */
+        private void assignTaskWallTimes(PartialExecution partialExecution) {
+            final Set<Object> executedOperators = new HashSet<>();
+            for (AtomicExecutionGroup atomicExecutionGroup : partialExecution.getAtomicExecutionGroups()) {
+                final EstimationContext estimationContext = atomicExecutionGroup.getEstimationContext();
+                if (estimationContext instanceof OptimizationContext.OperatorContext) {
+                    executedOperators.add(((OptimizationContext.OperatorContext) estimationContext).getOperator());
+                }
+            }
+            for (Iterator<Map.Entry<ExecutionTask, Long>> i = this.lazyTaskWallTimes.entrySet().iterator(); i.hasNext(); ) {
+                final Map.Entry<ExecutionTask, Long> entry = i.next();
+                if (executedOperators.contains(entry.getKey().getOperator())) {
+                    partialExecution.addTaskWallTime(entry.getKey(), entry.getValue());
+                    i.remove();
+                }
             }
         }
 
@@ -235,6 +387,27 @@ public abstract class PushExecutorTemplate extends ExecutorTemplate {
         }
     }
 
+    /**
+     * Captures the result of executing the {@link ExecutionTask} of a {@link TaskActivator}.
+     */
+    private class TaskExecution {
+
+        private final TaskActivator activator;
+
+        private final Tuple<List<ChannelInstance>, PartialExecution> result;
+
+        /**
+         * The wall time of the execution in milliseconds.
+         */
+        private final long wallTime;
+
+        private TaskExecution(TaskActivator activator, Tuple<List<ChannelInstance>, PartialExecution> result, long wallTime) {
+            this.activator = activator;
+            this.result = result;
+            this.wallTime = wallTime;
+        }
+    }
+
     /**
      * Wraps an {@link ExecutionTask} and collects its input dependencies (i.e., {@link ChannelInstance}s). Then,
      * allows for execution of the {@link ExecutionTask}.
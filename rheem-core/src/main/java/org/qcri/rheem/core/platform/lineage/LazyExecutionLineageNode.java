@@ -7,6 +7,8 @@ import org.slf4j.LoggerFactory;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * A node wraps a {@link ChannelInstance} and keeps track of predecessor nodes.
@@ -26,24 +28,33 @@ public abstract class LazyExecutionLineageNode {
 
     private boolean isExecuted = false;
 
+    /**
+     * Guards this instance along with all instances that it is connected to.
+     */
+    private final LineageLock lock = new LineageLock();
+
     /**
      * Adds a predecessor.
      *
      * @param predecessor the predecessor
      */
     public void addPredecessor(LazyExecutionLineageNode predecessor) {
-        assert !this.predecessors.contains(predecessor) :
-                String.format("Lineage predecessor %s is already present.", predecessor);
-        this.predecessors.add(predecessor);
-
-        // TODO: Pinning the input ChannelInstances down like this is not very elegant.
-        // A better solution would be to incorporate all LazyExecutionLineageNodes into the
-        // reference counting scheme. However, this would imply considerable effort to get it right.
-        if (!this.isExecuted && predecessor instanceof ChannelLineageNode) {
-            ChannelInstance channelInstance = ((ChannelLineageNode) predecessor).getChannelInstance();
-            this.pinnedDownChannelInstances.add(channelInstance);
-            channelInstance.noteObtainedReference();
-        }
+        LineageLock.union(this.lock, predecessor.lock);
+        this.lock.run(() -> {
+            assert !this.predecessors.contains(predecessor) :
+                    String.format("Lineage predecessor %s is already present.", predecessor);
+            this.predecessors.add(predecessor);
+
+            // TODO: Pinning the input ChannelInstances down like this is not very elegant.
+            // A better solution would be to incorporate all LazyExecutionLineageNodes into the
+            // reference counting scheme. However, this would imply considerable effort to get it right.
+            if (!this.isExecuted && predecessor instanceof ChannelLineageNode) {
+                ChannelInstance channelInstance = ((ChannelLineageNode) predecessor).getChannelInstance();
+                this.pinnedDownChannelInstances.add(channelInstance);
+                channelInstance.noteObtainedReference();
+            }
+            return null;
+        });
     }
 
 
@@ -88,11 +99,12 @@ public abstract class LazyExecutionLineageNode {
     }
 
     public <T> T traverseAndMark(T accumulator, Aggregator<T> aggregator) {
-        return this.traverse(accumulator, aggregator, true);
+        // Lineages of concurrently executed tasks can share predecessors, which must be collected only once.
+        return this.lock.run(() -> this.traverse(accumulator, aggregator, true));
     }
 
     public <T> T traverse(T accumulator, Aggregator<T> aggregator) {
-        return this.traverse(accumulator, aggregator, false);
+        return this.lock.run(() -> this.traverse(accumulator, aggregator, false));
     }
 
     /**
@@ -140,6 +152,74 @@ public abstract class LazyExecutionLineageNode {
         );
     }
 
+    /**
+     * Lock that is shared by all connected {@link LazyExecutionLineageNode}s. Each instance starts with its own lock,
+     * and {@link #union(LineageLock, LineageLock)} merges the locks of connected instances as in a union-find
+     * structure, whose root is the effective lock. Hence, the lineages of unrelated executions do not contend.
+     */
+    private static final class LineageLock {
+
+        private static final AtomicLong ID_GENERATOR = new AtomicLong();
+
+        /**
+         * Orders the acquisition of multiple instances to avoid deadlocks.
+         */
+        private final long id = ID_GENERATOR.getAndIncrement();
+
+        /**
+         * The instance that this instance has been merged into; {@code null} for roots. Once set, it is not changed
+         * other than to skip ancestors, so that the root of an instance can be determined without locking.
+         */
+        private volatile LineageLock parent;
+
+        /**
+         * @return the current root of this instance
+         */
+        private LineageLock findRoot() {
+            LineageLock lock = this;
+            LineageLock parent;
+            while ((parent = lock.parent) != null) {
+                final LineageLock grandparent = parent.parent;
+                if (grandparent != null) lock.parent = grandparent;
+                lock = parent;
+            }
+            return lock;
+        }
+
+        /**
+         * Runs the given action while holding the root of this instance.
+         */
+        private <T> T run(Supplier<T> action) {
+            while (true) {
+                final LineageLock root = this.findRoot();
+                synchronized (root) {
+                    // Roots are merged only while being held, so the root is still valid if it has no parent.
+                    if (root.parent == null) return action.get();
+                }
+            }
+        }
+
+        /**
+         * Merges the given instances.
+         */
+        private static void union(LineageLock lock1, LineageLock lock2) {
+            while (true) {
+                final LineageLock root1 = lock1.findRoot(), root2 = lock2.findRoot();
+                if (root1 == root2) return;
+                final LineageLock first = root1.id < root2.id ? root1 : root2;
+                final LineageLock second = first == root1 ? root2 : root1;
+                synchronized (first) {
+                    synchronized (second) {
+                        if (first.parent == null && second.parent == null) {
+                            second.parent = first;
+                            return;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Callback interface for traversals of {@link LazyExecutionLineageNode}s, thereby accumulating the callback return values.
      *
@@ -5,45 +5,88 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 import org.qcri.rheem.core.api.Configuration;
 import org.qcri.rheem.core.api.exception.RheemException;
+import org.qcri.rheem.core.function.FunctionDescriptor;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.OptimizationUtils;
 import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+import org.qcri.rheem.core.optimizer.costs.LoadEstimator;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimator;
+import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
 import org.qcri.rheem.core.plan.rheemplan.InputSlot;
 import org.qcri.rheem.core.plan.rheemplan.Operator;
 import org.qcri.rheem.core.plan.rheemplan.OutputSlot;
 import org.qcri.rheem.core.plan.rheemplan.Slot;
+import org.qcri.rheem.core.platform.ChannelInstance;
 import org.qcri.rheem.core.platform.CrossPlatformExecutor;
 import org.qcri.rheem.core.platform.ExecutionState;
+import org.qcri.rheem.core.util.ReflectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
+import java.io.Serializable;
 import java.io.UnsupportedEncodingException;
+import java.lang.invoke.SerializedLambda;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.TreeSet;
 
 /**
  * Stores cardinalities that have been collected by the {@link CrossPlatformExecutor}. Current version uses
  * JSON as serialization format.
+ * <p>The repository file is only ever appended to. For look-ups, its measurements are indexed by the fingerprint
+ * of the measured {@link Operator}, the measured {@link OutputSlot}, and the magnitudes of the input cardinalities.</p>
  */
 public class CardinalityRepository {
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
+    /**
+     * Maximum number of measurements retained per index key. Older measurements are discarded.
+     */
+    private static final int MAX_MEASUREMENTS_PER_KEY = 10;
+
     /**
      * Path to the repository file.
      */
     private final String repositoryPath;
 
+    /**
+     * Base of the logarithm used to bucket input cardinalities.
+     */
+    private final double cardinalityBucketBase;
+
+    /**
+     * Correctness probability of {@link CardinalityEstimate}s derived from the measurements.
+     */
+    private final double confidence;
+
     /**
      * Created on demand an can be closed as well.
      */
     private BufferedWriter writer;
 
+    /**
+     * Indexes the measurements of the repository file. Loaded on demand.
+     */
+    private Map<String, LinkedList<Measurement>> index;
+
     public CardinalityRepository(Configuration configuration) {
         this.repositoryPath = configuration.getStringProperty("rheem.core.log.cardinalities");
+        this.cardinalityBucketBase = configuration.getDoubleProperty("rheem.core.optimizer.cardinality.learned.bucketbase", 2d);
+        this.confidence = configuration.getDoubleProperty("rheem.core.optimizer.cardinality.learned.confidence", 0.9d);
     }
 
     /**
@@ -57,39 +100,33 @@ public class CardinalityRepository {
      *                            injected in this {@link OptimizationContext} to guarantee that we capture the most
      *                            possible accurate data
      */
-    public void storeAll(ExecutionState executionState, OptimizationContext optimizationContext) {
+    public synchronized void storeAll(ExecutionState executionState, OptimizationContext optimizationContext) {
         this.logger.info("Storing cardinalities at {}.", this.repositoryPath);
 
-//        executionState.getCardinalityMeasurements().forEach(
-//                channelInstance -> {
-//                    for (Slot<?> correspondingSlot : channelInstance.getChannel().getCorrespondingSlots()) {
-//                        for (Slot<?> slot : OptimizationUtils.collectConnectedSlots(correspondingSlot)) {
-//                            if (slot instanceof OutputSlot<?>) {
-//                                OutputSlot<Object> outputSlot = ((OutputSlot<?>) slot).unchecked();
-//                                final Operator operator = outputSlot.getOwner();
-//                                if (!operator.isElementary() || operator.isSource()) {
-//                                    continue;
-//                                }
-//                                final OptimizationContext.OperatorContext operatorContext = channelInstance.getProducerOperatorContext();
-//                                if (operatorContext == null) {
-//                                    // TODO: Handle cardinalities inside of loops.
-//                                    this.logger.debug("Could not inject measured cardinality for {}: " +
-//                                            "It is presumably a glue operator or inside of a loop.", operator);
-//                                    continue;
-//                                }
-//                                this.store(outputSlot, channelInstance.getMeasuredCardinality().getAsLong(), operatorContext);
-//                            }
-//                        }
-//                    }
-//                });
-        this.logger.warn("Cardinality repository currently disabled.");
+        for (ChannelInstance channelInstance : executionState.getCardinalityMeasurements()) {
+            final OutputSlot<?> outputSlot = OptimizationUtils.findRheemPlanOutputSlotFor(channelInstance.getChannel());
+            final Operator operator = outputSlot.getOwner();
+            if (!operator.isElementary() || operator.isSource() || operator.isLoopHead()) {
+                continue;
+            }
+            final OptimizationContext.OperatorContext producerOperatorContext = channelInstance.getProducerOperatorContext();
+            final OptimizationContext.OperatorContext operatorContext = producerOperatorContext == null ?
+                    null :
+                    producerOperatorContext.getOptimizationContext().getOperatorContext(operator);
+            if (operatorContext == null) {
+                this.logger.debug("Could not store measured cardinality for {}: " +
+                        "It is presumably a glue operator.", operator);
+                continue;
+            }
+            this.store(outputSlot, channelInstance.getMeasuredCardinality().getAsLong(), operatorContext);
+        }
     }
 
     /**
      * Stores the {@code cardinality} for the {@code output} together with its {@link Operator} and input
      * {@link CardinalityEstimate}s.
      */
-    public void store(OutputSlot<?> output, long cardinality, OptimizationContext.OperatorContext operatorContext) {
+    public synchronized void store(OutputSlot<?> output, long cardinality, OptimizationContext.OperatorContext operatorContext) {
         assert output.getOwner() == operatorContext.getOperator() :
                 String.format("Owner of %s is not %s.", output, operatorContext.getOperator());
         if (!operatorContext.getOutputCardinality(output.getIndex()).isExactly(cardinality)) {
@@ -97,12 +134,23 @@ public class CardinalityRepository {
                     cardinality, output, operatorContext.getOutputCardinality(output.getIndex()));
         }
 
-        this.write(operatorContext, output, cardinality);
+        final String fingerprint = createFingerprint(operatorContext.getOperator());
+        if (fingerprint == null) {
+            this.logger.debug("Cannot store cardinality of {}: It has no stable fingerprint.", output);
+            return;
+        }
+        for (CardinalityEstimate inputCardinality : operatorContext.getInputCardinalities()) {
+            if (inputCardinality == null) return;
+        }
+
+        final JSONObject jsonMeasurement = this.write(operatorContext, output, cardinality, fingerprint);
+        if (this.index != null) this.addToIndex(jsonMeasurement);
     }
 
-    private void write(OptimizationContext.OperatorContext operatorContext,
-                       OutputSlot<?> output,
-                       long outputCardinality) {
+    private JSONObject write(OptimizationContext.OperatorContext operatorContext,
+                             OutputSlot<?> output,
+                             long outputCardinality,
+                             String fingerprint) {
 
         JSONArray jsonInputCardinalities = new JSONArray();
         final Operator operator = operatorContext.getOperator();
@@ -122,7 +170,7 @@ public class CardinalityRepository {
 
         JSONObject jsonOperator = new JSONObject();
         jsonOperator.put("class", operator.getClass().getCanonicalName());
-        // TODO: UDFs? How can we reference them?
+        jsonOperator.put("fingerprint", fingerprint);
 
         JSONObject jsonOutput = new JSONObject();
         jsonOutput.put("name", output.getName());
@@ -135,6 +183,7 @@ public class CardinalityRepository {
         jsonMeasurement.put("output", jsonOutput);
 
         this.write(jsonMeasurement);
+        return jsonMeasurement;
     }
 
     /**
@@ -167,11 +216,242 @@ public class CardinalityRepository {
         return this.writer;
     }
 
+    /**
+     * Estimates an output cardinality from the stored measurements for {@link Operator}s with the same fingerprint
+     * and similar input cardinalities. The measured output cardinalities are scaled linearly with the input cardinalities.
+     *
+     * @param fingerprint    of the {@link Operator} as obtained via {@link #createFingerprint(Operator)}
+     * @param outputIndex    index of the {@link OutputSlot} to be estimated
+     * @param inputEstimates the {@link CardinalityEstimate}s of the {@link Operator}'s {@link InputSlot}s
+     * @return the {@link CardinalityEstimate} or {@code null} if there are no matching measurements
+     */
+    public synchronized CardinalityEstimate estimate(String fingerprint, int outputIndex, CardinalityEstimate... inputEstimates) {
+        double[] inputCardinalities = new double[inputEstimates.length];
+        for (int i = 0; i < inputEstimates.length; i++) {
+            if (inputEstimates[i] == null) return null;
+            inputCardinalities[i] = inputEstimates[i].getGeometricMeanEstimate();
+        }
+        final LinkedList<Measurement> measurements =
+                this.getIndex().get(this.createIndexKey(fingerprint, outputIndex, inputCardinalities));
+        if (measurements == null) return null;
+
+        double lowerInputSum = 0d, upperInputSum = 0d;
+        for (CardinalityEstimate inputEstimate : inputEstimates) {
+            lowerInputSum += inputEstimate.getLowerEstimate();
+            upperInputSum += inputEstimate.getUpperEstimate();
+        }
+        double lowerEstimate = Double.POSITIVE_INFINITY, upperEstimate = 0d;
+        for (Measurement measurement : measurements) {
+            double measuredInputSum = 0d;
+            for (double inputCardinality : measurement.inputCardinalities) {
+                measuredInputSum += inputCardinality;
+            }
+            final double lowerScale = measuredInputSum == 0d ? 1d : lowerInputSum / measuredInputSum;
+            final double upperScale = measuredInputSum == 0d ? 1d : upperInputSum / measuredInputSum;
+            lowerEstimate = Math.min(lowerEstimate, measurement.outputCardinality * lowerScale);
+            upperEstimate = Math.max(upperEstimate, measurement.outputCardinality * upperScale);
+        }
+        return new CardinalityEstimate(
+                (long) Math.floor(lowerEstimate), (long) Math.ceil(upperEstimate), this.confidence
+        );
+    }
+
+    /**
+     * Provides the {@link #index}, thereby loading it if necessary.
+     */
+    private Map<String, LinkedList<Measurement>> getIndex() {
+        if (this.index == null) {
+            this.index = new HashMap<>();
+            final File file = this.repositoryPath == null ? null : new File(this.repositoryPath);
+            if (file == null || !file.exists()) return this.index;
+
+            try {
+                if (this.writer != null) this.writer.flush();
+            } catch (IOException e) {
+                this.logger.warn("Could not flush cardinality repository.", e);
+            }
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty()) continue;
+                    try {
+                        this.addToIndex(new JSONObject(line));
+                    } catch (Exception e) {
+                        this.logger.debug("Skipping malformed cardinality measurement: {}", line, e);
+                    }
+                }
+            } catch (IOException e) {
+                this.logger.error("Could not read cardinality repository at {}.", this.repositoryPath, e);
+            }
+        }
+        return this.index;
+    }
+
+    /**
+     * Registers a measurement as written by {@link #write(OptimizationContext.OperatorContext, OutputSlot, long, String)}
+     * in the {@link #index}.
+     */
+    private void addToIndex(JSONObject jsonMeasurement) {
+        final String fingerprint = jsonMeasurement.getJSONObject("operator").optString("fingerprint", null);
+        if (fingerprint == null) return;
+        final JSONArray jsonInputCardinalities = jsonMeasurement.getJSONArray("inputs");
+        double[] inputCardinalities = new double[jsonInputCardinalities.length()];
+        for (int i = 0; i < inputCardinalities.length; i++) {
+            final JSONObject jsonInputCardinality = jsonInputCardinalities.getJSONObject(i);
+            inputCardinalities[i] = new CardinalityEstimate(
+                    jsonInputCardinality.getLong("lowerBound"),
+                    jsonInputCardinality.getLong("upperBound"),
+                    jsonInputCardinality.getDouble("confidence")
+            ).getGeometricMeanEstimate();
+        }
+        final JSONObject jsonOutput = jsonMeasurement.getJSONObject("output");
+        final String key = this.createIndexKey(fingerprint, jsonOutput.getInt("index"), inputCardinalities);
+        final LinkedList<Measurement> measurements = this.index.computeIfAbsent(key, k -> new LinkedList<>());
+        measurements.add(new Measurement(inputCardinalities, jsonOutput.getLong("cardinality")));
+        if (measurements.size() > MAX_MEASUREMENTS_PER_KEY) measurements.removeFirst();
+    }
+
+    /**
+     * Creates a key for the {@link #index}.
+     */
+    private String createIndexKey(String fingerprint, int outputIndex, double[] inputCardinalities) {
+        StringBuilder sb = new StringBuilder(fingerprint).append('@').append(outputIndex);
+        for (double inputCardinality : inputCardinalities) {
+            sb.append('#').append((long) Math.floor(Math.log1p(inputCardinality) / Math.log(this.cardinalityBucketBase)));
+        }
+        return sb.toString();
+    }
+
     /**
      * Allows this instance to free its system resources, as they might not be needed in the closer future.
      */
-    public void sleep() {
+    public synchronized void sleep() {
         IOUtils.closeQuietly(this.writer);
         this.writer = null;
     }
+
+    /**
+     * Creates a fingerprint for the given {@link Operator} that remains stable across executions. It comprises
+     * the platform-independent class of the {@link Operator}, its UDFs, and its estimation context properties.
+     * In particular, {@link ExecutionOperator}s share the fingerprint of the {@link Operator}s that they implement.
+     *
+     * @param operator whose fingerprint is requested
+     * @return the fingerprint or {@code null} if the {@link Operator} has UDFs that cannot be identified across
+     * executions
+     */
+    public static String createFingerprint(Operator operator) {
+        // Determine the platform-independent Operator class.
+        Class<?> operatorClass = operator.getClass();
+        while (ExecutionOperator.class.isAssignableFrom(operatorClass)) {
+            final Class<?> superclass = operatorClass.getSuperclass();
+            if (superclass == null
+                    || Modifier.isAbstract(superclass.getModifiers())
+                    || !Operator.class.isAssignableFrom(superclass)) {
+                break;
+            }
+            operatorClass = superclass;
+        }
+        StringBuilder sb = new StringBuilder(operatorClass.getName());
+        if (operator.getName() != null) sb.append('"').append(operator.getName()).append('"');
+
+        // Describe the UDFs.
+        for (Object value : ReflectionUtils.getInstanceFieldValues(operator)) {
+            if (!(value instanceof FunctionDescriptor)) continue;
+            sb.append('[').append(value.getClass().getSimpleName());
+            for (Field field : ReflectionUtils.getInstanceFields(value.getClass())) {
+                final Object fieldValue = ReflectionUtils.getFieldValue(field, value);
+                if (fieldValue == null
+                        || fieldValue instanceof LoadProfileEstimator
+                        || fieldValue instanceof LoadEstimator) {
+                    continue;
+                }
+                if (field.getType().isInterface()) {
+                    final String udfDescription = describeUdf(fieldValue);
+                    if (udfDescription == null) return null;
+                    sb.append(':').append(udfDescription);
+                } else if (fieldValue instanceof String) {
+                    sb.append(':').append(fieldValue);
+                }
+            }
+            sb.append(']');
+        }
+
+        // Describe the estimation context properties.
+        for (String property : new TreeSet<>(operator.getEstimationContextProperties())) {
+            try {
+                sb.append('{').append(property).append('=').append((Object) ReflectionUtils.getProperty(operator, property)).append('}');
+            } catch (Exception e) {
+                return null;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Describes the given UDF in a way that is stable across executions. Named UDF classes are identified via their
+     * name and field values, lambdas via their implementing method and captured values. UDFs whose state comprises
+     * other than primitive values, {@link String}s, {@link Enum}s, and {@link Class}es cannot be described by value.
+     *
+     * @return the description or {@code null} if the UDF cannot be described in a stable manner
+     */
+    private static String describeUdf(Object udf) {
+        final Class<?> udfClass = udf.getClass();
+        if (!udfClass.isSynthetic()) {
+            StringBuilder sb = new StringBuilder(udfClass.getName());
+            for (Field field : ReflectionUtils.getInstanceFields(udfClass)) {
+                final String fieldDescription = describeValue(ReflectionUtils.getFieldValue(field, udf));
+                if (fieldDescription == null) return null;
+                sb.append(',').append(fieldDescription);
+            }
+            return sb.toString();
+        }
+        if (!(udf instanceof Serializable)) return null;
+        try {
+            final Method writeReplace = udfClass.getDeclaredMethod("writeReplace");
+            writeReplace.setAccessible(true);
+            final SerializedLambda lambda = (SerializedLambda) writeReplace.invoke(udf);
+            StringBuilder sb = new StringBuilder(lambda.getImplClass()).append("::").append(lambda.getImplMethodName());
+            for (int i = 0; i < lambda.getCapturedArgCount(); i++) {
+                final String capturedArgDescription = describeValue(lambda.getCapturedArg(i));
+                if (capturedArgDescription == null) return null;
+                sb.append(',').append(capturedArgDescription);
+            }
+            return sb.toString();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Describes the given value if it is immutable and its {@link String} representation identifies it.
+     *
+     * @return the description or {@code null} if the value cannot be described in a stable manner
+     */
+    private static String describeValue(Object value) {
+        if (value == null || value instanceof String || value instanceof Boolean || value instanceof Character
+                || value instanceof Byte || value instanceof Short || value instanceof Integer
+                || value instanceof Long || value instanceof Float || value instanceof Double) {
+            return String.valueOf(value);
+        } else if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        } else if (value instanceof Class) {
+            return ((Class<?>) value).getName();
+        }
+        return null;
+    }
+
+    /**
+     * A measured output cardinality along with the input cardinalities of the measured {@link Operator}.
+     */
+    private static class Measurement {
+
+        private final double[] inputCardinalities;
+
+        private final long outputCardinality;
+
+        private Measurement(double[] inputCardinalities, long outputCardinality) {
+            this.inputCardinalities = inputCardinalities;
+            this.outputCardinality = outputCardinality;
+        }
+    }
 }
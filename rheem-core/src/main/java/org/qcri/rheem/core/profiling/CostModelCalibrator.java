@@ -0,0 +1,251 @@
+package org.qcri.rheem.core.profiling;
+
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.optimizer.costs.CalibratedLoadProfileEstimator;
+import org.qcri.rheem.core.optimizer.costs.EstimationContext;
+import org.qcri.rheem.core.optimizer.costs.LoadProfile;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimator;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimators;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileToTimeConverter;
+import org.qcri.rheem.core.platform.AtomicExecution;
+import org.qcri.rheem.core.platform.AtomicExecutionGroup;
+import org.qcri.rheem.core.platform.CrossPlatformExecutor;
+import org.qcri.rheem.core.platform.PartialExecution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Calibrates the {@link LoadProfileEstimator}s specified in the {@link Configuration} with the
+ * {@link PartialExecution}s collected by the {@link CrossPlatformExecutor}. In contrast to the offline
+ * genetic optimization of the {@code rheem-profiler}, this happens incrementally after every execution.
+ * <p>Each {@link LoadProfileEstimator} is assigned a factor, by which its estimated loads are scaled. For every
+ * {@link PartialExecution}, the sum of the estimated execution times of its {@link AtomicExecution}s, weighted by
+ * these factors, should match the measured execution time. The factors are fitted via recursive least squares
+ * with exponential forgetting, so that they follow changes in the hardware or data over time.</p>
+ * <p>The calibrated {@link LoadProfileEstimator}s are registered in the
+ * {@link Configuration#getLoadProfileEstimatorCache()}.</p>
+ */
+public class CostModelCalibrator {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    /**
+     * Initial variance of the calibration factors, i.e., how readily they adapt to the first observations.
+     */
+    private static final double INITIAL_VARIANCE = 10d;
+
+    /**
+     * Provides the {@link LoadProfileEstimator} specifications and receives the calibrated
+     * {@link LoadProfileEstimator}s.
+     */
+    private final Configuration configuration;
+
+    /**
+     * Weight of the previous observations in each update.
+     */
+    private final double forgettingFactor;
+
+    /**
+     * Bounds for the calibration factors.
+     */
+    private final double minFactor, maxFactor;
+
+    /**
+     * Assigns each calibrated {@link Configuration} key an index in {@link #factors} and {@link #covariances}.
+     */
+    private final Map<String, Integer> keyIndices = new LinkedHashMap<>();
+
+    /**
+     * The current calibration factors.
+     */
+    private double[] factors = new double[0];
+
+    /**
+     * Covariance matrix of the {@link #factors} (up to a scalar).
+     */
+    private double[][] covariances = new double[0][0];
+
+    /**
+     * Counts the updates of the {@link #factors}.
+     */
+    private long version = 0L;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param configuration provides the calibration parameters and the {@link LoadProfileEstimator} specifications
+     */
+    public CostModelCalibrator(Configuration configuration) {
+        this.configuration = configuration;
+        this.forgettingFactor = configuration.getDoubleProperty("rheem.core.optimizer.costs.calibration.forgetting", 0.95d);
+        this.minFactor = configuration.getDoubleProperty("rheem.core.optimizer.costs.calibration.minfactor", 0.01d);
+        this.maxFactor = configuration.getDoubleProperty("rheem.core.optimizer.costs.calibration.maxfactor", 100d);
+    }
+
+    /**
+     * Updates the calibration factors with the given {@link PartialExecution}s and registers the calibrated
+     * {@link LoadProfileEstimator}s.
+     *
+     * @param partialExecutions that have been measured
+     */
+    public synchronized void update(Iterable<PartialExecution> partialExecutions) {
+        for (PartialExecution partialExecution : partialExecutions) {
+            this.update(partialExecution);
+        }
+        this.registerCalibratedEstimators();
+        this.version++;
+    }
+
+    /**
+     * Updates the calibration factors with the given {@link PartialExecution}.
+     *
+     * @param partialExecution that has been measured
+     */
+    private void update(PartialExecution partialExecution) {
+        // Collect the uncalibrated execution time estimates per configuration key.
+        double fixedMillis = partialExecution.getInitializedPlatforms().stream()
+                .mapToLong(platform -> platform.getInitializeMillis(this.configuration))
+                .sum();
+        Map<Integer, Double> estimatedMillis = new HashMap<>();
+        for (AtomicExecutionGroup atomicExecutionGroup : partialExecution.getAtomicExecutionGroups()) {
+            final EstimationContext estimationContext = atomicExecutionGroup.getEstimationContext();
+            final LoadProfileToTimeConverter converter = this.configuration
+                    .getLoadProfileToTimeConverterProvider()
+                    .provideFor(atomicExecutionGroup.getPlatform());
+            for (AtomicExecution atomicExecution : atomicExecutionGroup.getAtomicExecutions()) {
+                LoadProfileEstimator estimator = atomicExecution.getLoadProfileEstimator();
+                if (estimator instanceof CalibratedLoadProfileEstimator) {
+                    estimator = ((CalibratedLoadProfileEstimator) estimator).getDelegate();
+                }
+                final LoadProfile loadProfile = estimator.estimate(estimationContext);
+                final double overheadMillis = loadProfile.getOverheadMillis();
+                final double loadMillis = converter.convert(loadProfile).getGeometricMeanEstimate() - overheadMillis;
+                fixedMillis += overheadMillis;
+
+                final String key = estimator.getConfigurationKey();
+                if (key == null || !this.configuration.getOptionalStringProperty(key).isPresent()) {
+                    fixedMillis += loadMillis;
+                } else {
+                    estimatedMillis.merge(this.getIndex(key), loadMillis, Double::sum);
+                }
+            }
+        }
+
+        // Normalize with the measured time, so that all executions are weighted equally.
+        final double measuredMillis = partialExecution.getMeasuredExecutionTime() - fixedMillis;
+        if (estimatedMillis.isEmpty() || measuredMillis <= 0d) return;
+        int[] indices = new int[estimatedMillis.size()];
+        double[] x = new double[indices.length];
+        int i = 0;
+        for (Map.Entry<Integer, Double> entry : estimatedMillis.entrySet()) {
+            indices[i] = entry.getKey();
+            x[i++] = Math.max(0d, entry.getValue()) / measuredMillis;
+        }
+        this.updateRecursiveLeastSquares(indices, x, 1d);
+    }
+
+    /**
+     * Provides the index of the given {@link Configuration} key, thereby registering it if necessary.
+     */
+    private int getIndex(String key) {
+        Integer index = this.keyIndices.get(key);
+        if (index == null) {
+            index = this.keyIndices.size();
+            this.keyIndices.put(key, index);
+            this.factors = Arrays.copyOf(this.factors, index + 1);
+            this.factors[index] = 1d;
+            double[][] covariances = new double[index + 1][index + 1];
+            for (int row = 0; row < index; row++) {
+                System.arraycopy(this.covariances[row], 0, covariances[row], 0, index);
+            }
+            covariances[index][index] = INITIAL_VARIANCE;
+            this.covariances = covariances;
+        }
+        return index;
+    }
+
+    /**
+     * Performs a recursive least squares update for the observation {@code y = factors[indices] * x}. To prevent
+     * the covariances of rarely observed {@link #factors} from growing without bounds due to the forgetting, their
+     * variances are capped at their initial value.
+     */
+    private void updateRecursiveLeastSquares(int[] indices, double[] x, double y) {
+        final int n = this.factors.length;
+
+        // Px and the gain.
+        double[] px = new double[n];
+        for (int row = 0; row < n; row++) {
+            for (int i = 0; i < indices.length; i++) {
+                px[row] += this.covariances[row][indices[i]] * x[i];
+            }
+        }
+        double xpx = 0d, error = y;
+        for (int i = 0; i < indices.length; i++) {
+            xpx += x[i] * px[indices[i]];
+            error -= this.factors[indices[i]] * x[i];
+        }
+        final double denominator = this.forgettingFactor + xpx;
+
+        for (int row = 0; row < n; row++) {
+            this.factors[row] = Math.min(this.maxFactor, Math.max(this.minFactor,
+                    this.factors[row] + px[row] / denominator * error
+            ));
+        }
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                this.covariances[row][col] =
+                        (this.covariances[row][col] - px[row] * px[col] / denominator) / this.forgettingFactor;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (this.covariances[i][i] <= INITIAL_VARIANCE) continue;
+            final double scale = Math.sqrt(INITIAL_VARIANCE / this.covariances[i][i]);
+            for (int j = 0; j < n; j++) {
+                this.covariances[i][j] *= scale;
+                this.covariances[j][i] *= scale;
+            }
+        }
+    }
+
+    /**
+     * Registers the calibrated {@link LoadProfileEstimator}s in the {@link #configuration}.
+     */
+    private void registerCalibratedEstimators() {
+        for (Map.Entry<String, Integer> entry : this.keyIndices.entrySet()) {
+            final String key = entry.getKey();
+            final double factor = this.factors[entry.getValue()];
+            final Optional<String> specification = this.configuration.getOptionalStringProperty(key);
+            if (!specification.isPresent()) continue;
+            final LoadProfileEstimator estimator = LoadProfileEstimators.createFromSpecification(key, specification.get());
+            this.configuration.getLoadProfileEstimatorCache().set(key, new CalibratedLoadProfileEstimator(estimator, factor));
+            this.logger.debug("Calibrated {} by a factor of {}.", key, factor);
+        }
+    }
+
+    /**
+     * Provides the current calibration factor for the given {@link Configuration} key.
+     *
+     * @param key the {@link Configuration} key of a {@link LoadProfileEstimator} specification
+     * @return the calibration factor
+     */
+    public synchronized double getFactor(String key) {
+        final Integer index = this.keyIndices.get(key);
+        return index == null ? 1d : this.factors[index];
+    }
+
+    /**
+     * Provides the version of the calibration, which changes with every {@link #update(Iterable)}.
+     *
+     * @return the version
+     */
+    public synchronized long getVersion() {
+        return this.version;
+    }
+
+}
@@ -1,34 +1,95 @@
 package org.qcri.rheem.core.profiling;
 
 import org.apache.commons.io.IOUtils;
+import org.json.JSONArray;
 import org.json.JSONObject;
 import org.qcri.rheem.core.api.Configuration;
 import org.qcri.rheem.core.api.exception.RheemException;
 import org.qcri.rheem.core.platform.CrossPlatformExecutor;
 import org.qcri.rheem.core.platform.PartialExecution;
+import org.qcri.rheem.core.platform.Platform;
 import org.qcri.rheem.core.util.JsonSerializables;
 import org.qcri.rheem.core.util.JsonSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
-import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 /**
  * Stores execution data have been collected by the {@link CrossPlatformExecutor}.
- * The current version uses JSON as serialization format.
+ * <p>There are two serialization formats: {@link Format#JSON} stores one JSON object per line, while
+ * {@link Format#BINARY} groups the {@link PartialExecution}s into compressed blocks. Each block is preceded by an
+ * uncompressed index of the operator types (i.e., the configuration keys of the main {@link PartialExecution}
+ * load profile estimators) and {@link Platform}s of its {@link PartialExecution}s, so that
+ * {@link #stream(Collection, Collection)} can skip non-matching blocks without decompressing and decode only the
+ * matching {@link PartialExecution}s. The format of an existing log is detected automatically.</p>
  */
 public class ExecutionLog implements AutoCloseable {
 
+    /**
+     * Serialization formats of {@link ExecutionLog}s.
+     */
+    public enum Format {
+
+        /**
+         * One JSON object per line.
+         */
+        JSON,
+
+        /**
+         * Versioned, block-compressed binary format with an index by operator type and {@link Platform}.
+         */
+        BINARY
+
+    }
+
+    /**
+     * Leads every {@link Format#BINARY} log.
+     */
+    private static final int BINARY_MAGIC_NUMBER = 0x52484c47;
+
+    /**
+     * The version of the {@link Format#BINARY} format that is written by this class.
+     */
+    private static final int BINARY_VERSION = 1;
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     /**
@@ -41,15 +102,42 @@ public class ExecutionLog implements AutoCloseable {
      */
     private final Configuration configuration;
 
+    /**
+     * The {@link Format} of the log at the {@link #repositoryPath}.
+     */
+    private final Format format;
+
+    /**
+     * Number of {@link PartialExecution}s per {@link Format#BINARY} block.
+     */
+    private final int blockSize;
+
     /**
      * Created on demand an can be closed as well.
      */
     private BufferedWriter writer;
 
-    private ExecutionLog(Configuration configuration, String repositoryPath) {
+    /**
+     * Created on demand for {@link Format#BINARY} logs and can be closed as well.
+     */
+    private DataOutputStream binaryOutput;
+
+    /**
+     * Collects the serialized {@link PartialExecution}s of the current {@link Format#BINARY} block.
+     */
+    private final ByteArrayOutputStream blockBuffer = new ByteArrayOutputStream();
+
+    /**
+     * Index entries for the {@link PartialExecution}s in the {@link #blockBuffer}.
+     */
+    private final List<IndexEntry> blockIndex = new ArrayList<>();
+
+    private ExecutionLog(Configuration configuration, String repositoryPath, Format defaultFormat) {
         this.configuration = configuration;
         this.repositoryPath = repositoryPath;
-        this.logger.info("Curating execution log at {}.", repositoryPath);
+        this.format = detectFormat(repositoryPath).orElse(defaultFormat);
+        this.blockSize = (int) configuration.getLongProperty("rheem.core.log.executions.blocksize", 1000);
+        this.logger.info("Curating execution log at {} ({}).", repositoryPath, this.format);
     }
 
     /**
@@ -71,7 +159,40 @@ public class ExecutionLog implements AutoCloseable {
      * @return the new instance
      */
     public static ExecutionLog open(Configuration configuration, String repositoryPath) {
-        return new ExecutionLog(configuration, repositoryPath);
+        final Format format = Format.valueOf(
+                configuration.getStringProperty("rheem.core.log.executions.format", "json").toUpperCase()
+        );
+        return open(configuration, repositoryPath, format);
+    }
+
+    /**
+     * Opens an instance.
+     *
+     * @param configuration  describes the instance to be opened
+     * @param repositoryPath location of the instance
+     * @param format         in which the instance should be written if it does not exist yet
+     * @return the new instance
+     */
+    public static ExecutionLog open(Configuration configuration, String repositoryPath, Format format) {
+        return new ExecutionLog(configuration, repositoryPath, format);
+    }
+
+    /**
+     * Determines the {@link Format} of the log at the given location.
+     *
+     * @param repositoryPath location of the log
+     * @return the {@link Format} or nothing if there is no such log
+     */
+    private static Optional<Format> detectFormat(String repositoryPath) {
+        final File file = new File(repositoryPath);
+        if (!file.exists() || file.length() == 0) return Optional.empty();
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return Optional.of(
+                    file.length() >= 4 && in.readInt() == BINARY_MAGIC_NUMBER ? Format.BINARY : Format.JSON
+            );
+        } catch (IOException e) {
+            throw new RheemException(String.format("Cannot read %s.", repositoryPath), e);
+        }
     }
 
     /**
@@ -106,12 +227,109 @@ public class ExecutionLog implements AutoCloseable {
         this.write(JsonSerializables.serialize(partialExecution, false, partialExecutionJsonSerializer));
     }
 
+    /**
+     * Stores all {@link PartialExecution}s of a {@link Format#JSON} log in this instance. As the
+     * {@link PartialExecution}s are not materialized, this works regardless of the {@link Configuration}.
+     *
+     * @param jsonLogPath location of the {@link Format#JSON} log
+     * @return the number of stored {@link PartialExecution}s
+     */
+    public long importJson(String jsonLogPath) throws IOException {
+        long numPartialExecutions = 0;
+        try (Stream<String> lines = Files.lines(Paths.get(jsonLogPath), Charset.forName("UTF-8"))) {
+            for (Iterator<String> iterator = lines.iterator(); iterator.hasNext(); ) {
+                final String line = iterator.next();
+                if (line.trim().isEmpty()) continue;
+                this.write(parseJson(line));
+                numPartialExecutions++;
+            }
+        }
+        return numPartialExecutions;
+    }
+
     /**
      * Writes the measuremnt to the {@link #repositoryPath}.
      */
     private void write(JSONObject jsonMeasurement) throws IOException {
-        jsonMeasurement.write(this.getWriter());
-        writer.write('\n');
+        switch (this.format) {
+            case JSON:
+                jsonMeasurement.write(this.getWriter());
+                writer.write('\n');
+                break;
+            case BINARY:
+                final int offset = this.blockBuffer.size();
+                PartialExecution.BinarySerializer.serialize(jsonMeasurement, new DataOutputStream(this.blockBuffer));
+                this.blockIndex.add(new IndexEntry(
+                        this.blockBuffer.size() - offset, getOperatorTypes(jsonMeasurement), getPlatforms(jsonMeasurement)
+                ));
+                if (this.blockIndex.size() >= this.blockSize) {
+                    this.flushBlock();
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unsupported format: " + this.format);
+        }
+    }
+
+    /**
+     * Writes the {@link #blockBuffer} as a compressed block to the {@link #binaryOutput}. A block looks as follows:
+     * <pre>
+     *     #partial executions, #operator types, operator types..., #platforms, platforms...,
+     *     for each partial execution: #bytes, #operator type refs, refs..., #platform refs, refs...,
+     *     #compressed bytes, deflated partial executions
+     * </pre>
+     */
+    private void flushBlock() throws IOException {
+        if (this.blockIndex.isEmpty()) return;
+
+        final DataOutputStream out = this.getBinaryOutput();
+        final Map<String, Integer> operatorTypeRefs = new LinkedHashMap<>(), platformRefs = new LinkedHashMap<>();
+        for (IndexEntry entry : this.blockIndex) {
+            entry.operatorTypes.forEach(operatorType -> operatorTypeRefs.putIfAbsent(operatorType, operatorTypeRefs.size()));
+            entry.platforms.forEach(platform -> platformRefs.putIfAbsent(platform, platformRefs.size()));
+        }
+        out.writeInt(this.blockIndex.size());
+        writeStrings(operatorTypeRefs.keySet(), out);
+        writeStrings(platformRefs.keySet(), out);
+        for (IndexEntry entry : this.blockIndex) {
+            out.writeInt(entry.numBytes);
+            writeRefs(entry.operatorTypes, operatorTypeRefs, out);
+            writeRefs(entry.platforms, platformRefs, out);
+        }
+
+        final Deflater deflater = new Deflater();
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try {
+            deflater.setInput(this.blockBuffer.toByteArray());
+            deflater.finish();
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                compressed.write(buffer, 0, deflater.deflate(buffer));
+            }
+        } finally {
+            deflater.end();
+        }
+        out.writeInt(compressed.size());
+        compressed.writeTo(out);
+        out.flush();
+
+        this.blockBuffer.reset();
+        this.blockIndex.clear();
+    }
+
+    private static void writeStrings(Collection<String> strings, DataOutputStream out) throws IOException {
+        out.writeInt(strings.size());
+        for (String string : strings) {
+            out.writeUTF(string);
+        }
+    }
+
+    private static void writeRefs(Collection<String> strings, Map<String, Integer> refs, DataOutputStream out)
+            throws IOException {
+        out.writeInt(strings.size());
+        for (String string : strings) {
+            out.writeInt(refs.get(string));
+        }
     }
 
     /**
@@ -121,17 +339,99 @@ public class ExecutionLog implements AutoCloseable {
      * @throws IOException
      */
     public Stream<PartialExecution> stream() throws IOException {
+        return this.stream(null, null);
+    }
+
+    /**
+     * Streams the {@link PartialExecution}s of this instance that involve any of the given operator types and any
+     * of the given {@link Platform}s. Other {@link PartialExecution}s are not decoded.
+     *
+     * @param operatorTypes configuration keys of the main load profile estimators of the requested operators or
+     *                      {@code null} to accept any operator
+     * @param platforms     the requested {@link Platform}s or {@code null} to accept any {@link Platform}
+     * @return a {@link Stream} of the matching {@link PartialExecution}s
+     * @throws IOException
+     */
+    public Stream<PartialExecution> stream(Collection<String> operatorTypes, Collection<Platform> platforms)
+            throws IOException {
         IOUtils.closeQuietly(this.writer);
         this.writer = null;
-        final PartialExecution.Serializer serializer = new PartialExecution.Serializer(this.configuration);
-        return Files.lines(Paths.get(this.repositoryPath), Charset.forName("UTF-8"))
-                .map(line -> {
-                    try {
-                        return JsonSerializables.deserialize(new JSONObject(line), serializer, PartialExecution.class);
-                    } catch (Exception e) {
-                        throw new RheemException(String.format("Could not parse \"%s\".", line), e);
-                    }
-                });
+        this.flushBlock();
+        IOUtils.closeQuietly(this.binaryOutput);
+        this.binaryOutput = null;
+
+        final Set<String> platformClasses = platforms == null ? null : platforms.stream()
+                .map(platform -> platform.getClass().getCanonicalName())
+                .collect(Collectors.toSet());
+        switch (this.format) {
+            case JSON:
+                final PartialExecution.Serializer serializer = new PartialExecution.Serializer(this.configuration);
+                return Files.lines(Paths.get(this.repositoryPath), Charset.forName("UTF-8"))
+                        .map(ExecutionLog::parseJson)
+                        .filter(json -> matches(getOperatorTypes(json), operatorTypes)
+                                && matches(getPlatforms(json), platformClasses))
+                        .map(json -> {
+                            try {
+                                return JsonSerializables.deserialize(json, serializer, PartialExecution.class);
+                            } catch (Exception e) {
+                                throw new RheemException(String.format("Could not parse \"%s\".", json), e);
+                            }
+                        });
+            case BINARY:
+                final BinaryIterator iterator = new BinaryIterator(operatorTypes, platformClasses);
+                return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                        false
+                ).onClose(iterator::close);
+            default:
+                throw new IllegalStateException("Unsupported format: " + this.format);
+        }
+    }
+
+    private static JSONObject parseJson(String line) {
+        try {
+            return new JSONObject(line);
+        } catch (Exception e) {
+            throw new RheemException(String.format("Could not parse \"%s\".", line), e);
+        }
+    }
+
+    /**
+     * Tells whether any of the {@code candidates} is {@code requested}.
+     */
+    private static boolean matches(Collection<String> candidates, Collection<String> requested) {
+        return requested == null || candidates.stream().anyMatch(requested::contains);
+    }
+
+    /**
+     * Collects the operator types, i.e., the configuration keys of the main load profile estimators, from a
+     * JSON-serialized {@link PartialExecution}.
+     */
+    private static Set<String> getOperatorTypes(JSONObject partialExecution) {
+        Set<String> operatorTypes = new HashSet<>();
+        final JSONArray execGroups = partialExecution.getJSONArray("execGroups");
+        for (int i = 0; i < execGroups.length(); i++) {
+            final JSONArray executions = execGroups.getJSONObject(i).getJSONArray("executions");
+            for (int j = 0; j < executions.length(); j++) {
+                final JSONArray estimators = executions.getJSONObject(j).getJSONArray("estimators");
+                if (estimators.length() > 0 && estimators.getJSONObject(0).has("key")) {
+                    operatorTypes.add(estimators.getJSONObject(0).getString("key"));
+                }
+            }
+        }
+        return operatorTypes;
+    }
+
+    /**
+     * Collects the {@link Platform} classes from a JSON-serialized {@link PartialExecution}.
+     */
+    private static Set<String> getPlatforms(JSONObject partialExecution) {
+        Set<String> platforms = new HashSet<>();
+        final JSONArray execGroups = partialExecution.getJSONArray("execGroups");
+        for (int i = 0; i < execGroups.length(); i++) {
+            platforms.add(execGroups.getJSONObject(i).getJSONObject("platform").getString("_class"));
+        }
+        return platforms;
     }
 
     /**
@@ -139,18 +439,42 @@ public class ExecutionLog implements AutoCloseable {
      *
      * @return the {@link #writer}
      */
-    private BufferedWriter getWriter() throws FileNotFoundException, UnsupportedEncodingException {
+    private BufferedWriter getWriter() {
         if (this.writer != null) {
             return this.writer;
         }
+        return this.writer = new BufferedWriter(new OutputStreamWriter(this.openOutputStream(), Charset.forName("UTF-8")));
+    }
 
+    /**
+     * Initializes the {@link #binaryOutput} if it does not exist currently.
+     *
+     * @return the {@link #binaryOutput}
+     */
+    private DataOutputStream getBinaryOutput() throws IOException {
+        if (this.binaryOutput != null) {
+            return this.binaryOutput;
+        }
+        final boolean isNew = !new File(this.repositoryPath).exists() || new File(this.repositoryPath).length() == 0;
+        this.binaryOutput = new DataOutputStream(new BufferedOutputStream(this.openOutputStream()));
+        if (isNew) {
+            this.binaryOutput.writeInt(BINARY_MAGIC_NUMBER);
+            this.binaryOutput.writeInt(BINARY_VERSION);
+        }
+        return this.binaryOutput;
+    }
+
+    /**
+     * Opens the {@link #repositoryPath} for appending.
+     */
+    private OutputStream openOutputStream() {
         try {
             File file = new File(this.repositoryPath);
-            final File parentFile = file.getParentFile();
-            if (!parentFile.exists() && !file.getParentFile().mkdirs()) {
-                throw new RheemException("Could not initialize cardinality repository.");
+            final File parentFile = file.getAbsoluteFile().getParentFile();
+            if (!parentFile.exists() && !parentFile.mkdirs()) {
+                throw new RheemException("Could not initialize execution log.");
             }
-            return this.writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), "UTF-8"));
+            return new FileOutputStream(file, true);
         } catch (RheemException e) {
             throw e;
         } catch (Exception e) {
@@ -161,5 +485,158 @@ public class ExecutionLog implements AutoCloseable {
     @Override
     public void close() throws Exception {
         IOUtils.closeQuietly(this.writer);
+        try {
+            this.flushBlock();
+        } finally {
+            IOUtils.closeQuietly(this.binaryOutput);
+        }
+    }
+
+    /**
+     * Describes a serialized {@link PartialExecution} in a {@link Format#BINARY} block.
+     */
+    private static class IndexEntry {
+
+        private final int numBytes;
+
+        private final Collection<String> operatorTypes, platforms;
+
+        private IndexEntry(int numBytes, Collection<String> operatorTypes, Collection<String> platforms) {
+            this.numBytes = numBytes;
+            this.operatorTypes = operatorTypes;
+            this.platforms = platforms;
+        }
+    }
+
+    /**
+     * Decodes the matching {@link PartialExecution}s from a {@link Format#BINARY} log block by block.
+     */
+    private class BinaryIterator implements Iterator<PartialExecution>, AutoCloseable {
+
+        private final Collection<String> operatorTypes, platforms;
+
+        private final PartialExecution.BinarySerializer serializer =
+                new PartialExecution.BinarySerializer(ExecutionLog.this.configuration);
+
+        private final Queue<PartialExecution> decodedPartialExecutions = new LinkedList<>();
+
+        private DataInputStream in;
+
+        private BinaryIterator(Collection<String> operatorTypes, Collection<String> platforms) throws IOException {
+            this.operatorTypes = operatorTypes;
+            this.platforms = platforms;
+            final File file = new File(ExecutionLog.this.repositoryPath);
+            if (!file.exists()) return;
+            this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            final int magicNumber = this.in.readInt(), version = this.in.readInt();
+            if (magicNumber != BINARY_MAGIC_NUMBER || version != BINARY_VERSION) {
+                this.close();
+                throw new RheemException(String.format(
+                        "Unsupported execution log format in %s (version %d).", ExecutionLog.this.repositoryPath, version
+                ));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.decodedPartialExecutions.isEmpty() && this.in != null) {
+                this.decodeNextBlock();
+            }
+            return !this.decodedPartialExecutions.isEmpty();
+        }
+
+        @Override
+        public PartialExecution next() {
+            if (!this.hasNext()) throw new NoSuchElementException();
+            return this.decodedPartialExecutions.poll();
+        }
+
+        /**
+         * Decodes the matching {@link PartialExecution}s of the next block into {@link #decodedPartialExecutions}.
+         */
+        private void decodeNextBlock() {
+            try {
+                final int numPartialExecutions;
+                try {
+                    numPartialExecutions = this.in.readInt();
+                } catch (EOFException e) {
+                    this.close();
+                    return;
+                }
+                final List<String> blockOperatorTypes = readStrings(this.in), blockPlatforms = readStrings(this.in);
+                int[] offsets = new int[numPartialExecutions], lengths = new int[numPartialExecutions];
+                boolean[] isMatching = new boolean[numPartialExecutions];
+                boolean isAnyMatching = false;
+                for (int i = 0, offset = 0; i < numPartialExecutions; i++) {
+                    offsets[i] = offset;
+                    lengths[i] = this.in.readInt();
+                    offset += lengths[i];
+                    // Both refs need to be read, hence the non-short-circuit operator.
+                    isMatching[i] = matches(readRefs(this.in, blockOperatorTypes), this.operatorTypes)
+                            & matches(readRefs(this.in, blockPlatforms), this.platforms);
+                    isAnyMatching |= isMatching[i];
+                }
+                final int numCompressedBytes = this.in.readInt();
+                if (!isAnyMatching) {
+                    IOUtils.skipFully(this.in, numCompressedBytes);
+                    return;
+                }
+
+                final byte[] compressed = new byte[numCompressedBytes];
+                this.in.readFully(compressed);
+                final byte[] block = new byte[numPartialExecutions == 0 ? 0 :
+                        offsets[numPartialExecutions - 1] + lengths[numPartialExecutions - 1]];
+                final Inflater inflater = new Inflater();
+                try {
+                    inflater.setInput(compressed);
+                    int numInflatedBytes = 0;
+                    while (numInflatedBytes < block.length && !inflater.finished()) {
+                        numInflatedBytes += inflater.inflate(block, numInflatedBytes, block.length - numInflatedBytes);
+                    }
+                } catch (DataFormatException e) {
+                    throw new IOException("Corrupt block.", e);
+                } finally {
+                    inflater.end();
+                }
+
+                for (int i = 0; i < numPartialExecutions; i++) {
+                    if (!isMatching[i]) continue;
+                    this.decodedPartialExecutions.add(this.serializer.deserialize(
+                            new DataInputStream(new ByteArrayInputStream(block, offsets[i], lengths[i]))
+                    ));
+                }
+            } catch (EOFException e) {
+                ExecutionLog.this.logger.warn("Execution log {} ends with an incomplete block.", ExecutionLog.this.repositoryPath);
+                this.close();
+            } catch (IOException e) {
+                this.close();
+                throw new RheemException(String.format("Could not read %s.", ExecutionLog.this.repositoryPath), e);
+            }
+        }
+
+        @Override
+        public void close() {
+            IOUtils.closeQuietly(this.in);
+            this.in = null;
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        final int numStrings = in.readInt();
+        List<String> strings = new ArrayList<>(numStrings);
+        for (int i = 0; i < numStrings; i++) {
+            strings.add(in.readUTF());
+        }
+        return strings;
+    }
+
+    private static Collection<String> readRefs(DataInputStream in, List<String> strings) throws IOException {
+        final int numRefs = in.readInt();
+        if (numRefs == 0) return Collections.emptyList();
+        Collection<String> refs = new ArrayList<>(numRefs);
+        for (int i = 0; i < numRefs; i++) {
+            refs.add(strings.get(in.readInt()));
+        }
+        return refs;
     }
 }
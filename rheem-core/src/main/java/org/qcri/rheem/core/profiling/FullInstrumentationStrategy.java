@@ -6,7 +6,8 @@ import org.qcri.rheem.core.plan.executionplan.ExecutionStage;
 import java.util.Arrays;
 
 /**
- * Instruments only outbound {@link Channel}s.
+ * Instruments all {@link Channel}s. The outbound {@link Channel}s require exact cardinalities, while the cardinalities
+ * of the stage-internal {@link Channel}s may be extrapolated from samples to keep the instrumentation cheap.
  */
 public class FullInstrumentationStrategy implements InstrumentationStrategy {
 
@@ -14,6 +15,6 @@ public class FullInstrumentationStrategy implements InstrumentationStrategy {
     public void applyTo(ExecutionStage stage) {
         stage.getAllTasks().stream()
                 .flatMap(task -> Arrays.stream(task.getOutputChannels()))
-                .forEach(Channel::markForInstrumentation);
+                .forEach(channel -> channel.markForInstrumentation(!channel.isBetweenStages()));
     }
 }
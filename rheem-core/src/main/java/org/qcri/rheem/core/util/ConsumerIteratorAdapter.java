@@ -45,7 +45,7 @@ public class ConsumerIteratorAdapter<T> {
     /**
      * Whether new writes can occur.
      */
-    private boolean isWriteFinished = false;
+    private volatile boolean isWriteFinished = false;
 
     /**
      * Bitmask of relevant bits for both read and write positions.
@@ -185,7 +185,8 @@ public class ConsumerIteratorAdapter<T> {
 
             if (readPos == writePos) {
                 if (this.isWriteFinished) {
-                    return null;
+                    // The producer might have committed further elements before declaring the last add.
+                    if (this.state.get() == state) return null;
                 } else {
                     // If cannot read, wait to try again.
                     if (SLEEP_MILLIS > 0) {
@@ -8,14 +8,68 @@ import org.qcri.rheem.core.optimizer.OptimizationUtils;
 import org.slf4j.LoggerFactory;
 
 import javax.el.ValueExpression;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Utilities to deal with JUEL expressions.
  */
 public class JuelUtils {
 
+    /**
+     * Matches JUEL expressions of the form <code>${...}</code>.
+     */
+    private static final Pattern JUEL_EXPRESSION_PATTERN = Pattern.compile("\\s*\\$\\{(.*)}\\s*", Pattern.DOTALL);
+
+    /**
+     * Matches the characters that are shared by the JUEL and the MathEx arithmetic.
+     */
+    private static final Pattern ARITHMETIC_PATTERN = Pattern.compile("[-+*/%(),.\\w\\s]*");
+
+    /**
+     * Matches identifiers, but not exponents of numbers, such as the {@code E8} in {@code 1E8}.
+     */
+    private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("(?<![\\w.])[A-Za-z_]\\w*");
+
+    /**
+     * Reserved words of JUEL that would be misinterpreted as variables by MathEx.
+     */
+    private static final Set<String> JUEL_KEYWORDS = new HashSet<>(Arrays.asList(
+            "and", "or", "not", "eq", "ne", "lt", "gt", "le", "ge", "div", "mod",
+            "true", "false", "null", "empty", "instanceof"
+    ));
+
+    /**
+     * Translates a JUEL expression into an equivalent MathEx expression. This is only possible for arithmetic
+     * expressions that use the functions {@code math:sqrt} and {@code rheem:logGrowth} at most.
+     *
+     * @param juelExpression the JUEL expression
+     * @return the MathEx expression or {@code null} if the {@code juelExpression} cannot be translated
+     */
+    public static String translateToMathEx(String juelExpression) {
+        final Matcher expressionMatcher = JUEL_EXPRESSION_PATTERN.matcher(juelExpression);
+        if (!expressionMatcher.matches()) return null;
+        final String expression = expressionMatcher.group(1)
+                .replace("math:sqrt", "sqrt")
+                .replace("rheem:logGrowth", "logGrowth");
+        if (!ARITHMETIC_PATTERN.matcher(expression).matches()) return null;
+
+        // Reject keywords and property accesses.
+        final Matcher identifierMatcher = IDENTIFIER_PATTERN.matcher(expression);
+        while (identifierMatcher.find()) {
+            if (JUEL_KEYWORDS.contains(identifierMatcher.group())) return null;
+            if (identifierMatcher.end() < expression.length() && expression.charAt(identifierMatcher.end()) == '.') {
+                return null;
+            }
+        }
+        return expression;
+    }
+
     public static class JuelFunction<T> {
 
         private final Map<String, Argument> arguments = new HashMap<>();
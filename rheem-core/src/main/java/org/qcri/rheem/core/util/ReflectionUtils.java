@@ -10,6 +10,7 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
@@ -17,6 +18,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.URI;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -422,6 +424,55 @@ public class ReflectionUtils {
         throw new IllegalArgumentException(String.format("Did not find method %s() for %s.", accessorName, obj));
     }
 
+    /**
+     * Collects all non-static {@link Field}s of the given {@link Class} and its superclasses in a stable order.
+     *
+     * @param cls whose {@link Field}s are requested
+     * @return the {@link Field}s
+     */
+    public static List<Field> getInstanceFields(Class<?> cls) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> c = cls; c != null && c != Object.class; c = c.getSuperclass()) {
+            Arrays.stream(c.getDeclaredFields())
+                    .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                    .sorted((f1, f2) -> f1.getName().compareTo(f2.getName()))
+                    .forEach(fields::add);
+        }
+        return fields;
+    }
+
+    /**
+     * Retrieve the value of a {@link Field} regardless of its visibility.
+     *
+     * @param field  the {@link Field}
+     * @param object that has the {@code field}
+     * @return the value or {@code null} if it could not be retrieved
+     */
+    public static Object getFieldValue(Field field, Object object) {
+        try {
+            field.setAccessible(true);
+            return field.get(object);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Collects the non-{@code null} values of all non-static {@link Field}s of the given {@code object}.
+     *
+     * @param object whose {@link Field} values are requested
+     * @return the values
+     * @see #getInstanceFields(Class)
+     */
+    public static List<Object> getInstanceFieldValues(Object object) {
+        List<Object> values = new ArrayList<>();
+        for (Field field : getInstanceFields(object.getClass())) {
+            final Object value = getFieldValue(field, object);
+            if (value != null) values.add(value);
+        }
+        return values;
+    }
+
     /**
      * Convert the given {@link Object} to a {@code double}.
      *
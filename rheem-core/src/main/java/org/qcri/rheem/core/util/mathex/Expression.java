@@ -4,6 +4,9 @@ package org.qcri.rheem.core.util.mathex;
 import org.qcri.rheem.core.util.mathex.exceptions.EvaluationException;
 import org.qcri.rheem.core.util.mathex.model.Constant;
 
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
 /**
  * A mathematical expression that can be evaluated.
  */
@@ -36,6 +39,17 @@ public interface Expression {
 
     double evaluate(Context context) throws EvaluationException;
 
+    /**
+     * Compile this instance into a closure that evaluates it over an array of variable values. In contrast to
+     * {@link #evaluate(Context)}, this does not involve any name lookups during the evaluation. Functions need
+     * to be resolved before, e.g., via {@link #specify(Context)}.
+     *
+     * @param variableSlots resolves variable names to their index in the value array or to {@code -1} if unknown
+     * @return the compiled instance
+     * @throws EvaluationException if the compilation failed, e.g., because of unknown variables or functions
+     */
+    ToDoubleFunction<double[]> compile(ToIntFunction<String> variableSlots) throws EvaluationException;
+
     /**
      * Turn this dynamic instance into a more static one by directly incorporating the given {@link Context}.
      *
@@ -5,6 +5,9 @@ import org.qcri.rheem.core.util.mathex.Context;
 import org.qcri.rheem.core.util.mathex.Expression;
 import org.qcri.rheem.core.util.mathex.exceptions.EvaluationException;
 
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
 /**
  * An operation {@link Expression}.
  */
@@ -53,6 +56,28 @@ public class BinaryOperation implements Expression {
         return defaultSpecification;
     }
 
+    @Override
+    public ToDoubleFunction<double[]> compile(ToIntFunction<String> variableSlots) {
+        final ToDoubleFunction<double[]> operand0 = this.operand0.compile(variableSlots);
+        final ToDoubleFunction<double[]> operand1 = this.operand1.compile(variableSlots);
+        switch (this.operator) {
+            case '+':
+                return values -> operand0.applyAsDouble(values) + operand1.applyAsDouble(values);
+            case '-':
+                return values -> operand0.applyAsDouble(values) - operand1.applyAsDouble(values);
+            case '*':
+                return values -> operand0.applyAsDouble(values) * operand1.applyAsDouble(values);
+            case '/':
+                return values -> operand0.applyAsDouble(values) / operand1.applyAsDouble(values);
+            case '%':
+                return values -> operand0.applyAsDouble(values) % operand1.applyAsDouble(values);
+            case '^':
+                return values -> Math.pow(operand0.applyAsDouble(values), operand1.applyAsDouble(values));
+            default:
+                throw new EvaluationException(String.format("Unknown operator: \"%s\"", this.operator));
+        }
+    }
+
     @Override
     public String toString() {
         return String.format("(%s)%s(%s)", this.operand0, this.operator, this.operand1);
@@ -6,6 +6,7 @@ import org.qcri.rheem.core.util.mathex.Expression;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -65,6 +66,24 @@ public class CompiledFunction implements Expression {
         return specification;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public ToDoubleFunction<double[]> compile(ToIntFunction<String> variableSlots) {
+        final ToDoubleFunction<double[]>[] arguments = new ToDoubleFunction[this.arguments.size()];
+        int i = 0;
+        for (Expression argument : this.arguments) {
+            arguments[i++] = argument.compile(variableSlots);
+        }
+        final ToDoubleFunction<double[]> implementation = this.implementation;
+        return values -> {
+            double[] args = new double[arguments.length];
+            for (int j = 0; j < arguments.length; j++) {
+                args[j] = arguments[j].applyAsDouble(values);
+            }
+            return implementation.applyAsDouble(args);
+        };
+    }
+
     @Override
     public String toString() {
         return this.name + this.arguments.stream().map(Object::toString).collect(Collectors.joining(", ", "(", ")"));
@@ -3,6 +3,9 @@ package org.qcri.rheem.core.util.mathex.model;
 import org.qcri.rheem.core.util.mathex.Context;
 import org.qcri.rheem.core.util.mathex.Expression;
 
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
 /**
  * A constant {@link Expression}.
  */
@@ -28,6 +31,12 @@ public class Constant implements Expression {
         return this;
     }
 
+    @Override
+    public ToDoubleFunction<double[]> compile(ToIntFunction<String> variableSlots) {
+        final double value = this.value;
+        return values -> value;
+    }
+
     @Override
     public String toString() {
         return Double.toString(this.value);
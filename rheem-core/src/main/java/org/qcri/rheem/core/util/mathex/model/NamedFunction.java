@@ -6,6 +6,7 @@ import org.qcri.rheem.core.util.mathex.exceptions.EvaluationException;
 
 import java.util.List;
 import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -61,6 +62,11 @@ public class NamedFunction implements Expression {
         return defaultSpecification;
     }
 
+    @Override
+    public ToDoubleFunction<double[]> compile(ToIntFunction<String> variableSlots) {
+        throw new EvaluationException(String.format("Function \"%s\" has not been specified.", this.name));
+    }
+
     @Override
     public String toString() {
         return this.name + this.arguments.stream().map(Object::toString).collect(Collectors.joining(", ", "(", ")"));
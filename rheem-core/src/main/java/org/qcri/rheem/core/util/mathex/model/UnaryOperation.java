@@ -4,6 +4,9 @@ import org.qcri.rheem.core.util.mathex.Context;
 import org.qcri.rheem.core.util.mathex.Expression;
 import org.qcri.rheem.core.util.mathex.exceptions.EvaluationException;
 
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
 /**
  * An operation {@link Expression}.
  */
@@ -30,6 +33,19 @@ public class UnaryOperation implements Expression {
         }
     }
 
+    @Override
+    public ToDoubleFunction<double[]> compile(ToIntFunction<String> variableSlots) {
+        final ToDoubleFunction<double[]> operand = this.operand.compile(variableSlots);
+        switch (this.operator) {
+            case '+':
+                return operand;
+            case '-':
+                return values -> -operand.applyAsDouble(values);
+            default:
+                throw new EvaluationException(String.format("Unknown operator: \"%s\"", this.operator));
+        }
+    }
+
     @Override
     public String toString() {
         return String.format("%s(%s)", this.operator, this.operand);
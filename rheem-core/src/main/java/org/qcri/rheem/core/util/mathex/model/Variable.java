@@ -3,6 +3,10 @@ package org.qcri.rheem.core.util.mathex.model;
 
 import org.qcri.rheem.core.util.mathex.Context;
 import org.qcri.rheem.core.util.mathex.Expression;
+import org.qcri.rheem.core.util.mathex.exceptions.EvaluationException;
+
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
 
 /**
  * A variable {@link Expression}
@@ -20,6 +24,15 @@ public class Variable implements Expression {
         return context.getVariable(this.name);
     }
 
+    @Override
+    public ToDoubleFunction<double[]> compile(ToIntFunction<String> variableSlots) {
+        final int slot = variableSlots.applyAsInt(this.name);
+        if (slot < 0) {
+            throw new EvaluationException(String.format("No variable named \"%s\".", this.name));
+        }
+        return values -> values[slot];
+    }
+
     @Override
     public String toString() {
         return this.name;
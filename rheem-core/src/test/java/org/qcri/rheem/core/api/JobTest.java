@@ -0,0 +1,105 @@
+package org.qcri.rheem.core.api;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.core.optimizer.DefaultOptimizationContext;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+import org.qcri.rheem.core.plan.rheemplan.LoopIsolator;
+import org.qcri.rheem.core.plan.rheemplan.LoopSubplan;
+import org.qcri.rheem.core.plan.rheemplan.Operator;
+import org.qcri.rheem.core.plan.rheemplan.OperatorAlternative;
+import org.qcri.rheem.core.plan.rheemplan.test.TestFilterOperator;
+import org.qcri.rheem.core.plan.rheemplan.test.TestLoopHead;
+import org.qcri.rheem.core.plan.rheemplan.test.TestMapOperator;
+import org.qcri.rheem.core.plan.rheemplan.test.TestSink;
+import org.qcri.rheem.core.plan.rheemplan.test.TestSource;
+import org.qcri.rheem.core.test.MockFactory;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+
+/**
+ * Test suite for the incremental re-optimization helpers of the {@link Job}.
+ */
+public class JobTest {
+
+    private static final double THRESHOLD = 2d;
+
+    @Test
+    public void testIsSignificantChange() {
+        final CardinalityEstimate estimate = new CardinalityEstimate(100, 100, 1d);
+        Assert.assertFalse(Job.isSignificantChange(null, null, THRESHOLD));
+        Assert.assertTrue(Job.isSignificantChange(null, estimate, THRESHOLD));
+        Assert.assertTrue(Job.isSignificantChange(estimate, null, THRESHOLD));
+        Assert.assertFalse(Job.isSignificantChange(estimate, estimate, THRESHOLD));
+        Assert.assertFalse(Job.isSignificantChange(estimate, new CardinalityEstimate(150, 150, 1d), THRESHOLD));
+        Assert.assertFalse(Job.isSignificantChange(estimate, new CardinalityEstimate(60, 60, 1d), THRESHOLD));
+        Assert.assertTrue(Job.isSignificantChange(estimate, new CardinalityEstimate(1000, 1000, 1d), THRESHOLD));
+        Assert.assertTrue(Job.isSignificantChange(estimate, new CardinalityEstimate(10, 10, 1d), THRESHOLD));
+    }
+
+    @Test
+    public void testCollectAffectedOperatorsForNestedOperator() {
+        // source -> [map] -> sink
+        TestSource<String> source = new TestSource<>(String.class);
+        TestMapOperator<String, String> map = new TestMapOperator<>(String.class, String.class);
+        TestSink<String> sink = new TestSink<>(String.class);
+        source.connectTo(0, map, 0);
+        map.connectTo(0, sink, 0);
+        final OperatorAlternative operatorAlternative = OperatorAlternative.wrap(map);
+
+        final OptimizationContext optimizationContext = new DefaultOptimizationContext(
+                MockFactory.createJob(new Configuration())
+        );
+        for (Operator operator : Arrays.asList(source, operatorAlternative, sink)) {
+            optimizationContext.addOneTimeOperator(operator);
+        }
+        final OptimizationContext.OperatorContext mapCtx = optimizationContext.getOperatorContext(map);
+        mapCtx.setOutputCardinality(0, new CardinalityEstimate(1000, 1000, 1d));
+
+        final Map<OptimizationContext.OperatorContext, CardinalityEstimate[]> snapshot =
+                Job.snapshotCardinalities(optimizationContext);
+        Assert.assertTrue(snapshot.containsKey(mapCtx));
+
+        // Insignificant change.
+        mapCtx.setOutputCardinality(0, new CardinalityEstimate(1500, 1500, 1d));
+        Assert.assertEquals(Collections.emptySet(), Job.collectAffectedOperators(snapshot, THRESHOLD));
+
+        // Significant change.
+        mapCtx.setOutputCardinality(0, new CardinalityEstimate(100000, 100000, 1d));
+        Assert.assertEquals(
+                new HashSet<>(Arrays.asList(operatorAlternative, sink)),
+                Job.collectAffectedOperators(snapshot, THRESHOLD)
+        );
+    }
+
+    @Test
+    public void testCollectAffectedOperatorsForLoopIteration() {
+        TestLoopHead<Integer> loopHead = new TestLoopHead<>(Integer.class);
+        loopHead.setNumExpectedIterations(3);
+        TestFilterOperator<Integer> inLoopFilter = new TestFilterOperator<>(Integer.class);
+        loopHead.connectTo("loopOutput", inLoopFilter, "in");
+        inLoopFilter.connectTo("out", loopHead, "loopInput");
+        final LoopSubplan loop = LoopIsolator.isolate(loopHead);
+        Assert.assertNotNull(loop);
+
+        final OptimizationContext optimizationContext = new DefaultOptimizationContext(
+                MockFactory.createJob(new Configuration()), loop
+        );
+        final OptimizationContext iterationContext =
+                optimizationContext.getNestedLoopContext(loop).getIterationContexts().get(1);
+        final OptimizationContext.OperatorContext filterCtx = iterationContext.getOperatorContext(inLoopFilter);
+        filterCtx.setOutputCardinality(0, new CardinalityEstimate(1000, 1000, 1d));
+
+        final Map<OptimizationContext.OperatorContext, CardinalityEstimate[]> snapshot =
+                Job.snapshotCardinalities(optimizationContext);
+        Assert.assertTrue(snapshot.containsKey(filterCtx));
+
+        filterCtx.setOutputCardinality(0, new CardinalityEstimate(10, 10, 1d));
+        Assert.assertEquals(Collections.singleton(loop), Job.collectAffectedOperators(snapshot, THRESHOLD));
+    }
+
+}
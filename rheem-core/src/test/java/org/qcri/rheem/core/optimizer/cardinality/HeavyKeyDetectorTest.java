@@ -0,0 +1,54 @@
+package org.qcri.rheem.core.optimizer.cardinality;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.core.api.Configuration;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test suite for {@link HeavyKeyDetector}.
+ */
+public class HeavyKeyDetectorTest {
+
+    @Test
+    public void testIsSamplingRequested() {
+        final Configuration configuration = new Configuration();
+        configuration.setProperty("rheem.test.skew.mode", "auto");
+        configuration.setProperty("rheem.test.skew.min-cardinality", "1000");
+        final HeavyKeyDetector detector = HeavyKeyDetector.create(configuration, "rheem.test.skew");
+
+        Assert.assertTrue(detector.isSamplingRequested(new CardinalityEstimate(10, 1000, 0.9), 8));
+        Assert.assertFalse(detector.isSamplingRequested(new CardinalityEstimate(10, 999, 0.9), 8));
+        Assert.assertFalse(detector.isSamplingRequested(null, 8));
+        // A single partition cannot be skewed.
+        Assert.assertFalse(detector.isSamplingRequested(new CardinalityEstimate(10, 1000, 0.9), 1));
+
+        configuration.setProperty("rheem.test.skew.mode", "off");
+        Assert.assertFalse(HeavyKeyDetector.create(configuration, "rheem.test.skew")
+                .isSamplingRequested(new CardinalityEstimate(10, 1000, 0.9), 8));
+    }
+
+    @Test
+    public void testDetect() {
+        final HeavyKeyDetector detector = new HeavyKeyDetector(HeavyKeyDetector.Mode.ON, 0, 100, 1.5);
+        Assert.assertEquals(0.01d, detector.getSampleFraction(new CardinalityEstimate(10000, 10000, 1d)), 0d);
+
+        Map<String, Long> sampledKeyCounts = new HashMap<>();
+        sampledKeyCounts.put("heavy", 500L);
+        sampledKeyCounts.put("medium", 200L);
+        sampledKeyCounts.put("rare", 5L);
+        for (int i = 0; i < 59; i++) sampledKeyCounts.put("light" + i, 5L);
+        // The sample comprises 1000 data quanta: "heavy" fills 4 out of 8 partitions, "medium" 1.6 partitions.
+        final Map<String, Integer> heavyKeys = detector.detect(sampledKeyCounts, 8);
+        Assert.assertEquals(2, heavyKeys.size());
+        Assert.assertEquals(Integer.valueOf(4), heavyKeys.get("heavy"));
+        Assert.assertEquals(Integer.valueOf(2), heavyKeys.get("medium"));
+
+        // Rare keys are never heavy, even in small samples.
+        Assert.assertEquals(Collections.emptyMap(), detector.detect(Collections.singletonMap("rare", 5L), 8));
+    }
+
+}
@@ -22,6 +22,8 @@ import org.qcri.rheem.core.test.MockFactory;
 import org.qcri.rheem.core.util.RheemCollections;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
 /**
@@ -301,5 +303,126 @@ public class ChannelConversionGraphTest {
         Assert.assertTrue(junction.getTargetChannel(1).isCopy() && junction.getTargetChannel(1).getOriginal() == nextChannel);
     }
 
+    @Test
+    public void findRecurringConversion() throws Exception {
+        ChannelConversionGraph channelConversionGraph = new ChannelConversionGraph(new Configuration());
+        channelConversionGraph.add(reusableToNonReusableChannelConversion);
+        channelConversionGraph.add(nonReusableToReusableChannelConversion);
+        channelConversionGraph.add(reusableToExternalChannelConversion);
+        channelConversionGraph.add(nonReusableToExternalChannelConversion);
+        channelConversionGraph.add(externalToNonReusableChannelConversion);
+
+        Junction[] junctions = new Junction[2];
+        for (int i = 0; i < junctions.length; i++) {
+            ExecutionOperator sourceOperator = new DummyExecutionOperator(0, 1, false);
+            sourceOperator.getSupportedOutputChannels(0).add(DummyReusableChannel.DESCRIPTOR);
+
+            ExecutionOperator destOperator0 = new DummyExecutionOperator(1, 1, false);
+            destOperator0.getSupportedInputChannels(0).add(DummyNonReusableChannel.DESCRIPTOR);
+
+            ExecutionOperator destOperator1 = new DummyExecutionOperator(1, 1, false);
+            destOperator1.getSupportedInputChannels(0).add(DummyExternalReusableChannel.DESCRIPTOR);
+
+            final OptimizationContext optimizationContext = new DefaultOptimizationContext(job);
+            optimizationContext.addOneTimeOperator(sourceOperator).setOutputCardinality(0, new CardinalityEstimate(1000 + i, 10000, 0.8d));
+
+            junctions[i] = channelConversionGraph.findMinimumCostJunction(
+                    sourceOperator.getOutput(0),
+                    Arrays.asList(destOperator0.getInput(0), destOperator1.getInput(0)),
+                    optimizationContext,
+                    false
+            );
+            Assert.assertNotNull(junctions[i]);
+            Assert.assertSame(destOperator0.getInput(0), junctions[i].getTargetInputs().get(0));
+            // The second request should be served from the tree cache.
+            Assert.assertEquals(i, channelConversionGraph.getNumTreeCacheHits());
+        }
+
+        // Both requests should be served with the same conversions, but with distinct Channels.
+        for (int i = 0; i < 2; i++) {
+            Assert.assertEquals(
+                    junctions[0].getTargetChannel(i).getDescriptor(),
+                    junctions[1].getTargetChannel(i).getDescriptor()
+            );
+            Assert.assertNotSame(junctions[0].getTargetChannel(i), junctions[1].getTargetChannel(i));
+        }
+    }
+
+    @Test
+    public void revalidateCachedConversion() throws Exception {
+        // Provide a direct conversion that can be filtered and a detour.
+        final AtomicBoolean isFilterDirectConversion = new AtomicBoolean(false);
+        final DefaultChannelConversion directConversion = new DefaultChannelConversion(
+                DummyReusableChannel.DESCRIPTOR,
+                DummyExternalReusableChannel.DESCRIPTOR,
+                createDummyExecutionOperatorFactory(DummyExternalReusableChannel.DESCRIPTOR)
+        ) {
+            @Override
+            public boolean isFiltered(CardinalityEstimate cardinality, int numExecutions, OptimizationContext optimizationContext) {
+                return isFilterDirectConversion.get();
+            }
+        };
+        final DefaultChannelConversion detourConversion = new DefaultChannelConversion(
+                DummyNonReusableChannel.DESCRIPTOR,
+                DummyExternalReusableChannel.DESCRIPTOR,
+                createDummyExecutionOperatorFactory(DummyExternalReusableChannel.DESCRIPTOR)
+        );
+        ChannelConversionGraph channelConversionGraph = new ChannelConversionGraph(new Configuration());
+        channelConversionGraph.add(directConversion);
+        channelConversionGraph.add(reusableToNonReusableChannelConversion);
+        channelConversionGraph.add(detourConversion);
+
+        Junction[] junctions = new Junction[3];
+        for (int i = 0; i < junctions.length; i++) {
+            // Filter the direct conversion for the last request only.
+            isFilterDirectConversion.set(i == 2);
+
+            ExecutionOperator sourceOperator = new DummyExecutionOperator(0, 1, false);
+            sourceOperator.getSupportedOutputChannels(0).add(DummyReusableChannel.DESCRIPTOR);
+
+            ExecutionOperator destOperator = new DummyExecutionOperator(1, 1, false);
+            destOperator.getSupportedInputChannels(0).add(DummyExternalReusableChannel.DESCRIPTOR);
+
+            final OptimizationContext optimizationContext = new DefaultOptimizationContext(job);
+            optimizationContext.addOneTimeOperator(sourceOperator).setOutputCardinality(0, new CardinalityEstimate(1000, 10000, 0.8d));
+
+            junctions[i] = channelConversionGraph.findMinimumCostJunction(
+                    sourceOperator.getOutput(0),
+                    Collections.singletonList(destOperator.getInput(0)),
+                    optimizationContext,
+                    false
+            );
+            Assert.assertNotNull(junctions[i]);
+        }
+
+        // The second request should reuse the cached direct conversion, while the last one has to take the detour.
+        Assert.assertEquals(1, channelConversionGraph.getNumTreeCacheHits());
+        Assert.assertEquals(1, junctions[0].getConversionTasks().size());
+        Assert.assertEquals(1, junctions[1].getConversionTasks().size());
+        Assert.assertEquals(2, junctions[2].getConversionTasks().size());
+    }
+
+    @Test
+    public void findNoConversionForUnreachableChannel() throws Exception {
+        ChannelConversionGraph channelConversionGraph = new ChannelConversionGraph(new Configuration());
+        channelConversionGraph.add(reusableToNonReusableChannelConversion);
+
+        ExecutionOperator sourceOperator = new DummyExecutionOperator(0, 1, false);
+        sourceOperator.getSupportedOutputChannels(0).add(DummyReusableChannel.DESCRIPTOR);
+
+        ExecutionOperator destOperator = new DummyExecutionOperator(1, 1, false);
+        destOperator.getSupportedInputChannels(0).add(DummyExternalReusableChannel.DESCRIPTOR);
+
+        final OptimizationContext optimizationContext = new DefaultOptimizationContext(job);
+        optimizationContext.addOneTimeOperator(sourceOperator).setOutputCardinality(0, new CardinalityEstimate(1000, 10000, 0.8d));
+
+        Junction junction = channelConversionGraph.findMinimumCostJunction(
+                sourceOperator.getOutput(0),
+                Arrays.asList(destOperator.getInput(0)),
+                optimizationContext,
+                false
+        );
+        Assert.assertNull(junction);
+    }
 
-}
\ No newline at end of file
+}
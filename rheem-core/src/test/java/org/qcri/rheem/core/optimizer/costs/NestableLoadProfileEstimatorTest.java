@@ -121,6 +121,30 @@ public class NestableLoadProfileEstimatorTest {
         Assert.assertEquals(143, estimate.getOverheadMillis());
     }
 
+    @Test
+    public void testFromNonArithmeticJuelSpecification() {
+        String specification = "{" +
+                "\"in\":2," +
+                "\"out\":1," +
+                "\"p\":0.8," +
+                "\"cpu\":\"${in0 gt in1 ? 3*in0 : 3*in1}\"," +
+                "\"ram\":\"${in0 div 4}\"" +
+                "}";
+        final NestableLoadProfileEstimator estimator =
+                LoadProfileEstimators.createFromSpecification(null, specification);
+        final LoadProfile estimate = estimator.estimate(new SimpleEstimationContext(
+                new CardinalityEstimate[]{
+                        new CardinalityEstimate(10, 10, 1d), new CardinalityEstimate(100, 100, 1d)
+                },
+                new CardinalityEstimate[]{new CardinalityEstimate(200, 300, 1d)},
+                new TObjectDoubleHashMap<>(),
+                1
+        ));
+
+        Assert.assertEquals(3 * 100, estimate.getCpuUsage().getLowerEstimate(), 0.01);
+        Assert.assertEquals(2, estimate.getRamUsage().getLowerEstimate(), 0.01);
+    }
+
     @Test
     public void testMathExFromSpecificationWithImport() {
         String specification = "{" +
@@ -0,0 +1,136 @@
+package org.qcri.rheem.core.optimizer.enumeration;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.api.Job;
+import org.qcri.rheem.core.function.TransformationDescriptor;
+import org.qcri.rheem.core.optimizer.DefaultOptimizationContext;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+import org.qcri.rheem.core.plan.rheemplan.OperatorAlternative;
+import org.qcri.rheem.core.plan.rheemplan.RheemPlan;
+import org.qcri.rheem.core.plan.rheemplan.test.TestMapOperator;
+import org.qcri.rheem.core.plan.rheemplan.test.TestSink;
+import org.qcri.rheem.core.plan.rheemplan.test.TestSource;
+import org.qcri.rheem.core.test.MockFactory;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Test suite for {@link PlanCache}.
+ */
+public class PlanCacheTest {
+
+    private final Configuration configuration = new Configuration();
+
+    private TestSource<String> source;
+
+    private OperatorAlternative operatorAlternative;
+
+    private RheemPlan createPlan(String suffix) {
+        this.source = new TestSource<>(String.class);
+        TestMapOperator<String, String> map = new TestUdfMapOperator(suffix);
+        TestSink<String> sink = new TestSink<>(String.class);
+        this.source.connectTo(0, map, 0);
+        map.connectTo(0, sink, 0);
+        this.operatorAlternative = OperatorAlternative.wrap(map);
+        this.operatorAlternative.addAlternative(new TestMapOperator<>(String.class, String.class));
+        return new RheemPlan(sink);
+    }
+
+    private PlanCache.Key createKey(PlanCache planCache, long sourceCardinality) {
+        return this.createKey(planCache, sourceCardinality, "!", this.configuration, 0L);
+    }
+
+    private PlanCache.Key createKey(PlanCache planCache,
+                                    long sourceCardinality,
+                                    String suffix,
+                                    Configuration configuration,
+                                    long costModelVersion) {
+        final RheemPlan rheemPlan = this.createPlan(suffix);
+        final Job job = MockFactory.createJob(configuration);
+        OptimizationContext optimizationContext = new DefaultOptimizationContext(job, this.source);
+        optimizationContext.getOperatorContext(this.source)
+                .setOutputCardinality(0, new CardinalityEstimate(sourceCardinality, sourceCardinality, 1d));
+        return planCache.createKey(rheemPlan, optimizationContext, costModelVersion);
+    }
+
+    @Test
+    public void testLookupForSamePlan() {
+        final PlanCache planCache = new PlanCache(this.configuration);
+
+        final PlanCache.Key key1 = this.createKey(planCache, 1000);
+        Assert.assertNotNull(key1);
+        Assert.assertNull(planCache.lookup(key1));
+        planCache.store(key1, Collections.singletonMap(
+                this.operatorAlternative, this.operatorAlternative.getAlternatives().get(1)
+        ));
+
+        final PlanCache.Key key2 = this.createKey(planCache, 1010);
+        Assert.assertEquals(key1, key2);
+        final Map<OperatorAlternative, OperatorAlternative.Alternative> pickedAlternatives = planCache.lookup(key2);
+        Assert.assertEquals(
+                Collections.singletonMap(this.operatorAlternative, this.operatorAlternative.getAlternatives().get(1)),
+                pickedAlternatives
+        );
+        Assert.assertEquals(1, planCache.getNumHits());
+
+        planCache.invalidate(key2);
+        Assert.assertNull(planCache.lookup(key1));
+    }
+
+    @Test
+    public void testDistinguishCardinalities() {
+        final PlanCache planCache = new PlanCache(this.configuration);
+        final PlanCache.Key key1 = this.createKey(planCache, 1000);
+        final PlanCache.Key key2 = this.createKey(planCache, 100000);
+        Assert.assertNotEquals(key1, key2);
+    }
+
+    @Test
+    public void testDistinguishCapturedValues() {
+        final PlanCache planCache = new PlanCache(this.configuration);
+        final PlanCache.Key key1 = this.createKey(planCache, 1000, "a", this.configuration, 0L);
+        final PlanCache.Key key2 = this.createKey(planCache, 1000, "b", this.configuration, 0L);
+        final PlanCache.Key key3 = this.createKey(planCache, 1000, "a", this.configuration, 0L);
+        Assert.assertNotEquals(key1, key2);
+        Assert.assertEquals(key1, key3);
+    }
+
+    @Test
+    public void testDistinguishConfigurationsAndCostModels() {
+        final PlanCache planCache = new PlanCache(this.configuration);
+        final PlanCache.Key key = this.createKey(planCache, 1000);
+
+        // Setting a property to its current value must not matter.
+        final Configuration sameConfiguration = this.configuration.fork();
+        sameConfiguration.setProperty(
+                "rheem.core.optimizer.plancache.bucketbase",
+                this.configuration.getStringProperty("rheem.core.optimizer.plancache.bucketbase")
+        );
+        Assert.assertEquals(key, this.createKey(planCache, 1000, "!", sameConfiguration, 0L));
+
+        final Configuration otherConfiguration = this.configuration.fork();
+        otherConfiguration.setProperty("rheem.core.optimizer.plancache.bucketbase", "10");
+        Assert.assertNotEquals(key, this.createKey(planCache, 1000, "!", otherConfiguration, 0L));
+
+        Assert.assertNotEquals(key, this.createKey(planCache, 1000, "!", this.configuration, 1L));
+    }
+
+    /**
+     * {@link TestMapOperator} with a UDF that captures some value.
+     */
+    private static class TestUdfMapOperator extends TestMapOperator<String, String> {
+
+        private final TransformationDescriptor<String, String> functionDescriptor;
+
+        private TestUdfMapOperator(String suffix) {
+            super(String.class, String.class);
+            this.functionDescriptor = new TransformationDescriptor<>(s -> s + suffix, String.class, String.class);
+        }
+
+    }
+
+}
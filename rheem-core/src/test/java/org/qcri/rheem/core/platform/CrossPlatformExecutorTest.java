@@ -0,0 +1,267 @@
+package org.qcri.rheem.core.platform;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.api.Job;
+import org.qcri.rheem.core.api.exception.RheemException;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.plan.executionplan.Channel;
+import org.qcri.rheem.core.plan.executionplan.ExecutionPlan;
+import org.qcri.rheem.core.plan.executionplan.ExecutionStage;
+import org.qcri.rheem.core.plan.executionplan.ExecutionTask;
+import org.qcri.rheem.core.plan.executionplan.PlatformExecution;
+import org.qcri.rheem.core.plan.executionplan.test.TestChannel;
+import org.qcri.rheem.core.profiling.NoInstrumentationStrategy;
+import org.qcri.rheem.core.test.MockFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test suite for the concurrent {@link ExecutionStage} execution of the {@link CrossPlatformExecutor}.
+ */
+public class CrossPlatformExecutorTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private Platform platform;
+
+    private Job job;
+
+    /**
+     * Actions to be performed when executing {@link ExecutionStage}s.
+     */
+    private Map<ExecutionStage, StageAction> stageActions;
+
+    /**
+     * Records the start and end of {@link ExecutionStage} executions.
+     */
+    private List<String> events;
+
+    @Before
+    public void setUp() {
+        Configuration configuration = new Configuration();
+        configuration.setProperty("rheem.core.executor.stage-parallelism", "3");
+        configuration.setProperty("rheem.core.executor.max-concurrent-stages", "3");
+        this.job = MockFactory.createJob(configuration);
+
+        this.platform = mock(Platform.class);
+        when(this.platform.getName()).thenReturn("test");
+        when(this.platform.getExecutorFactory()).thenReturn(job -> new TestExecutor());
+
+        this.stageActions = new HashMap<>();
+        this.events = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @Test
+    public void testConcurrentExecutionOfIndependentStages() {
+        ExecutionStage stage1 = this.createStage("stage1", 0, 0);
+        ExecutionStage stage2 = this.createStage("stage2", 0, 0);
+
+        // Each stage can only finish if the other one is running at the same time.
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        final StageAction awaitBarrier = (stage, executionState) -> barrier.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        this.stageActions.put(stage1, awaitBarrier);
+        this.stageActions.put(stage2, awaitBarrier);
+
+        final CrossPlatformExecutor crossPlatformExecutor = this.execute(stage1, stage2);
+
+        Assert.assertEquals(2, crossPlatformExecutor.getCompletedStages().size());
+        Assert.assertTrue(this.events.contains("stage1:end"));
+        Assert.assertTrue(this.events.contains("stage2:end"));
+    }
+
+    @Test
+    public void testDependentStageWaitsForRunningStage() {
+        // producer -> consumer, other -> otherSuccessor
+        ExecutionStage producer = this.createStage("producer", 0, 1);
+        ExecutionStage consumer = this.createStage("consumer", 1, 0);
+        final Channel channel = this.connect(producer, consumer);
+        ExecutionStage other = this.createStage("other", 0, 1);
+        ExecutionStage otherSuccessor = this.createStage("otherSuccessor", 1, 0);
+        this.connect(other, otherSuccessor);
+
+        // The producer makes its output available right away, but it finishes only after the other stage has
+        // been completed, i.e., after its successor is running.
+        final CountDownLatch otherSuccessorLatch = new CountDownLatch(1);
+        this.stageActions.put(producer, (stage, executionState) -> {
+            Assert.assertTrue(otherSuccessorLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        });
+        this.stageActions.put(otherSuccessor, (stage, executionState) -> otherSuccessorLatch.countDown());
+        this.stageActions.put(consumer, (stage, executionState) -> {
+            final ChannelInstance input = executionState.getChannelInstance(channel);
+            Assert.assertNotNull(input);
+            Assert.assertFalse(input.isDisposed());
+        });
+
+        final CrossPlatformExecutor crossPlatformExecutor = this.execute(producer, other);
+
+        Assert.assertEquals(4, crossPlatformExecutor.getCompletedStages().size());
+        Assert.assertTrue(this.events.indexOf("producer:end") < this.events.indexOf("consumer:start"));
+        Assert.assertTrue(this.events.indexOf("otherSuccessor:end") < this.events.indexOf("producer:end"));
+        Assert.assertTrue(this.events.contains("consumer:end"));
+    }
+
+    @Test
+    public void testFailurePropagation() {
+        // failing -> failingSuccessor, other
+        ExecutionStage failing = this.createStage("failing", 0, 1);
+        ExecutionStage failingSuccessor = this.createStage("failingSuccessor", 1, 0);
+        this.connect(failing, failingSuccessor);
+        ExecutionStage other = this.createStage("other", 0, 0);
+
+        // The failing stage fails only once the other stage is running, which has to be awaited nevertheless.
+        final CountDownLatch otherLatch = new CountDownLatch(1);
+        final CountDownLatch failureLatch = new CountDownLatch(1);
+        this.stageActions.put(failing, (stage, executionState) -> {
+            Assert.assertTrue(otherLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            failureLatch.countDown();
+            throw new RheemException("Test failure.");
+        });
+        this.stageActions.put(other, (stage, executionState) -> {
+            otherLatch.countDown();
+            Assert.assertTrue(failureLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        });
+
+        try {
+            this.execute(failing, other);
+            Assert.fail("Expected the execution to fail.");
+        } catch (RheemException e) {
+            Assert.assertTrue(e.getMessage().contains("Test failure."));
+        }
+
+        Assert.assertFalse(this.events.contains("failing:end"));
+        Assert.assertTrue(this.events.contains("other:end"));
+        Assert.assertFalse(this.events.contains("failingSuccessor:start"));
+    }
+
+    /**
+     * Creates an {@link ExecutionStage} with a single {@link ExecutionTask} on the {@link #platform}.
+     */
+    private ExecutionStage createStage(String name, int numInputs, int numOutputs) {
+        final ExecutionStage stage = new PlatformExecution(this.platform).createStage(null, 0);
+        final ExecutionTask task = new ExecutionTask(
+                MockFactory.createExecutionOperator(name, numInputs, numOutputs, this.platform), numInputs, numOutputs
+        );
+        stage.addTask(task);
+        stage.markAsStartTask(task);
+        stage.markAsTerminalTask(task);
+        this.stageActions.put(stage, (s, executionState) -> {
+        });
+        return stage;
+    }
+
+    /**
+     * Connects the single {@link ExecutionTask}s of the given {@link ExecutionStage}s.
+     */
+    private Channel connect(ExecutionStage producer, ExecutionStage consumer) {
+        final Channel channel = new TestChannel(true);
+        producer.getStartTasks().iterator().next().setOutputChannel(0, channel);
+        channel.addConsumer(consumer.getStartTasks().iterator().next(), 0);
+        producer.addSuccessor(consumer);
+        return channel;
+    }
+
+    private CrossPlatformExecutor execute(ExecutionStage... startingStages) {
+        final ExecutionPlan executionPlan = new ExecutionPlan();
+        for (ExecutionStage startingStage : startingStages) {
+            executionPlan.addStartingStage(startingStage);
+        }
+        final CrossPlatformExecutor crossPlatformExecutor =
+                new CrossPlatformExecutor(this.job, new NoInstrumentationStrategy());
+        try {
+            crossPlatformExecutor.executeUntilBreakpoint(executionPlan, this.job.getOptimizationContext());
+        } finally {
+            crossPlatformExecutor.shutdown();
+        }
+        return crossPlatformExecutor;
+    }
+
+    private String getName(ExecutionStage stage) {
+        return stage.getStartTasks().iterator().next().getOperator().toString()
+                .replaceAll("^ExecutionOperator\\[(.*)\\]$", "$1");
+    }
+
+    /**
+     * Action to be performed on the execution of an {@link ExecutionStage}.
+     */
+    @FunctionalInterface
+    private interface StageAction {
+
+        void perform(ExecutionStage stage, ExecutionState executionState) throws Exception;
+
+    }
+
+    /**
+     * {@link Executor} that registers the outbound {@link ChannelInstance}s of an {@link ExecutionStage} right away
+     * and then performs the associated {@link StageAction}.
+     */
+    private class TestExecutor extends ExecutorTemplate {
+
+        private TestExecutor() {
+            super(null);
+        }
+
+        @Override
+        public void execute(ExecutionStage stage, OptimizationContext optimizationContext, ExecutionState executionState) {
+            final String name = CrossPlatformExecutorTest.this.getName(stage);
+            CrossPlatformExecutorTest.this.events.add(name + ":start");
+            for (Channel channel : stage.getOutboundChannels()) {
+                final TestChannelInstance channelInstance = new TestChannelInstance(this, channel);
+                channelInstance.noteObtainedReference();
+                channelInstance.markProduced();
+                executionState.register(channelInstance);
+                channelInstance.noteDiscardedReference(true);
+            }
+            try {
+                CrossPlatformExecutorTest.this.stageActions.get(stage).perform(stage, executionState);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RheemException(e);
+            }
+            CrossPlatformExecutorTest.this.events.add(name + ":end");
+        }
+
+        @Override
+        public Platform getPlatform() {
+            return CrossPlatformExecutorTest.this.platform;
+        }
+
+    }
+
+    /**
+     * {@link ChannelInstance} without any data.
+     */
+    private static class TestChannelInstance extends AbstractChannelInstance {
+
+        private final Channel channel;
+
+        private TestChannelInstance(Executor executor, Channel channel) {
+            super(executor, null, 0);
+            this.channel = channel;
+        }
+
+        @Override
+        public Channel getChannel() {
+            return this.channel;
+        }
+
+        @Override
+        protected void doDispose() {
+        }
+
+    }
+
+}
@@ -8,6 +8,7 @@ import org.qcri.rheem.core.api.configuration.KeyValueProvider;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
 import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
 import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimator;
+import org.qcri.rheem.core.plan.executionplan.ExecutionTask;
 import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
 import org.qcri.rheem.core.platform.lineage.ExecutionLineageNode;
 import org.qcri.rheem.core.test.DummyExecutionOperator;
@@ -53,6 +54,7 @@ public class PartialExecutionTest {
                 configuration
         );
         original.addInitializedPlatform(DummyPlatform.getInstance());
+        original.addTaskWallTime(new ExecutionTask((ExecutionOperator) operatorContext2.getOperator()), 123L);
 
         final PartialExecution.Serializer serializer = new PartialExecution.Serializer(configuration);
         final JSONObject jsonObject = JsonSerializables.serialize(original, false, serializer);
@@ -62,6 +64,8 @@ public class PartialExecutionTest {
         Assert.assertEquals(2, loaded.getAtomicExecutionGroups().size());
         Assert.assertEquals(1, loaded.getInitializedPlatforms().size());
         Assert.assertSame(DummyPlatform.getInstance(), RheemCollections.getAny(loaded.getInitializedPlatforms()));
+        Assert.assertEquals(original.getTaskWallTimes(), loaded.getTaskWallTimes());
+        Assert.assertEquals(1, loaded.getTaskWallTimes().size());
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,193 @@
+package org.qcri.rheem.core.platform;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.api.Job;
+import org.qcri.rheem.core.api.exception.RheemException;
+import org.qcri.rheem.core.optimizer.DefaultOptimizationContext;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.plan.executionplan.Channel;
+import org.qcri.rheem.core.plan.executionplan.ExecutionStage;
+import org.qcri.rheem.core.plan.executionplan.ExecutionTask;
+import org.qcri.rheem.core.plan.executionplan.PlatformExecution;
+import org.qcri.rheem.core.plan.executionplan.test.TestChannel;
+import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
+import org.qcri.rheem.core.platform.lineage.ExecutionLineageNode;
+import org.qcri.rheem.core.test.DummyPlatform;
+import org.qcri.rheem.core.test.MockFactory;
+import org.qcri.rheem.core.util.Tuple;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test suite for the concurrent {@link ExecutionTask} execution of the {@link PushExecutorTemplate}.
+ */
+public class PushExecutorTemplateTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Test
+    public void testConcurrentExecutionOfIndependentTasks() {
+        Configuration configuration = new Configuration();
+        configuration.setProperty("rheem.core.executor.task-parallelism", "2");
+        final Job job = MockFactory.createJob(configuration);
+
+        // Create the ExecutionStage source1 -> sink <- source2.
+        final ExecutionStage stage = new PlatformExecution(DummyPlatform.getInstance()).createStage(null, 0);
+        final ExecutionTask source1 = this.createTask("source1", 0, 1, stage);
+        final ExecutionTask source2 = this.createTask("source2", 0, 1, stage);
+        final ExecutionTask sink = this.createTask("sink", 2, 0, stage);
+        this.connect(source1, sink, 0);
+        this.connect(source2, sink, 1);
+        stage.markAsStartTask(source1);
+        stage.markAsStartTask(source2);
+        stage.markAsTerminalTask(sink);
+
+        final OptimizationContext optimizationContext = new DefaultOptimizationContext(job);
+        for (ExecutionTask task : Arrays.asList(source1, source2, sink)) {
+            optimizationContext.addOneTimeOperator(task.getOperator());
+        }
+
+        // The sources can only finish if they are running at the same time.
+        final TestExecutor executor = new TestExecutor(job, new CyclicBarrier(2));
+        final ExecutionState executionState = mock(ExecutionState.class);
+        executor.execute(stage, optimizationContext, executionState);
+        executor.dispose();
+
+        // Check the result.
+        Assert.assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), executor.result);
+
+        // Check the lineage: the sink should have executed its lazy predecessors.
+        final ArgumentCaptor<PartialExecution> partialExecutionCaptor = ArgumentCaptor.forClass(PartialExecution.class);
+        verify(executionState, times(1)).add(partialExecutionCaptor.capture());
+        final PartialExecution partialExecution = partialExecutionCaptor.getValue();
+        final Set<Object> executedOperators = partialExecution.getAtomicExecutionGroups().stream()
+                .map(group -> ((OptimizationContext.OperatorContext) group.getEstimationContext()).getOperator())
+                .collect(Collectors.toSet());
+        Assert.assertEquals(
+                new HashSet<>(Arrays.asList(source1.getOperator(), source2.getOperator(), sink.getOperator())),
+                executedOperators
+        );
+        Assert.assertEquals(
+                new HashSet<>(Arrays.asList(source1.toString(), source2.toString(), sink.toString())),
+                partialExecution.getTaskWallTimes().keySet()
+        );
+    }
+
+    private ExecutionTask createTask(String name, int numInputs, int numOutputs, ExecutionStage stage) {
+        final ExecutionOperator operator =
+                MockFactory.createExecutionOperator(name, numInputs, numOutputs, DummyPlatform.getInstance());
+        final ExecutionTask task = new ExecutionTask(operator, numInputs, numOutputs);
+        stage.addTask(task);
+        return task;
+    }
+
+    private void connect(ExecutionTask producer, ExecutionTask consumer, int inputIndex) {
+        final Channel channel = new TestChannel(false);
+        producer.setOutputChannel(0, channel);
+        channel.addConsumer(consumer, inputIndex);
+    }
+
+    /**
+     * {@link PushExecutorTemplate} that lets sources provide three numbers lazily and sinks collect them eagerly.
+     */
+    private static class TestExecutor extends PushExecutorTemplate {
+
+        private final CyclicBarrier sourceBarrier;
+
+        private List<Integer> result;
+
+        private int nextValue = 1;
+
+        private TestExecutor(Job job, CyclicBarrier sourceBarrier) {
+            super(job);
+            this.sourceBarrier = sourceBarrier;
+        }
+
+        @Override
+        protected Tuple<List<ChannelInstance>, PartialExecution> execute(ExecutionTask task,
+                                                                         List<ChannelInstance> inputChannelInstances,
+                                                                         OptimizationContext.OperatorContext producerOperatorContext,
+                                                                         boolean isRequestEagerExecution) {
+            final ChannelInstance[] inputs = inputChannelInstances.toArray(new ChannelInstance[0]);
+            if (task.getNumInputChannels() == 0) {
+                final List<Integer> values;
+                synchronized (this) {
+                    values = Arrays.asList(this.nextValue++, this.nextValue++, this.nextValue++);
+                }
+                try {
+                    this.sourceBarrier.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new RheemException("Sources were not executed concurrently.", e);
+                }
+                final TestChannelInstance output =
+                        new TestChannelInstance(this, task.getOutputChannel(0), producerOperatorContext, values);
+                ExecutionOperator.modelLazyExecution(inputs, new ChannelInstance[]{output}, producerOperatorContext);
+                return new Tuple<>(Collections.singletonList(output), null);
+            }
+
+            this.result = inputChannelInstances.stream()
+                    .flatMap(input -> ((TestChannelInstance) input).values.stream())
+                    .sorted()
+                    .collect(Collectors.toList());
+            final Collection<ExecutionLineageNode> executionLineageNodes = ExecutionOperator.modelEagerExecution(
+                    inputs, new ChannelInstance[0], producerOperatorContext
+            ).getField0();
+            return new Tuple<>(Collections.emptyList(), this.createPartialExecution(executionLineageNodes, 0L));
+        }
+
+        @Override
+        public Platform getPlatform() {
+            return DummyPlatform.getInstance();
+        }
+
+        @Override
+        public Configuration getConfiguration() {
+            return this.job.getConfiguration();
+        }
+    }
+
+    /**
+     * {@link ChannelInstance} that holds some values.
+     */
+    private static class TestChannelInstance extends AbstractChannelInstance {
+
+        private final Channel channel;
+
+        private final List<Integer> values;
+
+        private TestChannelInstance(Executor executor,
+                                    Channel channel,
+                                    OptimizationContext.OperatorContext producerOperatorContext,
+                                    List<Integer> values) {
+            super(executor, producerOperatorContext, 0);
+            this.channel = channel;
+            this.values = values;
+        }
+
+        @Override
+        public Channel getChannel() {
+            return this.channel;
+        }
+
+        @Override
+        protected void doDispose() {
+        }
+
+    }
+
+}
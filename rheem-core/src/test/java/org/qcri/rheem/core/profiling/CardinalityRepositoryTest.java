@@ -0,0 +1,110 @@
+package org.qcri.rheem.core.profiling;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.api.Job;
+import org.qcri.rheem.core.optimizer.DefaultOptimizationContext;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.function.PredicateDescriptor;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+import org.qcri.rheem.core.plan.rheemplan.UnaryToUnaryOperator;
+import org.qcri.rheem.core.plan.rheemplan.test.TestFilterOperator;
+import org.qcri.rheem.core.test.MockFactory;
+import org.qcri.rheem.core.types.DataSetType;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Test suite for {@link CardinalityRepository}.
+ */
+public class CardinalityRepositoryTest {
+
+    @Test
+    public void testEstimateFromMeasurements() throws IOException {
+        final File repositoryFile = File.createTempFile("cardinalities", ".json");
+        repositoryFile.deleteOnExit();
+        Configuration configuration = new Configuration();
+        configuration.setProperty("rheem.core.log.cardinalities", repositoryFile.getPath());
+        final Job job = MockFactory.createJob(configuration);
+
+        TestFilterOperator<String> filter = new TestFilterOperator<>(String.class);
+        OptimizationContext optimizationContext = new DefaultOptimizationContext(job, filter);
+        final OptimizationContext.OperatorContext operatorContext = optimizationContext.getOperatorContext(filter);
+        operatorContext.setInputCardinality(0, new CardinalityEstimate(1000, 1000, 1d));
+        operatorContext.setOutputCardinality(0, new CardinalityEstimate(900, 900, 1d));
+
+        CardinalityRepository repository = new CardinalityRepository(configuration);
+        repository.store(filter.getOutput(0), 900, operatorContext);
+        repository.sleep();
+
+        // Read the measurement from the repository file with a fresh instance.
+        repository = new CardinalityRepository(configuration);
+        final String fingerprint = CardinalityRepository.createFingerprint(new TestFilterOperator<>(String.class));
+        Assert.assertEquals(CardinalityRepository.createFingerprint(filter), fingerprint);
+        final CardinalityEstimate estimate = repository.estimate(fingerprint, 0, new CardinalityEstimate(1010, 1020, 1d));
+        Assert.assertNotNull(estimate);
+        Assert.assertEquals(909, estimate.getLowerEstimate());
+        Assert.assertEquals(918, estimate.getUpperEstimate());
+
+        // Measurements for different input cardinalities must not be used.
+        Assert.assertNull(repository.estimate(fingerprint, 0, new CardinalityEstimate(100000, 100000, 1d)));
+    }
+
+    @Test
+    public void testUnfingerprintableUdfsAreNotLearned() throws IOException {
+        final File repositoryFile = File.createTempFile("cardinalities", ".json");
+        repositoryFile.deleteOnExit();
+        Configuration configuration = new Configuration();
+        configuration.setProperty("rheem.core.log.cardinalities", repositoryFile.getPath());
+        final Job job = MockFactory.createJob(configuration);
+
+        // Predicates that capture different objects of the same class must not share measurements.
+        final Set<String> smallStopwords = Collections.singleton("the");
+        final Set<String> largeStopwords = new HashSet<>(Arrays.asList("the", "a", "of", "and"));
+        UdfFilterOperator smallFilter = new UdfFilterOperator(word -> !smallStopwords.contains(word));
+        UdfFilterOperator largeFilter = new UdfFilterOperator(word -> !largeStopwords.contains(word));
+        Assert.assertNull(CardinalityRepository.createFingerprint(smallFilter));
+        Assert.assertNull(CardinalityRepository.createFingerprint(largeFilter));
+
+        OptimizationContext optimizationContext = new DefaultOptimizationContext(job, smallFilter);
+        final OptimizationContext.OperatorContext operatorContext = optimizationContext.getOperatorContext(smallFilter);
+        operatorContext.setInputCardinality(0, new CardinalityEstimate(1000, 1000, 1d));
+        operatorContext.setOutputCardinality(0, new CardinalityEstimate(900, 900, 1d));
+        CardinalityRepository repository = new CardinalityRepository(configuration);
+        repository.store(smallFilter.getOutput(0), 900, operatorContext);
+        repository.sleep();
+        Assert.assertEquals(0, repositoryFile.length());
+
+        // Predicates that capture different simple values must be told apart.
+        final int smallThreshold = 5, largeThreshold = 500;
+        final String smallThresholdFingerprint = CardinalityRepository.createFingerprint(
+                new UdfFilterOperator(word -> word.length() < smallThreshold)
+        );
+        final String largeThresholdFingerprint = CardinalityRepository.createFingerprint(
+                new UdfFilterOperator(word -> word.length() < largeThreshold)
+        );
+        Assert.assertNotNull(smallThresholdFingerprint);
+        Assert.assertNotNull(largeThresholdFingerprint);
+        Assert.assertNotEquals(smallThresholdFingerprint, largeThresholdFingerprint);
+    }
+
+    /**
+     * Filter-like test operator with a UDF.
+     */
+    private static class UdfFilterOperator extends UnaryToUnaryOperator<String, String> {
+
+        private final PredicateDescriptor<String> predicateDescriptor;
+
+        private UdfFilterOperator(PredicateDescriptor.SerializablePredicate<String> predicate) {
+            super(DataSetType.createDefault(String.class), DataSetType.createDefault(String.class), true);
+            this.predicateDescriptor = new PredicateDescriptor<>(predicate, String.class);
+        }
+    }
+
+}
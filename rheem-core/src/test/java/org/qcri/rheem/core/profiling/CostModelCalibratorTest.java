@@ -0,0 +1,78 @@
+package org.qcri.rheem.core.profiling;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+import org.qcri.rheem.core.optimizer.costs.CalibratedLoadProfileEstimator;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimator;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimators;
+import org.qcri.rheem.core.platform.PartialExecution;
+import org.qcri.rheem.core.platform.lineage.ExecutionLineageNode;
+import org.qcri.rheem.core.test.DummyExecutionOperator;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test suite for {@link CostModelCalibrator}.
+ */
+public class CostModelCalibratorTest {
+
+    private static OptimizationContext.OperatorContext createOperatorContext(long inputCardinality) {
+        final OptimizationContext.OperatorContext operatorContext = mock(OptimizationContext.OperatorContext.class);
+        when(operatorContext.getOperator()).thenReturn(new DummyExecutionOperator(1, 1, false));
+        when(operatorContext.getInputCardinalities()).thenReturn(new CardinalityEstimate[]{
+                new CardinalityEstimate(inputCardinality, inputCardinality, 1d)
+        });
+        when(operatorContext.getOutputCardinalities()).thenReturn(new CardinalityEstimate[]{
+                new CardinalityEstimate(inputCardinality, inputCardinality, 1d)
+        });
+        when(operatorContext.getNumExecutions()).thenReturn(1);
+        return operatorContext;
+    }
+
+    @Test
+    public void testConvergence() {
+        Configuration configuration = new Configuration();
+        configuration.setProperty("rheem.test.a.load", "{\"in\":1,\"out\":1,\"cpu\":\"${10*in0}\",\"ram\":\"0\",\"p\":1}");
+        configuration.setProperty("rheem.test.b.load", "{\"in\":1,\"out\":1,\"cpu\":\"${5*in0}\",\"ram\":\"0\",\"p\":1}");
+
+        CostModelCalibrator calibrator = new CostModelCalibrator(configuration);
+        for (int i = 0; i < 20; i++) {
+            // a is estimated at 1000 ms, but takes 2000 ms.
+            final OptimizationContext.OperatorContext operatorContext1 = createOperatorContext(100);
+            PartialExecution partialExecution1 = new PartialExecution(2000L, 0, 0, Collections.singleton(
+                    new ExecutionLineageNode(operatorContext1)
+                            .add(LoadProfileEstimators.createFromSpecification("rheem.test.a.load", configuration))
+            ), configuration);
+
+            // b is estimated at 2000 ms, but takes 1000 ms.
+            final OptimizationContext.OperatorContext operatorContext2 = createOperatorContext(400);
+            PartialExecution partialExecution2 = new PartialExecution(3000L, 0, 0, Arrays.asList(
+                    new ExecutionLineageNode(operatorContext1)
+                            .add(LoadProfileEstimators.createFromSpecification("rheem.test.a.load", configuration)),
+                    new ExecutionLineageNode(operatorContext2)
+                            .add(LoadProfileEstimators.createFromSpecification("rheem.test.b.load", configuration))
+            ), configuration);
+
+            calibrator.update(Arrays.asList(partialExecution1, partialExecution2));
+        }
+
+        Assert.assertEquals(2d, calibrator.getFactor("rheem.test.a.load"), 0.05d);
+        Assert.assertEquals(0.5d, calibrator.getFactor("rheem.test.b.load"), 0.05d);
+
+        final LoadProfileEstimator estimator = LoadProfileEstimators.createFromSpecification("rheem.test.b.load", configuration);
+        Assert.assertTrue(estimator instanceof CalibratedLoadProfileEstimator);
+        Assert.assertEquals(
+                1000L,
+                estimator.estimate(createOperatorContext(400)).getCpuUsage().getGeometricMeanEstimate(),
+                50L
+        );
+    }
+
+}
@@ -0,0 +1,128 @@
+package org.qcri.rheem.core.profiling;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimators;
+import org.qcri.rheem.core.plan.executionplan.ExecutionTask;
+import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
+import org.qcri.rheem.core.platform.AtomicExecution;
+import org.qcri.rheem.core.platform.PartialExecution;
+import org.qcri.rheem.core.platform.lineage.ExecutionLineageNode;
+import org.qcri.rheem.core.test.DummyExecutionOperator;
+import org.qcri.rheem.core.test.DummyPlatform;
+import org.qcri.rheem.core.util.RheemCollections;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test suite for {@link ExecutionLog}.
+ */
+public class ExecutionLogTest {
+
+    private Configuration configuration;
+
+    private PartialExecution partialExecutionA, partialExecutionB;
+
+    @Before
+    public void setUp() {
+        this.configuration = new Configuration();
+        this.configuration.setProperty("rheem.test.a.load", "{\"in\":1,\"out\":1,\"cpu\":\"${10*in0}\",\"ram\":\"0\",\"p\":1}");
+        this.configuration.setProperty("rheem.test.b.load", "{\"in\":1,\"out\":1,\"cpu\":\"${5*in0}\",\"ram\":\"0\",\"p\":1}");
+        this.partialExecutionA = this.createPartialExecution(1000L, "rheem.test.a.load");
+        this.partialExecutionB = this.createPartialExecution(2000L, "rheem.test.b.load");
+    }
+
+    private PartialExecution createPartialExecution(long millis, String estimatorKey) {
+        final OptimizationContext.OperatorContext operatorContext = mock(OptimizationContext.OperatorContext.class);
+        when(operatorContext.getOperator()).thenReturn(new DummyExecutionOperator(1, 1, false));
+        when(operatorContext.getInputCardinalities()).thenReturn(new CardinalityEstimate[]{new CardinalityEstimate(23, 42, 0.5)});
+        when(operatorContext.getOutputCardinalities()).thenReturn(new CardinalityEstimate[]{null});
+        when(operatorContext.getNumExecutions()).thenReturn(1);
+
+        final ExecutionLineageNode executionLineageNode = new ExecutionLineageNode(operatorContext)
+                .add(LoadProfileEstimators.createFromSpecification(estimatorKey, this.configuration));
+        final PartialExecution partialExecution = new PartialExecution(
+                millis, 12, 13, Collections.singleton(executionLineageNode), this.configuration
+        );
+        partialExecution.addInitializedPlatform(DummyPlatform.getInstance());
+        partialExecution.addTaskWallTime(new ExecutionTask((ExecutionOperator) operatorContext.getOperator()), millis);
+        return partialExecution;
+    }
+
+    private static File createTempFile() throws IOException {
+        final File file = File.createTempFile("rheem-execution-log", ".bin");
+        file.deleteOnExit();
+        return file;
+    }
+
+    private static String getEstimatorKey(PartialExecution partialExecution) {
+        final AtomicExecution atomicExecution = RheemCollections.getSingle(
+                RheemCollections.getSingle(partialExecution.getAtomicExecutionGroups()).getAtomicExecutions()
+        );
+        return atomicExecution.getLoadProfileEstimator().getConfigurationKey();
+    }
+
+    @Test
+    public void testBinaryFormat() throws Exception {
+        final File file = createTempFile();
+        try (ExecutionLog executionLog = ExecutionLog.open(this.configuration, file.getPath(), ExecutionLog.Format.BINARY)) {
+            executionLog.store(this.partialExecutionA);
+        }
+        // Append to the existing log, whose format should be detected.
+        try (ExecutionLog executionLog = ExecutionLog.open(this.configuration, file.getPath())) {
+            executionLog.store(this.partialExecutionB);
+        }
+
+        try (ExecutionLog executionLog = ExecutionLog.open(this.configuration, file.getPath())) {
+            final List<PartialExecution> loaded = executionLog.stream().collect(Collectors.toList());
+            Assert.assertEquals(2, loaded.size());
+            Assert.assertEquals(1000L, loaded.get(0).getMeasuredExecutionTime());
+            Assert.assertEquals(2000L, loaded.get(1).getMeasuredExecutionTime());
+            Assert.assertEquals(12d, loaded.get(0).getMeasuredLowerCost(), 0d);
+            Assert.assertEquals(this.partialExecutionA.getTaskWallTimes(), loaded.get(0).getTaskWallTimes());
+            Assert.assertSame(DummyPlatform.getInstance(), RheemCollections.getAny(loaded.get(0).getInitializedPlatforms()));
+            Assert.assertEquals("rheem.test.a.load", getEstimatorKey(loaded.get(0)));
+            Assert.assertEquals("rheem.test.b.load", getEstimatorKey(loaded.get(1)));
+
+            final List<PartialExecution> selected = executionLog
+                    .stream(Collections.singleton("rheem.test.b.load"), Collections.singleton(DummyPlatform.getInstance()))
+                    .collect(Collectors.toList());
+            Assert.assertEquals(1, selected.size());
+            Assert.assertEquals(2000L, selected.get(0).getMeasuredExecutionTime());
+
+            Assert.assertEquals(0L, executionLog.stream(null, Collections.emptyList()).count());
+        }
+    }
+
+    @Test
+    public void testJsonImport() throws Exception {
+        final File jsonFile = createTempFile();
+        try (ExecutionLog executionLog = ExecutionLog.open(this.configuration, jsonFile.getPath(), ExecutionLog.Format.JSON)) {
+            executionLog.storeAll(Arrays.asList(this.partialExecutionA, this.partialExecutionB));
+            Assert.assertEquals(1L, executionLog.stream(Collections.singleton("rheem.test.a.load"), null).count());
+        }
+
+        final File binaryFile = createTempFile();
+        try (ExecutionLog executionLog = ExecutionLog.open(this.configuration, binaryFile.getPath(), ExecutionLog.Format.BINARY)) {
+            Assert.assertEquals(2L, executionLog.importJson(jsonFile.getPath()));
+            final List<PartialExecution> loaded = executionLog.stream().collect(Collectors.toList());
+            Assert.assertEquals(2, loaded.size());
+            Assert.assertEquals("rheem.test.a.load", getEstimatorKey(loaded.get(0)));
+            Assert.assertEquals(this.partialExecutionB.getTaskWallTimes(), loaded.get(1).getTaskWallTimes());
+        }
+        Assert.assertTrue(binaryFile.length() < jsonFile.length());
+    }
+
+}
@@ -9,6 +9,8 @@ import org.qcri.rheem.core.util.mathex.model.NamedFunction;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
 
 /**
  * Test suite for the {@link Expression} subclasses.
@@ -89,4 +91,29 @@ public class ExpressionTest {
         }
     }
 
+    @Test
+    public void testCompilation() {
+        final List<String> variables = Arrays.asList("a", "b");
+        final Expression expression = ExpressionBuilder.parse("-(2 * a + b ^ 2) % 7 / max(a, b, 1)")
+                .specify(Context.baseContext);
+        final ToDoubleFunction<double[]> compiledExpression = expression.compile(variables::indexOf);
+
+        DefaultContext ctx = new DefaultContext();
+        ctx.setVariable("a", 5.1);
+        ctx.setVariable("b", 3);
+        Assert.assertEquals(
+                expression.evaluate(ctx),
+                compiledExpression.applyAsDouble(new double[]{5.1, 3}),
+                0d
+        );
+
+        boolean isFailed = false;
+        try {
+            ExpressionBuilder.parse("a + c").compile(variables::indexOf);
+        } catch (EvaluationException e) {
+            isFailed = true;
+        }
+        Assert.assertTrue(isFailed);
+    }
+
 }
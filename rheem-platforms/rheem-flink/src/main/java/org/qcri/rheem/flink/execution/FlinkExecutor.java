@@ -1,9 +1,16 @@
 package org.qcri.rheem.flink.execution;
 
+import org.apache.flink.api.common.functions.GroupReduceFunction;
+import org.apache.flink.api.java.DataSet;
 import org.apache.flink.api.java.ExecutionEnvironment;
+import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.api.java.utils.DataSetUtils;
+import org.apache.flink.util.Collector;
 import org.qcri.rheem.core.api.Job;
 import org.qcri.rheem.core.api.exception.RheemException;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+import org.qcri.rheem.core.optimizer.cardinality.HeavyKeyDetector;
 import org.qcri.rheem.core.plan.executionplan.ExecutionTask;
 import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
 import org.qcri.rheem.core.platform.ChannelInstance;
@@ -13,14 +20,19 @@ import org.qcri.rheem.core.platform.Platform;
 import org.qcri.rheem.core.platform.PushExecutorTemplate;
 import org.qcri.rheem.core.platform.lineage.ExecutionLineageNode;
 import org.qcri.rheem.core.util.Formats;
+import org.qcri.rheem.core.util.ReflectionUtils;
 import org.qcri.rheem.core.util.Tuple;
 import org.qcri.rheem.flink.compiler.FunctionCompiler;
 import org.qcri.rheem.flink.operators.FlinkExecutionOperator;
 import org.qcri.rheem.flink.platform.FlinkPlatform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * {@link Executor} implementation for the {@link FlinkPlatform}.
@@ -52,6 +64,16 @@ public class FlinkExecutor extends PushExecutorTemplate {
      */
     private int numDefaultPartitions;
 
+    /**
+     * Decides which keys of shuffles should be split over multiple partitions.
+     */
+    private final HeavyKeyDetector heavyKeyDetector;
+
+    /**
+     * Seed for the samples of {@link #detectHeavyKeys(DataSet, KeySelector, OptimizationContext.OperatorContext, int)}.
+     */
+    private static final long SKEW_SAMPLING_SEED = 42L;
+
 
     public FlinkExecutor(FlinkPlatform flinkPlatform, Job job) {
         super(job);
@@ -61,6 +83,7 @@ public class FlinkExecutor extends PushExecutorTemplate {
         this.numDefaultPartitions = (int)this.getConfiguration().getLongProperty("rheem.flink.paralelism");
         this.fee.setParallelism(this.numDefaultPartitions);
         this.flinkContextReference.noteObtainedReference();
+        this.heavyKeyDetector = HeavyKeyDetector.create(this.getConfiguration(), "rheem.flink.skew");
     }
 
     @Override
@@ -124,6 +147,12 @@ public class FlinkExecutor extends PushExecutorTemplate {
         return new Tuple<>(Arrays.asList(outputChannelInstances), partialExecution);
     }
 
+    @Override
+    protected int determineTaskParallelism() {
+        // The ExecutionEnvironment collects the sinks of all concurrently issued Flink jobs.
+        return 1;
+    }
+
     @Override
     public void dispose() {
         super.dispose();
@@ -156,4 +185,80 @@ public class FlinkExecutor extends PushExecutorTemplate {
     public int getNumDefaultPartitions(){
         return this.numDefaultPartitions;
     }
+
+    /**
+     * Tells whether the keys of an input of an {@link ExecutionOperator} should be sampled for heavy keys before
+     * shuffling it, as requested by the {@link HeavyKeyDetector}.
+     *
+     * @param operatorContext provides the cardinality of the input; may be {@code null}
+     * @param inputIndex      index of the input
+     * @return whether the keys should be sampled
+     */
+    public boolean isHeavyKeySamplingRequested(OptimizationContext.OperatorContext operatorContext, int inputIndex) {
+        final CardinalityEstimate inputCardinality = operatorContext == null ?
+                null :
+                operatorContext.getInputCardinality(inputIndex);
+        return this.heavyKeyDetector.isSamplingRequested(inputCardinality, this.numDefaultPartitions);
+    }
+
+    /**
+     * Samples the keys of a {@link DataSet} that is about to be shuffled to find heavy keys. The sample is drawn
+     * within the same dataflow as the shuffle, so that the {@code dataSet} is computed only once and no additional
+     * Flink job is issued.
+     *
+     * @param dataSet         whose keys should be sampled
+     * @param keySelector     extracts the keys from the data quanta
+     * @param operatorContext provides the cardinality of the input; may be {@code null}
+     * @param inputIndex      index of the input that corresponds to the {@code dataSet}
+     * @return a {@link DataSet} with at most one element, namely the heavy keys associated with the number of
+     * partitions to split them over, to be broadcast to the shuffling operators
+     * @see #isHeavyKeySamplingRequested(OptimizationContext.OperatorContext, int)
+     */
+    public <T, K> DataSet<HashMap<K, Integer>> detectHeavyKeys(DataSet<T> dataSet,
+                                                               KeySelector<T, K> keySelector,
+                                                               OptimizationContext.OperatorContext operatorContext,
+                                                               int inputIndex) {
+        final CardinalityEstimate inputCardinality = operatorContext == null ?
+                null :
+                operatorContext.getInputCardinality(inputIndex);
+        final double fraction = this.heavyKeyDetector.getSampleFraction(inputCardinality);
+        return DataSetUtils.sample(dataSet, false, fraction, SKEW_SAMPLING_SEED)
+                .reduceGroup(new HeavyKeyCollector<>(keySelector, this.heavyKeyDetector, this.numDefaultPartitions))
+                .returns(ReflectionUtils.<HashMap<K, Integer>>specify(HashMap.class))
+                .setParallelism(1);
+    }
+
+    /**
+     * Determines the heavy keys in a sample of data quanta.
+     */
+    private static class HeavyKeyCollector<T, K> implements GroupReduceFunction<T, HashMap<K, Integer>> {
+
+        private static final Logger logger = LoggerFactory.getLogger(HeavyKeyCollector.class);
+
+        private final KeySelector<T, K> keySelector;
+
+        private final HeavyKeyDetector heavyKeyDetector;
+
+        private final int numPartitions;
+
+        private HeavyKeyCollector(KeySelector<T, K> keySelector, HeavyKeyDetector heavyKeyDetector, int numPartitions) {
+            this.keySelector = keySelector;
+            this.heavyKeyDetector = heavyKeyDetector;
+            this.numPartitions = numPartitions;
+        }
+
+        @Override
+        public void reduce(Iterable<T> sample, Collector<HashMap<K, Integer>> collector) throws Exception {
+            final Map<K, Long> sampledKeyCounts = new HashMap<>();
+            for (T dataQuantum : sample) {
+                sampledKeyCounts.merge(this.keySelector.getKey(dataQuantum), 1L, Long::sum);
+            }
+            final HashMap<K, Integer> heavyKeys =
+                    new HashMap<>(this.heavyKeyDetector.detect(sampledKeyCounts, this.numPartitions));
+            if (!heavyKeys.isEmpty()) {
+                logger.info("Splitting heavy keys {} over multiple partitions.", heavyKeys);
+            }
+            collector.collect(heavyKeys);
+        }
+    }
 }
@@ -8,6 +8,7 @@ import org.qcri.rheem.basic.operators.JoinOperator;
 import org.qcri.rheem.core.api.Configuration;
 import org.qcri.rheem.core.function.TransformationDescriptor;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.cardinality.HeavyKeyDetector;
 import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimator;
 import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimators;
 import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
@@ -15,6 +16,7 @@ import org.qcri.rheem.core.platform.ChannelDescriptor;
 import org.qcri.rheem.core.platform.ChannelInstance;
 import org.qcri.rheem.core.platform.lineage.ExecutionLineageNode;
 import org.qcri.rheem.core.types.DataSetType;
+import org.qcri.rheem.core.util.ReflectionUtils;
 import org.qcri.rheem.core.util.Tuple;
 import org.qcri.rheem.flink.channels.DataSetChannel;
 import org.qcri.rheem.flink.compiler.FunctionCompiler;
@@ -23,6 +25,7 @@ import org.qcri.rheem.flink.execution.FlinkExecutor;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 
@@ -75,6 +78,29 @@ public class FlinkJoinOperator<InputType0, InputType1, KeyType>
         KeySelector<InputType1, KeyType> fun1 = compiler.compileKeySelector(this.keyDescriptor1);
 
 
+        // Split the heavy keys of the larger input and replicate the matching data quanta of the other input.
+        final boolean isSplittingInput0 = HeavyKeyDetector.selectSplitInput(operatorContext) == 0;
+        if (flinkExecutor.isHeavyKeySamplingRequested(operatorContext, isSplittingInput0 ? 0 : 1)) {
+            final DataSet<HashMap<KeyType, Integer>> heavyKeys = isSplittingInput0 ?
+                    flinkExecutor.detectHeavyKeys(dataSetInput0, fun0, operatorContext, 0) :
+                    flinkExecutor.detectHeavyKeys(dataSetInput1, fun1, operatorContext, 1);
+            final DataSet<Tuple2<Integer, InputType0>> saltedDataSetInput0 = isSplittingInput0 ?
+                    KeySalting.salt(dataSetInput0, fun0, heavyKeys) :
+                    KeySalting.replicate(dataSetInput0, fun0, heavyKeys);
+            final DataSet<Tuple2<Integer, InputType1>> saltedDataSetInput1 = isSplittingInput0 ?
+                    KeySalting.replicate(dataSetInput1, fun1, heavyKeys) :
+                    KeySalting.salt(dataSetInput1, fun1, heavyKeys);
+            final DataSet<Tuple2<InputType0, InputType1>> dataSetOutput = saltedDataSetInput0
+                    .join(saltedDataSetInput1)
+                    .where(KeySalting.saltedKeySelector(fun0))
+                    .equalTo(KeySalting.saltedKeySelector(fun1))
+                    .with(new SaltedJoinFunction<InputType0, InputType1>())
+                    .returns(ReflectionUtils.specify(Tuple2.class))
+                    .setParallelism(flinkExecutor.getNumDefaultPartitions());
+            output.accept(dataSetOutput, flinkExecutor);
+            return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
+        }
+
         DataSet<Tuple2<InputType0, InputType1>> dataSetOutput =
             dataSetInput0.join(dataSetInput1)
             .where(
@@ -96,6 +122,19 @@ public class FlinkJoinOperator<InputType0, InputType1, KeyType>
         return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
     }
 
+    /**
+     * Joins salted data quanta.
+     */
+    private static class SaltedJoinFunction<InputType0, InputType1>
+            implements JoinFunction<Tuple2<Integer, InputType0>, Tuple2<Integer, InputType1>, Tuple2<InputType0, InputType1>> {
+
+        @Override
+        public Tuple2<InputType0, InputType1> join(Tuple2<Integer, InputType0> saltedDataQuantum0,
+                                                   Tuple2<Integer, InputType1> saltedDataQuantum1) {
+            return new Tuple2<>(saltedDataQuantum0.field1, saltedDataQuantum1.field1);
+        }
+    }
+
     @Override
     protected ExecutionOperator createCopy() {
         return new FlinkJoinOperator<>(this.getInputType0(), this.getInputType1(),
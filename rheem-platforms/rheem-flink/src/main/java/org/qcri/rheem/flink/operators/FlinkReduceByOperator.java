@@ -3,6 +3,7 @@ package org.qcri.rheem.flink.operators;
 import org.apache.flink.api.common.functions.ReduceFunction;
 import org.apache.flink.api.java.DataSet;
 import org.apache.flink.api.java.functions.KeySelector;
+import org.qcri.rheem.basic.data.Tuple2;
 import org.qcri.rheem.basic.operators.ReduceByOperator;
 import org.qcri.rheem.core.api.Configuration;
 import org.qcri.rheem.core.function.ReduceDescriptor;
@@ -23,8 +24,10 @@ import org.qcri.rheem.flink.execution.FlinkExecutor;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BinaryOperator;
 
 
 /**
@@ -77,8 +80,27 @@ public class FlinkReduceByOperator<InputType, KeyType>
         ReduceFunction<InputType> reduceFunction = compiler.compile(this.reduceDescriptor);
 
 
+        final DataSet<InputType> preReducedDataSet;
+        if (!flinkExecutor.isHeavyKeySamplingRequested(operatorContext, 0)) {
+            preReducedDataSet = dataSetInput;
+        } else {
+            // Pre-aggregate the heavy keys in multiple partitions before merging the partial results.
+            final DataSet<HashMap<KeyType, Integer>> heavyKeys =
+                    flinkExecutor.detectHeavyKeys(dataSetInput, keySelector, operatorContext, 0);
+            final BinaryOperator<InputType> reduceImplementation = this.reduceDescriptor.getJavaImplementation();
+            preReducedDataSet = KeySalting.salt(dataSetInput, keySelector, heavyKeys)
+                    .groupBy(KeySalting.saltedKeySelector(keySelector))
+                    .reduce((saltedDataQuantum0, saltedDataQuantum1) -> new Tuple2<>(
+                            saltedDataQuantum0.field0,
+                            reduceImplementation.apply(saltedDataQuantum0.field1, saltedDataQuantum1.field1)
+                    ))
+                    .setParallelism(flinkExecutor.getNumDefaultPartitions())
+                    .map(saltedDataQuantum -> saltedDataQuantum.field1)
+                    .returns(this.getType().getDataUnitType().getTypeClass());
+        }
+
         DataSet<InputType> dataSetOutput =
-                dataSetInput
+                preReducedDataSet
                         .groupBy(keySelector)
                         .reduce(reduceFunction)
                         .setParallelism(flinkExecutor.getNumDefaultPartitions());
@@ -0,0 +1,177 @@
+package org.qcri.rheem.flink.operators;
+
+import org.apache.flink.api.common.functions.RichFlatMapFunction;
+import org.apache.flink.api.common.functions.RichMapFunction;
+import org.apache.flink.api.common.typeinfo.BasicTypeInfo;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.java.DataSet;
+import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.api.java.typeutils.ResultTypeQueryable;
+import org.apache.flink.api.java.typeutils.TupleTypeInfo;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.util.Collector;
+import org.qcri.rheem.basic.data.Tuple2;
+import org.qcri.rheem.core.util.ReflectionUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utilities to split heavy keys of {@link DataSet}s over multiple partitions by attaching a salt to the data quanta.
+ * Data quanta with keys that are not heavy are always salted with {@code 0}. The heavy keys are broadcast from
+ * a {@link DataSet} with at most one element, so that they can be determined within the same dataflow.
+ */
+final class KeySalting {
+
+    /**
+     * Name of the broadcast variable for the heavy keys.
+     */
+    private static final String HEAVY_KEYS = "heavy-keys";
+
+    private KeySalting() {
+    }
+
+    /**
+     * Salts the data quanta with heavy keys in a round-robin fashion.
+     *
+     * @param dataSet     whose data quanta should be salted
+     * @param keySelector extracts the keys from the data quanta
+     * @param heavyKeys   the heavy keys associated with their number of salts
+     * @return the salted data quanta
+     */
+    static <T, K> DataSet<Tuple2<Integer, T>> salt(DataSet<T> dataSet,
+                                                  KeySelector<T, K> keySelector,
+                                                  DataSet<HashMap<K, Integer>> heavyKeys) {
+        return dataSet
+                .map(new Salter<>(keySelector))
+                .withBroadcastSet(heavyKeys, HEAVY_KEYS)
+                .returns(ReflectionUtils.specify(Tuple2.class));
+    }
+
+    /**
+     * Replicates the data quanta with heavy keys once per salt, so that they can be joined with
+     * {@link #salt(DataSet, KeySelector, DataSet) salted} data quanta.
+     *
+     * @param dataSet     whose data quanta should be replicated
+     * @param keySelector extracts the keys from the data quanta
+     * @param heavyKeys   the heavy keys associated with their number of salts
+     * @return the salted data quanta
+     */
+    static <T, K> DataSet<Tuple2<Integer, T>> replicate(DataSet<T> dataSet,
+                                                       KeySelector<T, K> keySelector,
+                                                       DataSet<HashMap<K, Integer>> heavyKeys) {
+        return dataSet
+                .flatMap(new Replicator<>(keySelector))
+                .withBroadcastSet(heavyKeys, HEAVY_KEYS)
+                .returns(ReflectionUtils.specify(Tuple2.class));
+    }
+
+    /**
+     * Provides a {@link KeySelector} that combines the key and the salt of salted data quanta.
+     *
+     * @param keySelector extracts the keys from the unsalted data quanta
+     * @return the {@link KeySelector} for the salted data quanta
+     */
+    static <T, K> KeySelector<Tuple2<Integer, T>, org.apache.flink.api.java.tuple.Tuple2<K, Integer>> saltedKeySelector(
+            KeySelector<T, K> keySelector) {
+        return new SaltedKeySelector<>(keySelector);
+    }
+
+    /**
+     * Reads the broadcast heavy keys.
+     *
+     * @param broadcastHeavyKeys the broadcast variable with the heavy keys
+     * @return the heavy keys associated with their number of salts
+     */
+    private static <K> Map<K, Integer> readHeavyKeys(List<HashMap<K, Integer>> broadcastHeavyKeys) {
+        // An empty sample does not yield any heavy keys.
+        return broadcastHeavyKeys.isEmpty() ? Collections.emptyMap() : broadcastHeavyKeys.get(0);
+    }
+
+    /**
+     * Attaches salts to data quanta in a round-robin fashion.
+     */
+    private static class Salter<T, K> extends RichMapFunction<T, Tuple2<Integer, T>> {
+
+        private final KeySelector<T, K> keySelector;
+
+        private transient Map<K, Integer> heavyKeys;
+
+        private int counter = 0;
+
+        private Salter(KeySelector<T, K> keySelector) {
+            this.keySelector = keySelector;
+        }
+
+        @Override
+        public void open(Configuration parameters) {
+            this.heavyKeys = readHeavyKeys(this.getRuntimeContext().getBroadcastVariable(HEAVY_KEYS));
+        }
+
+        @Override
+        public Tuple2<Integer, T> map(T dataQuantum) throws Exception {
+            final Integer numSalts = this.heavyKeys.get(this.keySelector.getKey(dataQuantum));
+            final int salt = numSalts == null ? 0 : (this.counter++ & Integer.MAX_VALUE) % numSalts;
+            return new Tuple2<>(salt, dataQuantum);
+        }
+    }
+
+    /**
+     * Emits data quanta once per salt of their keys.
+     */
+    private static class Replicator<T, K> extends RichFlatMapFunction<T, Tuple2<Integer, T>> {
+
+        private final KeySelector<T, K> keySelector;
+
+        private transient Map<K, Integer> heavyKeys;
+
+        private Replicator(KeySelector<T, K> keySelector) {
+            this.keySelector = keySelector;
+        }
+
+        @Override
+        public void open(Configuration parameters) {
+            this.heavyKeys = readHeavyKeys(this.getRuntimeContext().getBroadcastVariable(HEAVY_KEYS));
+        }
+
+        @Override
+        public void flatMap(T dataQuantum, Collector<Tuple2<Integer, T>> collector) throws Exception {
+            final Integer numSalts = this.heavyKeys.get(this.keySelector.getKey(dataQuantum));
+            for (int salt = 0; salt < (numSalts == null ? 1 : numSalts); salt++) {
+                collector.collect(new Tuple2<>(salt, dataQuantum));
+            }
+        }
+    }
+
+    /**
+     * Extracts the key and the salt of salted data quanta.
+     */
+    private static class SaltedKeySelector<T, K>
+            implements KeySelector<Tuple2<Integer, T>, org.apache.flink.api.java.tuple.Tuple2<K, Integer>>,
+            ResultTypeQueryable<org.apache.flink.api.java.tuple.Tuple2<K, Integer>> {
+
+        private final KeySelector<T, K> keySelector;
+
+        private SaltedKeySelector(KeySelector<T, K> keySelector) {
+            this.keySelector = keySelector;
+        }
+
+        @Override
+        public org.apache.flink.api.java.tuple.Tuple2<K, Integer> getKey(Tuple2<Integer, T> saltedDataQuantum)
+                throws Exception {
+            return new org.apache.flink.api.java.tuple.Tuple2<>(
+                    this.keySelector.getKey(saltedDataQuantum.field1), saltedDataQuantum.field0
+            );
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public TypeInformation<org.apache.flink.api.java.tuple.Tuple2<K, Integer>> getProducedType() {
+            final TypeInformation<K> keyType = ((ResultTypeQueryable<K>) this.keySelector).getProducedType();
+            return new TupleTypeInfo<>(keyType, BasicTypeInfo.INT_TYPE_INFO);
+        }
+    }
+
+}
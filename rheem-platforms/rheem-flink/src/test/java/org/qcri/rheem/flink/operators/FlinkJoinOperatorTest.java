@@ -0,0 +1,71 @@
+package org.qcri.rheem.flink.operators;
+
+import org.apache.flink.api.java.DataSet;
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.basic.data.Tuple2;
+import org.qcri.rheem.basic.function.ProjectionDescriptor;
+import org.qcri.rheem.core.platform.ChannelInstance;
+import org.qcri.rheem.core.types.DataSetType;
+import org.qcri.rheem.core.types.DataUnitType;
+import org.qcri.rheem.flink.channels.DataSetChannel;
+import org.qcri.rheem.flink.execution.FlinkExecutor;
+import org.qcri.rheem.flink.platform.FlinkPlatform;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Test suite for {@link FlinkJoinOperator}.
+ */
+public class FlinkJoinOperatorTest extends FlinkOperatorTestBase {
+
+    @Test
+    public void testExecutionWithSkew() throws Exception {
+        // Request the skew handling with multiple partitions.
+        this.configuration.setProperty("rheem.flink.skew.mode", "on");
+        this.configuration.setProperty("rheem.flink.paralelism", "2");
+        this.flinkExecutor = (FlinkExecutor) FlinkPlatform.getInstance().getExecutorFactory().create(this.mockJob());
+
+        // Prepare test data, in which 1 is a heavy key of the first input.
+        List<Tuple2<Integer, Integer>> inputList0 = new ArrayList<>();
+        for (int i = 0; i < 100; i++) inputList0.add(new Tuple2<>(1, i));
+        inputList0.add(new Tuple2<>(2, 100));
+        inputList0.add(new Tuple2<>(3, 101));
+        DataSetChannel.Instance input0 = this.createDataSetChannelInstance(inputList0);
+        DataSetChannel.Instance input1 = this.createDataSetChannelInstance(Arrays.asList(
+                new Tuple2<>("x", 1), new Tuple2<>("y", 1), new Tuple2<>("z", 2), new Tuple2<>("w", 4)));
+        DataSetChannel.Instance output = this.createDataSetChannelInstance();
+
+        FlinkJoinOperator<Tuple2, Tuple2, Integer> join =
+                new FlinkJoinOperator<>(
+                        DataSetType.createDefaultUnchecked(Tuple2.class),
+                        DataSetType.createDefaultUnchecked(Tuple2.class),
+                        new ProjectionDescriptor<>(
+                                DataUnitType.createBasicUnchecked(Tuple2.class),
+                                DataUnitType.createBasic(Integer.class),
+                                "field0"),
+                        new ProjectionDescriptor<>(
+                                DataUnitType.createBasicUnchecked(Tuple2.class),
+                                DataUnitType.createBasic(Integer.class),
+                                "field1"));
+
+        // Execute.
+        this.evaluate(join, new ChannelInstance[]{input0, input1}, new ChannelInstance[]{output});
+
+        // Verify the outcome: each data quantum with the heavy key must be joined exactly once per match.
+        final DataSet<Tuple2<Tuple2<Integer, Integer>, Tuple2<String, Integer>>> outputDataSet = output.provideDataSet();
+        final List<Tuple2<Tuple2<Integer, Integer>, Tuple2<String, Integer>>> result = outputDataSet.collect();
+        Assert.assertEquals(201, result.size());
+        final Set<Tuple2<Tuple2<Integer, Integer>, Tuple2<String, Integer>>> expected = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add(new Tuple2<>(new Tuple2<>(1, i), new Tuple2<>("x", 1)));
+            expected.add(new Tuple2<>(new Tuple2<>(1, i), new Tuple2<>("y", 1)));
+        }
+        expected.add(new Tuple2<>(new Tuple2<>(2, 100), new Tuple2<>("z", 2)));
+        Assert.assertEquals(expected, new HashSet<>(result));
+    }
+}
@@ -0,0 +1,67 @@
+package org.qcri.rheem.flink.operators;
+
+import org.junit.Before;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.api.Job;
+import org.qcri.rheem.core.optimizer.DefaultOptimizationContext;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.plan.rheemplan.Operator;
+import org.qcri.rheem.core.platform.ChannelInstance;
+import org.qcri.rheem.core.platform.CrossPlatformExecutor;
+import org.qcri.rheem.core.profiling.NoInstrumentationStrategy;
+import org.qcri.rheem.core.util.RheemCollections;
+import org.qcri.rheem.flink.channels.DataSetChannel;
+import org.qcri.rheem.flink.execution.FlinkExecutor;
+import org.qcri.rheem.flink.platform.FlinkPlatform;
+
+import java.util.Collection;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test base for {@link FlinkExecutionOperator} tests.
+ */
+public class FlinkOperatorTestBase {
+
+    protected Configuration configuration;
+
+    protected FlinkExecutor flinkExecutor;
+
+    @Before
+    public void setUp() {
+        this.configuration = new Configuration();
+        this.flinkExecutor = (FlinkExecutor) FlinkPlatform.getInstance().getExecutorFactory().create(this.mockJob());
+    }
+
+    Job mockJob() {
+        final Job job = mock(Job.class);
+        when(job.getConfiguration()).thenReturn(this.configuration);
+        when(job.getCrossPlatformExecutor()).thenReturn(new CrossPlatformExecutor(job, new NoInstrumentationStrategy()));
+        return job;
+    }
+
+    protected OptimizationContext.OperatorContext createOperatorContext(Operator operator) {
+        OptimizationContext optimizationContext = new DefaultOptimizationContext(this.mockJob());
+        return optimizationContext.addOneTimeOperator(operator);
+    }
+
+    protected void evaluate(FlinkExecutionOperator operator,
+                            ChannelInstance[] inputs,
+                            ChannelInstance[] outputs) throws Exception {
+        operator.evaluate(inputs, outputs, this.flinkExecutor, this.createOperatorContext(operator));
+    }
+
+    DataSetChannel.Instance createDataSetChannelInstance() {
+        return (DataSetChannel.Instance) DataSetChannel.DESCRIPTOR
+                .createChannel(null, this.configuration)
+                .createInstance(this.flinkExecutor, null, -1);
+    }
+
+    DataSetChannel.Instance createDataSetChannelInstance(Collection<?> collection) {
+        final DataSetChannel.Instance instance = this.createDataSetChannelInstance();
+        instance.accept(this.flinkExecutor.fee.fromCollection(RheemCollections.asList(collection)), this.flinkExecutor);
+        return instance;
+    }
+
+}
@@ -0,0 +1,84 @@
+package org.qcri.rheem.flink.operators;
+
+import org.apache.flink.api.java.DataSet;
+import org.apache.flink.api.java.functions.KeySelector;
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.basic.data.Tuple2;
+import org.qcri.rheem.basic.function.ProjectionDescriptor;
+import org.qcri.rheem.core.function.ReduceDescriptor;
+import org.qcri.rheem.core.function.TransformationDescriptor;
+import org.qcri.rheem.core.platform.ChannelInstance;
+import org.qcri.rheem.core.types.DataSetType;
+import org.qcri.rheem.core.types.DataUnitType;
+import org.qcri.rheem.core.util.RheemCollections;
+import org.qcri.rheem.flink.channels.DataSetChannel;
+import org.qcri.rheem.flink.execution.FlinkExecutor;
+import org.qcri.rheem.flink.platform.FlinkPlatform;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Test suite for {@link FlinkReduceByOperator}.
+ */
+public class FlinkReduceByOperatorTest extends FlinkOperatorTestBase {
+
+    private static TransformationDescriptor<Tuple2<String, Integer>, String> createKeyDescriptor() {
+        return new ProjectionDescriptor<>(
+                DataUnitType.createBasicUnchecked(Tuple2.class),
+                DataUnitType.createBasic(String.class),
+                "field0"
+        );
+    }
+
+    @Test
+    public void testExecutionWithSkew() throws Exception {
+        // Request the skew handling with multiple partitions.
+        this.configuration.setProperty("rheem.flink.skew.mode", "on");
+        this.configuration.setProperty("rheem.flink.paralelism", "2");
+        this.flinkExecutor = (FlinkExecutor) FlinkPlatform.getInstance().getExecutorFactory().create(this.mockJob());
+
+        // Prepare test data, in which "a" is a heavy key.
+        List<Tuple2<String, Integer>> inputList = new ArrayList<>();
+        for (int i = 0; i < 100; i++) inputList.add(new Tuple2<>("a", 1));
+        Arrays.stream("bcdef".split("")).forEach(string -> inputList.add(new Tuple2<>(string, 1)));
+        DataSetChannel.Instance input = this.createDataSetChannelInstance(inputList);
+        DataSetChannel.Instance output = this.createDataSetChannelInstance();
+
+        // The heavy key should be detected within the dataflow.
+        final KeySelector<Tuple2<String, Integer>, String> keySelector =
+                this.flinkExecutor.getCompiler().compileKeySelector(createKeyDescriptor());
+        final DataSet<HashMap<String, Integer>> heavyKeys =
+                this.flinkExecutor.detectHeavyKeys(input.<Tuple2<String, Integer>>provideDataSet(), keySelector, null, 0);
+        Assert.assertEquals(Collections.singletonMap("a", 2), RheemCollections.getSingle(heavyKeys.collect()));
+
+        // Build the reduce operator.
+        FlinkReduceByOperator<Tuple2<String, Integer>, String> reduceByOperator =
+                new FlinkReduceByOperator<>(
+                        DataSetType.createDefaultUnchecked(Tuple2.class),
+                        createKeyDescriptor(),
+                        new ReduceDescriptor<>(
+                                (a, b) -> new Tuple2<>(a.field0, a.field1 + b.field1),
+                                DataUnitType.createGroupedUnchecked(Tuple2.class),
+                                DataUnitType.createBasicUnchecked(Tuple2.class)
+                        ));
+
+        // Execute.
+        this.evaluate(reduceByOperator, new ChannelInstance[]{input}, new ChannelInstance[]{output});
+
+        // Verify the outcome.
+        final DataSet<Tuple2<String, Integer>> outputDataSet = output.provideDataSet();
+        Assert.assertEquals(
+                new HashSet<>(Arrays.asList(
+                        new Tuple2<>("a", 100), new Tuple2<>("b", 1), new Tuple2<>("c", 1),
+                        new Tuple2<>("d", 1), new Tuple2<>("e", 1), new Tuple2<>("f", 1)
+                )),
+                new HashSet<>(outputDataSet.collect())
+        );
+    }
+}
@@ -6,6 +6,7 @@ import org.qcri.rheem.core.plan.rheemplan.OutputSlot;
 import org.qcri.rheem.core.platform.AbstractChannelInstance;
 import org.qcri.rheem.core.platform.ChannelDescriptor;
 import org.qcri.rheem.core.platform.Executor;
+import org.qcri.rheem.java.execution.JavaExecutor;
 import org.qcri.rheem.java.operators.JavaExecutionOperator;
 
 import java.util.Collection;
@@ -63,6 +64,10 @@ public class CollectionChannel extends Channel {
         @Override
         @SuppressWarnings("unchecked")
         public <T> Stream<T> provideStream() {
+            // Consumers in parallel ExecutionStages should receive a parallel Stream.
+            if (JavaExecutor.isParallelExecution()) {
+                return (Stream<T>) this.collection.parallelStream();
+            }
             return (Stream<T>) this.collection.stream();
         }
 
@@ -7,11 +7,17 @@ import org.qcri.rheem.core.plan.rheemplan.OutputSlot;
 import org.qcri.rheem.core.platform.AbstractChannelInstance;
 import org.qcri.rheem.core.platform.ChannelDescriptor;
 import org.qcri.rheem.core.platform.Executor;
+import org.qcri.rheem.java.execution.JavaExecutor;
 import org.qcri.rheem.java.operators.JavaExecutionOperator;
 
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.OptionalLong;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * {@link Channel} between two {@link JavaExecutionOperator}s using a {@link Stream}.
@@ -97,7 +103,8 @@ public class StreamChannel extends Channel {
         // In principle, we could use Stream#onClose() to make sure that we really counted the cardinality (so as to
         // detect, when the cardinality is 0 because the #stream has not been fully executed for whatever reason).
         // However, this would require to call Stream#close() on all methods.
-        private long cardinality = 0;
+        // Note that the #stream might be processed by multiple threads.
+        private final LongAdder cardinality = new LongAdder();
 
         public Instance(Executor executor, OptimizationContext.OperatorContext producerOperatorContext, int producerOutputIndex) {
             super(executor, producerOperatorContext, producerOutputIndex);
@@ -106,18 +113,19 @@ public class StreamChannel extends Channel {
 
         public <T> void accept(Stream<T> stream) {
             assert this.stream == null;
-            this.stream = stream;
+            this.stream = JavaExecutor.isParallelExecution() ? stream.parallel() : stream;
             if (this.isMarkedForInstrumentation()) {
-                this.stream = this.stream.filter(dataQuantum -> {
-                    this.cardinality += 1;
-                    return true;
-                });
+                final Stream<?> instrumentedStream = this.stream;
+                this.stream = StreamSupport.stream(
+                        new CountingSpliterator<>(instrumentedStream.spliterator(), this.cardinality),
+                        instrumentedStream.isParallel()
+                ).onClose(instrumentedStream::close);
             }
         }
 
         public void accept(Collection<?> collection) {
             assert this.stream == null;
-            this.stream = collection.stream();
+            this.stream = JavaExecutor.isParallelExecution() ? collection.parallelStream() : collection.stream();
             this.setMeasuredCardinality(collection.size());
         }
 
@@ -134,7 +142,8 @@ public class StreamChannel extends Channel {
 
         @Override
         public OptionalLong getMeasuredCardinality() {
-            return this.cardinality == 0 ? super.getMeasuredCardinality() : OptionalLong.of(this.cardinality);
+            final long cardinality = this.cardinality.sum();
+            return cardinality == 0 ? super.getMeasuredCardinality() : OptionalLong.of(cardinality);
         }
 
         @Override
@@ -143,4 +152,68 @@ public class StreamChannel extends Channel {
         }
     }
 
+    /**
+     * {@link Spliterator} that counts the data quanta it traverses. Bulk traversals, as they occur for each split of
+     * a (parallel) {@link Stream}, update the counter only once.
+     */
+    private static class CountingSpliterator<T> implements Spliterator<T> {
+
+        private final Spliterator<T> spliterator;
+
+        private final LongAdder counter;
+
+        private CountingSpliterator(Spliterator<T> spliterator, LongAdder counter) {
+            this.spliterator = spliterator;
+            this.counter = counter;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (this.spliterator.tryAdvance(action)) {
+                this.counter.increment();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            final long[] count = new long[1];
+            try {
+                this.spliterator.forEachRemaining(dataQuantum -> {
+                    count[0]++;
+                    action.accept(dataQuantum);
+                });
+            } finally {
+                this.counter.add(count[0]);
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            final Spliterator<T> split = this.spliterator.trySplit();
+            return split == null ? null : new CountingSpliterator<>(split, this.counter);
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.spliterator.estimateSize();
+        }
+
+        @Override
+        public long getExactSizeIfKnown() {
+            return this.spliterator.getExactSizeIfKnown();
+        }
+
+        @Override
+        public int characteristics() {
+            return this.spliterator.characteristics();
+        }
+
+        @Override
+        public Comparator<? super T> getComparator() {
+            return this.spliterator.getComparator();
+        }
+    }
+
 }
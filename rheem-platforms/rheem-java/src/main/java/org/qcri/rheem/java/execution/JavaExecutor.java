@@ -4,9 +4,12 @@ import org.qcri.rheem.core.api.Job;
 import org.qcri.rheem.core.api.exception.RheemException;
 import org.qcri.rheem.core.function.ExtendedFunction;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+import org.qcri.rheem.core.plan.executionplan.ExecutionStage;
 import org.qcri.rheem.core.plan.executionplan.ExecutionTask;
 import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
 import org.qcri.rheem.core.platform.ChannelInstance;
+import org.qcri.rheem.core.platform.ExecutionState;
 import org.qcri.rheem.core.platform.Executor;
 import org.qcri.rheem.core.platform.PartialExecution;
 import org.qcri.rheem.core.platform.PushExecutorTemplate;
@@ -20,6 +23,12 @@ import org.qcri.rheem.java.platform.JavaPlatform;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Stream;
 
 /**
  * {@link Executor} implementation for the {@link JavaPlatform}.
@@ -30,12 +39,80 @@ public class JavaExecutor extends PushExecutorTemplate {
 
     private final FunctionCompiler compiler;
 
+    /**
+     * Parallelism of the {@link ExecutionStage}s that are currently being executed.
+     */
+    private final Map<ExecutionStage, Integer> stageParallelisms = new ConcurrentHashMap<>();
+
+    /**
+     * {@link StagePool}s to run parallel {@link ExecutionStage}s indexed by their parallelism.
+     */
+    private final Map<Integer, StagePool> stagePools = new ConcurrentHashMap<>();
+
     public JavaExecutor(JavaPlatform javaPlatform, Job job) {
         super(job);
         this.platform = javaPlatform;
         this.compiler = new FunctionCompiler(job.getConfiguration());
     }
 
+    @Override
+    public void execute(ExecutionStage stage, OptimizationContext optimizationContext, ExecutionState executionState) {
+        final int parallelism = this.determineParallelism(stage, optimizationContext);
+        if (parallelism > 1) {
+            this.logger.info("Executing {} with a parallelism of {}.", stage, parallelism);
+        }
+        this.stageParallelisms.put(stage, parallelism);
+        try {
+            super.execute(stage, optimizationContext, executionState);
+        } finally {
+            this.stageParallelisms.remove(stage);
+        }
+    }
+
+    /**
+     * Determine the number of threads to execute an {@link ExecutionStage} with. Note that all {@link Stream}s
+     * within an {@link ExecutionStage} must be either sequential or parallel, because the parallelism of a
+     * {@link Stream} applies to its whole pipeline. Hence, the {@link ExecutionStage} is executed sequentially as
+     * soon as it contains a {@link JavaExecutionOperator} that is not {@link JavaExecutionOperator#isParallelizable()}.
+     *
+     * @param stage               the {@link ExecutionStage}
+     * @param optimizationContext provides {@link CardinalityEstimate}s for the {@link ExecutionTask}s in the {@code stage}
+     * @return the parallelism
+     */
+    protected int determineParallelism(ExecutionStage stage, OptimizationContext optimizationContext) {
+        final int maxParallelism = this.platform.getParallelism(this.getConfiguration());
+        if (maxParallelism <= 1) return 1;
+
+        double maxCardinality = 0d;
+        for (ExecutionTask task : stage.getAllTasks()) {
+            final ExecutionOperator operator = task.getOperator();
+            if (!(operator instanceof JavaExecutionOperator) || !cast(operator).isParallelizable()) {
+                return 1;
+            }
+            final OptimizationContext.OperatorContext operatorContext = optimizationContext.getOperatorContext(operator);
+            if (operatorContext == null) continue;
+            for (CardinalityEstimate cardinality : operatorContext.getInputCardinalities()) {
+                if (cardinality != null) maxCardinality = Math.max(maxCardinality, cardinality.getGeometricMeanEstimate());
+            }
+            for (CardinalityEstimate cardinality : operatorContext.getOutputCardinalities()) {
+                if (cardinality != null) maxCardinality = Math.max(maxCardinality, cardinality.getGeometricMeanEstimate());
+            }
+        }
+
+        final long minQuantaPerThread = Math.max(1, this.getConfiguration().getLongProperty("rheem.java.parallelism.min-quanta"));
+        return (int) Math.max(1, Math.min(maxParallelism, maxCardinality / minQuantaPerThread));
+    }
+
+    /**
+     * Tells whether the current thread is executing a parallel {@link ExecutionStage}. If so, {@link Stream}s
+     * should be turned into parallel {@link Stream}s.
+     *
+     * @return whether the current execution is parallel
+     */
+    public static boolean isParallelExecution() {
+        return ForkJoinTask.getPool() instanceof StagePool;
+    }
+
     @Override
     public JavaPlatform getPlatform() {
         return this.platform;
@@ -60,14 +137,9 @@ public class JavaExecutor extends PushExecutorTemplate {
         this.job.reportProgress(task.getOperator().getName(), 50);
         long startTime = System.currentTimeMillis();
         try {
-            final Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> results =
-                    cast(task.getOperator()).evaluate(
-                            toArray(inputChannelInstances),
-                            outputChannelInstances,
-                            this,
-                            producerOperatorContext
-                    );
-            //Thread.sleep(1000);
+            final Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> results = this.evaluate(
+                    task, toArray(inputChannelInstances), outputChannelInstances, producerOperatorContext
+            );
             executionLineageNodes = results.getField0();
             producedChannelInstances = results.getField1();
         } catch (Exception e) {
@@ -97,6 +169,34 @@ public class JavaExecutor extends PushExecutorTemplate {
     }
 
 
+    /**
+     * Evaluate the {@link JavaExecutionOperator} of the given {@link ExecutionTask}. If its {@link ExecutionStage} is
+     * to be executed in parallel, then the evaluation takes place in a {@link StagePool}, so that any
+     * parallel {@link Stream} in it is processed with the according parallelism.
+     *
+     * @see JavaExecutionOperator#evaluate(ChannelInstance[], ChannelInstance[], JavaExecutor, OptimizationContext.OperatorContext)
+     */
+    private Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> evaluate(
+            ExecutionTask task,
+            ChannelInstance[] inputChannelInstances,
+            ChannelInstance[] outputChannelInstances,
+            OptimizationContext.OperatorContext producerOperatorContext) throws Exception {
+        final JavaExecutionOperator operator = cast(task.getOperator());
+        final int parallelism = this.stageParallelisms.getOrDefault(task.getStage(), 1);
+        if (parallelism <= 1) {
+            return operator.evaluate(inputChannelInstances, outputChannelInstances, this, producerOperatorContext);
+        }
+
+        final StagePool stagePool = this.stagePools.computeIfAbsent(parallelism, StagePool::new);
+        try {
+            return stagePool.submit(
+                    () -> operator.evaluate(inputChannelInstances, outputChannelInstances, this, producerOperatorContext)
+            ).get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+
     private static JavaExecutionOperator cast(ExecutionOperator executionOperator) {
         return (JavaExecutionOperator) executionOperator;
     }
@@ -128,4 +228,22 @@ public class JavaExecutor extends PushExecutorTemplate {
     public FunctionCompiler getCompiler() {
         return this.compiler;
     }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        this.stagePools.values().forEach(ForkJoinPool::shutdown);
+        this.stagePools.clear();
+    }
+
+    /**
+     * {@link ForkJoinPool} that evaluates parallel {@link ExecutionStage}s.
+     */
+    private static class StagePool extends ForkJoinPool {
+
+        StagePool(int parallelism) {
+            super(parallelism);
+        }
+
+    }
 }
@@ -0,0 +1,284 @@
+package org.qcri.rheem.java.execution.aggregation;
+
+import gnu.trove.impl.Constants;
+import gnu.trove.map.TIntIntMap;
+import gnu.trove.map.TLongIntMap;
+import gnu.trove.map.TObjectIntMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TLongIntHashMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.BinaryOperator;
+
+/**
+ * Hash table for reductions by key. Keys are mapped to dense slots via an open-addressing hash table (specialized
+ * for {@code long} and {@code int} keys), and each slot holds the running reduction value of its key.
+ * <p>Instances are not thread-safe. Parallel reductions should aggregate partially into one instance per thread and
+ * then combine them via {@link #addAll(AggregationTable)}, as is done by
+ * {@link java.util.stream.Stream#collect(java.util.function.Supplier, java.util.function.BiConsumer, java.util.function.BiConsumer)}.</p>
+ *
+ * @param <Key>  type of the keys
+ * @param <Type> type of the data quanta being reduced
+ */
+public abstract class AggregationTable<Key, Type> {
+
+    /**
+     * Upper bound for the initial capacity, so as to not allocate huge tables due to bad cardinality estimates.
+     */
+    private static final int MAX_INITIAL_CAPACITY = 1 << 20;
+
+    /**
+     * Marks the absence of a slot in the specialized hash tables.
+     */
+    protected static final int NO_SLOT = -1;
+
+    /**
+     * Reduces two data quanta with the same key.
+     */
+    private final BinaryOperator<Type> reduceFunction;
+
+    /**
+     * Slot of the {@code null} key or {@link #NO_SLOT} if there is none.
+     */
+    private int nullSlot = NO_SLOT;
+
+    /**
+     * Running reduction values by their slots.
+     */
+    private Object[] values;
+
+    /**
+     * Number of slots, i.e., distinct keys, in this instance.
+     */
+    private int numSlots = 0;
+
+    /**
+     * Creates a new instance that is suitable for the given key type.
+     *
+     * @param keyClass        the {@link Class} of the keys
+     * @param expectedNumKeys the expected number of distinct keys
+     * @param reduceFunction  reduces two data quanta with the same key
+     * @return the new instance
+     */
+    @SuppressWarnings("unchecked")
+    public static <Key, Type> AggregationTable<Key, Type> create(Class<Key> keyClass,
+                                                                 int expectedNumKeys,
+                                                                 BinaryOperator<Type> reduceFunction) {
+        final int initialCapacity = Math.max(16, Math.min(expectedNumKeys, MAX_INITIAL_CAPACITY));
+        if (keyClass == Long.class || keyClass == long.class) {
+            return (AggregationTable<Key, Type>) new LongKeyed<>(initialCapacity, reduceFunction);
+        } else if (keyClass == Integer.class || keyClass == int.class) {
+            return (AggregationTable<Key, Type>) new IntKeyed<>(initialCapacity, reduceFunction);
+        }
+        return new Generic<>(initialCapacity, reduceFunction);
+    }
+
+    /**
+     * Creates a new instance that regards all data quanta as having the same key.
+     *
+     * @param reduceFunction reduces two data quanta
+     * @return the new instance
+     */
+    public static <Type> AggregationTable<Object, Type> createGlobal(BinaryOperator<Type> reduceFunction) {
+        return new Global<>(reduceFunction);
+    }
+
+    protected AggregationTable(int initialCapacity, BinaryOperator<Type> reduceFunction) {
+        this.values = new Object[initialCapacity];
+        this.reduceFunction = reduceFunction;
+    }
+
+    /**
+     * Reduces a new data quantum into its slot.
+     *
+     * @param key   the key of the data quantum
+     * @param value the data quantum
+     */
+    @SuppressWarnings("unchecked")
+    public void add(Key key, Type value) {
+        final int slot;
+        if (key == null) {
+            if (this.nullSlot == NO_SLOT) this.nullSlot = this.numSlots;
+            slot = this.nullSlot;
+        } else {
+            slot = this.getOrCreateSlot(key, this.numSlots);
+        }
+        if (slot == this.numSlots) {
+            if (this.numSlots == this.values.length) {
+                this.values = Arrays.copyOf(this.values, this.numSlots + (this.numSlots >> 1) + 1);
+            }
+            this.values[this.numSlots++] = value;
+        } else {
+            this.values[slot] = this.reduceFunction.apply((Type) this.values[slot], value);
+        }
+    }
+
+    /**
+     * Reduces all slots from a further instance into this instance, e.g., to combine partial aggregates of a parallel
+     * execution.
+     *
+     * @param that the other instance
+     * @return this instance
+     */
+    @SuppressWarnings("unchecked")
+    public AggregationTable<Key, Type> addAll(AggregationTable<Key, Type> that) {
+        if (that.numSlots == 0) return this;
+        final Object[] thatKeys = that.getSlotKeys();
+        for (int slot = 0; slot < that.numSlots; slot++) {
+            this.add((Key) thatKeys[slot], (Type) that.values[slot]);
+        }
+        return this;
+    }
+
+    /**
+     * Provides the reduction values. The returned {@link Collection} is a view on this instance.
+     *
+     * @return the reduction values, one per distinct key
+     */
+    @SuppressWarnings("unchecked")
+    public Collection<Type> getValues() {
+        return (Collection<Type>) Arrays.asList(this.values).subList(0, this.numSlots);
+    }
+
+    /**
+     * @return the number of distinct keys in this instance
+     */
+    public int getNumKeys() {
+        return this.numSlots;
+    }
+
+    /**
+     * Retrieve the keys of all slots.
+     *
+     * @return an array containing the key of the {@code i}-th slot at index {@code i}
+     */
+    private Object[] getSlotKeys() {
+        final Object[] keys = new Object[this.numSlots];
+        this.collectSlotKeys(keys);
+        return keys;
+    }
+
+    /**
+     * Looks up the slot for the given key and creates a new slot if there is none.
+     *
+     * @param key     the key; not {@code null}
+     * @param newSlot the slot to use if a new slot needs to be created
+     * @return the slot
+     */
+    protected abstract int getOrCreateSlot(Key key, int newSlot);
+
+    /**
+     * Write the non-{@code null} keys of this instance to the given array by their slots.
+     *
+     * @param keys the array to write to
+     */
+    protected abstract void collectSlotKeys(Object[] keys);
+
+    /**
+     * {@link AggregationTable} for {@link Long} keys.
+     */
+    private static class LongKeyed<Type> extends AggregationTable<Long, Type> {
+
+        private final TLongIntMap slots;
+
+        private LongKeyed(int initialCapacity, BinaryOperator<Type> reduceFunction) {
+            super(initialCapacity, reduceFunction);
+            this.slots = new TLongIntHashMap(initialCapacity, Constants.DEFAULT_LOAD_FACTOR, 0L, NO_SLOT);
+        }
+
+        @Override
+        protected int getOrCreateSlot(Long key, int newSlot) {
+            final int existingSlot = this.slots.putIfAbsent(key, newSlot);
+            return existingSlot == NO_SLOT ? newSlot : existingSlot;
+        }
+
+        @Override
+        protected void collectSlotKeys(Object[] keys) {
+            this.slots.forEachEntry((key, slot) -> {
+                keys[slot] = key;
+                return true;
+            });
+        }
+    }
+
+    /**
+     * {@link AggregationTable} for {@link Integer} keys.
+     */
+    private static class IntKeyed<Type> extends AggregationTable<Integer, Type> {
+
+        private final TIntIntMap slots;
+
+        private IntKeyed(int initialCapacity, BinaryOperator<Type> reduceFunction) {
+            super(initialCapacity, reduceFunction);
+            this.slots = new TIntIntHashMap(initialCapacity, Constants.DEFAULT_LOAD_FACTOR, 0, NO_SLOT);
+        }
+
+        @Override
+        protected int getOrCreateSlot(Integer key, int newSlot) {
+            final int existingSlot = this.slots.putIfAbsent(key, newSlot);
+            return existingSlot == NO_SLOT ? newSlot : existingSlot;
+        }
+
+        @Override
+        protected void collectSlotKeys(Object[] keys) {
+            this.slots.forEachEntry((key, slot) -> {
+                keys[slot] = key;
+                return true;
+            });
+        }
+    }
+
+    /**
+     * {@link AggregationTable} for arbitrary keys, e.g., {@link String}s.
+     */
+    private static class Generic<Key, Type> extends AggregationTable<Key, Type> {
+
+        private final TObjectIntMap<Key> slots;
+
+        private Generic(int initialCapacity, BinaryOperator<Type> reduceFunction) {
+            super(initialCapacity, reduceFunction);
+            this.slots = new TObjectIntHashMap<>(initialCapacity, Constants.DEFAULT_LOAD_FACTOR, NO_SLOT);
+        }
+
+        @Override
+        protected int getOrCreateSlot(Key key, int newSlot) {
+            final int existingSlot = this.slots.putIfAbsent(key, newSlot);
+            return existingSlot == NO_SLOT ? newSlot : existingSlot;
+        }
+
+        @Override
+        protected void collectSlotKeys(Object[] keys) {
+            this.slots.forEachEntry((key, slot) -> {
+                keys[slot] = key;
+                return true;
+            });
+        }
+    }
+
+    /**
+     * {@link AggregationTable} with a single slot for all keys.
+     */
+    private static class Global<Type> extends AggregationTable<Object, Type> {
+
+        private Global(BinaryOperator<Type> reduceFunction) {
+            super(1, reduceFunction);
+        }
+
+        @Override
+        public void add(Object key, Type value) {
+            super.add(null, value);
+        }
+
+        @Override
+        protected int getOrCreateSlot(Object key, int newSlot) {
+            throw new UnsupportedOperationException("Global aggregations do not have keys.");
+        }
+
+        @Override
+        protected void collectSlotKeys(Object[] keys) {
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+package org.qcri.rheem.java.execution.aggregation;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Hash-based aggregations of {@link Stream}s. The running aggregates are kept in mutable slots (see
+ * {@link AggregationTable}). For parallel {@link Stream}s, each thread aggregates into its own slots and the partial
+ * aggregates are merged in the end.
+ */
+public class Aggregations {
+
+    /**
+     * Reduces data quanta with the same key.
+     *
+     * @param stream          the data quanta
+     * @param keyExtractor    extracts the keys from the data quanta
+     * @param keyClass        the {@link Class} of the keys, so as to pick a specialized {@link AggregationTable}
+     * @param reduceFunction  reduces two data quanta with the same key
+     * @param expectedNumKeys the expected number of distinct keys; only used to presize the {@link AggregationTable}
+     *                        of sequential {@link Stream}s
+     * @return the reduced data quanta, one per distinct key
+     */
+    public static <Type, Key> Collection<Type> reduceByKey(Stream<Type> stream,
+                                                           Function<Type, Key> keyExtractor,
+                                                           Class<Key> keyClass,
+                                                           BinaryOperator<Type> reduceFunction,
+                                                           int expectedNumKeys) {
+        // Parallel streams aggregate into one table per split, so those should start small and grow as needed.
+        final int expectedNumSplitKeys = stream.isParallel() ? 0 : expectedNumKeys;
+        return stream.collect(
+                () -> AggregationTable.create(keyClass, expectedNumSplitKeys, reduceFunction),
+                (table, dataQuantum) -> table.add(keyExtractor.apply(dataQuantum), dataQuantum),
+                AggregationTable::addAll
+        ).getValues();
+    }
+
+    /**
+     * Reduces data quanta with the same key until a given number of distinct keys is exceeded.
+     *
+     * @param iterator       provides the data quanta; will be consumed up to the first data quantum whose key
+     *                       exceeds {@code maxNumKeys}
+     * @param keyExtractor   extracts the keys from the data quanta
+     * @param keyClass       the {@link Class} of the keys, so as to pick a specialized {@link AggregationTable}
+     * @param reduceFunction reduces two data quanta with the same key
+     * @param maxNumKeys     the maximum number of distinct keys
+     * @return the (partially) reduced data quanta, one per distinct key; at most {@code maxNumKeys + 1}
+     */
+    public static <Type, Key> Collection<Type> reduceByKey(Iterator<Type> iterator,
+                                                           Function<Type, Key> keyExtractor,
+                                                           Class<Key> keyClass,
+                                                           BinaryOperator<Type> reduceFunction,
+                                                           long maxNumKeys) {
+        final AggregationTable<Key, Type> table = AggregationTable.create(
+                keyClass, (int) Math.min(maxNumKeys, Integer.MAX_VALUE), reduceFunction
+        );
+        while (table.getNumKeys() <= maxNumKeys && iterator.hasNext()) {
+            final Type dataQuantum = iterator.next();
+            table.add(keyExtractor.apply(dataQuantum), dataQuantum);
+        }
+        return table.getValues();
+    }
+
+    /**
+     * Reduces all data quanta.
+     *
+     * @param stream         the data quanta
+     * @param reduceFunction reduces two data quanta
+     * @return the reduced data quantum or an empty {@link Optional} if there are no data quanta
+     */
+    public static <Type> Optional<Type> reduce(Stream<Type> stream, BinaryOperator<Type> reduceFunction) {
+        final Collection<Type> values = stream.collect(
+                () -> AggregationTable.createGlobal(reduceFunction),
+                (table, dataQuantum) -> table.add(null, dataQuantum),
+                AggregationTable::addAll
+        ).getValues();
+        return values.isEmpty() ? Optional.empty() : Optional.ofNullable(values.iterator().next());
+    }
+
+    /**
+     * Counts all data quanta.
+     *
+     * @param stream the data quanta
+     * @return the number of data quanta
+     */
+    public static long count(Stream<?> stream) {
+        return stream.collect(
+                () -> new long[1],
+                (slot, dataQuantum) -> slot[0]++,
+                (slot1, slot2) -> slot1[0] += slot2[0]
+        )[0];
+    }
+
+}
@@ -0,0 +1,351 @@
+package org.qcri.rheem.java.execution.join;
+
+import gnu.trove.impl.Constants;
+import gnu.trove.map.TIntIntMap;
+import gnu.trove.map.TLongIntMap;
+import gnu.trove.map.TObjectIntMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TLongIntHashMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
+
+import java.util.Arrays;
+
+/**
+ * Hash table for the build side of an equi-join. Keys are mapped to dense group IDs via an open-addressing
+ * hash table (specialized for {@code long} and {@code int} keys). The data quanta are appended to a single array
+ * while building and then, on {@link #seal()}, arranged contiguously per key.
+ * <p>Instances are not thread-safe while being built. Once sealed, they can be probed concurrently.</p>
+ *
+ * @param <Key>  type of the join keys
+ * @param <Type> type of the data quanta being indexed
+ */
+public abstract class JoinHashTable<Key, Type> {
+
+    /**
+     * Upper bound for the initial capacity, so as to not allocate huge tables due to bad cardinality estimates.
+     */
+    private static final int MAX_INITIAL_CAPACITY = 1 << 20;
+
+    /**
+     * Group ID that is returned by {@link #findGroup(Object)} if there is no group for a given key.
+     */
+    public static final int NO_GROUP = -1;
+
+    /**
+     * Number of groups, i.e., distinct keys, in this instance.
+     */
+    private int numGroups = 0;
+
+    /**
+     * Group ID of the {@code null} key or {@link #NO_GROUP} if there is none.
+     */
+    private int nullGroup = NO_GROUP;
+
+    /**
+     * Data quanta in this instance. While building, they are kept in insertion order. Once sealed, they are ordered
+     * by their group and, within each group, by insertion order.
+     */
+    private Object[] values;
+
+    /**
+     * Group IDs of the {@link #values} while building; {@code null} once sealed.
+     */
+    private int[] groupIds;
+
+    /**
+     * Number of data quanta in this instance.
+     */
+    private int size = 0;
+
+    /**
+     * Offsets of the groups in the {@link #values} once sealed; the {@code i}-th group spans the indices from
+     * {@code groupOffsets[i]} (inclusive) to {@code groupOffsets[i + 1]} (exclusive).
+     */
+    private int[] groupOffsets;
+
+    /**
+     * Creates a new instance that is suitable for the given key type.
+     *
+     * @param keyClass            the {@link Class} of the keys
+     * @param expectedNumElements the expected number of data quanta to be added
+     * @return the new instance
+     */
+    @SuppressWarnings("unchecked")
+    public static <Key, Type> JoinHashTable<Key, Type> create(Class<Key> keyClass, int expectedNumElements) {
+        final int initialCapacity = Math.max(16, Math.min(expectedNumElements, MAX_INITIAL_CAPACITY));
+        if (keyClass == Long.class) {
+            return (JoinHashTable<Key, Type>) new LongKeyed<Type>(initialCapacity);
+        } else if (keyClass == Integer.class) {
+            return (JoinHashTable<Key, Type>) new IntKeyed<Type>(initialCapacity);
+        }
+        return new Generic<>(initialCapacity);
+    }
+
+    protected JoinHashTable(int initialCapacity) {
+        this.values = new Object[initialCapacity];
+        this.groupIds = new int[initialCapacity];
+    }
+
+    /**
+     * Adds a new data quantum.
+     *
+     * @param key   the join key of the data quantum
+     * @param value the data quantum
+     */
+    public void add(Key key, Type value) {
+        assert !this.isSealed();
+        final int groupId;
+        if (key == null) {
+            if (this.nullGroup == NO_GROUP) this.nullGroup = this.numGroups++;
+            groupId = this.nullGroup;
+        } else {
+            groupId = this.getOrCreateGroup(key, this.numGroups);
+            if (groupId == this.numGroups) this.numGroups++;
+        }
+        if (this.size == this.values.length) {
+            final int newCapacity = this.size + (this.size >> 1) + 1;
+            this.values = Arrays.copyOf(this.values, newCapacity);
+            this.groupIds = Arrays.copyOf(this.groupIds, newCapacity);
+        }
+        this.values[this.size] = value;
+        this.groupIds[this.size] = groupId;
+        this.size++;
+    }
+
+    /**
+     * Adds all data quanta from a further instance, e.g., to combine partial build results of a parallel
+     * execution.
+     *
+     * @param that the other instance; must not be sealed
+     * @return this instance
+     */
+    @SuppressWarnings("unchecked")
+    public JoinHashTable<Key, Type> addAll(JoinHashTable<Key, Type> that) {
+        assert !that.isSealed();
+        if (that.size == 0) return this;
+        final Object[] thatKeys = that.getGroupKeys();
+        for (int i = 0; i < that.size; i++) {
+            this.add((Key) thatKeys[that.groupIds[i]], (Type) that.values[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Arranges the data quanta contiguously per key. Afterwards, no more data quanta can be added.
+     *
+     * @return this instance
+     */
+    public JoinHashTable<Key, Type> seal() {
+        if (this.isSealed()) return this;
+
+        // Count sort the values by their group IDs.
+        int[] offsets = new int[this.numGroups + 1];
+        for (int i = 0; i < this.size; i++) {
+            offsets[this.groupIds[i] + 1]++;
+        }
+        for (int i = 1; i < offsets.length; i++) {
+            offsets[i] += offsets[i - 1];
+        }
+        final int[] insertPositions = Arrays.copyOf(offsets, this.numGroups);
+        final Object[] sortedValues = new Object[this.size];
+        for (int i = 0; i < this.size; i++) {
+            sortedValues[insertPositions[this.groupIds[i]]++] = this.values[i];
+        }
+
+        this.values = sortedValues;
+        this.groupOffsets = offsets;
+        this.groupIds = null;
+        return this;
+    }
+
+    /**
+     * @return whether {@link #seal()} has been called
+     */
+    public boolean isSealed() {
+        return this.groupOffsets != null;
+    }
+
+    /**
+     * Looks up the group for a given key. Requires this instance to be sealed.
+     *
+     * @param key the key
+     * @return the group ID or {@link #NO_GROUP} if there is no such group
+     */
+    public int findGroup(Key key) {
+        assert this.isSealed();
+        return key == null ? this.nullGroup : this.findExistingGroup(key);
+    }
+
+    /**
+     * @param groupId a valid group ID
+     * @return the index of the first data quantum of the group (see {@link #get(int)})
+     */
+    public int getGroupStart(int groupId) {
+        return this.groupOffsets[groupId];
+    }
+
+    /**
+     * @param groupId a valid group ID
+     * @return the index after the last data quantum of the group (see {@link #get(int)})
+     */
+    public int getGroupEnd(int groupId) {
+        return this.groupOffsets[groupId + 1];
+    }
+
+    /**
+     * Retrieves a data quantum. Requires this instance to be sealed.
+     *
+     * @param index the index of the data quantum, see {@link #getGroupStart(int)} and {@link #getGroupEnd(int)}
+     * @return the data quantum
+     */
+    @SuppressWarnings("unchecked")
+    public Type get(int index) {
+        return (Type) this.values[index];
+    }
+
+    /**
+     * @return the number of data quanta in this instance
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return the number of distinct keys in this instance
+     */
+    public int getNumGroups() {
+        return this.numGroups;
+    }
+
+    /**
+     * Retrieve the keys of all groups.
+     *
+     * @return an array containing the key of the {@code i}-th group at index {@code i}
+     */
+    protected Object[] getGroupKeys() {
+        final Object[] keys = new Object[this.numGroups];
+        this.collectGroupKeys(keys);
+        return keys;
+    }
+
+    /**
+     * Looks up the group ID for the given key and creates a new group if there is none.
+     *
+     * @param key        the key; not {@code null}
+     * @param newGroupId the group ID to use if a new group needs to be created
+     * @return the group ID
+     */
+    protected abstract int getOrCreateGroup(Key key, int newGroupId);
+
+    /**
+     * Looks up the group ID for the given key.
+     *
+     * @param key the key; not {@code null}
+     * @return the group ID or {@link #NO_GROUP}
+     */
+    protected abstract int findExistingGroup(Key key);
+
+    /**
+     * Write the non-{@code null} keys of this instance to the given array by their group IDs.
+     *
+     * @param keys the array to write to
+     */
+    protected abstract void collectGroupKeys(Object[] keys);
+
+    /**
+     * {@link JoinHashTable} for {@link Long} keys.
+     */
+    private static class LongKeyed<Type> extends JoinHashTable<Long, Type> {
+
+        private final TLongIntMap groups;
+
+        private LongKeyed(int initialCapacity) {
+            super(initialCapacity);
+            this.groups = new TLongIntHashMap(initialCapacity, Constants.DEFAULT_LOAD_FACTOR, 0L, NO_GROUP);
+        }
+
+        @Override
+        protected int getOrCreateGroup(Long key, int newGroupId) {
+            final int existingGroupId = this.groups.putIfAbsent(key, newGroupId);
+            return existingGroupId == NO_GROUP ? newGroupId : existingGroupId;
+        }
+
+        @Override
+        protected int findExistingGroup(Long key) {
+            return this.groups.get(key);
+        }
+
+        @Override
+        protected void collectGroupKeys(Object[] keys) {
+            this.groups.forEachEntry((key, groupId) -> {
+                keys[groupId] = key;
+                return true;
+            });
+        }
+    }
+
+    /**
+     * {@link JoinHashTable} for {@link Integer} keys.
+     */
+    private static class IntKeyed<Type> extends JoinHashTable<Integer, Type> {
+
+        private final TIntIntMap groups;
+
+        private IntKeyed(int initialCapacity) {
+            super(initialCapacity);
+            this.groups = new TIntIntHashMap(initialCapacity, Constants.DEFAULT_LOAD_FACTOR, 0, NO_GROUP);
+        }
+
+        @Override
+        protected int getOrCreateGroup(Integer key, int newGroupId) {
+            final int existingGroupId = this.groups.putIfAbsent(key, newGroupId);
+            return existingGroupId == NO_GROUP ? newGroupId : existingGroupId;
+        }
+
+        @Override
+        protected int findExistingGroup(Integer key) {
+            return this.groups.get(key);
+        }
+
+        @Override
+        protected void collectGroupKeys(Object[] keys) {
+            this.groups.forEachEntry((key, groupId) -> {
+                keys[groupId] = key;
+                return true;
+            });
+        }
+    }
+
+    /**
+     * {@link JoinHashTable} for arbitrary keys, e.g., {@link String}s.
+     */
+    private static class Generic<Key, Type> extends JoinHashTable<Key, Type> {
+
+        private final TObjectIntMap<Key> groups;
+
+        private Generic(int initialCapacity) {
+            super(initialCapacity);
+            this.groups = new TObjectIntHashMap<>(initialCapacity, Constants.DEFAULT_LOAD_FACTOR, NO_GROUP);
+        }
+
+        @Override
+        protected int getOrCreateGroup(Key key, int newGroupId) {
+            final int existingGroupId = this.groups.putIfAbsent(key, newGroupId);
+            return existingGroupId == NO_GROUP ? newGroupId : existingGroupId;
+        }
+
+        @Override
+        protected int findExistingGroup(Key key) {
+            return this.groups.get(key);
+        }
+
+        @Override
+        protected void collectGroupKeys(Object[] keys) {
+            this.groups.forEachEntry((key, groupId) -> {
+                keys[groupId] = key;
+                return true;
+            });
+        }
+    }
+
+}
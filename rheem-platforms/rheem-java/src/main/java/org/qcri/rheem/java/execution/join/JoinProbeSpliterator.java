@@ -0,0 +1,128 @@
+package org.qcri.rheem.java.execution.join;
+
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * {@link Spliterator} that probes the data quanta of another {@link Spliterator} against a sealed
+ * {@link JoinHashTable} and emits the join partners. As opposed to {@link java.util.stream.Stream#flatMap(Function)},
+ * it does not create a sub-{@link java.util.stream.Stream} per probing data quantum. It can be split along with
+ * the probing {@link Spliterator}, thereby supporting parallel execution.
+ *
+ * @param <Key>        type of the join keys
+ * @param <ProbeType>  type of the probing data quanta
+ * @param <BuildType>  type of the data quanta in the {@link JoinHashTable}
+ * @param <OutputType> type of the emitted join results
+ */
+public class JoinProbeSpliterator<Key, ProbeType, BuildType, OutputType> implements Spliterator<OutputType> {
+
+    private final Spliterator<ProbeType> probeSpliterator;
+
+    private final JoinHashTable<Key, BuildType> hashTable;
+
+    private final Function<ProbeType, Key> probeKeyExtractor;
+
+    /**
+     * Creates an output data quantum from a data quantum of the {@link #hashTable} and a probing data quantum.
+     */
+    private final BiFunction<BuildType, ProbeType, OutputType> resultCreator;
+
+    /**
+     * The most recently probed data quantum, whose join partners are being emitted.
+     */
+    private ProbeType currentProbe;
+
+    /**
+     * Index range of the join partners of the {@link #currentProbe} in the {@link #hashTable} that are yet to be
+     * emitted.
+     */
+    private int nextMatchIndex = 0, endMatchIndex = 0;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param probeSpliterator  provides the probing data quanta
+     * @param hashTable         the sealed {@link JoinHashTable} to probe
+     * @param probeKeyExtractor extracts the join keys from the probing data quanta
+     * @param resultCreator     creates join results from a data quantum of the {@code hashTable} and a probing one
+     */
+    public JoinProbeSpliterator(Spliterator<ProbeType> probeSpliterator,
+                                JoinHashTable<Key, BuildType> hashTable,
+                                Function<ProbeType, Key> probeKeyExtractor,
+                                BiFunction<BuildType, ProbeType, OutputType> resultCreator) {
+        assert hashTable.isSealed();
+        this.probeSpliterator = probeSpliterator;
+        this.hashTable = hashTable;
+        this.probeKeyExtractor = probeKeyExtractor;
+        this.resultCreator = resultCreator;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super OutputType> action) {
+        while (this.nextMatchIndex >= this.endMatchIndex) {
+            if (!this.probeSpliterator.tryAdvance(this::probe)) {
+                return false;
+            }
+        }
+        action.accept(this.resultCreator.apply(this.hashTable.get(this.nextMatchIndex++), this.currentProbe));
+        return true;
+    }
+
+    /**
+     * Looks up the join partners of the given data quantum and registers them as pending.
+     *
+     * @param probe the probing data quantum
+     */
+    private void probe(ProbeType probe) {
+        final int groupId = this.hashTable.findGroup(this.probeKeyExtractor.apply(probe));
+        if (groupId == JoinHashTable.NO_GROUP) {
+            this.nextMatchIndex = this.endMatchIndex = 0;
+        } else {
+            this.currentProbe = probe;
+            this.nextMatchIndex = this.hashTable.getGroupStart(groupId);
+            this.endMatchIndex = this.hashTable.getGroupEnd(groupId);
+        }
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super OutputType> action) {
+        // Emit any pending join partners.
+        while (this.nextMatchIndex < this.endMatchIndex) {
+            action.accept(this.resultCreator.apply(this.hashTable.get(this.nextMatchIndex++), this.currentProbe));
+        }
+        this.currentProbe = null;
+
+        // Process all further probing data quanta without keeping intermediate state.
+        this.probeSpliterator.forEachRemaining(probe -> {
+            final int groupId = this.hashTable.findGroup(this.probeKeyExtractor.apply(probe));
+            if (groupId == JoinHashTable.NO_GROUP) return;
+            final int end = this.hashTable.getGroupEnd(groupId);
+            for (int i = this.hashTable.getGroupStart(groupId); i < end; i++) {
+                action.accept(this.resultCreator.apply(this.hashTable.get(i), probe));
+            }
+        });
+    }
+
+    @Override
+    public Spliterator<OutputType> trySplit() {
+        // Do not split while there are pending join partners, as they precede all remaining ones.
+        if (this.nextMatchIndex < this.endMatchIndex) return null;
+        final Spliterator<ProbeType> split = this.probeSpliterator.trySplit();
+        return split == null ?
+                null :
+                new JoinProbeSpliterator<>(split, this.hashTable, this.probeKeyExtractor, this.resultCreator);
+    }
+
+    @Override
+    public long estimateSize() {
+        // We cannot tell the number of join partners in advance.
+        return this.probeSpliterator.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return this.probeSpliterator.characteristics() & (ORDERED | IMMUTABLE | CONCURRENT);
+    }
+}
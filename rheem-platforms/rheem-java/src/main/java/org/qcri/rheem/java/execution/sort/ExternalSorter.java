@@ -0,0 +1,240 @@
+package org.qcri.rheem.java.execution.sort;
+
+import org.qcri.rheem.basic.data.Tuple2;
+import org.qcri.rheem.core.platform.CompositeExecutionResource;
+import org.qcri.rheem.java.execution.spill.MemoryBudget;
+import org.qcri.rheem.java.execution.spill.SpillDirectory;
+import org.qcri.rheem.java.execution.spill.SpillFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Sorts data quanta by their keys within a {@link MemoryBudget}. The keys are extracted only once per data quantum.
+ * If the data quanta do not fit into the budget, sorted runs are formed and spilled to {@link SpillFile}s, and these
+ * runs are merged lazily. For parallel {@link Stream}s, the key extraction and sorting of the runs is parallelized.
+ *
+ * @param <Type> type of the data quanta
+ * @param <Key>  type of the sort keys; must be {@link Comparable}
+ */
+public class ExternalSorter<Type, Key> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExternalSorter.class);
+
+    /**
+     * Compares data quanta that are paired with their keys, thereby placing {@code null} keys first.
+     */
+    @SuppressWarnings("unchecked")
+    private static final Comparator<Tuple2<Object, ?>> KEY_COMPARATOR = (keyed1, keyed2) -> {
+        if (keyed1.field0 == null) return keyed2.field0 == null ? 0 : -1;
+        if (keyed2.field0 == null) return 1;
+        return ((Comparable<Object>) keyed1.field0).compareTo(keyed2.field0);
+    };
+
+    /**
+     * Maximum length of Java arrays that is safe on common JVMs.
+     */
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final Function<Type, Key> keyExtractor;
+
+    private final MemoryBudget budget;
+
+    /**
+     * Maintains the {@link SpillDirectory}s of this instance.
+     */
+    private final CompositeExecutionResource container;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param keyExtractor extracts the sort keys from the data quanta
+     * @param budget       the {@link MemoryBudget} for the sorted runs
+     * @param container    maintains the spilled runs or {@code null} if none
+     */
+    public ExternalSorter(Function<Type, Key> keyExtractor, MemoryBudget budget, CompositeExecutionResource container) {
+        this.keyExtractor = keyExtractor;
+        this.budget = budget;
+        this.container = container;
+    }
+
+    /**
+     * Sorts the given data quanta in main memory.
+     *
+     * @param input the data quanta
+     * @return the sorted data quanta
+     */
+    public Stream<Type> sortInMemory(Stream<Type> input) {
+        final boolean isParallel = input.isParallel();
+        @SuppressWarnings("unchecked")
+        final Tuple2<Object, Type>[] run = input
+                .map(dataQuantum -> new Tuple2<Object, Type>(this.keyExtractor.apply(dataQuantum), dataQuantum))
+                .toArray(Tuple2[]::new);
+        sortRun(run, run.length, isParallel);
+        final Stream<Tuple2<Object, Type>> sortedStream = isParallel ?
+                Arrays.stream(run).parallel() :
+                Arrays.stream(run);
+        return sortedStream.map(Tuple2::getField1);
+    }
+
+    /**
+     * Sorts the given data quanta. If they do not fit into the {@link MemoryBudget}, they are sorted externally.
+     *
+     * @param input the data quanta
+     * @return the sorted data quanta
+     */
+    @SuppressWarnings("unchecked")
+    public Stream<Type> sort(Stream<Type> input) {
+        final boolean isParallel = input.isParallel();
+        final int maxRunLength = (int) Math.min(this.budget.getMaxQuanta(), MAX_ARRAY_LENGTH);
+        final List<SpillFile<Tuple2<Object, Type>>> spilledRuns = new ArrayList<>();
+        SpillDirectory spillDirectory = null;
+        Tuple2<Object, Type>[] run = new Tuple2[Math.min(maxRunLength, 1 << 10)];
+        int runLength;
+        try (Stream<Type> closedInput = input) {
+            final Iterator<Type> iterator = closedInput.iterator();
+            do {
+                // Form the next sorted run.
+                runLength = 0;
+                while (runLength < maxRunLength && iterator.hasNext()) {
+                    if (runLength == run.length) {
+                        run = Arrays.copyOf(run, (int) Math.min(maxRunLength, 2L * run.length));
+                    }
+                    final Type dataQuantum = iterator.next();
+                    run[runLength++] = new Tuple2<>(isParallel ? null : this.keyExtractor.apply(dataQuantum), dataQuantum);
+                }
+                if (isParallel) {
+                    final Tuple2<Object, Type>[] currentRun = run;
+                    IntStream.range(0, runLength).parallel()
+                            .forEach(i -> currentRun[i].field0 = this.keyExtractor.apply(currentRun[i].field1));
+                }
+                sortRun(run, runLength, isParallel);
+
+                // Spill it unless it is the last one.
+                if (iterator.hasNext()) {
+                    if (spillDirectory == null) {
+                        spillDirectory = new SpillDirectory(this.container);
+                        logger.info("Input exceeds {}. Spilling sorted runs to {}.", this.budget, spillDirectory);
+                    }
+                    final SpillFile<Tuple2<Object, Type>> spilledRun = spillDirectory.createFile();
+                    for (int i = 0; i < runLength; i++) {
+                        spilledRun.add(run[i]);
+                        run[i] = null;
+                    }
+                    spilledRuns.add(spilledRun.seal());
+                }
+            } while (iterator.hasNext());
+        }
+
+        final List<Tuple2<Object, Type>> lastRun = Arrays.asList(run).subList(0, runLength);
+        if (spilledRuns.isEmpty()) {
+            return (isParallel ? lastRun.parallelStream() : lastRun.stream()).map(Tuple2::getField1);
+        }
+
+        // Merge the runs lazily. Closing the merged Stream releases the spilled runs, even if it is not consumed.
+        final List<Stream<Tuple2<Object, Type>>> spilledRunStreams = new ArrayList<>(spilledRuns.size());
+        List<Iterator<Tuple2<Object, Type>>> runIterators = new ArrayList<>(spilledRuns.size() + 1);
+        for (SpillFile<Tuple2<Object, Type>> spilledRun : spilledRuns) {
+            final Stream<Tuple2<Object, Type>> spilledRunStream = spilledRun.stream();
+            spilledRunStreams.add(spilledRunStream);
+            runIterators.add(spilledRunStream.iterator());
+        }
+        runIterators.add(lastRun.iterator());
+        final MergingIterator<Type> mergingIterator = new MergingIterator<>(runIterators);
+        final SpillDirectory finalSpillDirectory = spillDirectory;
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(mergingIterator, Spliterator.ORDERED), false)
+                .map(Tuple2::getField1)
+                .onClose(() -> {
+                    spilledRunStreams.forEach(Stream::close);
+                    finalSpillDirectory.dispose();
+                });
+    }
+
+    /**
+     * Sorts the first {@code length} data quanta of the given run by their keys.
+     */
+    private static void sortRun(Tuple2<Object, ?>[] run, int length, boolean isParallel) {
+        if (isParallel) {
+            // When called from a ForkJoinPool, e.g., of a parallel ExecutionStage, this sort runs within that pool.
+            Arrays.parallelSort(run, 0, length, KEY_COMPARATOR);
+        } else {
+            Arrays.sort(run, 0, length, KEY_COMPARATOR);
+        }
+    }
+
+    /**
+     * Merges sorted runs of data quanta that are paired with their keys. Ties are broken by the order of the runs,
+     * so that the merge is stable.
+     */
+    private static class MergingIterator<Type> implements Iterator<Tuple2<Object, Type>> {
+
+        /**
+         * Contains the current heads of all non-exhausted runs.
+         */
+        private final PriorityQueue<RunCursor<Type>> queue;
+
+        private MergingIterator(List<Iterator<Tuple2<Object, Type>>> runIterators) {
+            this.queue = new PriorityQueue<>(Math.max(1, runIterators.size()),
+                    (cursor1, cursor2) -> {
+                        final int cmp = KEY_COMPARATOR.compare(cursor1.head, cursor2.head);
+                        return cmp != 0 ? cmp : Integer.compare(cursor1.runIndex, cursor2.runIndex);
+                    }
+            );
+            for (int runIndex = 0; runIndex < runIterators.size(); runIndex++) {
+                final Iterator<Tuple2<Object, Type>> runIterator = runIterators.get(runIndex);
+                if (runIterator.hasNext()) {
+                    this.queue.add(new RunCursor<>(runIterator, runIndex));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !this.queue.isEmpty();
+        }
+
+        @Override
+        public Tuple2<Object, Type> next() {
+            final RunCursor<Type> cursor = this.queue.poll();
+            if (cursor == null) throw new NoSuchElementException();
+            final Tuple2<Object, Type> next = cursor.head;
+            if (cursor.iterator.hasNext()) {
+                cursor.head = cursor.iterator.next();
+                this.queue.add(cursor);
+            }
+            return next;
+        }
+    }
+
+    /**
+     * Points to the head of a sorted run.
+     */
+    private static class RunCursor<Type> {
+
+        private final Iterator<Tuple2<Object, Type>> iterator;
+
+        private final int runIndex;
+
+        private Tuple2<Object, Type> head;
+
+        private RunCursor(Iterator<Tuple2<Object, Type>> iterator, int runIndex) {
+            this.iterator = iterator;
+            this.runIndex = runIndex;
+            this.head = iterator.next();
+        }
+    }
+
+}
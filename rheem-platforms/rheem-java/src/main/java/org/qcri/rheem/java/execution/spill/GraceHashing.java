@@ -0,0 +1,327 @@
+package org.qcri.rheem.java.execution.spill;
+
+import org.qcri.rheem.core.platform.CompositeExecutionResource;
+import org.qcri.rheem.java.execution.aggregation.Aggregations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Executes hash-based operations (e.g., joins and groupings) within a {@link MemoryBudget}. As long as the inputs
+ * fit into the budget, the operations are executed in main memory. Otherwise, the inputs are hash-partitioned by
+ * their keys into {@link SpillFile}s and the operations are executed one partition at a time. Partitions that
+ * still exceed the budget are partitioned recursively (up to {@link #MAX_LEVEL} times).
+ * <p>The results of spilling operations are themselves {@link SpillFile}s, which stay available until the
+ * {@link CompositeExecutionResource} of the spilled data quanta is disposed.</p>
+ */
+public class GraceHashing {
+
+    /**
+     * Maximum partitioning level. Partitions that exceed the {@link MemoryBudget} on this level are processed in main
+     * memory nevertheless, because they are most likely dominated by very few keys.
+     */
+    public static final int MAX_LEVEL = 3;
+
+    private static final Logger logger = LoggerFactory.getLogger(GraceHashing.class);
+
+    private final MemoryBudget budget;
+
+    /**
+     * Maintains the {@link #spillDirectory}.
+     */
+    private final CompositeExecutionResource container;
+
+    /**
+     * Hosts all {@link SpillFile}s of this instance; created lazily.
+     */
+    private SpillDirectory spillDirectory;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param budget    the {@link MemoryBudget} of the operations
+     * @param container maintains the spilled data quanta or {@code null} if none
+     */
+    public GraceHashing(MemoryBudget budget, CompositeExecutionResource container) {
+        this.budget = budget;
+        this.container = container;
+    }
+
+    /**
+     * Creates a new instance that spills to the given {@link SpillDirectory}.
+     *
+     * @param budget         the {@link MemoryBudget} of the operations
+     * @param spillDirectory hosts the spilled data quanta
+     */
+    GraceHashing(MemoryBudget budget, SpillDirectory spillDirectory) {
+        this.budget = budget;
+        this.container = null;
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Applies an operation that processes groups of data quanta with the same key.
+     *
+     * @param input        the data quanta
+     * @param keyExtractor extracts the keys from the data quanta
+     * @param operation    the in-memory implementation of the operation
+     * @return the results of the {@code operation}
+     */
+    public <T, R> Collection<R> apply(Stream<T> input,
+                                      Function<T, ?> keyExtractor,
+                                      Function<Stream<T>, ? extends Collection<R>> operation) {
+        final List<SpillFile<T>> partitions;
+        try (InputBuffer<T> buffer = InputBuffer.fill(input, this.budget.getMaxQuanta())) {
+            if (buffer.isComplete()) {
+                return operation.apply(buffer.stream());
+            }
+            logger.info("Input exceeds {}. Spilling to {}.", this.budget, this.getSpillDirectory());
+            partitions = this.partition(buffer.iterator(), keyExtractor, 1);
+        }
+        final SpillFile<R> result = this.getSpillDirectory().createFile();
+        this.apply(partitions, keyExtractor, operation, result, 1);
+        return result.seal();
+    }
+
+    private <T, R> void apply(List<SpillFile<T>> partitions,
+                              Function<T, ?> keyExtractor,
+                              Function<Stream<T>, ? extends Collection<R>> operation,
+                              SpillFile<R> result,
+                              int level) {
+        for (SpillFile<T> partition : partitions) {
+            if (this.budget.isExceededBy(partition.getNumElements()) && level < MAX_LEVEL) {
+                this.apply(this.repartition(partition, keyExtractor, level + 1), keyExtractor, operation, result, level + 1);
+            } else {
+                try (Stream<T> partitionStream = partition.stream()) {
+                    result.addAll(operation.apply(partitionStream));
+                }
+                partition.delete();
+            }
+        }
+    }
+
+    /**
+     * Applies an operation that processes co-groups of data quanta with the same key.
+     *
+     * @param input0        the first data quanta
+     * @param keyExtractor0 extracts the keys from the first data quanta
+     * @param input1        the second data quanta
+     * @param keyExtractor1 extracts the keys from the second data quanta
+     * @param operation     the in-memory implementation of the operation
+     * @return the results of the {@code operation}
+     */
+    public <T0, T1, R> Collection<R> apply(Stream<T0> input0,
+                                           Function<T0, ?> keyExtractor0,
+                                           Stream<T1> input1,
+                                           Function<T1, ?> keyExtractor1,
+                                           BiFunction<Stream<T0>, Stream<T1>, ? extends Collection<R>> operation) {
+        final List<SpillFile<T0>> partitions0;
+        final List<SpillFile<T1>> partitions1;
+        try (InputBuffer<T0> buffer0 = InputBuffer.fill(input0, this.budget.getMaxQuanta());
+             InputBuffer<T1> buffer1 = InputBuffer.fill(
+                     input1, buffer0.isComplete() ? this.budget.getMaxQuanta() - buffer0.getNumBufferedQuanta() : 0L
+             )) {
+            if (buffer0.isComplete() && buffer1.isComplete()) {
+                return operation.apply(buffer0.stream(), buffer1.stream());
+            }
+            logger.info("Inputs exceed {}. Spilling to {}.", this.budget, this.getSpillDirectory());
+            partitions0 = this.partition(buffer0.iterator(), keyExtractor0, 1);
+            partitions1 = this.partition(buffer1.iterator(), keyExtractor1, 1);
+        }
+        final SpillFile<R> result = this.getSpillDirectory().createFile();
+        this.apply(partitions0, keyExtractor0, partitions1, keyExtractor1, operation, result, 1);
+        return result.seal();
+    }
+
+    private <T0, T1, R> void apply(List<SpillFile<T0>> partitions0,
+                                   Function<T0, ?> keyExtractor0,
+                                   List<SpillFile<T1>> partitions1,
+                                   Function<T1, ?> keyExtractor1,
+                                   BiFunction<Stream<T0>, Stream<T1>, ? extends Collection<R>> operation,
+                                   SpillFile<R> result,
+                                   int level) {
+        for (int i = 0; i < partitions0.size(); i++) {
+            final SpillFile<T0> partition0 = partitions0.get(i);
+            final SpillFile<T1> partition1 = partitions1.get(i);
+            final long numElements = partition0.getNumElements() + partition1.getNumElements();
+            if (this.budget.isExceededBy(numElements) && level < MAX_LEVEL) {
+                this.apply(
+                        this.repartition(partition0, keyExtractor0, level + 1), keyExtractor0,
+                        this.repartition(partition1, keyExtractor1, level + 1), keyExtractor1,
+                        operation, result, level + 1
+                );
+            } else {
+                try (Stream<T0> partitionStream0 = partition0.stream();
+                     Stream<T1> partitionStream1 = partition1.stream()) {
+                    result.addAll(operation.apply(partitionStream0, partitionStream1));
+                }
+                partition0.delete();
+                partition1.delete();
+            }
+        }
+    }
+
+    /**
+     * Applies an operation that matches the data quanta of a probe side against an in-memory index of a build side,
+     * such as a hash join. In contrast to the other operations, only the build side must fit into the
+     * {@link MemoryBudget}, and the results are provided lazily. Closing the result {@link Stream} deletes any
+     * spilled data quanta that have not been processed yet.
+     *
+     * @param buildInput        the build side data quanta
+     * @param buildKeyExtractor extracts the keys from the build side data quanta
+     * @param probeInput        the probe side data quanta
+     * @param probeKeyExtractor extracts the keys from the probe side data quanta
+     * @param operation         the in-memory implementation of the operation
+     * @return the results of the {@code operation}
+     */
+    public <B, P, R> Stream<R> join(Stream<B> buildInput,
+                                    Function<B, ?> buildKeyExtractor,
+                                    Stream<P> probeInput,
+                                    Function<P, ?> probeKeyExtractor,
+                                    BiFunction<Stream<B>, Stream<P>, Stream<R>> operation) {
+        final InputBuffer<B> buffer = InputBuffer.fill(buildInput, this.budget.getMaxQuanta());
+        if (buffer.isComplete()) {
+            return operation.apply(buffer.stream(), probeInput);
+        }
+
+        logger.info("Build side exceeds {}. Spilling to {}.", this.budget, this.getSpillDirectory());
+        final List<SpillFile<B>> buildPartitions;
+        final List<SpillFile<P>> probePartitions;
+        try (InputBuffer<B> closedBuffer = buffer; Stream<P> closedProbeInput = probeInput) {
+            buildPartitions = this.partition(closedBuffer.iterator(), buildKeyExtractor, 1);
+            probePartitions = this.partition(closedProbeInput.iterator(), probeKeyExtractor, 1);
+        }
+        return this.join(buildPartitions, buildKeyExtractor, probePartitions, probeKeyExtractor, operation, 1);
+    }
+
+    private <B, P, R> Stream<R> join(List<SpillFile<B>> buildPartitions,
+                                     Function<B, ?> buildKeyExtractor,
+                                     List<SpillFile<P>> probePartitions,
+                                     Function<P, ?> probeKeyExtractor,
+                                     BiFunction<Stream<B>, Stream<P>, Stream<R>> operation,
+                                     int level) {
+        return IntStream.range(0, buildPartitions.size()).boxed().flatMap(i -> {
+            final SpillFile<B> buildPartition = buildPartitions.get(i);
+            final SpillFile<P> probePartition = probePartitions.get(i);
+            if (this.budget.isExceededBy(buildPartition.getNumElements()) && level < MAX_LEVEL) {
+                return this.join(
+                        this.repartition(buildPartition, buildKeyExtractor, level + 1), buildKeyExtractor,
+                        this.repartition(probePartition, probeKeyExtractor, level + 1), probeKeyExtractor,
+                        operation, level + 1
+                );
+            }
+            final Stream<B> buildStream = buildPartition.stream();
+            final Stream<P> probeStream = probePartition.stream();
+            return operation.apply(buildStream, probeStream).onClose(() -> {
+                buildStream.close();
+                probeStream.close();
+                buildPartition.delete();
+                probePartition.delete();
+            });
+        }).onClose(() -> {
+            // Delete the partitions that have not been joined, e.g., because the result is not consumed completely.
+            buildPartitions.forEach(SpillFile::delete);
+            probePartitions.forEach(SpillFile::delete);
+        });
+    }
+
+    /**
+     * Reduces data quanta with the same key. In contrast to {@link #apply(Stream, Function, Function)}, only the
+     * partial reduction results must fit into the {@link MemoryBudget}.
+     *
+     * @param input          the data quanta
+     * @param keyExtractor   extracts the keys from the data quanta
+     * @param keyClass       the {@link Class} of the keys
+     * @param reduceFunction reduces two data quanta with the same key
+     * @return the reduced data quanta
+     */
+    public <T, K> Collection<T> reduce(Stream<T> input,
+                                       Function<T, K> keyExtractor,
+                                       Class<K> keyClass,
+                                       BinaryOperator<T> reduceFunction) {
+        final List<SpillFile<T>> partitions;
+        try (Stream<T> closedInput = input) {
+            final Iterator<T> iterator = closedInput.iterator();
+            final Collection<T> partialResults = Aggregations.reduceByKey(
+                    iterator, keyExtractor, keyClass, reduceFunction, this.budget.getMaxQuanta()
+            );
+            if (!iterator.hasNext()) {
+                return partialResults;
+            }
+            logger.info("Reduction exceeds {}. Spilling to {}.", this.budget, this.getSpillDirectory());
+            partitions = this.partition(concat(partialResults, iterator), keyExtractor, 1);
+        }
+        final SpillFile<T> result = this.getSpillDirectory().createFile();
+        this.reduce(partitions, keyExtractor, keyClass, reduceFunction, result, 1);
+        return result.seal();
+    }
+
+    private <T, K> void reduce(List<SpillFile<T>> partitions,
+                               Function<T, K> keyExtractor,
+                               Class<K> keyClass,
+                               BinaryOperator<T> reduceFunction,
+                               SpillFile<T> result,
+                               int level) {
+        for (SpillFile<T> partition : partitions) {
+            List<SpillFile<T>> subpartitions = null;
+            try (Stream<T> partitionStream = partition.stream()) {
+                final Iterator<T> iterator = partitionStream.iterator();
+                final Collection<T> partialResults = Aggregations.reduceByKey(
+                        iterator, keyExtractor, keyClass, reduceFunction,
+                        level < MAX_LEVEL ? this.budget.getMaxQuanta() : Long.MAX_VALUE
+                );
+                if (iterator.hasNext()) {
+                    subpartitions = this.partition(concat(partialResults, iterator), keyExtractor, level + 1);
+                } else {
+                    result.addAll(partialResults);
+                }
+            }
+            partition.delete();
+            if (subpartitions != null) {
+                this.reduce(subpartitions, keyExtractor, keyClass, reduceFunction, result, level + 1);
+            }
+        }
+    }
+
+    private <T> List<SpillFile<T>> partition(Iterator<T> dataQuanta, Function<T, ?> keyExtractor, int level) {
+        return this.getSpillDirectory().partition(dataQuanta, keyExtractor, this.budget.getNumPartitions(), level);
+    }
+
+    private <T> List<SpillFile<T>> repartition(SpillFile<T> partition, Function<T, ?> keyExtractor, int level) {
+        final List<SpillFile<T>> subpartitions;
+        try (Stream<T> partitionStream = partition.stream()) {
+            subpartitions = this.partition(partitionStream.iterator(), keyExtractor, level);
+        }
+        partition.delete();
+        return subpartitions;
+    }
+
+    /**
+     * Concatenates the given partial results and remaining data quanta.
+     */
+    private static <T> Iterator<T> concat(Collection<T> partialResults, Iterator<T> remainder) {
+        return Stream.concat(
+                partialResults.stream(),
+                StreamSupport.stream(Spliterators.spliteratorUnknownSize(remainder, Spliterator.ORDERED), false)
+        ).iterator();
+    }
+
+    private SpillDirectory getSpillDirectory() {
+        if (this.spillDirectory == null) {
+            this.spillDirectory = new SpillDirectory(this.container);
+        }
+        return this.spillDirectory;
+    }
+
+}
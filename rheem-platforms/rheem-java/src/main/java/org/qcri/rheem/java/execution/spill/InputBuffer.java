@@ -0,0 +1,133 @@
+package org.qcri.rheem.java.execution.spill;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads a {@link Stream} into main memory up to a given number of data quanta, so as to find out whether it fits
+ * into a {@link MemoryBudget} before committing to an in-memory or spilling execution strategy.
+ *
+ * @param <T> type of the data quanta
+ */
+public class InputBuffer<T> implements AutoCloseable {
+
+    private final List<T> buffer;
+
+    /**
+     * Provides the data quanta that have not been buffered; {@code null} if the input is {@link #isComplete()}.
+     */
+    private final Stream<T> remainder;
+
+    /**
+     * The original {@link Stream}, which is {@link Stream#close() closed} along with this instance.
+     */
+    private final Stream<T> input;
+
+    /**
+     * Buffers data quanta of the given {@link Stream}. Whenever the given {@link Stream} can be split into parts whose
+     * size is known to fit into the buffer, these parts are transferred in bulk, otherwise data quantum by data
+     * quantum.
+     *
+     * @param stream    provides the data quanta
+     * @param maxQuanta the maximum number of data quanta to be buffered
+     * @return an instance containing the buffered data quanta and the remainder of the {@code stream}
+     */
+    public static <T> InputBuffer<T> fill(Stream<T> stream, long maxQuanta) {
+        Spliterator<T> current = stream.spliterator();
+        final long initialCapacity = Math.min(maxQuanta, current.getExactSizeIfKnown() + 1L);
+        final List<T> buffer = new ArrayList<>((int) Math.max(16L, Math.min(initialCapacity, 1 << 20)));
+        // Splits of the stream that follow the current one.
+        final Deque<Spliterator<T>> pending = new ArrayDeque<>();
+        // Buffer one data quantum more than allowed to find out whether the budget is exceeded.
+        while (current != null && buffer.size() <= maxQuanta) {
+            final long capacity = maxQuanta - buffer.size();
+            if (current.hasCharacteristics(Spliterator.SIZED) && current.estimateSize() <= capacity) {
+                current.forEachRemaining(buffer::add);
+                current = pending.poll();
+                continue;
+            }
+            // Split off parts that might fit. For ORDERED spliterators, splits are prefixes, so the order is retained.
+            final Spliterator<T> prefix = current.estimateSize() > capacity ? current.trySplit() : null;
+            if (prefix != null) {
+                pending.push(current);
+                current = prefix;
+            } else if (!current.tryAdvance(buffer::add)) {
+                current = pending.poll();
+            }
+        }
+        if (current == null) {
+            return new InputBuffer<>(buffer, null, stream);
+        }
+        Stream<T> remainder = StreamSupport.stream(current, false);
+        for (Spliterator<T> split : pending) {
+            remainder = Stream.concat(remainder, StreamSupport.stream(split, false));
+        }
+        return new InputBuffer<>(buffer, remainder, stream);
+    }
+
+    private InputBuffer(List<T> buffer, Stream<T> remainder, Stream<T> input) {
+        this.buffer = buffer;
+        this.remainder = remainder;
+        this.input = input;
+    }
+
+    /**
+     * Tells whether all data quanta have been buffered.
+     *
+     * @return whether the input fitted into the buffer
+     */
+    public boolean isComplete() {
+        return this.remainder == null;
+    }
+
+    /**
+     * Provides all data quanta of the original {@link Stream}. Can be called only once. Closing the returned
+     * {@link Stream} also closes the original one.
+     *
+     * @return a {@link Stream} of the buffered data quanta followed by the remaining data quanta
+     */
+    public Stream<T> stream() {
+        final Stream<T> stream;
+        if (this.isComplete()) {
+            stream = this.input.isParallel() ? this.buffer.parallelStream() : this.buffer.stream();
+        } else {
+            stream = Stream.concat(this.buffer.stream(), this.remainder);
+        }
+        return stream.onClose(this.input::close);
+    }
+
+    /**
+     * Provides all data quanta of the original {@link Stream}. Can be called only once.
+     *
+     * @return an {@link Iterator} over the buffered data quanta followed by the remaining data quanta
+     */
+    public Iterator<T> iterator() {
+        if (this.isComplete()) {
+            return this.buffer.iterator();
+        }
+        return Spliterators.iterator(Stream.concat(this.buffer.stream(), this.remainder).spliterator());
+    }
+
+    /**
+     * @return the number of buffered data quanta
+     */
+    public int getNumBufferedQuanta() {
+        return this.buffer.size();
+    }
+
+    /**
+     * Closes the original {@link Stream}, e.g., once all its data quanta have been consumed via {@link #iterator()}.
+     */
+    @Override
+    public void close() {
+        this.input.close();
+    }
+
+}
@@ -0,0 +1,87 @@
+package org.qcri.rheem.java.execution.spill;
+
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+
+/**
+ * Describes how many data quanta a single Java operator may keep in main memory before it spills to disk.
+ */
+public class MemoryBudget {
+
+    /**
+     * Maximum number of data quanta to be kept in main memory.
+     */
+    private final long maxQuanta;
+
+    /**
+     * Number of partitions that spilled data quanta are split into.
+     */
+    private final int numPartitions;
+
+    /**
+     * Creates a new instance as specified in the given {@link Configuration}.
+     *
+     * @param configuration provides the {@code rheem.java.spill.*} properties
+     * @return the new instance
+     */
+    public static MemoryBudget create(Configuration configuration) {
+        long budget = configuration.getLongProperty("rheem.java.spill.budget", 0L);
+        if (budget <= 0) {
+            final double heapShare = configuration.getDoubleProperty("rheem.java.spill.budget.heap-share", 0.25d);
+            budget = Math.round(Runtime.getRuntime().maxMemory() * heapShare);
+        }
+        final long quantumSize = Math.max(1L, configuration.getLongProperty("rheem.java.spill.quantum-size", 256L));
+        final int numPartitions = (int) configuration.getLongProperty("rheem.java.spill.partitions", 64L);
+        return new MemoryBudget(budget / quantumSize, numPartitions);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maxQuanta     maximum number of data quanta to be kept in main memory
+     * @param numPartitions number of partitions that spilled data quanta are split into
+     */
+    public MemoryBudget(long maxQuanta, int numPartitions) {
+        this.maxQuanta = Math.max(1L, maxQuanta);
+        this.numPartitions = Math.max(2, numPartitions);
+    }
+
+    /**
+     * Tells whether the given number of data quanta exceeds this instance.
+     *
+     * @param numQuanta the number of data quanta
+     * @return whether the data quanta do not fit into main memory
+     */
+    public boolean isExceededBy(long numQuanta) {
+        return numQuanta > this.maxQuanta;
+    }
+
+    /**
+     * Tells whether the given {@link CardinalityEstimate}s might exceed this instance altogether.
+     *
+     * @param cardinalityEstimates the {@link CardinalityEstimate}s; {@code null}s are regarded as unknown
+     * @return whether the upper estimates exceed this instance or if any {@link CardinalityEstimate} is unknown
+     */
+    public boolean mightBeExceededBy(CardinalityEstimate... cardinalityEstimates) {
+        long sum = 0L;
+        for (CardinalityEstimate cardinalityEstimate : cardinalityEstimates) {
+            if (cardinalityEstimate == null) return true;
+            sum += cardinalityEstimate.getUpperEstimate();
+            if (sum < 0L) return true;
+        }
+        return this.isExceededBy(sum);
+    }
+
+    public long getMaxQuanta() {
+        return this.maxQuanta;
+    }
+
+    public int getNumPartitions() {
+        return this.numPartitions;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[%d quanta, %d partitions]", this.getClass().getSimpleName(), this.maxQuanta, this.numPartitions);
+    }
+}
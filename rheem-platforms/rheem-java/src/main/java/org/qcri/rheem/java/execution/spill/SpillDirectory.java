@@ -0,0 +1,125 @@
+package org.qcri.rheem.java.execution.spill;
+
+import org.qcri.rheem.core.api.exception.RheemException;
+import org.qcri.rheem.core.platform.CompositeExecutionResource;
+import org.qcri.rheem.core.platform.ExecutionResourceTemplate;
+import org.qcri.rheem.core.util.fs.LocalFileSystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Temporary local directory that hosts {@link SpillFile}s. It is deleted along with all its contents when this
+ * instance is disposed.
+ */
+public class SpillDirectory extends ExecutionResourceTemplate {
+
+    private final File directory;
+
+    private final List<SpillFile<?>> spillFiles = new ArrayList<>();
+
+    /**
+     * Creates a new instance in the directory provided by {@link LocalFileSystem#findTempDir()}.
+     *
+     * @param container that maintains this instance or {@code null} if none
+     */
+    public SpillDirectory(CompositeExecutionResource container) {
+        super(container);
+        final File tempDir = LocalFileSystem.findTempDir();
+        if (tempDir == null) {
+            throw new RheemException("Could not find a local directory to spill to.");
+        }
+        try {
+            this.directory = Files.createTempDirectory(tempDir.toPath(), "rheem-spill").toFile();
+        } catch (IOException e) {
+            throw new RheemException(String.format("Could not create a spill directory in %s.", tempDir), e);
+        }
+    }
+
+    /**
+     * Creates a new, empty {@link SpillFile} in this instance.
+     *
+     * @return the new {@link SpillFile}
+     */
+    public synchronized <T> SpillFile<T> createFile() {
+        final SpillFile<T> spillFile = new SpillFile<>(new File(this.directory, "spill-" + this.spillFiles.size()));
+        this.spillFiles.add(spillFile);
+        return spillFile;
+    }
+
+    /**
+     * Hash-partitions the given data quanta by their keys into new {@link SpillFile}s.
+     *
+     * @param dataQuanta    the data quanta
+     * @param keyExtractor  extracts the keys from the data quanta
+     * @param numPartitions the number of partitions
+     * @param level         the partitioning level; data quanta that share a partition on some level are spread
+     *                      over different partitions on the next level
+     * @return the sealed {@link SpillFile}s, one per partition
+     */
+    public <T> List<SpillFile<T>> partition(Iterator<T> dataQuanta,
+                                            Function<T, ?> keyExtractor,
+                                            int numPartitions,
+                                            int level) {
+        List<SpillFile<T>> partitions = new ArrayList<>(numPartitions);
+        for (int i = 0; i < numPartitions; i++) {
+            partitions.add(this.createFile());
+        }
+        while (dataQuanta.hasNext()) {
+            final T dataQuantum = dataQuanta.next();
+            partitions.get(getPartition(keyExtractor.apply(dataQuantum), numPartitions, level)).add(dataQuantum);
+        }
+        partitions.forEach(SpillFile::seal);
+        return partitions;
+    }
+
+    /**
+     * Determines the partition for a key.
+     *
+     * @param key           the key
+     * @param numPartitions the number of partitions
+     * @param level         the partitioning level
+     * @return the partition index
+     */
+    static int getPartition(Object key, int numPartitions, int level) {
+        // Scramble the hash code with a level-specific seed (cf. MurmurHash3's finalizer).
+        int hash = Objects.hashCode(key) + level * 0x9E3779B9;
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, numPartitions);
+    }
+
+    /**
+     * @return the local directory that hosts the {@link SpillFile}s
+     */
+    File getDirectory() {
+        return this.directory;
+    }
+
+    @Override
+    protected void doDispose() throws Throwable {
+        synchronized (this) {
+            for (SpillFile<?> spillFile : this.spillFiles) {
+                spillFile.delete();
+            }
+            this.spillFiles.clear();
+        }
+        if (!this.directory.delete()) {
+            throw new RheemException(String.format("Could not delete %s.", this.directory));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[%s]", this.getClass().getSimpleName(), this.directory);
+    }
+}
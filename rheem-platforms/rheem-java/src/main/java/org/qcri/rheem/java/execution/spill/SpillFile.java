@@ -0,0 +1,188 @@
+package org.qcri.rheem.java.execution.spill;
+
+import org.apache.commons.io.IOUtils;
+import org.qcri.rheem.core.api.exception.RheemException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.AbstractCollection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Sequence of data quanta in a local file. Data quanta are first {@link #add(Object)}ed and, once the instance
+ * is {@link #seal()}ed, it can be read any number of times like a regular {@link java.util.Collection}.
+ *
+ * @param <T> type of the data quanta
+ */
+public class SpillFile<T> extends AbstractCollection<T> {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final File file;
+
+    /**
+     * Writes to the {@link #file}; {@code null} once this instance is sealed.
+     */
+    private ObjectOutputStream out;
+
+    private SpillSerializer serializer;
+
+    private long numElements = 0L;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param file to which the data quanta should be written; will be overwritten
+     */
+    SpillFile(File file) {
+        this.file = file;
+        try {
+            this.out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE));
+            this.serializer = new SpillSerializer(this.out);
+        } catch (IOException e) {
+            throw new RheemException(String.format("Could not create spill file %s.", file), e);
+        }
+    }
+
+    @Override
+    public boolean add(T dataQuantum) {
+        if (this.out == null) {
+            throw new IllegalStateException(String.format("%s is sealed already.", this));
+        }
+        try {
+            this.serializer.write(dataQuantum);
+        } catch (IOException e) {
+            throw new RheemException(String.format("Could not write to %s.", this), e);
+        }
+        this.numElements++;
+        return true;
+    }
+
+    /**
+     * Finishes writing this instance, so that it can be read.
+     *
+     * @return this instance
+     */
+    public SpillFile<T> seal() {
+        if (this.out != null) {
+            try {
+                this.out.close();
+            } catch (IOException e) {
+                throw new RheemException(String.format("Could not write to %s.", this), e);
+            } finally {
+                this.out = null;
+                this.serializer = null;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Removes the underlying file. Afterwards, this instance must not be used anymore.
+     */
+    public void delete() {
+        this.seal();
+        if (this.file.exists() && !this.file.delete()) {
+            throw new RheemException(String.format("Could not delete %s.", this.file));
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        if (this.out != null) {
+            throw new IllegalStateException(String.format("%s is not sealed yet.", this));
+        }
+        return new SpillFileIterator();
+    }
+
+    /**
+     * Provides the data quanta of this instance. Closing the {@link Stream} closes the underlying file, even if
+     * the {@link Stream} has not been consumed completely.
+     *
+     * @return a {@link Stream} of the data quanta
+     */
+    @Override
+    public Stream<T> stream() {
+        final SpillFileIterator iterator = (SpillFileIterator) this.iterator();
+        return StreamSupport.stream(Spliterators.spliterator(iterator, this.numElements, Spliterator.ORDERED), false)
+                .onClose(iterator::close);
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(this.numElements, Integer.MAX_VALUE);
+    }
+
+    public long getNumElements() {
+        return this.numElements;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[%s, %d elements]", this.getClass().getSimpleName(), this.file, this.numElements);
+    }
+
+    /**
+     * Reads the data quanta of a sealed {@link SpillFile} and closes the underlying file once it is exhausted or
+     * {@link #close()}d.
+     */
+    private class SpillFileIterator implements Iterator<T>, AutoCloseable {
+
+        private ObjectInputStream in;
+
+        private long numRemainingElements = SpillFile.this.numElements;
+
+        private SpillFileIterator() {
+            if (this.numRemainingElements == 0) {
+                this.in = null;
+                return;
+            }
+            try {
+                this.in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(SpillFile.this.file), BUFFER_SIZE));
+            } catch (IOException e) {
+                throw new RheemException(String.format("Could not read %s.", SpillFile.this), e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.numRemainingElements > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!this.hasNext()) throw new NoSuchElementException();
+            try {
+                final T dataQuantum = (T) SpillSerializer.read(this.in);
+                if (--this.numRemainingElements == 0) {
+                    this.close();
+                }
+                return dataQuantum;
+            } catch (IOException | ClassNotFoundException e) {
+                throw new RheemException(String.format("Could not read %s.", SpillFile.this), e);
+            }
+        }
+
+        @Override
+        public void close() {
+            this.numRemainingElements = 0;
+            if (this.in != null) {
+                IOUtils.closeQuietly(this.in);
+                this.in = null;
+            }
+        }
+    }
+
+}
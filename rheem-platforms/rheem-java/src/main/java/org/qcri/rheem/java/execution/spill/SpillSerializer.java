@@ -0,0 +1,136 @@
+package org.qcri.rheem.java.execution.spill;
+
+import org.qcri.rheem.basic.data.Record;
+import org.qcri.rheem.basic.data.Tuple2;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Compact serialization of data quanta for {@link SpillFile}s. Common types (boxed primitives, {@link String}s,
+ * {@link Tuple2}s, {@link Record}s, and {@link List}s thereof) are written with a one-byte tag and without any class
+ * descriptors. Any other data quantum falls back to Java serialization.
+ */
+class SpillSerializer {
+
+    private static final byte NULL = 0, INTEGER = 1, LONG = 2, DOUBLE = 3, BOOLEAN = 4, STRING = 5,
+            TUPLE2 = 6, RECORD = 7, LIST = 8, OBJECT = 9;
+
+    /**
+     * {@link String}s longer than this cannot be safely written with {@link ObjectOutputStream#writeUTF(String)}.
+     */
+    private static final int MAX_UTF_LENGTH = 65535 / 3;
+
+    /**
+     * Number of {@link #OBJECT}s after which the {@link ObjectOutputStream} is reset to release its back references.
+     */
+    private static final int RESET_INTERVAL = 1024;
+
+    private final ObjectOutputStream out;
+
+    private int numObjectsSinceReset = 0;
+
+    SpillSerializer(ObjectOutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes the given data quantum.
+     *
+     * @param dataQuantum the data quantum
+     */
+    void write(Object dataQuantum) throws IOException {
+        if (dataQuantum == null) {
+            this.out.writeByte(NULL);
+        } else if (dataQuantum instanceof Integer) {
+            this.out.writeByte(INTEGER);
+            this.out.writeInt((Integer) dataQuantum);
+        } else if (dataQuantum instanceof Long) {
+            this.out.writeByte(LONG);
+            this.out.writeLong((Long) dataQuantum);
+        } else if (dataQuantum instanceof Double) {
+            this.out.writeByte(DOUBLE);
+            this.out.writeDouble((Double) dataQuantum);
+        } else if (dataQuantum instanceof Boolean) {
+            this.out.writeByte(BOOLEAN);
+            this.out.writeBoolean((Boolean) dataQuantum);
+        } else if (dataQuantum instanceof String && ((String) dataQuantum).length() <= MAX_UTF_LENGTH) {
+            this.out.writeByte(STRING);
+            this.out.writeUTF((String) dataQuantum);
+        } else if (dataQuantum.getClass() == Tuple2.class) {
+            this.out.writeByte(TUPLE2);
+            this.write(((Tuple2<?, ?>) dataQuantum).field0);
+            this.write(((Tuple2<?, ?>) dataQuantum).field1);
+        } else if (dataQuantum.getClass() == Record.class) {
+            final Record record = (Record) dataQuantum;
+            this.out.writeByte(RECORD);
+            this.out.writeInt(record.size());
+            for (int i = 0; i < record.size(); i++) {
+                this.write(record.getField(i));
+            }
+        } else if (dataQuantum instanceof List) {
+            final Collection<?> list = (Collection<?>) dataQuantum;
+            this.out.writeByte(LIST);
+            this.out.writeInt(list.size());
+            for (Object element : list) {
+                this.write(element);
+            }
+        } else {
+            this.out.writeByte(OBJECT);
+            this.out.writeObject(dataQuantum);
+            if (++this.numObjectsSinceReset >= RESET_INTERVAL) {
+                this.out.reset();
+                this.numObjectsSinceReset = 0;
+            }
+        }
+    }
+
+    /**
+     * Reads a data quantum as written by {@link #write(Object)}.
+     *
+     * @param in from which the data quantum should be read
+     * @return the data quantum
+     */
+    static Object read(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        final byte tag = in.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case INTEGER:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case DOUBLE:
+                return in.readDouble();
+            case BOOLEAN:
+                return in.readBoolean();
+            case STRING:
+                return in.readUTF();
+            case TUPLE2:
+                final Object field0 = read(in);
+                return new Tuple2<>(field0, read(in));
+            case RECORD:
+                final Object[] values = new Object[in.readInt()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = read(in);
+                }
+                return new Record(values);
+            case LIST:
+                final int size = in.readInt();
+                final List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(read(in));
+                }
+                return list;
+            case OBJECT:
+                return in.readObject();
+            default:
+                throw new IOException(String.format("Unknown tag %d.", tag));
+        }
+    }
+
+}
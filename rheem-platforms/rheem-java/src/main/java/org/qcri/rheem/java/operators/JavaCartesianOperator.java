@@ -127,6 +127,11 @@ public class JavaCartesianOperator<InputType0, InputType1>
         return new Tuple<>(executionLineageNodes, producedChannelInstances);
     }
 
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
     @Override
     public Collection<String> getLoadProfileEstimatorConfigurationKeys() {
         return Arrays.asList("rheem.java.cartesian.load.indexing", "rheem.java.cartesian.load.probing");
@@ -18,6 +18,8 @@ import org.qcri.rheem.java.channels.CollectionChannel;
 import org.qcri.rheem.java.channels.JavaChannelInstance;
 import org.qcri.rheem.java.channels.StreamChannel;
 import org.qcri.rheem.java.execution.JavaExecutor;
+import org.qcri.rheem.java.execution.spill.GraceHashing;
+import org.qcri.rheem.java.execution.spill.MemoryBudget;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -28,7 +30,9 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Java implementation of the {@link CoGroupOperator}.
@@ -69,11 +73,53 @@ public class JavaCoGroupOperator<InputType0, InputType1, KeyType>
         final Function<InputType0, KeyType> keyExtractor0 = javaExecutor.getCompiler().compile(this.keyDescriptor0);
         final Function<InputType1, KeyType> keyExtractor1 = javaExecutor.getCompiler().compile(this.keyDescriptor1);
 
-        // Group input 0.
         final CardinalityEstimate cardinalityEstimate0 = operatorContext.getInputCardinality(0);
-        int expectedNumElements0 = (int) cardinalityEstimate0.getGeometricMeanEstimate();
+        final CardinalityEstimate cardinalityEstimate1 = operatorContext.getInputCardinality(1);
+        final MemoryBudget memoryBudget = MemoryBudget.create(javaExecutor.getConfiguration());
+        final int expectedNumElements0 =
+                (int) Math.min(cardinalityEstimate0.getGeometricMeanEstimate(), memoryBudget.getMaxQuanta());
+        final int expectedNumElements1 =
+                (int) Math.min(cardinalityEstimate1.getGeometricMeanEstimate(), memoryBudget.getMaxQuanta());
+        final BiFunction<Stream<InputType0>, Stream<InputType1>, Collection<Tuple2<Iterable<InputType0>, Iterable<InputType1>>>>
+                inMemoryCoGroup = (stream0, stream1) -> coGroup(
+                        stream0, keyExtractor0, expectedNumElements0, stream1, keyExtractor1, expectedNumElements1
+                );
+
+        final Stream<InputType0> stream0 = ((JavaChannelInstance) inputs[0]).provideStream();
+        final Stream<InputType1> stream1 = ((JavaChannelInstance) inputs[1]).provideStream();
+        final Collection<Tuple2<Iterable<InputType0>, Iterable<InputType1>>> coGroups =
+                memoryBudget.mightBeExceededBy(cardinalityEstimate0, cardinalityEstimate1) ?
+                        new GraceHashing(memoryBudget, javaExecutor).apply(
+                                stream0, keyExtractor0, stream1, keyExtractor1, inMemoryCoGroup
+                        ) :
+                        inMemoryCoGroup.apply(stream0, stream1);
+        ((CollectionChannel.Instance) outputs[0]).accept(coGroups);
+
+        return ExecutionOperator.modelEagerExecution(inputs, outputs, operatorContext);
+    }
+
+    /**
+     * Co-groups the given data quanta in main memory.
+     *
+     * @param stream0              the first data quanta
+     * @param keyExtractor0        extracts the keys from the first data quanta
+     * @param expectedNumElements0 the expected number of first data quanta
+     * @param stream1              the second data quanta
+     * @param keyExtractor1        extracts the keys from the second data quanta
+     * @param expectedNumElements1 the expected number of second data quanta
+     * @return the co-groups
+     */
+    private static <InputType0, InputType1, KeyType> Collection<Tuple2<Iterable<InputType0>, Iterable<InputType1>>> coGroup(
+            Stream<InputType0> stream0,
+            Function<InputType0, KeyType> keyExtractor0,
+            int expectedNumElements0,
+            Stream<InputType1> stream1,
+            Function<InputType1, KeyType> keyExtractor1,
+            int expectedNumElements1) {
+
+        // Group input 0.
         Map<KeyType, Collection<InputType0>> groups0 = new HashMap<>(expectedNumElements0);
-        ((JavaChannelInstance) inputs[0]).<InputType0>provideStream().forEach(dataQuantum0 ->
+        stream0.forEach(dataQuantum0 ->
                 groups0.compute(keyExtractor0.apply(dataQuantum0),
                         (key, value) -> {
                             value = value == null ? new LinkedList<>() : value;
@@ -84,10 +130,8 @@ public class JavaCoGroupOperator<InputType0, InputType1, KeyType>
         );
 
         // Group input 1.
-        final CardinalityEstimate cardinalityEstimate1 = operatorContext.getInputCardinality(1);
-        int expectedNumElements1 = (int) cardinalityEstimate1.getGeometricMeanEstimate();
         Map<KeyType, Collection<InputType1>> groups1 = new HashMap<>(expectedNumElements1);
-        ((JavaChannelInstance) inputs[1]).<InputType1>provideStream().forEach(dataQuantum1 ->
+        stream1.forEach(dataQuantum1 ->
                 groups1.compute(keyExtractor1.apply(dataQuantum1),
                         (key, value) -> {
                             value = value == null ? new LinkedList<>() : value;
@@ -99,7 +143,7 @@ public class JavaCoGroupOperator<InputType0, InputType1, KeyType>
 
         // Create the co-groups.
         Collection<Tuple2<Iterable<InputType0>, Iterable<InputType1>>> coGroups =
-                new ArrayList<>(expectedNumElements0 + expectedNumElements1);
+                new ArrayList<>(groups0.size() + groups1.size());
         for (Map.Entry<KeyType, Collection<InputType0>> entry : groups0.entrySet()) {
             Collection<InputType0> group0 = entry.getValue();
             Collection<InputType1> group1 = groups1.remove(entry.getKey());
@@ -111,9 +155,7 @@ public class JavaCoGroupOperator<InputType0, InputType1, KeyType>
         for (Collection<InputType1> group1 : groups1.values()) {
             coGroups.add(new Tuple2<>(Collections.emptyList(), group1));
         }
-        ((CollectionChannel.Instance) outputs[0]).accept(coGroups);
-
-        return ExecutionOperator.modelEagerExecution(inputs, outputs, operatorContext);
+        return coGroups;
     }
 
     @Override
@@ -65,6 +65,11 @@ public class JavaCollectOperator<Type> extends UnaryToUnaryOperator<Type, Type>
                 inputCards -> inputCards[0]));
     }
 
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
     @Override
     public String getLoadProfileEstimatorConfigurationKey() {
         return "rheem.java.collect.load";
@@ -49,6 +49,11 @@ public class JavaCollectionSource<T> extends CollectionSource<T> implements Java
     }
 
 
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
     @Override
     public String getLoadProfileEstimatorConfigurationKey() {
         return "rheem.java.collectionsource.load";
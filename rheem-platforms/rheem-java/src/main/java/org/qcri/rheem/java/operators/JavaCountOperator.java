@@ -12,6 +12,7 @@ import org.qcri.rheem.java.channels.CollectionChannel;
 import org.qcri.rheem.java.channels.JavaChannelInstance;
 import org.qcri.rheem.java.channels.StreamChannel;
 import org.qcri.rheem.java.execution.JavaExecutor;
+import org.qcri.rheem.java.execution.aggregation.Aggregations;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -58,13 +59,18 @@ public class JavaCountOperator<Type>
         if (input instanceof CollectionChannel.Instance) {
             count = ((CollectionChannel.Instance) input).provideCollection().size();
         } else {
-            count = input.provideStream().count();
+            count = Aggregations.count(input.provideStream());
         }
         ((CollectionChannel.Instance) outputs[0]).accept(Collections.singleton(count));
 
         return ExecutionOperator.modelEagerExecution(inputs, outputs, operatorContext);
     }
 
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
     @Override
     public String getLoadProfileEstimatorConfigurationKey() {
         return "rheem.java.count.load";
@@ -1,7 +1,9 @@
 package org.qcri.rheem.java.operators;
 
+import org.qcri.rheem.core.api.Configuration;
 import org.qcri.rheem.core.api.exception.RheemException;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimator;
 import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
 import org.qcri.rheem.core.platform.ChannelInstance;
 import org.qcri.rheem.core.platform.lineage.ExecutionLineageNode;
@@ -10,9 +12,11 @@ import org.qcri.rheem.java.channels.CollectionChannel;
 import org.qcri.rheem.java.channels.JavaChannelInstance;
 import org.qcri.rheem.java.channels.StreamChannel;
 import org.qcri.rheem.java.execution.JavaExecutor;
+import org.qcri.rheem.java.optimizer.ParallelLoadProfileEstimator;
 import org.qcri.rheem.java.platform.JavaPlatform;
 
 import java.util.Collection;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 /**
@@ -45,6 +49,31 @@ public interface JavaExecutionOperator extends ExecutionOperator {
             JavaExecutor javaExecutor,
             OptimizationContext.OperatorContext operatorContext);
 
+    /**
+     * Tells whether this instance may be evaluated as part of a parallel
+     * {@link org.qcri.rheem.core.plan.executionplan.ExecutionStage}, i.e., whether it is thread-safe when being
+     * fed with parallel {@link Stream}s and whether it produces correct results then.
+     *
+     * @return whether this instance supports parallel execution
+     */
+    default boolean isParallelizable() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>Only {@link #isParallelizable() parallelizable} instances are estimated to benefit from parallel execution,
+     * as the {@link JavaExecutor} executes any {@link org.qcri.rheem.core.plan.executionplan.ExecutionStage}
+     * containing some other instance sequentially. Sinks are excluded, too, as they consume their input in
+     * encounter order.</p>
+     */
+    @Override
+    default Optional<LoadProfileEstimator> createLoadProfileEstimator(Configuration configuration) {
+        final Optional<LoadProfileEstimator> optEstimator = ExecutionOperator.super.createLoadProfileEstimator(configuration);
+        if (!this.isParallelizable() || this.isSink()) return optEstimator;
+        return optEstimator.map(estimator -> ParallelLoadProfileEstimator.wrap(estimator, configuration));
+    }
+
     /**
      * Utility method to forward a {@link JavaChannelInstance} to another.
      *
@@ -86,6 +86,11 @@ public class JavaFlatMapOperator<InputType, OutputType>
     }
 
 
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
     @Override
     public String getLoadProfileEstimatorConfigurationKey() {
         return "rheem.java.flatmap.load";
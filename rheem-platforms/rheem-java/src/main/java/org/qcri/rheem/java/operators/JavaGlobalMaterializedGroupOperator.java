@@ -71,6 +71,11 @@ public class JavaGlobalMaterializedGroupOperator<Type>
     }
 
 
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
     @Override
     public String getLoadProfileEstimatorConfigurationKey() {
         return "rheem.java.globalgroup.load";
@@ -16,6 +16,7 @@ import org.qcri.rheem.java.channels.CollectionChannel;
 import org.qcri.rheem.java.channels.JavaChannelInstance;
 import org.qcri.rheem.java.channels.StreamChannel;
 import org.qcri.rheem.java.execution.JavaExecutor;
+import org.qcri.rheem.java.execution.aggregation.Aggregations;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -64,7 +65,9 @@ public class JavaGlobalReduceOperator<Type>
         final BinaryOperator<Type> reduceFunction = javaExecutor.getCompiler().compile(this.reduceDescriptor);
         JavaExecutor.openFunction(this, reduceFunction, inputs, operatorContext);
 
-        final Optional<Type> reduction = ((JavaChannelInstance) inputs[0]).<Type>provideStream().reduce(reduceFunction);
+        final Optional<Type> reduction = Aggregations.reduce(
+                ((JavaChannelInstance) inputs[0]).<Type>provideStream(), reduceFunction
+        );
         ((CollectionChannel.Instance) outputs[0]).accept(reduction.isPresent() ?
                 Collections.singleton(reduction.get()) :
                 Collections.emptyList());
@@ -72,6 +75,11 @@ public class JavaGlobalReduceOperator<Type>
         return ExecutionOperator.modelEagerExecution(inputs, outputs, operatorContext);
     }
 
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
     @Override
     public String getLoadProfileEstimatorConfigurationKey() {
         return "rheem.java.globalreduce.load";
@@ -18,17 +18,21 @@ import org.qcri.rheem.java.channels.CollectionChannel;
 import org.qcri.rheem.java.channels.JavaChannelInstance;
 import org.qcri.rheem.java.channels.StreamChannel;
 import org.qcri.rheem.java.execution.JavaExecutor;
+import org.qcri.rheem.java.execution.join.JoinHashTable;
+import org.qcri.rheem.java.execution.join.JoinProbeSpliterator;
+import org.qcri.rheem.java.execution.spill.GraceHashing;
+import org.qcri.rheem.java.execution.spill.MemoryBudget;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Java implementation of the {@link JoinOperator}.
@@ -89,22 +93,23 @@ public class JavaJoinOperator<InputType0, InputType1, KeyType>
                 cardinalityEstimate1 != null &&
                 cardinalityEstimate0.getGeometricMeanEstimate() <= cardinalityEstimate1.getGeometricMeanEstimate();
 
+        final Class<KeyType> keyClass = this.getJoinKeyClass();
+        final MemoryBudget memoryBudget = MemoryBudget.create(javaExecutor.getConfiguration());
         if (isMaterialize0) {
             final int expectedNumElements =
                     (int) cardinalityEstimate0.getGeometricMeanEstimate();
-            Map<KeyType, Collection<InputType0>> probeTable = new HashMap<>(expectedNumElements);
-            ((JavaChannelInstance) inputs[0]).<InputType0>provideStream().forEach(dataQuantum0 ->
-                    probeTable.compute(keyExtractor0.apply(dataQuantum0),
-                            (key, value) -> {
-                                value = value == null ? new LinkedList<>() : value;
-                                value.add(dataQuantum0);
-                                return value;
-                            }
-                    )
-            );
-            joinStream = ((JavaChannelInstance) inputs[1]).<InputType1>provideStream().flatMap(dataQuantum1 ->
-                    probeTable.getOrDefault(keyExtractor1.apply(dataQuantum1), Collections.emptyList()).stream()
-                            .map(dataQuantum0 -> new Tuple2<>(dataQuantum0, dataQuantum1)));
+            final BiFunction<Stream<InputType0>, Stream<InputType1>, Stream<Tuple2<InputType0, InputType1>>> hashJoin =
+                    (buildStream, probeStream) -> probe(
+                            probeStream, buildHashTable(buildStream, keyExtractor0, keyClass, expectedNumElements),
+                            keyExtractor1, (dataQuantum0, dataQuantum1) -> new Tuple2<>(dataQuantum0, dataQuantum1)
+                    );
+            final Stream<InputType0> buildStream = ((JavaChannelInstance) inputs[0]).provideStream();
+            final Stream<InputType1> probeStream = ((JavaChannelInstance) inputs[1]).provideStream();
+            joinStream = memoryBudget.mightBeExceededBy(cardinalityEstimate0) ?
+                    new GraceHashing(memoryBudget, javaExecutor).join(
+                            buildStream, keyExtractor0, probeStream, keyExtractor1, hashJoin
+                    ) :
+                    hashJoin.apply(buildStream, probeStream);
             indexingExecutionLineageNode.addPredecessor(inputs[0].getLineage());
             indexingExecutionLineageNode.collectAndMark(executionLineageNodes, producedChannelInstances);
             probingExecutionLineageNode.addPredecessor(inputs[1].getLineage());
@@ -112,19 +117,18 @@ public class JavaJoinOperator<InputType0, InputType1, KeyType>
             final int expectedNumElements = cardinalityEstimate1 == null ?
                     1000 :
                     (int) cardinalityEstimate1.getGeometricMeanEstimate();
-            Map<KeyType, Collection<InputType1>> probeTable = new HashMap<>(expectedNumElements);
-            ((JavaChannelInstance) inputs[1]).<InputType1>provideStream().forEach(dataQuantum1 ->
-                    probeTable.compute(keyExtractor1.apply(dataQuantum1),
-                            (key, value) -> {
-                                value = value == null ? new LinkedList<>() : value;
-                                value.add(dataQuantum1);
-                                return value;
-                            }
-                    )
-            );
-            joinStream = ((JavaChannelInstance) inputs[0]).<InputType0>provideStream().flatMap(dataQuantum0 ->
-                    probeTable.getOrDefault(keyExtractor0.apply(dataQuantum0), Collections.emptyList()).stream()
-                            .map(dataQuantum1 -> new Tuple2<>(dataQuantum0, dataQuantum1)));
+            final BiFunction<Stream<InputType1>, Stream<InputType0>, Stream<Tuple2<InputType0, InputType1>>> hashJoin =
+                    (buildStream, probeStream) -> probe(
+                            probeStream, buildHashTable(buildStream, keyExtractor1, keyClass, expectedNumElements),
+                            keyExtractor0, (dataQuantum1, dataQuantum0) -> new Tuple2<>(dataQuantum0, dataQuantum1)
+                    );
+            final Stream<InputType1> buildStream = ((JavaChannelInstance) inputs[1]).provideStream();
+            final Stream<InputType0> probeStream = ((JavaChannelInstance) inputs[0]).provideStream();
+            joinStream = memoryBudget.mightBeExceededBy(cardinalityEstimate1) ?
+                    new GraceHashing(memoryBudget, javaExecutor).join(
+                            buildStream, keyExtractor1, probeStream, keyExtractor0, hashJoin
+                    ) :
+                    hashJoin.apply(buildStream, probeStream);
             indexingExecutionLineageNode.addPredecessor(inputs[1].getLineage());
             indexingExecutionLineageNode.collectAndMark(executionLineageNodes, producedChannelInstances);
             probingExecutionLineageNode.addPredecessor(inputs[0].getLineage());
@@ -136,6 +140,66 @@ public class JavaJoinOperator<InputType0, InputType1, KeyType>
         return new Tuple<>(executionLineageNodes, producedChannelInstances);
     }
 
+    /**
+     * Determine the {@link Class} of the join keys, so as to pick a specialized {@link JoinHashTable}.
+     *
+     * @return the {@link Class} of the join keys if both key extractors agree on it, otherwise {@link Object}
+     */
+    @SuppressWarnings("unchecked")
+    private Class<KeyType> getJoinKeyClass() {
+        final Class<KeyType> keyClass0 = this.keyDescriptor0.getOutputType().getTypeClass();
+        final Class<KeyType> keyClass1 = this.keyDescriptor1.getOutputType().getTypeClass();
+        return keyClass0 == keyClass1 ? keyClass0 : (Class<KeyType>) Object.class;
+    }
+
+    /**
+     * Index the given {@link Stream} in a {@link JoinHashTable}.
+     *
+     * @param stream              the data quanta to index
+     * @param keyExtractor        extracts the join keys
+     * @param keyClass            the {@link Class} of the join keys
+     * @param expectedNumElements the expected number of data quanta in the {@code stream}; only used to presize
+     *                            the {@link JoinHashTable} of sequential {@link Stream}s
+     * @return the sealed {@link JoinHashTable}
+     */
+    private static <Key, Type> JoinHashTable<Key, Type> buildHashTable(Stream<Type> stream,
+                                                                       Function<Type, Key> keyExtractor,
+                                                                       Class<Key> keyClass,
+                                                                       int expectedNumElements) {
+        // Parallel streams build one table per split, so those should start small and grow as needed.
+        final int expectedNumSplitElements = stream.isParallel() ? 0 : expectedNumElements;
+        return stream.collect(
+                () -> JoinHashTable.<Key, Type>create(keyClass, expectedNumSplitElements),
+                (hashTable, dataQuantum) -> hashTable.add(keyExtractor.apply(dataQuantum), dataQuantum),
+                JoinHashTable::addAll
+        ).seal();
+    }
+
+    /**
+     * Probe the given {@link Stream} against a {@link JoinHashTable}.
+     *
+     * @param stream        the probing data quanta
+     * @param hashTable     the sealed {@link JoinHashTable}
+     * @param keyExtractor  extracts the join keys from the probing data quanta
+     * @param resultCreator creates the join results
+     * @return a {@link Stream} of the join results
+     */
+    private static <Key, ProbeType, BuildType, OutputType> Stream<OutputType> probe(
+            Stream<ProbeType> stream,
+            JoinHashTable<Key, BuildType> hashTable,
+            Function<ProbeType, Key> keyExtractor,
+            BiFunction<BuildType, ProbeType, OutputType> resultCreator) {
+        return StreamSupport.stream(
+                new JoinProbeSpliterator<>(stream.spliterator(), hashTable, keyExtractor, resultCreator),
+                stream.isParallel()
+        ).onClose(stream::close);
+    }
+
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
     @Override
     public Collection<String> getLoadProfileEstimatorConfigurationKeys() {
         return Arrays.asList("rheem.java.join.load.indexing", "rheem.java.join.load.probing");
@@ -51,7 +51,7 @@ public class JavaLocalCallbackSink<T extends Serializable> extends LocalCallback
         assert inputs.length == this.getNumInputs();
         assert outputs.length == this.getNumOutputs();
 
-        ((JavaChannelInstance) inputs[0]).<T>provideStream().forEach(this.callback);
+        ((JavaChannelInstance) inputs[0]).<T>provideStream().forEachOrdered(this.callback);
 
         return ExecutionOperator.modelEagerExecution(inputs, outputs, operatorContext);
     }
@@ -61,6 +61,11 @@ public class JavaLocalCallbackSink<T extends Serializable> extends LocalCallback
         return new JavaLocalCallbackSink<>(this.callback, this.getType());
     }
 
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
     @Override
     public String getLoadProfileEstimatorConfigurationKey() {
         return "rheem.java.localcallbacksink.load";
@@ -1,6 +1,9 @@
 package org.qcri.rheem.java.operators;
 
+import org.qcri.rheem.basic.data.RecordBatch;
+import org.qcri.rheem.basic.function.ProjectionDescriptor;
 import org.qcri.rheem.basic.operators.MapOperator;
+import org.qcri.rheem.basic.types.RecordType;
 import org.qcri.rheem.core.api.Configuration;
 import org.qcri.rheem.core.function.TransformationDescriptor;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
@@ -60,19 +63,53 @@ public class JavaMapOperator<InputType, OutputType>
         final JavaChannelInstance input = (JavaChannelInstance) inputs[0];
         final StreamChannel.Instance output = (StreamChannel.Instance) outputs[0];
 
-        final Function<InputType, OutputType> function = javaExecutor.getCompiler().compile(this.functionDescriptor);
-        JavaExecutor.openFunction(this, function, inputs, operatorContext);
-        output.accept(input.<InputType>provideStream().map(function));
+        final RecordBatch projectedBatch = this.projectRecordBatch(input);
+        if (projectedBatch != null) {
+            output.accept(JavaExecutor.isParallelExecution() ? projectedBatch.parallelStream() : projectedBatch.stream());
+        } else {
+            final Function<InputType, OutputType> function = javaExecutor.getCompiler().compile(this.functionDescriptor);
+            JavaExecutor.openFunction(this, function, inputs, operatorContext);
+            output.accept(input.<InputType>provideStream().map(function));
+        }
 
         return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
     }
 
+    /**
+     * Projects a {@link RecordBatch} column-wise if this instance is a projection and the input is such a batch.
+     *
+     * @param input the input {@link JavaChannelInstance}
+     * @return the projected {@link RecordBatch} or {@code null} if the input cannot be projected column-wise
+     */
+    private RecordBatch projectRecordBatch(JavaChannelInstance input) {
+        if (!(this.functionDescriptor instanceof ProjectionDescriptor)
+                || !(this.functionDescriptor.getInputType() instanceof RecordType)
+                || !(input instanceof CollectionChannel.Instance)) {
+            return null;
+        }
+        final Collection<?> collection = ((CollectionChannel.Instance) input).provideCollection();
+        if (!(collection instanceof RecordBatch)) return null;
+        // Resolve the field indices just like the row-wise projection does.
+        final RecordType inputType = (RecordType) this.functionDescriptor.getInputType();
+        final List<String> fieldNames = ((ProjectionDescriptor<?, ?>) this.functionDescriptor).getFieldNames();
+        final int[] fieldIndices = new int[fieldNames.size()];
+        for (int i = 0; i < fieldIndices.length; i++) {
+            fieldIndices[i] = inputType.getIndex(fieldNames.get(i));
+        }
+        return ((RecordBatch) collection).project(fieldIndices);
+    }
+
     @Override
     protected ExecutionOperator createCopy() {
         return new JavaMapOperator<>(this.getInputType(), this.getOutputType(), this.getFunctionDescriptor());
     }
 
 
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
     @Override
     public String getLoadProfileEstimatorConfigurationKey() {
         return "rheem.java.map.load";
@@ -16,6 +16,8 @@ import org.qcri.rheem.java.channels.CollectionChannel;
 import org.qcri.rheem.java.channels.JavaChannelInstance;
 import org.qcri.rheem.java.channels.StreamChannel;
 import org.qcri.rheem.java.execution.JavaExecutor;
+import org.qcri.rheem.java.execution.spill.GraceHashing;
+import org.qcri.rheem.java.execution.spill.MemoryBudget;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -25,6 +27,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Java implementation of the {@link MaterializedGroupByOperator}.
@@ -59,16 +62,29 @@ public class JavaMaterializedGroupByOperator<Type, KeyType>
         assert outputs.length == this.getNumOutputs();
 
         final Function<Type, KeyType> keyExtractor = javaExecutor.getCompiler().compile(this.keyDescriptor);
-        final Map<KeyType, List<Type>> collocation = ((JavaChannelInstance) inputs[0]).<Type>provideStream().collect(
-                Collectors.groupingBy(
-                        keyExtractor,
-                        Collectors.toList())); // Not sure if this is thread-safe... Will we use #parallelStream()?
-
-        ((CollectionChannel.Instance) outputs[0]).accept(collocation.values());
+        final Function<Stream<Type>, Collection<List<Type>>> inMemoryGroupBy = stream -> {
+            final Map<KeyType, List<Type>> collocation = stream.collect(
+                    Collectors.groupingBy(
+                            keyExtractor,
+                            Collectors.toList()));
+            return collocation.values();
+        };
+
+        final Stream<Type> stream = ((JavaChannelInstance) inputs[0]).provideStream();
+        final MemoryBudget memoryBudget = MemoryBudget.create(javaExecutor.getConfiguration());
+        final Collection<List<Type>> groups = memoryBudget.mightBeExceededBy(operatorContext.getInputCardinality(0)) ?
+                new GraceHashing(memoryBudget, javaExecutor).apply(stream, keyExtractor, inMemoryGroupBy) :
+                inMemoryGroupBy.apply(stream);
+        ((CollectionChannel.Instance) outputs[0]).accept(groups);
 
         return ExecutionOperator.modelEagerExecution(inputs, outputs, operatorContext);
     }
 
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
     @Override
     public String getLoadProfileEstimatorConfigurationKey() {
         return "rheem.java.groupby.load";
@@ -84,7 +84,7 @@ public class JavaObjectFileSink<T> extends UnarySink<T> implements JavaExecution
                     throw new UncheckedIOException("Writing or serialization failed.", e);
                 }
             });
-            ((JavaChannelInstance) inputs[0]).provideStream().forEach(streamChunker::push);
+            ((JavaChannelInstance) inputs[0]).provideStream().forEachOrdered(streamChunker::push);
             streamChunker.fire();
             LoggerFactory.getLogger(this.getClass()).info("Writing dataset to {}.", path);
         } catch (IOException | UncheckedIOException e) {
@@ -104,6 +104,11 @@ public class JavaObjectFileSink<T> extends UnarySink<T> implements JavaExecution
         return new JavaObjectFileSink<>(this.targetPath, this.getType());
     }
 
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
     @Override
     public List<ChannelDescriptor> getSupportedInputChannels(int index) {
         assert index <= this.getNumInputs() || (index == 0 && this.getNumInputs() == 0);
@@ -33,6 +33,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -76,7 +77,10 @@ public class JavaObjectFileSource<T> extends UnarySource<T> implements JavaExecu
             final String actualInputPath = FileSystems.findActualSingleInputPath(path);
             sequenceFileIterator = new SequenceFileIterator<>(actualInputPath);
             Stream<?> sequenceFileStream =
-                    StreamSupport.stream(Spliterators.spliteratorUnknownSize(sequenceFileIterator, 0), false);
+                    StreamSupport.stream(
+                            Spliterators.spliteratorUnknownSize(sequenceFileIterator, Spliterator.ORDERED),
+                            JavaExecutor.isParallelExecution()
+                    );
             ((StreamChannel.Instance) outputs[0]).accept(sequenceFileStream);
         } catch (IOException e) {
             throw new RheemException(String.format("%s failed to read from %s.", this, path), e);
@@ -85,6 +89,11 @@ public class JavaObjectFileSource<T> extends UnarySource<T> implements JavaExecu
         return ExecutionOperator.modelEagerExecution(inputs, outputs, operatorContext);
     }
 
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
     @Override
     public String getLoadProfileEstimatorConfigurationKey() {
         return "rheem.java.objectfilesource.load";
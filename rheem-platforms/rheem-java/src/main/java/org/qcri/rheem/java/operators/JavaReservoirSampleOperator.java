@@ -74,7 +74,15 @@ public class JavaReservoirSampleOperator<Type>
         return ExecutionOperator.modelEagerExecution(inputs, outputs, operatorContext);
     }
 
-    private static <T> List<T> reservoirSample(Random rand, Iterator<T> items, long m) {
+    /**
+     * Draws a uniform sample from the given items via reservoir sampling.
+     *
+     * @param rand  provides randomness
+     * @param items to be sampled
+     * @param m     the maximum sample size
+     * @return the sample
+     */
+    public static <T> List<T> reservoirSample(Random rand, Iterator<T> items, long m) {
         ArrayList<T> res = new ArrayList<T>(Math.toIntExact(m));
         int count = 0;
         while (items.hasNext()) {
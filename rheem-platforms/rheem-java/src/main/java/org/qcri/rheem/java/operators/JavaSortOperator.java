@@ -13,12 +13,15 @@ import org.qcri.rheem.java.channels.CollectionChannel;
 import org.qcri.rheem.java.channels.JavaChannelInstance;
 import org.qcri.rheem.java.channels.StreamChannel;
 import org.qcri.rheem.java.execution.JavaExecutor;
+import org.qcri.rheem.java.execution.sort.ExternalSorter;
+import org.qcri.rheem.java.execution.spill.MemoryBudget;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Java implementation of the {@link SortOperator}.
@@ -57,10 +60,21 @@ public class JavaSortOperator<Type, Key>
 
         final Function<Type, Key> keyExtractor = javaExecutor.getCompiler().compile(this.keyDescriptor);
 
-        ((StreamChannel.Instance) outputs[0]).accept(((JavaChannelInstance) inputs[0]).<Type>provideStream()
-                .sorted((e1, e2) -> ((Comparable)keyExtractor.apply(e1)).compareTo(keyExtractor.apply(e2))));
+        final MemoryBudget memoryBudget = MemoryBudget.create(javaExecutor.getConfiguration());
+        final ExternalSorter<Type, Key> sorter = new ExternalSorter<>(keyExtractor, memoryBudget, javaExecutor);
+        final Stream<Type> stream = ((JavaChannelInstance) inputs[0]).provideStream();
+        ((StreamChannel.Instance) outputs[0]).accept(
+                memoryBudget.mightBeExceededBy(operatorContext.getInputCardinality(0)) ?
+                        sorter.sort(stream) :
+                        sorter.sortInMemory(stream)
+        );
 
-        return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
+        return ExecutionOperator.modelEagerExecution(inputs, outputs, operatorContext);
+    }
+
+    @Override
+    public boolean isParallelizable() {
+        return true;
     }
 
     @Override
@@ -58,7 +58,7 @@ public class JavaTextFileSink<T> extends TextFileSink<T> implements JavaExecutio
 
 
         try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(fs.create(this.textFileUrl)))) {
-            input.<T>provideStream().forEach(
+            input.<T>provideStream().forEachOrdered(
                     dataQuantum -> {
                         try {
                             writer.write(formatter.apply(dataQuantum));
@@ -76,6 +76,11 @@ public class JavaTextFileSink<T> extends TextFileSink<T> implements JavaExecutio
     }
 
 
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
     @Override
     public String getLoadProfileEstimatorConfigurationKey() {
         return "rheem.java.textfilesink.load";
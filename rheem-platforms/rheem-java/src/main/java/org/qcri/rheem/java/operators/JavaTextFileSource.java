@@ -77,6 +77,11 @@ public class JavaTextFileSource extends TextFileSource implements JavaExecutionO
         return prepareLineageNode.collectAndMark();
     }
 
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
     @Override
     public Collection<String> getLoadProfileEstimatorConfigurationKeys() {
         return Arrays.asList("rheem.java.textfilesource.load.prepare", "rheem.java.textfilesource.load.main");
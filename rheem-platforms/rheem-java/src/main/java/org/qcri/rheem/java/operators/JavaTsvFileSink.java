@@ -71,7 +71,7 @@ public class JavaTsvFileSink<T extends Tuple2<?, ?>> extends UnarySink<T> implem
                 )
         )) {
             try {
-                ((JavaChannelInstance) inputs[0]).provideStream().forEach(
+                ((JavaChannelInstance) inputs[0]).provideStream().forEachOrdered(
                         dataQuantum -> {
                             try {
                                 // TODO: Once there are more tuple types, make this generic.
@@ -96,6 +96,11 @@ public class JavaTsvFileSink<T extends Tuple2<?, ?>> extends UnarySink<T> implem
         return ExecutionOperator.modelEagerExecution(inputs, outputs, operatorContext);
     }
 
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
     @Override
     public String getLoadProfileEstimatorConfigurationKey() {
         return "rheem.java.tsvfilesink.load";
@@ -3,7 +3,9 @@ package org.qcri.rheem.java.operators;
 import org.apache.commons.io.IOUtils;
 import org.qcri.rheem.basic.channels.FileChannel;
 import org.qcri.rheem.basic.data.Record;
+import org.qcri.rheem.basic.data.RecordBatch;
 import org.qcri.rheem.basic.data.Tuple2;
+import org.qcri.rheem.basic.types.RecordType;
 import org.qcri.rheem.core.api.exception.RheemException;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
 import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
@@ -13,10 +15,12 @@ import org.qcri.rheem.core.platform.ChannelDescriptor;
 import org.qcri.rheem.core.platform.ChannelInstance;
 import org.qcri.rheem.core.platform.lineage.ExecutionLineageNode;
 import org.qcri.rheem.core.types.DataSetType;
+import org.qcri.rheem.core.types.DataUnitType;
 import org.qcri.rheem.core.util.Tuple;
 import org.qcri.rheem.core.util.fs.FileSystem;
 import org.qcri.rheem.core.util.fs.FileSystems;
 import org.qcri.rheem.core.util.fs.FileUtils;
+import org.qcri.rheem.java.channels.CollectionChannel;
 import org.qcri.rheem.java.channels.StreamChannel;
 import org.qcri.rheem.java.execution.JavaExecutor;
 import org.qcri.rheem.java.platform.JavaPlatform;
@@ -25,12 +29,14 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Spliterators;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -70,11 +76,32 @@ public class JavaTsvFileSource<T> extends UnarySource<T> implements JavaExecutio
         }
         final String actualInputPath = FileSystems.findActualSingleInputPath(path);
         Stream<T> stream = this.createStream(actualInputPath);
+        if (outputs[0] instanceof CollectionChannel.Instance) {
+            ((CollectionChannel.Instance) outputs[0]).accept(this.collect(stream));
+            return ExecutionOperator.modelEagerExecution(inputs, outputs, operatorContext);
+        }
         ((StreamChannel.Instance) outputs[0]).accept(stream);
 
         return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
     }
 
+    /**
+     * Collects the parsed data quanta. {@link Record}s with a {@link RecordType} are collected in a columnar
+     * {@link RecordBatch}.
+     *
+     * @param stream the parsed data quanta
+     * @return the collected data quanta
+     */
+    @SuppressWarnings("unchecked")
+    private Collection<T> collect(Stream<T> stream) {
+        final DataUnitType<T> dataUnitType = this.getType().getDataUnitType();
+        if (dataUnitType instanceof RecordType) {
+            final RecordType recordType = (RecordType) dataUnitType;
+            return (Collection<T>) ((Stream<Record>) stream).collect(Collectors.toCollection(() -> new RecordBatch(recordType)));
+        }
+        return stream.collect(Collectors.toList());
+    }
+
     private Stream<T> createStream(String path) {
         Function<String, T> parser = this::lineParse;
 
@@ -84,6 +111,9 @@ public class JavaTsvFileSource<T> extends UnarySource<T> implements JavaExecutio
     private T lineParse(String line) {
         // TODO rewrite in less verbose way.
         Class typeClass = this.getType().getDataUnitType().getTypeClass();
+        if (typeClass == Record.class) {
+            return (T) this.parseRecord(line);
+        }
         int tabPos = line.indexOf('\t');
         if (tabPos == -1) {
             if (typeClass == Integer.class) {
@@ -93,9 +123,6 @@ public class JavaTsvFileSource<T> extends UnarySource<T> implements JavaExecutio
             } else if (typeClass == String.class) {
                 return (T) String.valueOf(line);
             } else throw new RheemException(String.format("Cannot parse TSV file line %s", line));
-        } else if (typeClass == Record.class) {
-            // TODO: Fix Record parsing.
-            return (T) new Record();
         } else if (typeClass == Tuple2.class) {
             // TODO: Fix Tuple2 parsing
             return (T) new Tuple2(
@@ -106,6 +133,67 @@ public class JavaTsvFileSource<T> extends UnarySource<T> implements JavaExecutio
 
     }
 
+    /**
+     * Parses a line into a {@link Record} with one field per tab-separated value. If the {@link RecordType} declares
+     * the field {@link Class}es, the values are parsed accordingly and the {@link Record} is bound to the
+     * {@link RecordType}, so that fixed-width fields are not boxed. Empty non-{@link String} values are {@code null}.
+     *
+     * @param line the line to parse
+     * @return the {@link Record}
+     */
+    private Record parseRecord(String line) {
+        final String[] values = line.split("\t", -1);
+        final DataUnitType<T> dataUnitType = this.getType().getDataUnitType();
+        if (!(dataUnitType instanceof RecordType) || ((RecordType) dataUnitType).getFieldClasses() == null) {
+            return new Record((Object[]) values);
+        }
+        final RecordType recordType = (RecordType) dataUnitType;
+        final Class<?>[] fieldClasses = recordType.getFieldClasses();
+        if (values.length != fieldClasses.length) {
+            throw new RheemException(String.format("Cannot parse TSV file line %s as %s.", line, recordType));
+        }
+        final Record record = new Record(recordType);
+        for (int i = 0; i < values.length; i++) {
+            final String value = values[i];
+            final Class<?> fieldClass = fieldClasses[i];
+            if (fieldClass == String.class) {
+                record.setField(i, value);
+            } else if (value.isEmpty()) {
+                record.setField(i, null);
+            } else {
+                try {
+                    switch (Record.FieldKind.of(fieldClass)) {
+                        case INT:
+                            record.setInt(i, Integer.parseInt(value));
+                            break;
+                        case LONG:
+                            record.setLong(i, Long.parseLong(value));
+                            break;
+                        case DOUBLE:
+                            record.setDouble(i, Double.parseDouble(value));
+                            break;
+                        default:
+                            if (fieldClass == Float.class) {
+                                record.setField(i, Float.valueOf(value));
+                            } else if (fieldClass == Boolean.class) {
+                                record.setField(i, Boolean.valueOf(value));
+                            } else {
+                                record.setField(i, value);
+                            }
+                    }
+                } catch (NumberFormatException e) {
+                    throw new RheemException(String.format("Cannot parse TSV file line %s as %s.", line, recordType), e);
+                }
+            }
+        }
+        return record;
+    }
+
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
     @Override
     public String getLoadProfileEstimatorConfigurationKey() {
         return "rheem.java.tsvfilesource.load";
@@ -124,7 +212,7 @@ public class JavaTsvFileSource<T> extends UnarySource<T> implements JavaExecutio
     @Override
     public List<ChannelDescriptor> getSupportedOutputChannels(int index) {
         assert index <= this.getNumOutputs() || (index == 0 && this.getNumOutputs() == 0);
-        return Collections.singletonList(StreamChannel.DESCRIPTOR);
+        return Arrays.asList(StreamChannel.DESCRIPTOR, CollectionChannel.DESCRIPTOR);
     }
 
 }
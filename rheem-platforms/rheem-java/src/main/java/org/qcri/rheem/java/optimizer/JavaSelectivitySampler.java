@@ -0,0 +1,198 @@
+package org.qcri.rheem.java.optimizer;
+
+import org.qcri.rheem.basic.operators.CollectionSource;
+import org.qcri.rheem.basic.operators.FilterOperator;
+import org.qcri.rheem.basic.operators.FlatMapOperator;
+import org.qcri.rheem.basic.operators.MapOperator;
+import org.qcri.rheem.basic.operators.TextFileSource;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.api.exception.RheemException;
+import org.qcri.rheem.core.function.ExtendedFunction;
+import org.qcri.rheem.core.function.FunctionDescriptor;
+import org.qcri.rheem.core.optimizer.ProbabilisticDoubleInterval;
+import org.qcri.rheem.core.optimizer.cardinality.SelectivitySampler;
+import org.qcri.rheem.core.plan.rheemplan.InputSlot;
+import org.qcri.rheem.core.plan.rheemplan.Operator;
+import org.qcri.rheem.core.plan.rheemplan.OutputSlot;
+import org.qcri.rheem.core.plan.rheemplan.RheemPlan;
+import org.qcri.rheem.core.util.fs.FileSystem;
+import org.qcri.rheem.core.util.fs.FileSystems;
+import org.qcri.rheem.java.operators.JavaReservoirSampleOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * {@link SelectivitySampler} that draws reservoir samples from {@link TextFileSource}s and {@link CollectionSource}s
+ * and pushes them through the subsequent {@link FilterOperator}s, {@link FlatMapOperator}s, and {@link MapOperator}s
+ * with the Java implementations of their UDFs.
+ * <p>Only UDFs without a specified selectivity are measured. UDFs that require an execution context (e.g.,
+ * broadcasts) stop the sampling along their path.</p>
+ * <p>Text files are scanned only up to {@code rheem.java.sampling.max-scanned-lines} lines. If a file is longer, its
+ * sample is drawn from its head only and need not be representative (e.g., for sorted files), so that the measured
+ * selectivities are assigned the lower {@code rheem.java.sampling.head-confidence} instead of {@link #CONFIDENCE}.</p>
+ */
+public class JavaSelectivitySampler implements SelectivitySampler {
+
+    private static final Logger logger = LoggerFactory.getLogger(JavaSelectivitySampler.class);
+
+    /**
+     * Seed for the reservoir sampling, so that the measured selectivities are reproducible.
+     */
+    private static final long SEED = 42L;
+
+    /**
+     * Scales the standard error of the measured selectivities to obtain their intervals.
+     */
+    private static final double Z_SCORE = 1.96d;
+
+    /**
+     * Correctness probability of the measured selectivities that corresponds to the {@link #Z_SCORE} for samples that
+     * are drawn from the whole input.
+     */
+    private static final double CONFIDENCE = 0.95d;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sample(RheemPlan rheemPlan, Configuration configuration) {
+        final int sampleSize = (int) configuration.getLongProperty("rheem.java.sampling.size", 1000);
+        final long maxScannedLines = configuration.getLongProperty("rheem.java.sampling.max-scanned-lines", 100000);
+        final double headConfidence = configuration.getDoubleProperty("rheem.java.sampling.head-confidence", 0.5d);
+
+        for (Operator source : rheemPlan.collectReachableTopLevelSources()) {
+            List<Object> sample;
+            double confidence = CONFIDENCE;
+            try {
+                if (source instanceof TextFileSource) {
+                    sample = new ArrayList<>();
+                    final boolean isComplete = this.sampleTextFile(
+                            (TextFileSource) source, sampleSize, maxScannedLines, sample
+                    );
+                    if (!isComplete) confidence = Math.min(confidence, headConfidence);
+                } else if (source instanceof CollectionSource) {
+                    final Iterator<Object> dataQuanta = ((CollectionSource<Object>) source).getCollection().iterator();
+                    sample = JavaReservoirSampleOperator.reservoirSample(new Random(SEED), dataQuanta, sampleSize);
+                } else {
+                    continue;
+                }
+            } catch (Exception e) {
+                logger.warn("Could not sample {}.", source, e);
+                continue;
+            }
+            this.pushDownstream(source.getOutput(0), sample, sampleSize, confidence, configuration);
+        }
+    }
+
+    /**
+     * Draws a reservoir sample from the first lines of the file of the given {@link TextFileSource}.
+     *
+     * @param sample collects the sampled lines
+     * @return whether the whole file has been scanned, i.e., whether the sample is not restricted to its head
+     */
+    private boolean sampleTextFile(TextFileSource source, int sampleSize, long maxScannedLines, List<Object> sample)
+            throws IOException {
+        final String url = source.getInputUrl().trim();
+        FileSystem fs = FileSystems.getFileSystem(url).orElseThrow(
+                () -> new RheemException(String.format("Cannot access file system of %s.", url))
+        );
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(fs.open(url), source.getEncoding()))) {
+            final long[] numScannedLines = {0L};
+            final Iterator<String> lines = reader.lines()
+                    .limit(maxScannedLines)
+                    .peek(line -> numScannedLines[0]++)
+                    .iterator();
+            sample.addAll(JavaReservoirSampleOperator.reservoirSample(new Random(SEED), lines, sampleSize));
+            return numScannedLines[0] < maxScannedLines || reader.readLine() == null;
+        }
+    }
+
+    /**
+     * Applies the UDFs of the {@link Operator}s fed by the given {@link OutputSlot} to the {@code sample}, thereby
+     * registering their selectivities with the given {@code confidence}, and continues with their outputs (resampled
+     * to at most {@code sampleSize}).
+     */
+    private void pushDownstream(OutputSlot<?> output,
+                                List<Object> sample,
+                                int sampleSize,
+                                double confidence,
+                                Configuration configuration) {
+        if (sample.isEmpty()) return;
+        for (InputSlot<?> input : output.getOccupiedSlots()) {
+            final Operator operator = input.getOwner();
+            if (input.isBroadcast() || operator.getNumOutputs() != 1) continue;
+
+            final FunctionDescriptor functionDescriptor;
+            final Object implementation;
+            final Function<Object, Iterable<Object>> udf;
+            if (operator instanceof FilterOperator) {
+                final Predicate<Object> predicate = ((FilterOperator<?>) operator).getPredicateDescriptor()
+                        .unchecked().getJavaImplementation();
+                functionDescriptor = ((FilterOperator<?>) operator).getPredicateDescriptor();
+                implementation = predicate;
+                udf = dataQuantum -> predicate.test(dataQuantum) ?
+                        Collections.singleton(dataQuantum) :
+                        Collections.emptyList();
+            } else if (operator instanceof FlatMapOperator) {
+                functionDescriptor = ((FlatMapOperator<?, ?>) operator).getFunctionDescriptor();
+                udf = ((FlatMapOperator<?, ?>) operator).getFunctionDescriptor().unchecked().getJavaImplementation();
+                implementation = udf;
+            } else if (operator instanceof MapOperator) {
+                final Function<Object, Object> function =
+                        ((MapOperator<?, ?>) operator).getFunctionDescriptor().unchecked().getJavaImplementation();
+                functionDescriptor = ((MapOperator<?, ?>) operator).getFunctionDescriptor();
+                implementation = function;
+                udf = dataQuantum -> Collections.singleton(function.apply(dataQuantum));
+            } else {
+                continue;
+            }
+            if (implementation instanceof ExtendedFunction) continue;
+
+            // Apply the UDF and keep track of the number of produced data quanta per input data quantum.
+            List<Object> result = new ArrayList<>();
+            double sum = 0d, squareSum = 0d;
+            try {
+                for (Object dataQuantum : sample) {
+                    int count = 0;
+                    for (Object outputDataQuantum : udf.apply(dataQuantum)) {
+                        result.add(outputDataQuantum);
+                        count++;
+                    }
+                    sum += count;
+                    squareSum += count * count;
+                }
+            } catch (Exception e) {
+                logger.debug("Could not apply {} to the sample.", functionDescriptor, e);
+                continue;
+            }
+
+            if (!(operator instanceof MapOperator) && !FunctionDescriptor.getSelectivity(functionDescriptor).isPresent()) {
+                final int n = sample.size();
+                final double mean = sum / n;
+                final double variance = n > 1 ? Math.max(0d, (squareSum - n * mean * mean) / (n - 1)) : mean * mean;
+                final double error = Z_SCORE * Math.sqrt(variance / n);
+                double upper = mean + error;
+                if (operator instanceof FilterOperator) upper = Math.min(1d, upper);
+                final ProbabilisticDoubleInterval selectivity =
+                        new ProbabilisticDoubleInterval(Math.max(0d, mean - error), upper, confidence);
+                logger.info("Measured selectivity {} for {} on {} samples.", selectivity, functionDescriptor, n);
+                configuration.getUdfSelectivityProvider().set(functionDescriptor, selectivity);
+            }
+
+            if (result.size() > sampleSize) {
+                result = JavaReservoirSampleOperator.reservoirSample(new Random(SEED), result.iterator(), sampleSize);
+            }
+            this.pushDownstream(operator.getOutput(0), result, sampleSize, confidence, configuration);
+        }
+    }
+
+}
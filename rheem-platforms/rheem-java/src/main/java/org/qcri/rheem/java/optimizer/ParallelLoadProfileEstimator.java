@@ -0,0 +1,150 @@
+package org.qcri.rheem.java.optimizer;
+
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+import org.qcri.rheem.core.optimizer.costs.EstimationContext;
+import org.qcri.rheem.core.optimizer.costs.LoadProfile;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimator;
+import org.qcri.rheem.java.execution.JavaExecutor;
+import org.qcri.rheem.java.operators.JavaExecutionOperator;
+import org.qcri.rheem.java.platform.JavaPlatform;
+
+import java.util.Collection;
+
+/**
+ * {@link LoadProfileEstimator} for {@link JavaExecutionOperator}s that are
+ * {@link JavaExecutionOperator#isParallelizable() parallelizable}. It shortens the CPU load of another
+ * {@link LoadProfileEstimator} by the speed-up that the {@link JavaExecutor} achieves with the number of threads it
+ * would pick for the estimated cardinalities.
+ */
+public class ParallelLoadProfileEstimator implements LoadProfileEstimator {
+
+    /**
+     * The {@link LoadProfileEstimator} whose CPU loads are shortened.
+     */
+    private final LoadProfileEstimator delegate;
+
+    /**
+     * Maximum number of threads.
+     */
+    private final int maxParallelism;
+
+    /**
+     * Minimum number of data quanta per thread.
+     */
+    private final long minQuantaPerThread;
+
+    /**
+     * Speed-up per additional thread (relative to the first one).
+     */
+    private final double efficiency;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param delegate           whose CPU loads should be shortened
+     * @param maxParallelism     the maximum number of threads
+     * @param minQuantaPerThread the minimum number of data quanta per thread
+     * @param efficiency         the speed-up per additional thread
+     */
+    public ParallelLoadProfileEstimator(LoadProfileEstimator delegate,
+                                        int maxParallelism,
+                                        long minQuantaPerThread,
+                                        double efficiency) {
+        this.delegate = delegate;
+        this.maxParallelism = maxParallelism;
+        this.minQuantaPerThread = Math.max(1, minQuantaPerThread);
+        this.efficiency = efficiency;
+    }
+
+    /**
+     * Wraps the given {@link LoadProfileEstimator} in a new instance if the {@link Configuration} allows for
+     * parallel execution.
+     *
+     * @param estimator     the {@link LoadProfileEstimator} of a parallelizable {@link JavaExecutionOperator}
+     * @param configuration provides the {@code rheem.java.parallelism.*} properties
+     * @return the new instance or the given {@code estimator}
+     */
+    public static LoadProfileEstimator wrap(LoadProfileEstimator estimator, Configuration configuration) {
+        final int maxParallelism = JavaPlatform.getInstance().getParallelism(configuration);
+        if (maxParallelism <= 1) return estimator;
+        return new ParallelLoadProfileEstimator(
+                estimator,
+                maxParallelism,
+                configuration.getLongProperty("rheem.java.parallelism.min-quanta"),
+                configuration.getDoubleProperty("rheem.java.parallelism.efficiency")
+        );
+    }
+
+    @Override
+    public LoadProfile estimate(EstimationContext context) {
+        final LoadProfile loadProfile = this.delegate.estimate(context);
+        final int parallelism = this.determineParallelism(context);
+        if (parallelism <= 1) return loadProfile;
+        return shortenCpuUsage(loadProfile, 1d / (1d + (parallelism - 1) * this.efficiency));
+    }
+
+    /**
+     * Determines the number of threads as the {@link JavaExecutor} would do for the given cardinalities.
+     */
+    private int determineParallelism(EstimationContext context) {
+        double maxCardinality = 0d;
+        for (CardinalityEstimate cardinality : context.getInputCardinalities()) {
+            if (cardinality != null) maxCardinality = Math.max(maxCardinality, cardinality.getGeometricMeanEstimate());
+        }
+        for (CardinalityEstimate cardinality : context.getOutputCardinalities()) {
+            if (cardinality != null) maxCardinality = Math.max(maxCardinality, cardinality.getGeometricMeanEstimate());
+        }
+        return (int) Math.max(1, Math.min(this.maxParallelism, maxCardinality / this.minQuantaPerThread));
+    }
+
+    /**
+     * Scales the CPU usage of the given {@link LoadProfile} and its subprofiles.
+     */
+    private static LoadProfile shortenCpuUsage(LoadProfile loadProfile, double factor) {
+        final LoadProfile result = new LoadProfile(
+                loadProfile.getCpuUsage().times(factor),
+                loadProfile.getRamUsage(),
+                loadProfile.getNetworkUsage(),
+                loadProfile.getDiskUsage(),
+                loadProfile.getResourceUtilization(),
+                loadProfile.getOverheadMillis()
+        );
+        for (LoadProfile subprofile : loadProfile.getSubprofiles()) {
+            result.nest(shortenCpuUsage(subprofile, factor));
+        }
+        return result;
+    }
+
+    @Override
+    public void nest(LoadProfileEstimator loadProfileEstimator) {
+        this.delegate.nest(loadProfileEstimator);
+    }
+
+    @Override
+    public Collection<LoadProfileEstimator> getNestedEstimators() {
+        return this.delegate.getNestedEstimators();
+    }
+
+    @Override
+    public String getConfigurationKey() {
+        return this.delegate.getConfigurationKey();
+    }
+
+    @Override
+    public String getTemplateKey() {
+        return this.delegate.getTemplateKey();
+    }
+
+    @Override
+    public LoadProfileEstimator copy() {
+        return new ParallelLoadProfileEstimator(
+                this.delegate.copy(), this.maxParallelism, this.minQuantaPerThread, this.efficiency
+        );
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[%s, p<=%d]", this.getClass().getSimpleName(), this.delegate, this.maxParallelism);
+    }
+}
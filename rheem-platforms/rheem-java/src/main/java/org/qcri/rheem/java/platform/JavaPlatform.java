@@ -58,6 +58,19 @@ public class JavaPlatform extends Platform {
         );
     }
 
+    /**
+     * Determine the maximum number of threads that a single {@link org.qcri.rheem.core.plan.executionplan.ExecutionStage}
+     * may use on this instance.
+     *
+     * @param configuration provides the {@code rheem.java.parallelism} setting; non-positive values stand for the
+     *                      number of available processors
+     * @return the parallelism
+     */
+    public int getParallelism(Configuration configuration) {
+        int parallelism = (int) configuration.getLongProperty("rheem.java.parallelism", 1);
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
     @Override
     public TimeToCostConverter createTimeToCostConverter(Configuration configuration) {
         return new TimeToCostConverter(
@@ -19,6 +19,13 @@ import org.qcri.rheem.java.operators.JavaMapOperator;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Test suite for the {@link JavaExecutor}.
@@ -110,4 +117,45 @@ public class JavaExecutorTest {
         Assert.assertEquals(RheemArrays.asList(6, 7, 8), collector);
     }
 
+    @Test
+    public void testParallelExecution() {
+        final List<Integer> inputValues = IntStream.range(0, 100000).boxed().collect(Collectors.toList());
+        JavaCollectionSource<Integer> source = new JavaCollectionSource<>(
+                inputValues,
+                DataSetType.createDefault(Integer.class)
+        );
+
+        final Set<Thread> mapThreads = ConcurrentHashMap.newKeySet();
+        final Set<Integer> mapParallelisms = ConcurrentHashMap.newKeySet();
+        JavaMapOperator<Integer, Integer> map = new JavaMapOperator<>(
+                DataSetType.createDefault(Integer.class),
+                DataSetType.createDefault(Integer.class),
+                new TransformationDescriptor<>(
+                        v -> {
+                            mapThreads.add(Thread.currentThread());
+                            final ForkJoinPool pool = ForkJoinTask.getPool();
+                            mapParallelisms.add(pool == null ? 1 : pool.getParallelism());
+                            return v + 1;
+                        },
+                        Integer.class, Integer.class
+                )
+        );
+
+        Collection<Integer> collector = new LinkedList<>();
+        JavaLocalCallbackSink<Integer> sink = new JavaLocalCallbackSink<>(collector::add, DataSetType.createDefault(Integer.class));
+
+        source.connectTo(0, map, 0);
+        map.connectTo(0, sink, 0);
+
+        final RheemContext rheemContext = new RheemContext().with(Java.basicPlugin());
+        rheemContext.getConfiguration().setProperty("rheem.java.parallelism", "4");
+        rheemContext.getConfiguration().setProperty("rheem.java.parallelism.min-quanta", "1");
+        rheemContext.execute(new RheemPlan(sink));
+
+        Assert.assertEquals(inputValues.stream().map(v -> v + 1).collect(Collectors.toList()), collector);
+        Assert.assertFalse(mapThreads.contains(Thread.currentThread()));
+        // The sink must not force the stage into sequential execution.
+        Assert.assertEquals(Collections.singleton(4), mapParallelisms);
+    }
+
 }
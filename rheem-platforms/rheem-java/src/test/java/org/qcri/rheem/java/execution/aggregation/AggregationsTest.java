@@ -0,0 +1,85 @@
+package org.qcri.rheem.java.execution.aggregation;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.basic.data.Tuple2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Test suite for {@link Aggregations}.
+ */
+public class AggregationsTest {
+
+    @Test
+    public void testReduceByLongKey() {
+        for (boolean isParallel : Arrays.asList(false, true)) {
+            Stream<Tuple2<Long, Integer>> stream = LongStream.range(0, 100000).mapToObj(i -> new Tuple2<>(i % 100, 1));
+            if (isParallel) stream = stream.parallel();
+            final Collection<Tuple2<Long, Integer>> result = Aggregations.reduceByKey(
+                    stream,
+                    Tuple2::getField0,
+                    Long.class,
+                    (t1, t2) -> new Tuple2<>(t1.field0, t1.field1 + t2.field1),
+                    10
+            );
+
+            Assert.assertEquals(100, result.size());
+            result.forEach(t -> Assert.assertEquals(1000, t.field1.intValue()));
+        }
+    }
+
+    @Test
+    public void testReduceByGenericKeyIncludingNull() {
+        final Collection<Tuple2<String, Integer>> result = Aggregations.reduceByKey(
+                Stream.of(new Tuple2<>("a", 1), new Tuple2<>(null, 2), new Tuple2<>("b", 3),
+                        new Tuple2<>("a", 4), new Tuple2<>(null, 5)),
+                Tuple2::getField0,
+                String.class,
+                (t1, t2) -> new Tuple2<>(t1.field0, t1.field1 + t2.field1),
+                10
+        );
+
+        final List<Tuple2<String, Integer>> sortedResult = new ArrayList<>(result);
+        sortedResult.sort(Comparator.comparing(t -> t.field1));
+        Assert.assertEquals(
+                Arrays.asList(new Tuple2<>("b", 3), new Tuple2<>("a", 5), new Tuple2<>(null, 7)),
+                sortedResult
+        );
+    }
+
+    @Test
+    public void testReduceByKeyWithLimit() {
+        final Iterator<Integer> iterator = Arrays.asList(1, 2, 1, 3, 2).iterator();
+        final Collection<Integer> result = Aggregations.reduceByKey(
+                iterator, i -> i, Integer.class, Integer::sum, 2
+        );
+
+        Assert.assertEquals(Arrays.asList(2, 2, 3), new ArrayList<>(result));
+        Assert.assertEquals(2, iterator.next().intValue());
+    }
+
+    @Test
+    public void testReduceAndCount() {
+        for (boolean isParallel : Arrays.asList(false, true)) {
+            final List<Integer> data = IntStream.range(0, 10000).boxed().collect(Collectors.toList());
+            final Optional<Integer> sum = Aggregations.reduce(
+                    isParallel ? data.parallelStream() : data.stream(), Integer::sum
+            );
+            Assert.assertEquals(Optional.of(49995000), sum);
+            Assert.assertEquals(10000L, Aggregations.count(isParallel ? data.parallelStream() : data.stream()));
+        }
+        Assert.assertFalse(Aggregations.reduce(Stream.<Integer>empty(), Integer::sum).isPresent());
+    }
+
+}
@@ -0,0 +1,89 @@
+package org.qcri.rheem.java.execution.join;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.basic.data.Tuple2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Test suite for {@link JoinHashTable} and {@link JoinProbeSpliterator}.
+ */
+public class JoinHashTableTest {
+
+    @Test
+    public void testLongKeys() {
+        JoinHashTable<Long, String> hashTable = JoinHashTable.create(Long.class, 2);
+        hashTable.add(1L, "a");
+        hashTable.add(2L, "b");
+        hashTable.add(1L, "c");
+        hashTable.add(null, "d");
+        hashTable.add(3L, "e");
+        hashTable.seal();
+
+        Assert.assertEquals(5, hashTable.size());
+        Assert.assertEquals(4, hashTable.getNumGroups());
+        Assert.assertEquals(Arrays.asList("a", "c"), this.getGroup(hashTable, 1L));
+        Assert.assertEquals(Arrays.asList("b"), this.getGroup(hashTable, 2L));
+        Assert.assertEquals(Arrays.asList("d"), this.getGroup(hashTable, null));
+        Assert.assertEquals(JoinHashTable.NO_GROUP, hashTable.findGroup(4L));
+    }
+
+    @Test
+    public void testIntKeysWithAddAll() {
+        JoinHashTable<Integer, String> hashTable1 = JoinHashTable.create(Integer.class, 10);
+        hashTable1.add(1, "a");
+        hashTable1.add(2, "b");
+        JoinHashTable<Integer, String> hashTable2 = JoinHashTable.create(Integer.class, 10);
+        hashTable2.add(2, "c");
+        hashTable2.add(null, "d");
+        hashTable2.add(1, "e");
+        hashTable1.addAll(hashTable2).seal();
+
+        Assert.assertEquals(5, hashTable1.size());
+        Assert.assertEquals(Arrays.asList("a", "e"), this.getGroup(hashTable1, 1));
+        Assert.assertEquals(Arrays.asList("b", "c"), this.getGroup(hashTable1, 2));
+        Assert.assertEquals(Arrays.asList("d"), this.getGroup(hashTable1, null));
+    }
+
+    @Test
+    public void testProbing() {
+        JoinHashTable<String, Integer> hashTable = JoinHashTable.create(String.class, 0);
+        IntStream.range(0, 1000).forEach(i -> hashTable.add(String.valueOf(i % 10), i));
+        hashTable.seal();
+
+        final List<Integer> probes = IntStream.range(5, 15).boxed().collect(Collectors.toList());
+        final Function<Integer, String> probeKeyExtractor = String::valueOf;
+        for (boolean isParallel : new boolean[]{false, true}) {
+            final List<Tuple2<Integer, Integer>> result = StreamSupport.stream(
+                    new JoinProbeSpliterator<>(probes.spliterator(), hashTable, probeKeyExtractor, Tuple2::new),
+                    isParallel
+            ).collect(Collectors.toList());
+
+            List<Tuple2<Integer, Integer>> expectedResult = new ArrayList<>();
+            for (int probe = 5; probe < 10; probe++) {
+                for (int i = probe; i < 1000; i += 10) {
+                    expectedResult.add(new Tuple2<>(i, probe));
+                }
+            }
+            Assert.assertEquals(expectedResult, result);
+        }
+    }
+
+    private <Key, Type> List<Type> getGroup(JoinHashTable<Key, Type> hashTable, Key key) {
+        final int groupId = hashTable.findGroup(key);
+        Assert.assertNotEquals(JoinHashTable.NO_GROUP, groupId);
+        List<Type> group = new ArrayList<>();
+        for (int i = hashTable.getGroupStart(groupId); i < hashTable.getGroupEnd(groupId); i++) {
+            group.add(hashTable.get(i));
+        }
+        return group;
+    }
+
+}
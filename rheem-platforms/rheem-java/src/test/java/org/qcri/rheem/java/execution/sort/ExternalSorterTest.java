@@ -0,0 +1,81 @@
+package org.qcri.rheem.java.execution.sort;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.basic.data.Tuple2;
+import org.qcri.rheem.java.execution.spill.MemoryBudget;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Test suite for {@link ExternalSorter}.
+ */
+public class ExternalSorterTest {
+
+    private static List<Tuple2<Integer, Integer>> createData(int numDataQuanta) {
+        final Random random = new Random(42);
+        List<Tuple2<Integer, Integer>> data = new ArrayList<>(numDataQuanta);
+        for (int i = 0; i < numDataQuanta; i++) {
+            data.add(new Tuple2<>(random.nextInt(100), i));
+        }
+        return data;
+    }
+
+    private static List<Tuple2<Integer, Integer>> sortStably(List<Tuple2<Integer, Integer>> data) {
+        final List<Tuple2<Integer, Integer>> sortedData = new ArrayList<>(data);
+        sortedData.sort(Comparator.comparing(Tuple2::getField0));
+        return sortedData;
+    }
+
+    @Test
+    public void testSortInMemory() {
+        final List<Tuple2<Integer, Integer>> data = createData(1000);
+        for (boolean isParallel : Arrays.asList(false, true)) {
+            final ExternalSorter<Tuple2<Integer, Integer>, Integer> sorter =
+                    new ExternalSorter<>(Tuple2::getField0, new MemoryBudget(10, 2), null);
+            final List<Tuple2<Integer, Integer>> result = sorter
+                    .sortInMemory(isParallel ? data.parallelStream() : data.stream())
+                    .collect(Collectors.toList());
+            Assert.assertEquals(sortStably(data), result);
+        }
+    }
+
+    @Test
+    public void testExternalSort() {
+        final List<Tuple2<Integer, Integer>> data = createData(1000);
+        for (boolean isParallel : Arrays.asList(false, true)) {
+            final ExternalSorter<Tuple2<Integer, Integer>, Integer> sorter =
+                    new ExternalSorter<>(Tuple2::getField0, new MemoryBudget(64, 2), null);
+            try (Stream<Tuple2<Integer, Integer>> sortedStream =
+                         sorter.sort(isParallel ? data.parallelStream() : data.stream())) {
+                Assert.assertEquals(sortStably(data), sortedStream.collect(Collectors.toList()));
+            }
+        }
+    }
+
+    @Test
+    public void testSortWithinBudget() {
+        final List<Tuple2<Integer, Integer>> data = createData(1000);
+        final ExternalSorter<Tuple2<Integer, Integer>, Integer> sorter =
+                new ExternalSorter<>(Tuple2::getField0, new MemoryBudget(1000, 2), null);
+        Assert.assertEquals(sortStably(data), sorter.sort(data.stream()).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testNullKeys() {
+        final ExternalSorter<String, String> sorter = new ExternalSorter<>(s -> s, new MemoryBudget(2, 2), null);
+        try (Stream<String> sortedStream = sorter.sort(Stream.of("d", null, "b", "a", null, "c"))) {
+            Assert.assertEquals(
+                    Arrays.asList(null, null, "a", "b", "c", "d"),
+                    sortedStream.collect(Collectors.toList())
+            );
+        }
+    }
+
+}
@@ -0,0 +1,183 @@
+package org.qcri.rheem.java.execution.spill;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.qcri.rheem.basic.data.Record;
+import org.qcri.rheem.basic.data.Tuple2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Test suite for {@link GraceHashing}.
+ */
+public class GraceHashingTest {
+
+    private SpillDirectory spillDirectory;
+
+    @Before
+    public void setUp() {
+        this.spillDirectory = new SpillDirectory(null);
+    }
+
+    @After
+    public void tearDown() {
+        this.spillDirectory.dispose();
+    }
+
+    @Test
+    public void testSpillFile() {
+        final SpillFile<Object> spillFile = this.spillDirectory.createFile();
+        char[] longString = new char[100000];
+        Arrays.fill(longString, 'x');
+        final List<Object> dataQuanta = Arrays.asList(
+                null, 1, 2L, 3d, true, "four", new String(longString),
+                new Tuple2<>(5, new Tuple2<>("six", null)),
+                new Record(7, "eight", 9.0),
+                Arrays.asList(10, "eleven"),
+                Collections.singletonMap(12, "twelve")
+        );
+        dataQuanta.forEach(spillFile::add);
+        spillFile.seal();
+
+        Assert.assertEquals(dataQuanta.size(), spillFile.size());
+        Assert.assertEquals(dataQuanta, new ArrayList<>(spillFile));
+        // Spill files can be read repeatedly.
+        Assert.assertEquals(dataQuanta, new ArrayList<>(spillFile));
+    }
+
+    @Test
+    public void testJoinWithinBudget() {
+        final GraceHashing graceHashing = new GraceHashing(new MemoryBudget(1000, 4), this.spillDirectory);
+        final List<Tuple2<Integer, Integer>> result = graceHashing.join(
+                IntStream.range(0, 100).boxed(), Function.identity(),
+                IntStream.range(50, 150).boxed(), Function.identity(),
+                GraceHashingTest::join
+        ).collect(Collectors.toList());
+
+        Assert.assertEquals(50, result.size());
+        result.forEach(pair -> Assert.assertEquals(pair.field0, pair.field1));
+    }
+
+    @Test
+    public void testSpillingJoin() {
+        final GraceHashing graceHashing = new GraceHashing(new MemoryBudget(10, 4), this.spillDirectory);
+        final List<Tuple2<Integer, Integer>> result = graceHashing.join(
+                IntStream.range(0, 1000).map(i -> i % 500).boxed(), Function.identity(),
+                IntStream.range(250, 750).boxed(), Function.identity(),
+                GraceHashingTest::join
+        ).collect(Collectors.toList());
+
+        Assert.assertEquals(500, result.size());
+        result.forEach(pair -> Assert.assertEquals(pair.field0, pair.field1));
+        Assert.assertEquals(
+                IntStream.range(250, 500).boxed().collect(Collectors.toSet()),
+                result.stream().map(pair -> pair.field0).collect(Collectors.toSet())
+        );
+    }
+
+    @Test
+    public void testPartiallyConsumedSpillingJoin() {
+        final GraceHashing graceHashing = new GraceHashing(new MemoryBudget(10, 4), this.spillDirectory);
+        try (Stream<Tuple2<Integer, Integer>> result = graceHashing.join(
+                IntStream.range(0, 1000).boxed(), Function.identity(),
+                IntStream.range(0, 1000).boxed(), Function.identity(),
+                GraceHashingTest::join
+        )) {
+            Assert.assertTrue(result.findFirst().isPresent());
+        }
+
+        // Closing the result should delete all spill files.
+        Assert.assertArrayEquals(new String[0], this.spillDirectory.getDirectory().list());
+    }
+
+    @Test
+    public void testInputBuffer() {
+        final List<Integer> dataQuanta = IntStream.range(0, 10000).boxed().collect(Collectors.toList());
+
+        // Streams of unknown size should be buffered and continued in order.
+        final InputBuffer<Integer> buffer = InputBuffer.fill(
+                dataQuanta.stream().filter(dataQuantum -> true), 5000
+        );
+        Assert.assertFalse(buffer.isComplete());
+        Assert.assertEquals(5001, buffer.getNumBufferedQuanta());
+        Assert.assertEquals(dataQuanta, buffer.stream().collect(Collectors.toList()));
+
+        final InputBuffer<Integer> parallelBuffer = InputBuffer.fill(dataQuanta.parallelStream(), 10000);
+        Assert.assertTrue(parallelBuffer.isComplete());
+        Assert.assertEquals(dataQuanta, parallelBuffer.stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testSpillingGroupBy() {
+        final GraceHashing graceHashing = new GraceHashing(new MemoryBudget(10, 4), this.spillDirectory);
+        final Collection<List<Integer>> groups = graceHashing.apply(
+                IntStream.range(0, 1000).boxed(),
+                i -> i % 100,
+                stream -> stream.collect(Collectors.groupingBy(i -> i % 100)).values()
+        );
+
+        Assert.assertEquals(100, groups.size());
+        for (List<Integer> group : groups) {
+            Assert.assertEquals(10, group.size());
+            group.forEach(i -> Assert.assertEquals(group.get(0) % 100, i % 100));
+        }
+    }
+
+    @Test
+    public void testSpillingCoGroup() {
+        final GraceHashing graceHashing = new GraceHashing(new MemoryBudget(10, 4), this.spillDirectory);
+        final Collection<Tuple2<Integer, Integer>> counts = graceHashing.apply(
+                IntStream.range(0, 300).boxed(), i -> i % 100,
+                IntStream.range(0, 50).boxed(), i -> i,
+                (stream0, stream1) -> {
+                    final Map<Integer, Tuple2<Integer, Integer>> coGroups = new HashMap<>();
+                    stream0.forEach(i -> coGroups.computeIfAbsent(i % 100, key -> new Tuple2<>(0, 0)).field0++);
+                    stream1.forEach(i -> coGroups.computeIfAbsent(i, key -> new Tuple2<>(0, 0)).field1++);
+                    return coGroups.values();
+                }
+        );
+
+        Assert.assertEquals(100, counts.size());
+        Assert.assertEquals(50, counts.stream().filter(count -> count.field1 == 1).count());
+        counts.forEach(count -> Assert.assertEquals(3, count.field0.intValue()));
+    }
+
+    @Test
+    public void testSpillingReduce() {
+        final GraceHashing graceHashing = new GraceHashing(new MemoryBudget(10, 2), this.spillDirectory);
+        final Collection<Tuple2<Integer, Integer>> result = graceHashing.reduce(
+                Stream.concat(
+                        IntStream.range(0, 1000).mapToObj(i -> new Tuple2<>(i % 200, 1)),
+                        // Skewed key that cannot be partitioned any further.
+                        IntStream.range(0, 1000).mapToObj(i -> new Tuple2<>(0, 1))
+                ),
+                Tuple2::getField0,
+                Integer.class,
+                (t1, t2) -> new Tuple2<>(t1.field0, t1.field1 + t2.field1)
+        );
+
+        Assert.assertEquals(200, result.size());
+        for (Tuple2<Integer, Integer> count : result) {
+            Assert.assertEquals(count.field0 == 0 ? 1005 : 5, count.field1.intValue());
+        }
+    }
+
+    private static Stream<Tuple2<Integer, Integer>> join(Stream<Integer> buildStream, Stream<Integer> probeStream) {
+        final Map<Integer, List<Integer>> index = buildStream.collect(Collectors.groupingBy(Function.identity()));
+        return probeStream.flatMap(probe -> index.getOrDefault(probe, Collections.emptyList()).stream()
+                .map(build -> new Tuple2<>(build, probe)));
+    }
+
+}
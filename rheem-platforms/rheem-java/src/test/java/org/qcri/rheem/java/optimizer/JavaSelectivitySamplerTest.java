@@ -0,0 +1,101 @@
+package org.qcri.rheem.java.optimizer;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.basic.operators.CollectionSource;
+import org.qcri.rheem.basic.operators.FilterOperator;
+import org.qcri.rheem.basic.operators.FlatMapOperator;
+import org.qcri.rheem.basic.operators.LocalCallbackSink;
+import org.qcri.rheem.basic.operators.TextFileSource;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.function.FlatMapDescriptor;
+import org.qcri.rheem.core.function.PredicateDescriptor;
+import org.qcri.rheem.core.optimizer.ProbabilisticDoubleInterval;
+import org.qcri.rheem.core.plan.rheemplan.RheemPlan;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Test suite for {@link JavaSelectivitySampler}.
+ */
+public class JavaSelectivitySamplerTest {
+
+    @Test
+    public void testSelectivitiesAreMeasured() {
+        // Build the plan.
+        List<Integer> inputValues = IntStream.range(0, 10000).boxed().collect(Collectors.toList());
+        CollectionSource<Integer> source = new CollectionSource<>(inputValues, Integer.class);
+
+        PredicateDescriptor<Integer> predicateDescriptor = new PredicateDescriptor<>(i -> i % 4 == 0, Integer.class);
+        FilterOperator<Integer> filter = new FilterOperator<>(predicateDescriptor);
+        source.connectTo(0, filter, 0);
+
+        FlatMapDescriptor<Integer, Integer> flatMapDescriptor =
+                new FlatMapDescriptor<>(i -> Arrays.asList(i, i), Integer.class, Integer.class);
+        FlatMapOperator<Integer, Integer> flatMap = new FlatMapOperator<>(flatMapDescriptor);
+        filter.connectTo(0, flatMap, 0);
+
+        LocalCallbackSink<Integer> sink = LocalCallbackSink.createCollectingSink(new ArrayList<>(), Integer.class);
+        flatMap.connectTo(0, sink, 0);
+
+        // Sample the plan.
+        Configuration configuration = new Configuration();
+        new JavaSelectivitySampler().sample(new RheemPlan(sink), configuration);
+
+        // Verify the measured selectivities.
+        final ProbabilisticDoubleInterval filterSelectivity =
+                configuration.getUdfSelectivityProvider().provideFor(predicateDescriptor);
+        Assert.assertTrue(filterSelectivity.getLowerEstimate() <= 0.25d);
+        Assert.assertTrue(filterSelectivity.getUpperEstimate() >= 0.25d);
+        Assert.assertTrue(filterSelectivity.getUpperEstimate() - filterSelectivity.getLowerEstimate() < 0.1d);
+
+        final ProbabilisticDoubleInterval flatMapSelectivity =
+                configuration.getUdfSelectivityProvider().provideFor(flatMapDescriptor);
+        Assert.assertEquals(2d, flatMapSelectivity.getLowerEstimate(), 0.01d);
+        Assert.assertEquals(2d, flatMapSelectivity.getUpperEstimate(), 0.01d);
+    }
+
+    @Test
+    public void testHeadSamplesHaveLowerConfidence() throws IOException {
+        // Create a text file.
+        File file = File.createTempFile("rheem-sampling", ".txt");
+        file.deleteOnExit();
+        Files.write(file.toPath(), IntStream.range(0, 100).mapToObj(String::valueOf).collect(Collectors.toList()));
+
+        // Build the plan.
+        TextFileSource source = new TextFileSource(file.toURI().toString());
+        PredicateDescriptor<String> predicateDescriptor = new PredicateDescriptor<>(s -> s.endsWith("0"), String.class);
+        FilterOperator<String> filter = new FilterOperator<>(predicateDescriptor);
+        source.connectTo(0, filter, 0);
+        LocalCallbackSink<String> sink = LocalCallbackSink.createCollectingSink(new ArrayList<>(), String.class);
+        filter.connectTo(0, sink, 0);
+
+        // Sample the whole file.
+        Configuration configuration = new Configuration();
+        configuration.setProperty("rheem.java.sampling.max-scanned-lines", "100");
+        new JavaSelectivitySampler().sample(new RheemPlan(sink), configuration);
+        Assert.assertEquals(
+                0.95d,
+                configuration.getUdfSelectivityProvider().provideFor(predicateDescriptor).getCorrectnessProbability(),
+                0.001d
+        );
+
+        // Sample only the head of the file.
+        configuration = new Configuration();
+        configuration.setProperty("rheem.java.sampling.max-scanned-lines", "99");
+        new JavaSelectivitySampler().sample(new RheemPlan(sink), configuration);
+        Assert.assertEquals(
+                configuration.getDoubleProperty("rheem.java.sampling.head-confidence"),
+                configuration.getUdfSelectivityProvider().provideFor(predicateDescriptor).getCorrectnessProbability(),
+                0.001d
+        );
+    }
+
+}
@@ -12,7 +12,10 @@ import org.qcri.rheem.core.platform.Executor;
 import org.qcri.rheem.core.platform.Platform;
 import org.qcri.rheem.jdbc.platform.JdbcPlatformTemplate;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * Implementation of a {@link Channel} that is given by a SQL query.
@@ -46,6 +49,17 @@ public class SqlQueryChannel extends Channel {
 
         private String sqlQuery = null;
 
+        /**
+         * Lazily provides queries that partition the result of the {@link #sqlQuery} or {@code null} if there is no
+         * partitioning.
+         */
+        private Supplier<List<String>> partitionSqlQueriesSupplier = null;
+
+        /**
+         * Caches the result of the {@link #partitionSqlQueriesSupplier}.
+         */
+        private List<String> partitionSqlQueries = null;
+
         /**
          * Creates a new instance and registers it with its {@link Executor}.
          *
@@ -75,6 +89,32 @@ public class SqlQueryChannel extends Channel {
         public String getSqlQuery() {
             return this.sqlQuery;
         }
+
+        /**
+         * Provides queries whose results together make up the result of the {@link #getSqlQuery()}, so that they can
+         * be read in parallel. They are created upon the first request, as this might involve querying the database.
+         *
+         * @return the partition queries or an empty {@link List} if there are none
+         */
+        public synchronized List<String> getPartitionSqlQueries() {
+            if (this.partitionSqlQueries == null) {
+                this.partitionSqlQueries = this.partitionSqlQueriesSupplier == null ?
+                        Collections.emptyList() :
+                        this.partitionSqlQueriesSupplier.get();
+            }
+            return this.partitionSqlQueries;
+        }
+
+        /**
+         * Sets up the lazy creation of the partition queries.
+         *
+         * @param partitionSqlQueriesSupplier provides the partition queries
+         * @see #getPartitionSqlQueries()
+         */
+        public synchronized void setPartitionSqlQueriesSupplier(Supplier<List<String>> partitionSqlQueriesSupplier) {
+            this.partitionSqlQueriesSupplier = partitionSqlQueriesSupplier;
+            this.partitionSqlQueries = null;
+        }
     }
 
     /**
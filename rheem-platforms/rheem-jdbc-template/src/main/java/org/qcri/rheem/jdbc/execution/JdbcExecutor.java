@@ -21,6 +21,7 @@ import org.qcri.rheem.jdbc.compiler.FunctionCompiler;
 import org.qcri.rheem.jdbc.operators.JdbcExecutionOperator;
 import org.qcri.rheem.jdbc.operators.JdbcFilterOperator;
 import org.qcri.rheem.jdbc.operators.JdbcProjectionOperator;
+import org.qcri.rheem.jdbc.operators.JdbcTableSource;
 import org.qcri.rheem.jdbc.platform.JdbcPlatformTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,8 +33,11 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -105,6 +109,13 @@ public class JdbcExecutor extends ExecutorTemplate {
         String projection = projectionTask == null ? "*" : this.getSqlClause(projectionTask.getOperator());
         String query = this.createSqlQuery(tableName, conditions, projection);
         tipChannelInstance.setSqlQuery(query);
+        if (tableOp instanceof JdbcTableSource && ((JdbcTableSource) tableOp).getPartitionColumn() != null) {
+            // Determine the partitions only if a consumer reads them, as this requires scanning the table.
+            final String partitionColumn = ((JdbcTableSource) tableOp).getPartitionColumn();
+            tipChannelInstance.setPartitionSqlQueriesSupplier(
+                    () -> this.createPartitionSqlQueries(tableName, conditions, projection, partitionColumn)
+            );
+        }
 
         // Return the tipChannelInstance.
         executionState.register(tipChannelInstance);
@@ -161,7 +172,7 @@ public class JdbcExecutor extends ExecutorTemplate {
     }
 
     /**
-     * Creates a SQL query.
+     * Creates a SQL query. The conditions are parenthesized, so that they can contain disjunctions.
      *
      * @param tableName  the table to be queried
      * @param conditions conditions for the {@code WHERE} clause
@@ -175,7 +186,7 @@ public class JdbcExecutor extends ExecutorTemplate {
             sb.append(" WHERE ");
             String separator = "";
             for (String condition : conditions) {
-                sb.append(separator).append(condition);
+                sb.append(separator).append('(').append(condition).append(')');
                 separator = " AND ";
             }
         }
@@ -183,6 +194,63 @@ public class JdbcExecutor extends ExecutorTemplate {
         return sb.toString();
     }
 
+    /**
+     * Creates SQL queries that partition the result of a SQL query by value ranges of a numeric column. The ranges
+     * are derived from the minimum and maximum value of that column in the queried table, which are queried over
+     * a dedicated JDBC connection, so that this method can be called after this instance has been disposed.
+     *
+     * @param tableName       the table to be queried
+     * @param conditions      conditions for the {@code WHERE} clause
+     * @param projection      projection for the {@code SELECT} clause
+     * @param partitionColumn the numeric column to partition on
+     * @return the SQL queries or an empty {@link List} if the query should not be partitioned
+     */
+    protected List<String> createPartitionSqlQueries(String tableName,
+                                                     Collection<String> conditions,
+                                                     String projection,
+                                                     String partitionColumn) {
+        final int numPartitions = (int) this.getConfiguration().getLongProperty(this.platform.scanPartitionsProperty, 1);
+        if (numPartitions <= 1) return Collections.emptyList();
+
+        // Determine the value range of the partition column.
+        final long minValue, maxValue;
+        final String sql = String.format("SELECT MIN(%s), MAX(%s) FROM %s;", partitionColumn, partitionColumn, tableName);
+        try (Connection connection = this.platform.createDatabaseDescriptor(this.getConfiguration()).createJdbcConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            if (!resultSet.next()) return Collections.emptyList();
+            minValue = resultSet.getLong(1);
+            if (resultSet.wasNull()) return Collections.emptyList();
+            maxValue = resultSet.getLong(2);
+        } catch (SQLException e) {
+            throw new RheemException(String.format("Could not determine the range of %s.%s.", tableName, partitionColumn), e);
+        }
+        if (minValue == maxValue) return Collections.emptyList();
+
+        // Split the value range evenly. Rows with a NULL key go to the first partition.
+        final double rangeWidth = ((double) maxValue - (double) minValue) / numPartitions;
+        List<String> partitionQueries = new ArrayList<>(numPartitions);
+        long lowerBound = minValue;
+        for (int partition = 0; partition < numPartitions; partition++) {
+            final long upperBound = partition == numPartitions - 1 ?
+                    maxValue :
+                    Math.max(lowerBound, minValue + (long) Math.floor(rangeWidth * (partition + 1)));
+            final String partitionCondition;
+            if (partition == 0) {
+                partitionCondition = String.format("%s < %d OR %s IS NULL", partitionColumn, upperBound, partitionColumn);
+            } else if (partition == numPartitions - 1) {
+                partitionCondition = String.format("%s >= %d", partitionColumn, lowerBound);
+            } else {
+                partitionCondition = String.format("%s >= %d AND %s < %d", partitionColumn, lowerBound, partitionColumn, upperBound);
+            }
+            final List<String> partitionConditions = new ArrayList<>(conditions);
+            partitionConditions.add(partitionCondition);
+            partitionQueries.add(this.createSqlQuery(tableName, partitionConditions, projection));
+            lowerBound = upperBound;
+        }
+        return partitionQueries;
+    }
+
     /**
      * Creates a SQL clause that corresponds to the given {@link Operator}.
      *
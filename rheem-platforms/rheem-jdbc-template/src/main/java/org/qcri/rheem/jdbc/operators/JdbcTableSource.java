@@ -6,6 +6,7 @@ import org.qcri.rheem.core.optimizer.OptimizationContext;
 import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
 import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimator;
 import org.qcri.rheem.jdbc.compiler.FunctionCompiler;
+import org.qcri.rheem.jdbc.platform.JdbcPlatformTemplate;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
@@ -17,6 +18,11 @@ import java.sql.SQLException;
  */
 public abstract class JdbcTableSource extends TableSource implements JdbcExecutionOperator {
 
+    /**
+     * Numeric column on which scans of the table may be range-partitioned or {@code null} if none.
+     */
+    private String partitionColumn;
+
     /**
      * Creates a new instance.
      *
@@ -33,6 +39,27 @@ public abstract class JdbcTableSource extends TableSource implements JdbcExecuti
      */
     public JdbcTableSource(JdbcTableSource that) {
         super(that);
+        this.partitionColumn = that.getPartitionColumn();
+    }
+
+    /**
+     * Declares a numeric column on which scans of the table may be split into range-partitioned sub-queries, so that
+     * they can be read in parallel. The number of partitions is configured via
+     * {@link JdbcPlatformTemplate#scanPartitionsProperty}.
+     *
+     * @param partitionColumn the name of the column or {@code null} to disable partitioned scans
+     * @return this instance
+     */
+    public JdbcTableSource withPartitionColumn(String partitionColumn) {
+        this.partitionColumn = partitionColumn;
+        return this;
+    }
+
+    /**
+     * @return the numeric column on which scans of the table may be partitioned or {@code null} if none
+     */
+    public String getPartitionColumn() {
+        return this.partitionColumn;
     }
 
     @Override
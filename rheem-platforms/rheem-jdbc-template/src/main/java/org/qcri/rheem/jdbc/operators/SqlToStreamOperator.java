@@ -2,6 +2,7 @@ package org.qcri.rheem.jdbc.operators;
 
 import org.json.JSONObject;
 import org.qcri.rheem.basic.data.Record;
+import org.qcri.rheem.basic.data.RecordBatch;
 import org.qcri.rheem.basic.types.RecordType;
 import org.qcri.rheem.core.api.exception.RheemException;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
@@ -12,27 +13,34 @@ import org.qcri.rheem.core.platform.ChannelDescriptor;
 import org.qcri.rheem.core.platform.ChannelInstance;
 import org.qcri.rheem.core.platform.lineage.ExecutionLineageNode;
 import org.qcri.rheem.core.types.DataSetType;
+import org.qcri.rheem.core.types.DataUnitType;
 import org.qcri.rheem.core.util.JsonSerializable;
 import org.qcri.rheem.core.util.ReflectionUtils;
 import org.qcri.rheem.core.util.Tuple;
+import org.qcri.rheem.java.channels.CollectionChannel;
+import org.qcri.rheem.java.channels.JavaChannelInstance;
 import org.qcri.rheem.java.channels.StreamChannel;
 import org.qcri.rheem.java.execution.JavaExecutor;
 import org.qcri.rheem.java.operators.JavaExecutionOperator;
 import org.qcri.rheem.jdbc.channels.SqlQueryChannel;
+import org.qcri.rheem.jdbc.execution.DatabaseDescriptor;
 import org.qcri.rheem.jdbc.platform.JdbcPlatformTemplate;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -76,18 +84,50 @@ public class SqlToStreamOperator extends UnaryToUnaryOperator<Record, Record> im
             OptimizationContext.OperatorContext operatorContext) {
         // Cast the inputs and outputs.
         final SqlQueryChannel.Instance input = (SqlQueryChannel.Instance) inputs[0];
-        final StreamChannel.Instance output = (StreamChannel.Instance) outputs[0];
+        final JavaChannelInstance output = (JavaChannelInstance) outputs[0];
 
         JdbcPlatformTemplate producerPlatform = (JdbcPlatformTemplate) input.getChannel().getProducer().getPlatform();
-        final Connection connection = producerPlatform
-                .createDatabaseDescriptor(executor.getConfiguration())
-                .createJdbcConnection();
+        final DatabaseDescriptor databaseDescriptor = producerPlatform.createDatabaseDescriptor(executor.getConfiguration());
 
-        Iterator<Record> resultSetIterator = new ResultSetIterator(connection, input.getSqlQuery());
-        Spliterator<Record> resultSetSpliterator = Spliterators.spliteratorUnknownSize(resultSetIterator, 0);
-        Stream<Record> resultSetStream = StreamSupport.stream(resultSetSpliterator, false);
-
-        output.accept(resultSetStream);
+        final DataUnitType<Record> outputType = this.getOutputType().getDataUnitType();
+        final String[] fieldNames = outputType instanceof RecordType ? ((RecordType) outputType).getFieldNames() : null;
+        final int fetchSize = (int) executor.getConfiguration().getLongProperty(
+                producerPlatform.fetchSizeProperty, JdbcPlatformTemplate.DEFAULT_FETCH_SIZE
+        );
+        // Read partitions only in parallel stages. Then, this method runs in the JavaExecutor's stage pool, which
+        // thereby also processes the parallel Streams over the partitions.
+        final boolean isParallelExecution = JavaExecutor.isParallelExecution();
+        final List<String> partitionQueries = isParallelExecution ?
+                input.getPartitionSqlQueries() :
+                Collections.emptyList();
+        if (output instanceof CollectionChannel.Instance) {
+            final RecordBatch recordBatch;
+            if (partitionQueries.isEmpty()) {
+                recordBatch = readRecordBatch(databaseDescriptor, input.getSqlQuery(), fieldNames, fetchSize);
+            } else {
+                // Read the partitions in parallel, each over its own connection, and concatenate them.
+                final List<RecordBatch> partitions = partitionQueries.parallelStream()
+                        .map(partitionQuery -> readRecordBatch(databaseDescriptor, partitionQuery, fieldNames, fetchSize))
+                        .collect(Collectors.toList());
+                recordBatch = new RecordBatch(
+                        partitions.get(0).getRecordType(),
+                        partitions.stream().mapToInt(RecordBatch::size).sum()
+                );
+                partitions.forEach(recordBatch::addAll);
+            }
+            ((CollectionChannel.Instance) output).accept(recordBatch);
+        } else {
+            // The Records are fetched incrementally as the Stream is consumed.
+            final Stream<Record> resultSetStream;
+            if (partitionQueries.isEmpty()) {
+                resultSetStream = openStream(databaseDescriptor, input.getSqlQuery(), fieldNames, fetchSize, isParallelExecution);
+            } else {
+                // Read the partitions in parallel, each over its own connection.
+                resultSetStream = partitionQueries.parallelStream()
+                        .flatMap(partitionQuery -> openStream(databaseDescriptor, partitionQuery, fieldNames, fetchSize, false));
+            }
+            ((StreamChannel.Instance) output).accept(resultSetStream);
+        }
 
         ExecutionLineageNode queryLineageNode = new ExecutionLineageNode(operatorContext);
         queryLineageNode.add(LoadProfileEstimators.createFromSpecification(
@@ -105,6 +145,54 @@ public class SqlToStreamOperator extends UnaryToUnaryOperator<Record, Record> im
         return queryLineageNode.collectAndMark();
     }
 
+    /**
+     * Executes a SQL query and provides its result as a lazy {@link Stream}.
+     *
+     * @param databaseDescriptor describes the database to query
+     * @param sqlQuery           the SQL query
+     * @param fieldNames         names for the fields of the {@link Record}s or {@code null} to use the column labels
+     * @param fetchSize          the number of rows to fetch from the database at once
+     * @param isParallel         whether the {@link Stream} should be parallel
+     * @return the {@link Stream}; closing it releases the database resources
+     */
+    private static Stream<Record> openStream(DatabaseDescriptor databaseDescriptor,
+                                             String sqlQuery,
+                                             String[] fieldNames,
+                                             int fetchSize,
+                                             boolean isParallel) {
+        final ResultSetSpliterator resultSetSpliterator = new ResultSetSpliterator(
+                databaseDescriptor.createJdbcConnection(), sqlQuery, fieldNames, fetchSize
+        );
+        return StreamSupport.stream(resultSetSpliterator, isParallel).onClose(resultSetSpliterator::close);
+    }
+
+    /**
+     * Executes a SQL query and collects its result column-wise.
+     *
+     * @param databaseDescriptor describes the database to query
+     * @param sqlQuery           the SQL query
+     * @param fieldNames         names for the fields of the {@link Record}s or {@code null} to use the column labels
+     * @param fetchSize          the number of rows to fetch from the database at once
+     * @return the {@link RecordBatch}
+     */
+    private static RecordBatch readRecordBatch(DatabaseDescriptor databaseDescriptor,
+                                               String sqlQuery,
+                                               String[] fieldNames,
+                                               int fetchSize) {
+        try (ResultSetSpliterator resultSetSpliterator = new ResultSetSpliterator(
+                databaseDescriptor.createJdbcConnection(), sqlQuery, fieldNames, fetchSize
+        )) {
+            final RecordBatch recordBatch = new RecordBatch(resultSetSpliterator.getRecordType());
+            resultSetSpliterator.forEachRemaining(recordBatch::add);
+            return recordBatch;
+        }
+    }
+
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
     @Override
     public List<ChannelDescriptor> getSupportedInputChannels(int index) {
         return Collections.singletonList(this.jdbcPlatform.getSqlQueryChannelDescriptor());
@@ -112,7 +200,7 @@ public class SqlToStreamOperator extends UnaryToUnaryOperator<Record, Record> im
 
     @Override
     public List<ChannelDescriptor> getSupportedOutputChannels(int index) {
-        return Collections.singletonList(StreamChannel.DESCRIPTOR);
+        return Arrays.asList(StreamChannel.DESCRIPTOR, CollectionChannel.DESCRIPTOR);
     }
 
     @Override
@@ -124,9 +212,23 @@ public class SqlToStreamOperator extends UnaryToUnaryOperator<Record, Record> im
     }
 
     /**
-     * Exposes a {@link ResultSet} as an {@link Iterator}.
+     * Exposes a {@link ResultSet} as a {@link Spliterator}. The {@link ResultSet} is read via a cursor of the
+     * configured fetch size, so that it does not need to be materialized on the client. The {@link Record}s are
+     * bound to a {@link RecordType} that is derived from the {@link ResultSetMetaData} once, so that
+     * {@code INTEGER}, {@code BIGINT}, and {@code DOUBLE} columns are not boxed. For parallel {@link Stream}s,
+     * batches of at most the fetch size are split off.
      */
-    private static class ResultSetIterator implements Iterator<Record>, AutoCloseable {
+    private static class ResultSetSpliterator extends Spliterators.AbstractSpliterator<Record> implements AutoCloseable {
+
+        /**
+         * The JDBC connection on which the SQL query runs; owned by this instance.
+         */
+        private Connection connection;
+
+        /**
+         * Keeps around the {@link Statement} of the SQL query.
+         */
+        private Statement statement;
 
         /**
          * Keeps around the {@link ResultSet} of the SQL query.
@@ -134,74 +236,189 @@ public class SqlToStreamOperator extends UnaryToUnaryOperator<Record, Record> im
         private ResultSet resultSet;
 
         /**
-         * The next {@link Record} to be delivered via {@link #next()}.
+         * Describes the {@link Record}s; derived from the {@link ResultSetMetaData} once.
+         */
+        private RecordType recordType;
+
+        /**
+         * {@link Record.FieldKind}s of the {@link #recordType}.
+         */
+        private Record.FieldKind[] fieldKinds;
+
+        /**
+         * Maximum number of {@link Record}s to split off via {@link #trySplit()}.
          */
-        private Record next;
+        private final int batchSize;
 
         /**
          * Creates a new instance.
          *
-         * @param connection the JDBC connection on which to execute a SQL query
+         * @param connection the JDBC connection on which to execute a SQL query; will be closed by this instance
          * @param sqlQuery   the SQL query
+         * @param fieldNames names for the fields of the {@link Record}s or {@code null} to use the column labels
+         * @param fetchSize  the number of rows to fetch from the database at once or {@code 0} to leave it to the driver
          */
-        ResultSetIterator(Connection connection, String sqlQuery) {
+        ResultSetSpliterator(Connection connection, String sqlQuery, String[] fieldNames, int fetchSize) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.connection = connection;
+            this.batchSize = fetchSize > 0 ? fetchSize : JdbcPlatformTemplate.DEFAULT_FETCH_SIZE;
             try {
-                //connection.setAutoCommit(false);
-                Statement st = connection.createStatement();
-                //st.setFetchSize(100000000);
-                this.resultSet = st.executeQuery(sqlQuery);
+                // Some drivers (e.g., PostgreSQL) use cursors only outside of auto-commit mode.
+                this.connection.setAutoCommit(false);
+                this.statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                this.statement.setFetchSize(fetchSize);
+                this.resultSet = this.statement.executeQuery(sqlQuery);
+                this.initializeRecordType(this.resultSet.getMetaData(), fieldNames);
             } catch (SQLException e) {
                 this.close();
                 throw new RheemException("Could not execute SQL.", e);
             }
-            this.moveToNext();
         }
 
         /**
-         * Moves this instance to the next {@link Record}.
+         * Derives the {@link #recordType} from the {@link ResultSetMetaData}.
+         *
+         * @param metaData   describes the {@link ResultSet}
+         * @param fieldNames names for the fields or {@code null} to use the column labels
          */
-        private void moveToNext() {
-            try {
-                if (this.resultSet == null || !this.resultSet.next()) {
-                    this.next = null;
-                    this.close();
-                } else {
-                    final int recordWidth = this.resultSet.getMetaData().getColumnCount();
-                    Object[] values = new Object[recordWidth];
-                    for (int i = 0; i < recordWidth; i++) {
-                        values[i] = this.resultSet.getObject(i + 1);
-                    }
-                    this.next = new Record(values);
+        private void initializeRecordType(ResultSetMetaData metaData, String[] fieldNames) throws SQLException {
+            final int recordWidth = metaData.getColumnCount();
+            if (fieldNames == null || fieldNames.length != recordWidth) {
+                fieldNames = new String[recordWidth];
+                for (int i = 0; i < recordWidth; i++) {
+                    fieldNames[i] = metaData.getColumnLabel(i + 1);
+                }
+            }
+            final Class<?>[] fieldClasses = new Class<?>[recordWidth];
+            for (int i = 0; i < recordWidth; i++) {
+                switch (metaData.getColumnType(i + 1)) {
+                    case Types.INTEGER:
+                        fieldClasses[i] = Integer.class;
+                        break;
+                    case Types.BIGINT:
+                        fieldClasses[i] = Long.class;
+                        break;
+                    case Types.DOUBLE:
+                    case Types.FLOAT:
+                        fieldClasses[i] = Double.class;
+                        break;
+                    default:
+                        fieldClasses[i] = Object.class;
+                }
+            }
+            this.recordType = new RecordType(fieldNames, fieldClasses);
+            this.fieldKinds = this.recordType.getFieldKinds();
+        }
+
+        /**
+         * Reads the current row of the {@link #resultSet}.
+         *
+         * @return the row as a {@link Record}
+         */
+        private Record readRecord() throws SQLException {
+            final Record record = new Record(this.recordType);
+            for (int i = 0; i < this.fieldKinds.length; i++) {
+                switch (this.fieldKinds[i]) {
+                    case INT:
+                        // Some drivers (e.g., SQLite) return larger values than declared, so check before narrowing.
+                        final long intValue = this.resultSet.getLong(i + 1);
+                        if (this.resultSet.wasNull()) record.setField(i, null);
+                        else if ((int) intValue == intValue) record.setInt(i, (int) intValue);
+                        else record.setField(i, intValue);
+                        break;
+                    case LONG:
+                        final long longValue = this.resultSet.getLong(i + 1);
+                        if (this.resultSet.wasNull()) record.setField(i, null);
+                        else record.setLong(i, longValue);
+                        break;
+                    case DOUBLE:
+                        final double doubleValue = this.resultSet.getDouble(i + 1);
+                        if (this.resultSet.wasNull()) record.setField(i, null);
+                        else record.setDouble(i, doubleValue);
+                        break;
+                    default:
+                        record.setField(i, this.resultSet.getObject(i + 1));
                 }
-            } catch (SQLException e) {
-                this.next = null;
-                this.close();
-                throw new RheemException("Exception while iterating the result set.", e);
             }
+            return record;
+        }
+
+        /**
+         * Provides the {@link RecordType} of the {@link Record}s of this instance.
+         *
+         * @return the {@link RecordType}
+         */
+        RecordType getRecordType() {
+            return this.recordType;
         }
 
         @Override
-        public boolean hasNext() {
-            return this.next != null;
+        public boolean tryAdvance(Consumer<? super Record> action) {
+            final Record record = this.readNext();
+            if (record == null) return false;
+            action.accept(record);
+            return true;
         }
 
         @Override
-        public Record next() {
-            Record curNext = this.next;
-            this.moveToNext();
-            return curNext;
+        public void forEachRemaining(Consumer<? super Record> action) {
+            Record record;
+            while ((record = this.readNext()) != null) {
+                action.accept(record);
+            }
         }
 
         @Override
-        public void close() {
-            if (this.resultSet != null) {
-                try {
-                    this.resultSet.close();
-                } catch (Throwable t) {
-                    LoggerFactory.getLogger(this.getClass()).error("Could not close result set.", t);
-                } finally {
-                    this.resultSet = null;
+        public Spliterator<Record> trySplit() {
+            Record[] batch = new Record[Math.min(this.batchSize, 1 << 10)];
+            int batchLength = 0;
+            Record record;
+            while (batchLength < this.batchSize && (record = this.readNext()) != null) {
+                if (batchLength == batch.length) {
+                    batch = Arrays.copyOf(batch, Math.min(this.batchSize, 2 * batch.length));
+                }
+                batch[batchLength++] = record;
+            }
+            return batchLength == 0 ?
+                    null :
+                    Spliterators.spliterator(batch, 0, batchLength, Spliterator.ORDERED | Spliterator.NONNULL);
+        }
+
+        /**
+         * Reads the next {@link Record} from the {@link #resultSet}. Closes this instance when it is exhausted.
+         *
+         * @return the next {@link Record} or {@code null} if there is none
+         */
+        private synchronized Record readNext() {
+            try {
+                if (this.resultSet == null) return null;
+                if (!this.resultSet.next()) {
+                    this.close();
+                    return null;
+                }
+                return this.readRecord();
+            } catch (SQLException e) {
+                this.close();
+                throw new RheemException("Exception while iterating the result set.", e);
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            try {
+                if (this.resultSet != null) this.resultSet.close();
+                if (this.statement != null) this.statement.close();
+                if (this.connection != null) {
+                    // The query was read-only, so there is nothing to commit.
+                    if (!this.connection.getAutoCommit()) this.connection.rollback();
+                    this.connection.close();
                 }
+            } catch (Throwable t) {
+                LoggerFactory.getLogger(this.getClass()).error("Could not close result set.", t);
+            } finally {
+                this.resultSet = null;
+                this.statement = null;
+                this.connection = null;
             }
         }
     }
@@ -29,6 +29,22 @@ public abstract class JdbcPlatformTemplate extends Platform {
 
     public final String jdbcPasswordProperty = String.format("rheem.%s.jdbc.password", this.getPlatformId());
 
+    /**
+     * Number of rows to fetch at once when reading query results; {@code 0} leaves it to the JDBC driver.
+     */
+    public final String fetchSizeProperty = String.format("rheem.%s.jdbc.fetch-size", this.getPlatformId());
+
+    /**
+     * Default value for the {@link #fetchSizeProperty}.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 10000;
+
+    /**
+     * Number of range-partitioned sub-queries to split table scans into if the table source declares a partition
+     * column (see {@link org.qcri.rheem.jdbc.operators.JdbcTableSource#withPartitionColumn(String)}).
+     */
+    public final String scanPartitionsProperty = String.format("rheem.%s.jdbc.scan-partitions", this.getPlatformId());
+
     private String getDefaultConfigurationFile() {
         return String.format("rheem-%s-defaults.properties", this.getPlatformId());
     }
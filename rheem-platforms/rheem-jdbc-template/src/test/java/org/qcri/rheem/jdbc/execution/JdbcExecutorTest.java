@@ -21,8 +21,13 @@ import org.qcri.rheem.jdbc.test.HsqldbPlatform;
 import org.qcri.rheem.jdbc.test.HsqldbProjectionOperator;
 import org.qcri.rheem.jdbc.test.HsqldbTableSource;
 
+import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -68,6 +73,144 @@ public class JdbcExecutorTest {
         );
     }
 
+    @Test
+    public void testExecuteWithPartitionedTableSource() throws SQLException {
+        Configuration configuration = new Configuration();
+        configuration.setProperty(HsqldbPlatform.getInstance().scanPartitionsProperty, "4");
+        Job job = mock(Job.class);
+        when(job.getConfiguration()).thenReturn(configuration);
+        when(job.getCrossPlatformExecutor()).thenReturn(new CrossPlatformExecutor(job, new NoInstrumentationStrategy()));
+        SqlQueryChannel.Descriptor sqlChannelDescriptor = HsqldbPlatform.getInstance().getSqlQueryChannelDescriptor();
+
+        // Create some test data.
+        try (Connection jdbcConnection = HsqldbPlatform.getInstance().createDatabaseDescriptor(configuration).createJdbcConnection()) {
+            final Statement statement = jdbcConnection.createStatement();
+            statement.execute("CREATE TABLE partitionedCustomer (id INT, name VARCHAR(6));");
+            for (int i = 0; i < 100; i++) {
+                statement.execute("INSERT INTO partitionedCustomer VALUES (" + (i * 7 - 50) + ", 'c" + i + "');");
+            }
+            statement.execute("INSERT INTO partitionedCustomer VALUES (NULL, 'null');");
+        }
+
+        ExecutionStage sqlStage = mock(ExecutionStage.class);
+
+        JdbcTableSource tableSource = new HsqldbTableSource("partitionedCustomer").withPartitionColumn("id");
+        ExecutionTask tableSourceTask = new ExecutionTask(tableSource);
+        tableSourceTask.setOutputChannel(0, new SqlQueryChannel(sqlChannelDescriptor, tableSource.getOutput(0)));
+        tableSourceTask.setStage(sqlStage);
+
+        when(sqlStage.getStartTasks()).thenReturn(Collections.singleton(tableSourceTask));
+        when(sqlStage.getTerminalTasks()).thenReturn(Collections.singleton(tableSourceTask));
+
+        ExecutionStage nextStage = mock(ExecutionStage.class);
+
+        SqlToStreamOperator sqlToStreamOperator = new SqlToStreamOperator(HsqldbPlatform.getInstance());
+        ExecutionTask sqlToStreamTask = new ExecutionTask(sqlToStreamOperator);
+        tableSourceTask.getOutputChannel(0).addConsumer(sqlToStreamTask, 0);
+        sqlToStreamTask.setStage(nextStage);
+
+        JdbcExecutor executor = new JdbcExecutor(HsqldbPlatform.getInstance(), job);
+        executor.execute(sqlStage, new DefaultOptimizationContext(job), job.getCrossPlatformExecutor());
+        executor.dispose();
+
+        // The partitions should be determined only upon request, so they should include this new row.
+        try (Connection jdbcConnection = HsqldbPlatform.getInstance().createDatabaseDescriptor(configuration).createJdbcConnection()) {
+            jdbcConnection.createStatement().execute("INSERT INTO partitionedCustomer VALUES (1000, 'late');");
+        }
+
+        SqlQueryChannel.Instance sqlQueryChannelInstance =
+                (SqlQueryChannel.Instance) job.getCrossPlatformExecutor().getChannelInstance(sqlToStreamTask.getInputChannel(0));
+        Assert.assertEquals("SELECT * FROM partitionedCustomer;", sqlQueryChannelInstance.getSqlQuery());
+        Assert.assertEquals(4, sqlQueryChannelInstance.getPartitionSqlQueries().size());
+
+        // The partitions should comprise every row exactly once.
+        Set<String> names = new HashSet<>();
+        int numRows = 0;
+        try (Connection jdbcConnection = HsqldbPlatform.getInstance().createDatabaseDescriptor(configuration).createJdbcConnection()) {
+            for (String partitionQuery : sqlQueryChannelInstance.getPartitionSqlQueries()) {
+                final ResultSet resultSet = jdbcConnection.createStatement().executeQuery(partitionQuery);
+                while (resultSet.next()) {
+                    names.add(resultSet.getString("name"));
+                    numRows++;
+                }
+            }
+        }
+        Assert.assertEquals(102, numRows);
+        Assert.assertEquals(102, names.size());
+    }
+
+    @Test
+    public void testExecuteWithPartitionedTableSourceAndDisjunctiveFilter() throws SQLException {
+        Configuration configuration = new Configuration();
+        configuration.setProperty(HsqldbPlatform.getInstance().scanPartitionsProperty, "3");
+        Job job = mock(Job.class);
+        when(job.getConfiguration()).thenReturn(configuration);
+        when(job.getCrossPlatformExecutor()).thenReturn(new CrossPlatformExecutor(job, new NoInstrumentationStrategy()));
+        SqlQueryChannel.Descriptor sqlChannelDescriptor = HsqldbPlatform.getInstance().getSqlQueryChannelDescriptor();
+
+        // Create some test data.
+        try (Connection jdbcConnection = HsqldbPlatform.getInstance().createDatabaseDescriptor(configuration).createJdbcConnection()) {
+            final Statement statement = jdbcConnection.createStatement();
+            statement.execute("CREATE TABLE disjunctiveCustomer (id INT, age INT);");
+            for (int i = 0; i < 60; i++) {
+                statement.execute("INSERT INTO disjunctiveCustomer VALUES (" + i + ", " + (i % 30) + ");");
+            }
+        }
+
+        ExecutionStage sqlStage = mock(ExecutionStage.class);
+
+        JdbcTableSource tableSource = new HsqldbTableSource("disjunctiveCustomer").withPartitionColumn("id");
+        ExecutionTask tableSourceTask = new ExecutionTask(tableSource);
+        tableSourceTask.setOutputChannel(0, new SqlQueryChannel(sqlChannelDescriptor, tableSource.getOutput(0)));
+        tableSourceTask.setStage(sqlStage);
+
+        JdbcFilterOperator ageFilterOperator = new HsqldbFilterOperator(
+                new PredicateDescriptor<>(
+                        (PredicateDescriptor.SerializablePredicate<Record>) record -> {
+                            throw new UnsupportedOperationException();
+                        },
+                        Record.class
+                ).withSqlImplementation("age < 5 OR age >= 25")
+        );
+        ExecutionTask ageFilterTask = new ExecutionTask(ageFilterOperator);
+        ageFilterTask.setStage(sqlStage);
+        tableSourceTask.getOutputChannel(0).addConsumer(ageFilterTask, 0);
+        ageFilterTask.setOutputChannel(0, new SqlQueryChannel(sqlChannelDescriptor, ageFilterOperator.getOutput(0)));
+
+        when(sqlStage.getStartTasks()).thenReturn(Collections.singleton(tableSourceTask));
+        when(sqlStage.getTerminalTasks()).thenReturn(Collections.singleton(ageFilterTask));
+
+        ExecutionStage nextStage = mock(ExecutionStage.class);
+
+        SqlToStreamOperator sqlToStreamOperator = new SqlToStreamOperator(HsqldbPlatform.getInstance());
+        ExecutionTask sqlToStreamTask = new ExecutionTask(sqlToStreamOperator);
+        ageFilterTask.getOutputChannel(0).addConsumer(sqlToStreamTask, 0);
+        sqlToStreamTask.setStage(nextStage);
+
+        JdbcExecutor executor = new JdbcExecutor(HsqldbPlatform.getInstance(), job);
+        executor.execute(sqlStage, new DefaultOptimizationContext(job), job.getCrossPlatformExecutor());
+        executor.dispose();
+
+        SqlQueryChannel.Instance sqlQueryChannelInstance =
+                (SqlQueryChannel.Instance) job.getCrossPlatformExecutor().getChannelInstance(sqlToStreamTask.getInputChannel(0));
+        Assert.assertEquals(3, sqlQueryChannelInstance.getPartitionSqlQueries().size());
+
+        // The disjunction must not leak out of the partition ranges.
+        Set<Integer> ids = new HashSet<>();
+        int numRows = 0;
+        try (Connection jdbcConnection = HsqldbPlatform.getInstance().createDatabaseDescriptor(configuration).createJdbcConnection()) {
+            for (String partitionQuery : sqlQueryChannelInstance.getPartitionSqlQueries()) {
+                final ResultSet resultSet = jdbcConnection.createStatement().executeQuery(partitionQuery);
+                while (resultSet.next()) {
+                    ids.add(resultSet.getInt("id"));
+                    numRows++;
+                }
+            }
+        }
+        Assert.assertEquals(20, numRows);
+        Assert.assertEquals(20, ids.size());
+    }
+
     @Test
     public void testExecuteWithFilter() throws SQLException {
         Configuration configuration = new Configuration();
@@ -112,7 +255,7 @@ public class JdbcExecutorTest {
         SqlQueryChannel.Instance sqlQueryChannelInstance =
                 (SqlQueryChannel.Instance) job.getCrossPlatformExecutor().getChannelInstance(sqlToStreamTask.getInputChannel(0));
         Assert.assertEquals(
-                "SELECT * FROM customer WHERE age >= 18;",
+                "SELECT * FROM customer WHERE (age >= 18);",
                 sqlQueryChannelInstance.getSqlQuery()
         );
     }
@@ -222,7 +365,7 @@ public class JdbcExecutorTest {
         SqlQueryChannel.Instance sqlQueryChannelInstance =
                 (SqlQueryChannel.Instance) job.getCrossPlatformExecutor().getChannelInstance(sqlToStreamTask.getInputChannel(0));
         Assert.assertEquals(
-                "SELECT name, age FROM customer WHERE age >= 18 AND name IS NOT NULL;",
+                "SELECT name, age FROM customer WHERE (age >= 18) AND (name IS NOT NULL);",
                 sqlQueryChannelInstance.getSqlQuery()
         );
     }
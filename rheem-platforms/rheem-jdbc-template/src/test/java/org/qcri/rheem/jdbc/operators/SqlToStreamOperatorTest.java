@@ -3,6 +3,8 @@ package org.qcri.rheem.jdbc.operators;
 import org.junit.Assert;
 import org.junit.Test;
 import org.qcri.rheem.basic.data.Record;
+import org.qcri.rheem.basic.data.RecordBatch;
+import org.qcri.rheem.basic.types.RecordType;
 import org.qcri.rheem.core.api.Configuration;
 import org.qcri.rheem.core.api.Job;
 import org.qcri.rheem.core.function.PredicateDescriptor;
@@ -13,6 +15,8 @@ import org.qcri.rheem.core.plan.rheemplan.OutputSlot;
 import org.qcri.rheem.core.platform.ChannelInstance;
 import org.qcri.rheem.core.platform.CrossPlatformExecutor;
 import org.qcri.rheem.core.profiling.FullInstrumentationStrategy;
+import org.qcri.rheem.core.types.DataSetType;
+import org.qcri.rheem.java.channels.CollectionChannel;
 import org.qcri.rheem.java.channels.StreamChannel;
 import org.qcri.rheem.java.execution.JavaExecutor;
 import org.qcri.rheem.java.platform.JavaPlatform;
@@ -23,9 +27,12 @@ import org.qcri.rheem.jdbc.test.HsqldbPlatform;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -97,6 +104,138 @@ public class SqlToStreamOperatorTest extends OperatorTestBase {
         Assert.assertEquals(expected, output);
     }
 
+    @Test
+    public void testWithHsqldbToRecordBatch() throws SQLException {
+        Configuration configuration = new Configuration();
+
+        Job job = mock(Job.class);
+        when(job.getConfiguration()).thenReturn(configuration);
+
+        CrossPlatformExecutor cpe = new CrossPlatformExecutor(job, new FullInstrumentationStrategy());
+        when(job.getCrossPlatformExecutor()).thenReturn(cpe);
+        final JavaExecutor javaExecutor = new JavaExecutor(JavaPlatform.getInstance(), job);
+
+        HsqldbPlatform hsqldbPlatform = new HsqldbPlatform();
+
+        // Create some test data.
+        try (Connection jdbcConnection = hsqldbPlatform.createDatabaseDescriptor(configuration).createJdbcConnection()) {
+            final Statement statement = jdbcConnection.createStatement();
+            statement.execute("CREATE TABLE testWithHsqldbToRecordBatch (a INT, b BIGINT, c DOUBLE, d VARCHAR(6));");
+            statement.execute("INSERT INTO testWithHsqldbToRecordBatch VALUES (0, 10, 0.5, 'zero');");
+            statement.execute("INSERT INTO testWithHsqldbToRecordBatch VALUES (1, NULL, 1.5, 'one');");
+            statement.execute("INSERT INTO testWithHsqldbToRecordBatch VALUES (NULL, 12, NULL, NULL);");
+        }
+
+        final ExecutionOperator filterOperator = new HsqldbFilterOperator(
+                new PredicateDescriptor<>(x -> false, Record.class)
+        );
+        final SqlQueryChannel sqlQueryChannel = new SqlQueryChannel(
+                HsqldbPlatform.getInstance().getSqlQueryChannelDescriptor(),
+                filterOperator.getOutput(0)
+        );
+        SqlQueryChannel.Instance sqlQueryChannelInstance = sqlQueryChannel.createInstance(
+                hsqldbPlatform.createExecutor(job),
+                mock(OptimizationContext.OperatorContext.class),
+                0
+        );
+        sqlQueryChannelInstance.setSqlQuery("SELECT * FROM testWithHsqldbToRecordBatch;");
+        ExecutionTask producer = new ExecutionTask(filterOperator);
+        producer.setOutputChannel(0, sqlQueryChannel);
+
+        CollectionChannel.Instance collectionChannelInstance =
+                new CollectionChannel(CollectionChannel.DESCRIPTOR, mock(OutputSlot.class)).createInstance(
+                        javaExecutor,
+                        mock(OptimizationContext.OperatorContext.class),
+                        0
+                );
+
+        SqlToStreamOperator sqlToStreamOperator = new SqlToStreamOperator(
+                HsqldbPlatform.getInstance(),
+                DataSetType.createDefault(new RecordType("a", "b", "c", "d"))
+        );
+        evaluate(
+                sqlToStreamOperator,
+                new ChannelInstance[]{sqlQueryChannelInstance},
+                new ChannelInstance[]{collectionChannelInstance}
+        );
+
+        final Collection<Record> output = collectionChannelInstance.provideCollection();
+        Assert.assertTrue(output instanceof RecordBatch);
+        final RecordBatch recordBatch = (RecordBatch) output;
+        Assert.assertEquals(new RecordType("a", "b", "c", "d"), recordBatch.getRecordType());
+        Assert.assertEquals(10L, recordBatch.getLong(0, 1));
+        Assert.assertEquals(1.5, recordBatch.getDouble(1, 2), 0d);
+        Assert.assertEquals(
+                Arrays.asList(
+                        new Record(0, 10L, 0.5, "zero"),
+                        new Record(1, null, 1.5, "one"),
+                        new Record(null, 12L, null, null)
+                ),
+                new ArrayList<>(recordBatch)
+        );
+    }
+
+    @Test
+    public void testStreamingWithSmallFetchSize() throws SQLException {
+        Configuration configuration = new Configuration();
+        configuration.setProperty(HsqldbPlatform.getInstance().fetchSizeProperty, "3");
+
+        Job job = mock(Job.class);
+        when(job.getConfiguration()).thenReturn(configuration);
+
+        CrossPlatformExecutor cpe = new CrossPlatformExecutor(job, new FullInstrumentationStrategy());
+        when(job.getCrossPlatformExecutor()).thenReturn(cpe);
+        final JavaExecutor javaExecutor = new JavaExecutor(JavaPlatform.getInstance(), job);
+
+        HsqldbPlatform hsqldbPlatform = new HsqldbPlatform();
+
+        // Create some test data.
+        try (Connection jdbcConnection = hsqldbPlatform.createDatabaseDescriptor(configuration).createJdbcConnection()) {
+            final Statement statement = jdbcConnection.createStatement();
+            statement.execute("CREATE TABLE testStreamingWithSmallFetchSize (a BIGINT);");
+            for (int i = 0; i < 100; i++) {
+                statement.execute("INSERT INTO testStreamingWithSmallFetchSize VALUES (" + i + ");");
+            }
+        }
+
+        final ExecutionOperator filterOperator = new HsqldbFilterOperator(
+                new PredicateDescriptor<>(x -> false, Record.class)
+        );
+        final SqlQueryChannel sqlQueryChannel = new SqlQueryChannel(
+                HsqldbPlatform.getInstance().getSqlQueryChannelDescriptor(),
+                filterOperator.getOutput(0)
+        );
+        SqlQueryChannel.Instance sqlQueryChannelInstance = sqlQueryChannel.createInstance(
+                hsqldbPlatform.createExecutor(job),
+                mock(OptimizationContext.OperatorContext.class),
+                0
+        );
+        sqlQueryChannelInstance.setSqlQuery("SELECT * FROM testStreamingWithSmallFetchSize ORDER BY a;");
+        ExecutionTask producer = new ExecutionTask(filterOperator);
+        producer.setOutputChannel(0, sqlQueryChannel);
+
+        StreamChannel.Instance streamChannelInstance =
+                new StreamChannel(StreamChannel.DESCRIPTOR, mock(OutputSlot.class)).createInstance(
+                        javaExecutor,
+                        mock(OptimizationContext.OperatorContext.class),
+                        0
+                );
+
+        SqlToStreamOperator sqlToStreamOperator = new SqlToStreamOperator(HsqldbPlatform.getInstance());
+        evaluate(
+                sqlToStreamOperator,
+                new ChannelInstance[]{sqlQueryChannelInstance},
+                new ChannelInstance[]{streamChannelInstance}
+        );
+
+        // Consume the Stream in parallel, so that it is split into batches.
+        List<Long> output = streamChannelInstance.<Record>provideStream()
+                .parallel()
+                .map(record -> record.getLong(0))
+                .collect(Collectors.toList());
+        Assert.assertEquals(LongStream.range(0, 100).boxed().collect(Collectors.toList()), output);
+    }
+
     @Test
     public void testWithEmptyHsqldb() throws SQLException {
         Configuration configuration = new Configuration();
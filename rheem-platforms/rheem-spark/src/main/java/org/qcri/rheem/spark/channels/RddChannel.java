@@ -1,7 +1,10 @@
 package org.qcri.rheem.spark.channels;
 
-import org.apache.spark.Accumulator;
+import org.apache.spark.TaskContext;
 import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.JavaRDDLike;
+import org.apache.spark.util.LongAccumulator;
+import org.apache.spark.util.TaskCompletionListener;
 import org.qcri.rheem.core.api.exception.RheemException;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
 import org.qcri.rheem.core.plan.executionplan.Channel;
@@ -13,6 +16,9 @@ import org.qcri.rheem.core.platform.Executor;
 import org.qcri.rheem.core.util.Actions;
 import org.qcri.rheem.spark.execution.SparkExecutor;
 
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.OptionalLong;
 
 /**
@@ -57,7 +63,25 @@ public class RddChannel extends Channel {
 
         private JavaRDD<?> rdd;
 
-        private Accumulator<Integer> accumulator;
+        /**
+         * Counts the data quanta in the instrumented partitions of the {@link #rdd}.
+         */
+        private LongAccumulator accumulator;
+
+        /**
+         * Counts the instrumented partitions of the {@link #rdd} if only a sample of them is instrumented.
+         */
+        private LongAccumulator partitionAccumulator;
+
+        /**
+         * Number of partitions of the {@link #rdd} to extrapolate the counts of the sampled partitions.
+         */
+        private int numPartitions;
+
+        /**
+         * RDDs that have been persisted only to produce the {@link #rdd} and can be unpersisted along with it.
+         */
+        private final Collection<JavaRDDLike<?, ?>> persistedDependencies = new LinkedList<>();
 
         public Instance(SparkExecutor executor,
                         OptimizationContext.OperatorContext producerOperatorContext,
@@ -67,17 +91,32 @@ public class RddChannel extends Channel {
 
         public void accept(JavaRDD<?> rdd, SparkExecutor sparkExecutor) throws RheemException {
             if (this.isMarkedForInstrumentation() && !this.isRddCached()) {
-                final Accumulator<Integer> accumulator = sparkExecutor.sc.accumulator(0);
-                this.rdd = rdd.filter(dataQuantum -> {
-                    accumulator.add(1);
-                    return true;
-                });
-                this.accumulator = accumulator;
+                int samplingStride = 1;
+                if (this.isInstrumentationSamplingAllowed()) {
+                    final long numSampledPartitions = sparkExecutor.getConfiguration()
+                            .getLongProperty("rheem.spark.instrumentation.sampled-partitions", 0L);
+                    this.numPartitions = rdd.getNumPartitions();
+                    if (numSampledPartitions > 0 && this.numPartitions > numSampledPartitions) {
+                        samplingStride = (int) ((this.numPartitions + numSampledPartitions - 1) / numSampledPartitions);
+                        this.partitionAccumulator = sparkExecutor.sc.sc().longAccumulator();
+                    }
+                }
+                this.accumulator = sparkExecutor.sc.sc().longAccumulator();
+                this.rdd = instrument(rdd, this.accumulator, this.partitionAccumulator, samplingStride);
             } else {
                 this.rdd = rdd;
             }
         }
 
+        /**
+         * Registers a persisted RDD that the {@link #rdd} depends on, so that it is unpersisted once this instance
+         * is disposed.
+         *
+         * @param rdd the persisted RDD
+         */
+        public void addPersistedDependency(JavaRDDLike<?, ?> rdd) {
+            this.persistedDependencies.add(rdd);
+        }
 
         @SuppressWarnings("unchecked")
         public <T> JavaRDD<T> provideRdd() {
@@ -87,24 +126,48 @@ public class RddChannel extends Channel {
         @Override
         protected void doDispose() {
             if (this.accumulator != null) {
-                this.setMeasuredCardinality(this.accumulator.value());
+                this.updateMeasuredCardinality();
                 this.accumulator = null;
+                this.partitionAccumulator = null;
             }
             if (this.isRddCached() && this.rdd != null) {
-                Actions.doSafe(this.rdd::unpersist);
+                // Do not block the execution until the cached blocks are removed.
+                final JavaRDD<?> rdd = this.rdd;
+                Actions.doSafe(() -> rdd.unpersist(false));
                 logger.debug("Unpersisted {}.", this.rdd);
                 this.rdd = null;
             }
+            for (JavaRDDLike<?, ?> persistedDependency : this.persistedDependencies) {
+                Actions.doSafe(() -> persistedDependency.rdd().unpersist(false));
+            }
+            this.persistedDependencies.clear();
         }
 
         @Override
         public OptionalLong getMeasuredCardinality() {
             if (this.accumulator != null) {
-                this.setMeasuredCardinality(this.accumulator.value());
+                this.updateMeasuredCardinality();
             }
             return super.getMeasuredCardinality();
         }
 
+        /**
+         * Sets the measured cardinality from the {@link #accumulator}, thereby extrapolating the counts of sampled
+         * partitions to all partitions.
+         */
+        private void updateMeasuredCardinality() {
+            if (this.partitionAccumulator == null) {
+                this.setMeasuredCardinality(this.accumulator.value());
+                return;
+            }
+            final long numCountedPartitions = this.partitionAccumulator.value();
+            if (numCountedPartitions > 0) {
+                this.setMeasuredCardinality(Math.round(
+                        this.accumulator.value() * (double) this.numPartitions / numCountedPartitions
+                ));
+            }
+        }
+
         @Override
         public RddChannel getChannel() {
             return RddChannel.this;
@@ -115,4 +178,56 @@ public class RddChannel extends Channel {
         }
     }
 
+    /**
+     * Counts the data quanta of an {@link JavaRDD} partition-wise, so that every partition updates the accumulators
+     * only once, namely when its task completes. Hence, also partially consumed partitions (e.g., by samples) report
+     * the data quanta that have been read.
+     *
+     * @param rdd                  that should be instrumented
+     * @param quantumAccumulator   counts the data quanta in the instrumented partitions
+     * @param partitionAccumulator counts the instrumented partitions; may be {@code null}
+     * @param samplingStride       instrument only every so many partitions
+     * @return the instrumented {@link JavaRDD}
+     */
+    private static <T> JavaRDD<T> instrument(JavaRDD<T> rdd,
+                                             LongAccumulator quantumAccumulator,
+                                             LongAccumulator partitionAccumulator,
+                                             int samplingStride) {
+        return rdd.mapPartitionsWithIndex((partitionIndex, dataQuanta) -> {
+            if (partitionIndex % samplingStride != 0) return dataQuanta;
+            final CountingIterator<T> countingIterator = new CountingIterator<>(dataQuanta);
+            TaskContext.get().addTaskCompletionListener((TaskCompletionListener) taskContext -> {
+                quantumAccumulator.add(countingIterator.count);
+                if (partitionAccumulator != null) partitionAccumulator.add(1L);
+            });
+            return countingIterator;
+        }, true);
+    }
+
+    /**
+     * {@link Iterator} that counts the data quanta of a partition.
+     */
+    private static class CountingIterator<T> implements Iterator<T> {
+
+        private final Iterator<T> dataQuanta;
+
+        private long count = 0L;
+
+        private CountingIterator(Iterator<T> dataQuanta) {
+            this.dataQuanta = dataQuanta;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.dataQuanta.hasNext();
+        }
+
+        @Override
+        public T next() {
+            final T dataQuantum = this.dataQuanta.next();
+            this.count++;
+            return dataQuantum;
+        }
+    }
+
 }
@@ -1,9 +1,13 @@
 package org.qcri.rheem.spark.execution;
 
+import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.spark.storage.StorageLevel;
 import org.qcri.rheem.core.api.Job;
 import org.qcri.rheem.core.api.exception.RheemException;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+import org.qcri.rheem.core.optimizer.cardinality.HeavyKeyDetector;
 import org.qcri.rheem.core.plan.executionplan.ExecutionTask;
 import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
 import org.qcri.rheem.core.platform.ChannelInstance;
@@ -16,11 +20,15 @@ import org.qcri.rheem.core.util.Tuple;
 import org.qcri.rheem.spark.channels.RddChannel;
 import org.qcri.rheem.spark.compiler.FunctionCompiler;
 import org.qcri.rheem.spark.operators.SparkExecutionOperator;
+import org.qcri.rheem.spark.optimizer.PartitionSizer;
 import org.qcri.rheem.spark.platform.SparkPlatform;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * {@link Executor} implementation for the {@link SparkPlatform}.
@@ -54,10 +62,25 @@ public class SparkExecutor extends PushExecutorTemplate {
      */
     private final int numDefaultPartitions;
 
+    /**
+     * Adapts the number of partitions of shuffling {@link SparkExecutionOperator}s to their input cardinalities.
+     */
+    private final PartitionSizer partitionSizer;
+
+    /**
+     * Decides which keys of shuffles should be split over multiple partitions.
+     */
+    private final HeavyKeyDetector heavyKeyDetector;
+
     /**
      * Counts the number of issued Spark actions.
      */
-    private int numActions = 0;
+    private final AtomicInteger numActions = new AtomicInteger(0);
+
+    /**
+     * Seed for the samples of {@link #detectHeavyKeys(JavaPairRDD, OptimizationContext.OperatorContext, int, int)}.
+     */
+    private static final long SKEW_SAMPLING_SEED = 42L;
 
     public SparkExecutor(SparkPlatform platform, Job job) {
         super(job);
@@ -65,13 +88,16 @@ public class SparkExecutor extends PushExecutorTemplate {
         this.sparkContextReference = this.platform.getSparkContext(job);
         this.sparkContextReference.noteObtainedReference();
         this.sc = this.sparkContextReference.get();
+        final int numCores;
         if (this.sc.getConf().contains("spark.executor.cores")) {
-            this.numDefaultPartitions = 2 * this.sc.getConf().getInt("spark.executor.cores", -1);
+            numCores = this.sc.getConf().getInt("spark.executor.cores", -1);
         } else {
-            this.numDefaultPartitions =
-                    (int) (2 * this.getConfiguration().getLongProperty("rheem.spark.machines")
-                            * this.getConfiguration().getLongProperty("rheem.spark.cores-per-machine"));
+            numCores = (int) (this.getConfiguration().getLongProperty("rheem.spark.machines")
+                    * this.getConfiguration().getLongProperty("rheem.spark.cores-per-machine"));
         }
+        this.numDefaultPartitions = 2 * numCores;
+        this.partitionSizer = PartitionSizer.create(this.getConfiguration(), numCores);
+        this.heavyKeyDetector = HeavyKeyDetector.create(this.getConfiguration(), "rheem.spark.skew");
     }
 
     @Override
@@ -111,9 +137,10 @@ public class SparkExecutor extends PushExecutorTemplate {
 
         // Check how much we executed.
         PartialExecution partialExecution = this.createPartialExecution(executionLineageNodes, executionDuration);
-        if (partialExecution != null && cast(task.getOperator()).containsAction()) {
-            if (this.numActions == 0) partialExecution.addInitializedPlatform(SparkPlatform.getInstance());
-            this.numActions++;
+        if (partialExecution != null && cast(task.getOperator()).containsAction(producerOperatorContext, this)) {
+            if (this.numActions.getAndIncrement() == 0) {
+                partialExecution.addInitializedPlatform(SparkPlatform.getInstance());
+            }
         }
 
         if (partialExecution == null && executionDuration > 10) {
@@ -174,6 +201,78 @@ public class SparkExecutor extends PushExecutorTemplate {
         return this.numDefaultPartitions;
     }
 
+    /**
+     * Determines the number of partitions for a shuffle of the given inputs of an {@link ExecutionOperator}.
+     *
+     * @param operatorContext provides the input cardinalities; may be {@code null}
+     * @param inputIndices    indices of the shuffled inputs
+     * @return the number of partitions
+     * @see PartitionSizer
+     */
+    public int getNumPartitions(OptimizationContext.OperatorContext operatorContext, int... inputIndices) {
+        if (operatorContext == null) return this.numDefaultPartitions;
+        final CardinalityEstimate[] inputCardinalities = new CardinalityEstimate[inputIndices.length];
+        for (int i = 0; i < inputIndices.length; i++) {
+            inputCardinalities[i] = operatorContext.getInputCardinality(inputIndices[i]);
+        }
+        return this.partitionSizer.getNumPartitions(inputCardinalities);
+    }
+
+    /**
+     * Tells whether the keys of an input of an {@link ExecutionOperator} should be sampled for heavy keys before
+     * shuffling it, as requested by the {@link HeavyKeyDetector}. If so, the {@link ExecutionOperator} issues a
+     * Spark action via {@link #detectHeavyKeys(JavaPairRDD, OptimizationContext.OperatorContext, int, int, RddChannel.Instance)}.
+     *
+     * @param operatorContext provides the cardinality of the input; may be {@code null}
+     * @param inputIndex      index of the input
+     * @param numPartitions   number of partitions of the shuffle
+     * @return whether the keys should be sampled
+     */
+    public boolean isHeavyKeySamplingRequested(OptimizationContext.OperatorContext operatorContext,
+                                               int inputIndex,
+                                               int numPartitions) {
+        final CardinalityEstimate inputCardinality = operatorContext == null ?
+                null :
+                operatorContext.getInputCardinality(inputIndex);
+        return this.heavyKeyDetector.isSamplingRequested(inputCardinality, numPartitions);
+    }
+
+    /**
+     * Samples the keys of a pair RDD that is about to be shuffled to find heavy keys. This is a Spark action, so
+     * the {@code pairRdd} is persisted beforehand: the subsequent shuffle then neither recomputes its lineage nor
+     * counts the data quanta of instrumented upstream {@link RddChannel}s twice.
+     *
+     * @param pairRdd         whose keys should be sampled; will be persisted
+     * @param operatorContext provides the cardinality of the input; may be {@code null}
+     * @param inputIndex      index of the input that corresponds to the {@code pairRdd}
+     * @param numPartitions   number of partitions of the shuffle
+     * @param output          the output of the shuffling {@link ExecutionOperator}; unpersists the {@code pairRdd}
+     *                        once it is disposed
+     * @return the heavy keys associated with the number of partitions to split them over; empty if there is no skew
+     * @see #isHeavyKeySamplingRequested(OptimizationContext.OperatorContext, int, int)
+     */
+    public <K> Map<K, Integer> detectHeavyKeys(JavaPairRDD<K, ?> pairRdd,
+                                               OptimizationContext.OperatorContext operatorContext,
+                                               int inputIndex,
+                                               int numPartitions,
+                                               RddChannel.Instance output) {
+        final CardinalityEstimate inputCardinality = operatorContext == null ?
+                null :
+                operatorContext.getInputCardinality(inputIndex);
+        pairRdd.persist(StorageLevel.MEMORY_AND_DISK_SER());
+        output.addPersistedDependency(pairRdd);
+        final Map<K, Long> sampledKeyCounts = pairRdd
+                .keys()
+                .sample(false, this.heavyKeyDetector.getSampleFraction(inputCardinality), SKEW_SAMPLING_SEED)
+                .countByValue();
+        final Map<K, Integer> heavyKeys = this.heavyKeyDetector.detect(sampledKeyCounts, numPartitions);
+        if (!heavyKeys.isEmpty()) {
+            this.logger.info("Splitting heavy keys {} of {} over multiple partitions.", heavyKeys,
+                    operatorContext == null ? "a shuffle" : operatorContext.getOperator());
+        }
+        return heavyKeys;
+    }
+
     @Override
     public void dispose() {
         super.dispose();
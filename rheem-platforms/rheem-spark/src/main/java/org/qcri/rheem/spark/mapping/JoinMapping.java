@@ -7,24 +7,39 @@ import org.qcri.rheem.core.mapping.PlanTransformation;
 import org.qcri.rheem.core.mapping.ReplacementSubplanFactory;
 import org.qcri.rheem.core.mapping.SubplanPattern;
 import org.qcri.rheem.core.types.DataSetType;
+import org.qcri.rheem.spark.operators.SparkBroadcastJoinOperator;
 import org.qcri.rheem.spark.operators.SparkJoinOperator;
 import org.qcri.rheem.spark.platform.SparkPlatform;
 
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 
 /**
- * Mapping from {@link JoinOperator} to {@link SparkJoinOperator}.
+ * Mapping from {@link JoinOperator} to {@link SparkJoinOperator} and to {@link SparkBroadcastJoinOperator}s with
+ * either input as build side. The optimizer chooses among them by their estimated costs, which depend on the
+ * input cardinalities.
  */
 public class JoinMapping implements Mapping {
 
     @Override
     public Collection<PlanTransformation> getTransformations() {
-        return Collections.singleton(new PlanTransformation(
-                this.createSubplanPattern(),
-                this.createReplacementSubplanFactory(),
-                SparkPlatform.getInstance()
-        ));
+        return Arrays.asList(
+                new PlanTransformation(
+                        this.createSubplanPattern(),
+                        this.createReplacementSubplanFactory(),
+                        SparkPlatform.getInstance()
+                ),
+                new PlanTransformation(
+                        this.createSubplanPattern(),
+                        this.createBroadcastReplacementSubplanFactory(0),
+                        SparkPlatform.getInstance()
+                ),
+                new PlanTransformation(
+                        this.createSubplanPattern(),
+                        this.createBroadcastReplacementSubplanFactory(1),
+                        SparkPlatform.getInstance()
+                )
+        );
     }
 
     private SubplanPattern createSubplanPattern() {
@@ -39,4 +54,10 @@ public class JoinMapping implements Mapping {
                 (matchedOperator, epoch) -> new SparkJoinOperator<>(matchedOperator).at(epoch)
         );
     }
+
+    private ReplacementSubplanFactory createBroadcastReplacementSubplanFactory(int buildInputIndex) {
+        return new ReplacementSubplanFactory.OfSingleOperators<JoinOperator<Object, Object, Object>>(
+                (matchedOperator, epoch) -> new SparkBroadcastJoinOperator<>(matchedOperator, buildInputIndex).at(epoch)
+        );
+    }
 }
@@ -0,0 +1,83 @@
+package org.qcri.rheem.spark.operators;
+
+import org.apache.spark.api.java.JavaPairRDD;
+import scala.Tuple2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utilities to split heavy keys of pair RDDs over multiple partitions by extending them with a salt. Keys that
+ * are not heavy are always salted with {@code 0}.
+ */
+final class KeySalting {
+
+    private KeySalting() {
+    }
+
+    /**
+     * Salts the heavy keys of the given pair RDD in a round-robin fashion.
+     *
+     * @param pairRdd   whose keys should be salted
+     * @param heavyKeys the heavy keys associated with their number of salts
+     * @return the salted pair RDD
+     */
+    static <K, V> JavaPairRDD<Tuple2<K, Integer>, V> salt(JavaPairRDD<K, V> pairRdd, Map<K, Integer> heavyKeys) {
+        final HashMap<K, Integer> serializableHeavyKeys = new HashMap<>(heavyKeys);
+        return pairRdd.mapPartitionsToPair(pairs -> new Iterator<Tuple2<Tuple2<K, Integer>, V>>() {
+
+            private int counter = 0;
+
+            @Override
+            public boolean hasNext() {
+                return pairs.hasNext();
+            }
+
+            @Override
+            public Tuple2<Tuple2<K, Integer>, V> next() {
+                final Tuple2<K, V> pair = pairs.next();
+                final Integer numSalts = serializableHeavyKeys.get(pair._1());
+                final int salt = numSalts == null ? 0 : (this.counter++ & Integer.MAX_VALUE) % numSalts;
+                return new Tuple2<>(new Tuple2<>(pair._1(), salt), pair._2());
+            }
+        }, true);
+    }
+
+    /**
+     * Replicates the pairs with heavy keys of the given pair RDD once per salt, so that they can be joined with a
+     * pair RDD that has been {@link #salt(JavaPairRDD, Map) salted}.
+     *
+     * @param pairRdd   whose pairs should be replicated
+     * @param heavyKeys the heavy keys associated with their number of salts
+     * @return the salted pair RDD
+     */
+    static <K, V> JavaPairRDD<Tuple2<K, Integer>, V> replicate(JavaPairRDD<K, V> pairRdd, Map<K, Integer> heavyKeys) {
+        final HashMap<K, Integer> serializableHeavyKeys = new HashMap<>(heavyKeys);
+        return pairRdd.flatMapToPair(pair -> {
+            final Integer numSalts = serializableHeavyKeys.get(pair._1());
+            if (numSalts == null) {
+                return Collections.singleton(new Tuple2<>(new Tuple2<>(pair._1(), 0), pair._2())).iterator();
+            }
+            List<Tuple2<Tuple2<K, Integer>, V>> replicas = new ArrayList<>(numSalts);
+            for (int salt = 0; salt < numSalts; salt++) {
+                replicas.add(new Tuple2<>(new Tuple2<>(pair._1(), salt), pair._2()));
+            }
+            return replicas.iterator();
+        });
+    }
+
+    /**
+     * Removes the salts from the keys of the given pair RDD.
+     *
+     * @param saltedPairRdd whose keys should be desalted
+     * @return the desalted pair RDD
+     */
+    static <K, V> JavaPairRDD<K, V> desalt(JavaPairRDD<Tuple2<K, Integer>, V> saltedPairRdd) {
+        return saltedPairRdd.mapToPair(pair -> new Tuple2<>(pair._1()._1(), pair._2()));
+    }
+
+}
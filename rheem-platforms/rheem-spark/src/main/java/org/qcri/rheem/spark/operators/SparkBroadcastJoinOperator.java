@@ -0,0 +1,287 @@
+package org.qcri.rheem.spark.operators;
+
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.function.FlatMapFunction;
+import org.apache.spark.api.java.function.Function;
+import org.apache.spark.api.java.function.PairFunction;
+import org.apache.spark.broadcast.Broadcast;
+import org.qcri.rheem.basic.data.Tuple2;
+import org.qcri.rheem.basic.operators.JoinOperator;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.api.exception.RheemException;
+import org.qcri.rheem.core.function.TransformationDescriptor;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimator;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimators;
+import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
+import org.qcri.rheem.core.platform.ChannelDescriptor;
+import org.qcri.rheem.core.platform.ChannelInstance;
+import org.qcri.rheem.core.platform.lineage.ExecutionLineageNode;
+import org.qcri.rheem.core.types.DataSetType;
+import org.qcri.rheem.core.util.Tuple;
+import org.qcri.rheem.java.channels.CollectionChannel;
+import org.qcri.rheem.spark.channels.RddChannel;
+import org.qcri.rheem.spark.compiler.FunctionCompiler;
+import org.qcri.rheem.spark.execution.SparkExecutor;
+import org.qcri.rheem.spark.optimizer.BroadcastLoadProfileEstimator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * Spark implementation of the {@link JoinOperator} that broadcasts one input (the build side) as a hash table and
+ * probes it with the other input partition by partition. In contrast to the {@link SparkJoinOperator}, this avoids
+ * shuffling the probe side and is therefore preferable whenever the build side is small. If the build side turns
+ * out to exceed {@code rheem.spark.broadcastjoin.max-build-cardinality}, the join falls back to shuffling both sides.
+ */
+public class SparkBroadcastJoinOperator<InputType0, InputType1, KeyType>
+        extends JoinOperator<InputType0, InputType1, KeyType>
+        implements SparkExecutionOperator {
+
+    /**
+     * The index of the input that is broadcast as a hash table.
+     */
+    private final int buildInputIndex;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param buildInputIndex the index of the input that should be broadcast
+     */
+    public SparkBroadcastJoinOperator(DataSetType<InputType0> inputType0,
+                                      DataSetType<InputType1> inputType1,
+                                      TransformationDescriptor<InputType0, KeyType> keyDescriptor0,
+                                      TransformationDescriptor<InputType1, KeyType> keyDescriptor1,
+                                      int buildInputIndex) {
+        super(keyDescriptor0, keyDescriptor1, inputType0, inputType1);
+        this.buildInputIndex = validateBuildInputIndex(buildInputIndex);
+    }
+
+    /**
+     * Copies an instance (exclusive of broadcasts).
+     *
+     * @param that            that should be copied
+     * @param buildInputIndex the index of the input that should be broadcast
+     */
+    public SparkBroadcastJoinOperator(JoinOperator<InputType0, InputType1, KeyType> that, int buildInputIndex) {
+        super(that);
+        this.buildInputIndex = validateBuildInputIndex(buildInputIndex);
+    }
+
+    private static int validateBuildInputIndex(int buildInputIndex) {
+        if (buildInputIndex != 0 && buildInputIndex != 1) {
+            throw new RheemException(String.format("Illegal build input index %d for a join.", buildInputIndex));
+        }
+        return buildInputIndex;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> evaluate(
+            ChannelInstance[] inputs,
+            ChannelInstance[] outputs,
+            SparkExecutor sparkExecutor,
+            OptimizationContext.OperatorContext operatorContext) {
+        assert inputs.length == this.getNumInputs();
+        assert outputs.length == this.getNumOutputs();
+
+        final CollectionChannel.Instance buildInput = (CollectionChannel.Instance) inputs[this.buildInputIndex];
+        final RddChannel.Instance probeInput = (RddChannel.Instance) inputs[1 - this.buildInputIndex];
+        final RddChannel.Instance output = (RddChannel.Instance) outputs[0];
+
+        final FunctionCompiler compiler = sparkExecutor.getCompiler();
+        final PairFunction<Object, KeyType, Object> buildKeyExtractor = (PairFunction<Object, KeyType, Object>)
+                (this.buildInputIndex == 0 ?
+                        compiler.compileToKeyExtractor(this.keyDescriptor0) :
+                        compiler.compileToKeyExtractor(this.keyDescriptor1));
+        final PairFunction<Object, KeyType, Object> probeKeyExtractor = (PairFunction<Object, KeyType, Object>)
+                (this.buildInputIndex == 0 ?
+                        compiler.compileToKeyExtractor(this.keyDescriptor1) :
+                        compiler.compileToKeyExtractor(this.keyDescriptor0));
+
+        final Collection<?> buildDataQuanta = buildInput.provideCollection();
+        final JavaRDD<Object> probeRdd = probeInput.provideRdd();
+        final JavaRDD<Tuple2<InputType0, InputType1>> outputRdd;
+        final long maxBuildCardinality = sparkExecutor.getConfiguration()
+                .getLongProperty("rheem.spark.broadcastjoin.max-build-cardinality");
+        if (buildDataQuanta.size() <= maxBuildCardinality) {
+            // Build the hash table on the driver and ship it to the workers.
+            final Broadcast<HashMap<KeyType, List<Object>>> hashTable = sparkExecutor.sc.broadcast(
+                    buildHashTable(buildDataQuanta, buildKeyExtractor)
+            );
+            outputRdd = probeRdd.mapPartitions(
+                    new HashTableProber<>(hashTable, probeKeyExtractor, this.buildInputIndex == 0)
+            );
+        } else {
+            // The build side was underestimated and is too large to be broadcast, so shuffle both sides instead.
+            final JavaPairRDD<KeyType, Object> buildPairRdd = sparkExecutor.sc
+                    .parallelize(new ArrayList<Object>(buildDataQuanta), probeRdd.getNumPartitions())
+                    .mapToPair(buildKeyExtractor);
+            outputRdd = probeRdd.mapToPair(probeKeyExtractor)
+                    .join(buildPairRdd)
+                    .map(new JoinedPairConverter<>(this.buildInputIndex == 0));
+        }
+        this.name(outputRdd);
+
+        output.accept(outputRdd, sparkExecutor);
+
+        return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
+    }
+
+    /**
+     * Groups the given data quanta by their keys.
+     */
+    private static <Key> HashMap<Key, List<Object>> buildHashTable(Collection<?> dataQuanta,
+                                                                  PairFunction<Object, Key, Object> keyExtractor) {
+        final HashMap<Key, List<Object>> hashTable = new HashMap<>();
+        try {
+            for (Object dataQuantum : dataQuanta) {
+                final Key key = keyExtractor.call(dataQuantum)._1();
+                hashTable.computeIfAbsent(key, k -> new ArrayList<>(1)).add(dataQuantum);
+            }
+        } catch (Exception e) {
+            throw new RheemException("Could not build the hash table for a broadcast join.", e);
+        }
+        return hashTable;
+    }
+
+    /**
+     * Joins the data quanta of a partition with a broadcast hash table.
+     */
+    private static class HashTableProber<InputType0, InputType1, KeyType>
+            implements FlatMapFunction<Iterator<Object>, Tuple2<InputType0, InputType1>> {
+
+        private final Broadcast<HashMap<KeyType, List<Object>>> hashTable;
+
+        private final PairFunction<Object, KeyType, Object> keyExtractor;
+
+        /**
+         * Tells whether the hash table contains the data quanta of the first input.
+         */
+        private final boolean isBuildingFirstInput;
+
+        private HashTableProber(Broadcast<HashMap<KeyType, List<Object>>> hashTable,
+                                PairFunction<Object, KeyType, Object> keyExtractor,
+                                boolean isBuildingFirstInput) {
+            this.hashTable = hashTable;
+            this.keyExtractor = keyExtractor;
+            this.isBuildingFirstInput = isBuildingFirstInput;
+        }
+
+        @Override
+        public Iterator<Tuple2<InputType0, InputType1>> call(Iterator<Object> probeIterator) {
+            final Map<KeyType, List<Object>> hashTable = this.hashTable.getValue();
+            return new Iterator<Tuple2<InputType0, InputType1>>() {
+
+                private Object probeDataQuantum;
+
+                private Iterator<Object> matches = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext() {
+                    while (!this.matches.hasNext()) {
+                        if (!probeIterator.hasNext()) return false;
+                        this.probeDataQuantum = probeIterator.next();
+                        final KeyType key;
+                        try {
+                            key = HashTableProber.this.keyExtractor.call(this.probeDataQuantum)._1();
+                        } catch (Exception e) {
+                            throw new RheemException("Could not extract the key of a probing data quantum.", e);
+                        }
+                        this.matches = hashTable.getOrDefault(key, Collections.emptyList()).iterator();
+                    }
+                    return true;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public Tuple2<InputType0, InputType1> next() {
+                    if (!this.hasNext()) throw new NoSuchElementException();
+                    final Object buildDataQuantum = this.matches.next();
+                    return HashTableProber.this.isBuildingFirstInput ?
+                            new Tuple2<>((InputType0) buildDataQuantum, (InputType1) this.probeDataQuantum) :
+                            new Tuple2<>((InputType0) this.probeDataQuantum, (InputType1) buildDataQuantum);
+                }
+            };
+        }
+    }
+
+    /**
+     * Converts joined pairs of probing and build data quanta into {@link Tuple2}s.
+     */
+    private static class JoinedPairConverter<InputType0, InputType1, KeyType>
+            implements Function<scala.Tuple2<KeyType, scala.Tuple2<Object, Object>>, Tuple2<InputType0, InputType1>> {
+
+        /**
+         * Tells whether the build data quanta belong to the first input.
+         */
+        private final boolean isBuildingFirstInput;
+
+        private JoinedPairConverter(boolean isBuildingFirstInput) {
+            this.isBuildingFirstInput = isBuildingFirstInput;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Tuple2<InputType0, InputType1> call(scala.Tuple2<KeyType, scala.Tuple2<Object, Object>> joinedPair) {
+            final Object probeDataQuantum = joinedPair._2()._1(), buildDataQuantum = joinedPair._2()._2();
+            return this.isBuildingFirstInput ?
+                    new Tuple2<>((InputType0) buildDataQuantum, (InputType1) probeDataQuantum) :
+                    new Tuple2<>((InputType0) probeDataQuantum, (InputType1) buildDataQuantum);
+        }
+    }
+
+    @Override
+    protected ExecutionOperator createCopy() {
+        return new SparkBroadcastJoinOperator<>(this.getInputType0(), this.getInputType1(),
+                this.getKeyDescriptor0(), this.getKeyDescriptor1(), this.buildInputIndex);
+    }
+
+    public int getBuildInputIndex() {
+        return this.buildInputIndex;
+    }
+
+    @Override
+    public String getLoadProfileEstimatorConfigurationKey() {
+        return String.format("rheem.spark.broadcastjoin.build%d.load", this.buildInputIndex);
+    }
+
+    @Override
+    public Optional<LoadProfileEstimator> createLoadProfileEstimator(Configuration configuration) {
+        final Optional<LoadProfileEstimator> optEstimator = SparkExecutionOperator.super
+                .createLoadProfileEstimator(configuration)
+                .map(estimator -> BroadcastLoadProfileEstimator.wrap(estimator, configuration));
+        LoadProfileEstimators.nestUdfEstimator(optEstimator, this.keyDescriptor0, configuration);
+        LoadProfileEstimators.nestUdfEstimator(optEstimator, this.keyDescriptor1, configuration);
+        return optEstimator;
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedInputChannels(int index) {
+        assert index <= this.getNumInputs() || (index == 0 && this.getNumInputs() == 0);
+        return index == this.buildInputIndex ?
+                Collections.singletonList(CollectionChannel.DESCRIPTOR) :
+                Arrays.asList(RddChannel.UNCACHED_DESCRIPTOR, RddChannel.CACHED_DESCRIPTOR);
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedOutputChannels(int index) {
+        assert index <= this.getNumOutputs() || (index == 0 && this.getNumOutputs() == 0);
+        return Collections.singletonList(RddChannel.UNCACHED_DESCRIPTOR);
+    }
+
+    @Override
+    public boolean containsAction() {
+        return false;
+    }
+
+}
@@ -1,9 +1,12 @@
 package org.qcri.rheem.spark.operators;
 
 import org.apache.commons.lang3.Validate;
+import org.apache.spark.SparkConf;
 import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.storage.StorageLevel;
 import org.qcri.rheem.core.api.Configuration;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
 import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimator;
 import org.qcri.rheem.core.optimizer.cardinality.DefaultCardinalityEstimator;
 import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
@@ -23,6 +26,11 @@ import java.util.Optional;
 
 /**
  * Converts an uncached {@link RddChannel} into a cached {@link RddChannel}.
+ * <p>The {@link StorageLevel} is chosen from the estimated size of the cached data quanta and the storage memory of
+ * the Spark cluster: data that fits deserialized is cached with {@link StorageLevel#MEMORY_ONLY()}, data that fits
+ * only in serialized form with {@link StorageLevel#MEMORY_ONLY_SER()} (or {@link StorageLevel#OFF_HEAP()} if
+ * off-heap memory is enabled and the on-heap memory does not suffice), and any larger data with
+ * {@link StorageLevel#MEMORY_AND_DISK()}, so that it need not be recomputed from its lineage.</p>
  */
 public class SparkCacheOperator<Type>
         extends UnaryToUnaryOperator<Type, Type>
@@ -40,7 +48,11 @@ public class SparkCacheOperator<Type>
             OptimizationContext.OperatorContext operatorContext) {
         RddChannel.Instance input = (RddChannel.Instance) inputs[0];
         final JavaRDD<Object> rdd = input.provideRdd();
-        final JavaRDD<Object> cachedRdd = rdd.cache();
+        final StorageLevel storageLevel = this.chooseStorageLevel(
+                operatorContext == null ? null : operatorContext.getOutputCardinality(0),
+                sparkExecutor
+        );
+        final JavaRDD<Object> cachedRdd = rdd.persist(storageLevel);
         cachedRdd.foreachPartition(iterator -> {
         });
 
@@ -50,6 +62,59 @@ public class SparkCacheOperator<Type>
         return ExecutionOperator.modelQuasiEagerExecution(inputs, outputs, operatorContext);
     }
 
+    /**
+     * Chooses the {@link StorageLevel} for the cached data quanta as configured via
+     * {@code rheem.spark.cache.storage-level} or, by default, according to their estimated size.
+     *
+     * @param cardinality   the estimated number of cached data quanta or {@code null} if unknown
+     * @param sparkExecutor provides the {@link Configuration} and the {@link SparkConf}
+     * @return the {@link StorageLevel}
+     */
+    private StorageLevel chooseStorageLevel(CardinalityEstimate cardinality, SparkExecutor sparkExecutor) {
+        final Configuration configuration = sparkExecutor.getConfiguration();
+        final String storageLevel = configuration.getStringProperty("rheem.spark.cache.storage-level", "auto");
+        if (!"auto".equalsIgnoreCase(storageLevel)) {
+            return StorageLevel.fromString(storageLevel.toUpperCase());
+        }
+        if (cardinality == null) return StorageLevel.MEMORY_AND_DISK();
+
+        final SparkConf sparkConf = sparkExecutor.sc.getConf();
+        final long numExecutors = sparkExecutor.sc.isLocal() ? 1 : configuration.getLongProperty("rheem.spark.machines");
+        long memory = configuration.getLongProperty("rheem.spark.cache.memory", 0L);
+        if (memory <= 0) {
+            final long executorMemory = sparkExecutor.sc.isLocal() ?
+                    Runtime.getRuntime().maxMemory() :
+                    sparkConf.getSizeAsBytes("spark.executor.memory", "1g");
+            memory = Math.round(numExecutors * executorMemory * sparkConf.getDouble("spark.memory.fraction", 0.6d));
+        }
+        final long offHeapMemory = sparkConf.getBoolean("spark.memory.offHeap.enabled", false) ?
+                numExecutors * sparkConf.getSizeAsBytes("spark.memory.offHeap.size", "0") :
+                0L;
+
+        final double estimatedBytes = (double) cardinality.getUpperEstimate()
+                * configuration.getLongProperty("rheem.spark.quantum-size", 256L);
+        final double serializationRatio = configuration.getDoubleProperty("rheem.spark.cache.serialization-ratio", 0.4d);
+        return chooseStorageLevel(estimatedBytes, serializationRatio, memory, offHeapMemory);
+    }
+
+    /**
+     * Chooses the {@link StorageLevel} for data quanta of the given size.
+     *
+     * @param estimatedBytes     the estimated size of the deserialized data quanta
+     * @param serializationRatio the size of the serialized data quanta relative to their deserialized size
+     * @param memory             the storage memory of the cluster in bytes
+     * @param offHeapMemory      the off-heap memory of the cluster in bytes
+     * @return the {@link StorageLevel}
+     */
+    static StorageLevel chooseStorageLevel(double estimatedBytes, double serializationRatio,
+                                           long memory, long offHeapMemory) {
+        if (estimatedBytes <= memory) return StorageLevel.MEMORY_ONLY();
+        final double estimatedSerializedBytes = estimatedBytes * serializationRatio;
+        if (estimatedSerializedBytes <= memory) return StorageLevel.MEMORY_ONLY_SER();
+        if (estimatedSerializedBytes <= offHeapMemory) return StorageLevel.OFF_HEAP();
+        return StorageLevel.MEMORY_AND_DISK();
+    }
+
     @Override
     public List<ChannelDescriptor> getSupportedInputChannels(int index) {
         return Collections.singletonList(RddChannel.UNCACHED_DESCRIPTOR);
@@ -50,6 +50,18 @@ public interface SparkExecutionOperator extends ExecutionOperator {
      */
     boolean containsAction();
 
+    /**
+     * Tell whether this instance issues Spark actions when being evaluated in the given context. By default, this
+     * is the case if it {@link #containsAction() contains an action} in general.
+     *
+     * @param operatorContext provides the estimates of this instance; may be {@code null}
+     * @param sparkExecutor   that evaluates this instance
+     * @return whether this instance issues Spark actions
+     */
+    default boolean containsAction(OptimizationContext.OperatorContext operatorContext, SparkExecutor sparkExecutor) {
+        return this.containsAction();
+    }
+
     /**
      * Utility method to name an RDD according to this instance's name.
      *
@@ -9,6 +9,7 @@ import org.qcri.rheem.basic.operators.JoinOperator;
 import org.qcri.rheem.core.api.Configuration;
 import org.qcri.rheem.core.function.TransformationDescriptor;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.cardinality.HeavyKeyDetector;
 import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimator;
 import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimators;
 import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
@@ -20,11 +21,13 @@ import org.qcri.rheem.core.util.Tuple;
 import org.qcri.rheem.spark.channels.RddChannel;
 import org.qcri.rheem.spark.compiler.FunctionCompiler;
 import org.qcri.rheem.spark.execution.SparkExecutor;
+import org.qcri.rheem.spark.optimizer.PartitionLoadProfileEstimator;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -76,8 +79,30 @@ public class SparkJoinOperator<InputType0, InputType1, KeyType>
         JavaPairRDD<KeyType, InputType0> pairStream0 = inputRdd0.mapToPair(keyExtractor0);
         JavaPairRDD<KeyType, InputType1> pairStream1 = inputRdd1.mapToPair(keyExtractor1);
 
-        final JavaPairRDD<KeyType, scala.Tuple2<InputType0, InputType1>> outputPair =
-                pairStream0.<InputType1>join(pairStream1, sparkExecutor.getNumDefaultPartitions());
+        final int numPartitions = sparkExecutor.getNumPartitions(operatorContext, 0, 1);
+        final JavaPairRDD<KeyType, scala.Tuple2<InputType0, InputType1>> outputPair;
+        // Split the heavy keys of the larger input and replicate the matching data quanta of the other input.
+        final boolean isSplittingInput0 = HeavyKeyDetector.selectSplitInput(operatorContext) == 0;
+        final boolean isSampling = this.containsAction(operatorContext, sparkExecutor);
+        final Map<KeyType, Integer> heavyKeys;
+        if (!isSampling) {
+            heavyKeys = Collections.emptyMap();
+        } else if (isSplittingInput0) {
+            heavyKeys = sparkExecutor.detectHeavyKeys(pairStream0, operatorContext, 0, numPartitions, output);
+        } else {
+            heavyKeys = sparkExecutor.detectHeavyKeys(pairStream1, operatorContext, 1, numPartitions, output);
+        }
+        if (heavyKeys.isEmpty()) {
+            outputPair = pairStream0.<InputType1>join(pairStream1, numPartitions);
+        } else {
+            final JavaPairRDD<scala.Tuple2<KeyType, Integer>, InputType0> saltedPairStream0 = isSplittingInput0 ?
+                    KeySalting.salt(pairStream0, heavyKeys) :
+                    KeySalting.replicate(pairStream0, heavyKeys);
+            final JavaPairRDD<scala.Tuple2<KeyType, Integer>, InputType1> saltedPairStream1 = isSplittingInput0 ?
+                    KeySalting.replicate(pairStream1, heavyKeys) :
+                    KeySalting.salt(pairStream1, heavyKeys);
+            outputPair = KeySalting.desalt(saltedPairStream0.<InputType1>join(saltedPairStream1, numPartitions));
+        }
         this.name(outputPair);
 
         // convert from scala tuple to rheem tuple
@@ -87,7 +112,10 @@ public class SparkJoinOperator<InputType0, InputType1, KeyType>
 
         output.accept(outputRdd, sparkExecutor);
 
-        return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
+        // Sampling the keys executes the inputs.
+        return isSampling ?
+                ExecutionOperator.modelQuasiEagerExecution(inputs, outputs, operatorContext) :
+                ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
     }
 
     @Override
@@ -120,6 +148,7 @@ public class SparkJoinOperator<InputType0, InputType1, KeyType>
                 SparkExecutionOperator.super.createLoadProfileEstimator(configuration);
         LoadProfileEstimators.nestUdfEstimator(optEstimator, this.keyDescriptor0, configuration);
         LoadProfileEstimators.nestUdfEstimator(optEstimator, this.keyDescriptor1, configuration);
+        PartitionLoadProfileEstimator.nestInto(optEstimator, configuration, 0, 1);
         return optEstimator;
     }
 
@@ -140,4 +169,12 @@ public class SparkJoinOperator<InputType0, InputType1, KeyType>
         return false;
     }
 
+    @Override
+    public boolean containsAction(OptimizationContext.OperatorContext operatorContext, SparkExecutor sparkExecutor) {
+        // Sampling the keys for the skew handling is an action; otherwise, the execution is lazy.
+        final int numPartitions = sparkExecutor.getNumPartitions(operatorContext, 0, 1);
+        final int splitInputIndex = HeavyKeyDetector.selectSplitInput(operatorContext);
+        return sparkExecutor.isHeavyKeySamplingRequested(operatorContext, splitInputIndex, numPartitions);
+    }
+
 }
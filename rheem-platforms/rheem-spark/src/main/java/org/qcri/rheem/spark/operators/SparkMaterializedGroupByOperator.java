@@ -17,6 +17,7 @@ import org.qcri.rheem.core.types.DataSetType;
 import org.qcri.rheem.core.util.Tuple;
 import org.qcri.rheem.spark.channels.RddChannel;
 import org.qcri.rheem.spark.execution.SparkExecutor;
+import org.qcri.rheem.spark.optimizer.PartitionLoadProfileEstimator;
 import scala.Tuple2;
 
 import java.util.Arrays;
@@ -65,7 +66,7 @@ public class SparkMaterializedGroupByOperator<Type, KeyType>
         final Function<Type, KeyType> keyExtractor =
                 sparkExecutor.getCompiler().compile(this.keyDescriptor, this, operatorContext, inputs);
         final Function<scala.Tuple2<KeyType, Iterable<Type>>, Iterable<Type>> projector = new GroupProjector<>();
-        final JavaPairRDD<KeyType, Iterable<Type>> groupedKeyRdd = inputRdd.groupBy(keyExtractor, sparkExecutor.getNumDefaultPartitions());
+        final JavaPairRDD<KeyType, Iterable<Type>> groupedKeyRdd = inputRdd.groupBy(keyExtractor, sparkExecutor.getNumPartitions(operatorContext, 0));
         this.name(groupedKeyRdd);
         final JavaRDD<Iterable<Type>> outputRdd = groupedKeyRdd.map(projector);
         this.name(outputRdd);
@@ -99,6 +100,7 @@ public class SparkMaterializedGroupByOperator<Type, KeyType>
         final Optional<LoadProfileEstimator> optEstimator =
                 SparkExecutionOperator.super.createLoadProfileEstimator(configuration);
         LoadProfileEstimators.nestUdfEstimator(optEstimator, this.keyDescriptor, configuration);
+        PartitionLoadProfileEstimator.nestInto(optEstimator, configuration, 0);
         return optEstimator;
     }
 
@@ -21,11 +21,13 @@ import org.qcri.rheem.core.util.Tuple;
 import org.qcri.rheem.spark.channels.BroadcastChannel;
 import org.qcri.rheem.spark.channels.RddChannel;
 import org.qcri.rheem.spark.execution.SparkExecutor;
+import org.qcri.rheem.spark.optimizer.PartitionLoadProfileEstimator;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -76,15 +78,31 @@ public class SparkReduceByOperator<Type, KeyType>
                 sparkExecutor.getCompiler().compile(this.reduceDescriptor, this, operatorContext, inputs);
         final JavaPairRDD<KeyType, Type> pairRdd = inputStream.mapToPair(keyExtractor);
         this.name(pairRdd);
-        final JavaPairRDD<KeyType, Type> reducedPairRdd =
-                pairRdd.reduceByKey(reduceFunc, sparkExecutor.getNumDefaultPartitions());
+        final int numPartitions = sparkExecutor.getNumPartitions(operatorContext, 0);
+        final boolean isSampling = this.containsAction(operatorContext, sparkExecutor);
+        final Map<KeyType, Integer> heavyKeys = isSampling ?
+                sparkExecutor.detectHeavyKeys(pairRdd, operatorContext, 0, numPartitions, output) :
+                Collections.emptyMap();
+        final JavaPairRDD<KeyType, Type> reducedPairRdd;
+        if (heavyKeys.isEmpty()) {
+            reducedPairRdd = pairRdd.reduceByKey(reduceFunc, numPartitions);
+        } else {
+            // Pre-aggregate the heavy keys in multiple partitions and merge the partial results afterwards.
+            final JavaPairRDD<scala.Tuple2<KeyType, Integer>, Type> preReducedPairRdd =
+                    KeySalting.salt(pairRdd, heavyKeys).reduceByKey(reduceFunc, numPartitions);
+            this.name(preReducedPairRdd);
+            reducedPairRdd = KeySalting.desalt(preReducedPairRdd).reduceByKey(reduceFunc, numPartitions);
+        }
         this.name(reducedPairRdd);
         final JavaRDD<Type> outputRdd = reducedPairRdd.map(new TupleConverter<>());
         this.name(outputRdd);
 
         output.accept(outputRdd, sparkExecutor);
 
-        return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
+        // Sampling the keys executes the input.
+        return isSampling ?
+                ExecutionOperator.modelQuasiEagerExecution(inputs, outputs, operatorContext) :
+                ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
     }
 
     @Override
@@ -116,6 +134,7 @@ public class SparkReduceByOperator<Type, KeyType>
                 SparkExecutionOperator.super.createLoadProfileEstimator(configuration);
         LoadProfileEstimators.nestUdfEstimator(optEstimator, this.keyDescriptor, configuration);
         LoadProfileEstimators.nestUdfEstimator(optEstimator, this.reduceDescriptor, configuration);
+        PartitionLoadProfileEstimator.nestInto(optEstimator, configuration, 0);
         return optEstimator;
     }
 
@@ -139,4 +158,11 @@ public class SparkReduceByOperator<Type, KeyType>
         return false;
     }
 
+    @Override
+    public boolean containsAction(OptimizationContext.OperatorContext operatorContext, SparkExecutor sparkExecutor) {
+        // Sampling the keys for the skew handling is an action; otherwise, the execution is lazy.
+        final int numPartitions = sparkExecutor.getNumPartitions(operatorContext, 0);
+        return sparkExecutor.isHeavyKeySamplingRequested(operatorContext, 0, numPartitions);
+    }
+
 }
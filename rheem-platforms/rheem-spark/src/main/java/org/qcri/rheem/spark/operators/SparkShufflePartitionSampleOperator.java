@@ -15,7 +15,6 @@ import org.qcri.rheem.java.channels.CollectionChannel;
 import org.qcri.rheem.spark.channels.RddChannel;
 import org.qcri.rheem.spark.execution.SparkExecutor;
 import scala.collection.JavaConversions;
-import scala.collection.convert.Wrappers;
 import scala.runtime.AbstractFunction1;
 
 import java.io.Serializable;
@@ -23,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 import java.util.function.IntUnaryOperator;
@@ -173,7 +173,8 @@ class ShufflePartition<V, T, R> implements Function2<V, T, R> {
     public Object call(Object o, Object o2) throws Exception {
         int myPartitionID = (int) o;
         if (myPartitionID == partitionID) {
-            Wrappers.IteratorWrapper<T> sparkIt = (Wrappers.IteratorWrapper) o2;
+            @SuppressWarnings("unchecked")
+            Iterator<T> sparkIt = (Iterator<T>) o2;
             List<T> list = new ArrayList<>();
             while (sparkIt.hasNext())
                 list.add(sparkIt.next());
@@ -0,0 +1,95 @@
+package org.qcri.rheem.spark.optimizer;
+
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.optimizer.costs.EstimationContext;
+import org.qcri.rheem.core.optimizer.costs.LoadProfile;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimator;
+
+import java.util.Collection;
+
+/**
+ * {@link LoadProfileEstimator} for operators that broadcast data to every machine of the Spark cluster. It multiplies
+ * the network load of another {@link LoadProfileEstimator}, which describes a single transfer, by the number of
+ * machines.
+ */
+public class BroadcastLoadProfileEstimator implements LoadProfileEstimator {
+
+    /**
+     * The {@link LoadProfileEstimator} whose network loads are multiplied.
+     */
+    private final LoadProfileEstimator delegate;
+
+    /**
+     * The number of machines that receive the broadcast.
+     */
+    private final int numMachines;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param delegate    whose network loads should be multiplied
+     * @param numMachines the number of machines that receive the broadcast
+     */
+    public BroadcastLoadProfileEstimator(LoadProfileEstimator delegate, int numMachines) {
+        this.delegate = delegate;
+        this.numMachines = numMachines;
+    }
+
+    /**
+     * Wraps the given {@link LoadProfileEstimator} in a new instance if the Spark cluster comprises multiple machines.
+     *
+     * @param estimator     the {@link LoadProfileEstimator} of a broadcasting operator
+     * @param configuration provides the {@code rheem.spark.machines} property
+     * @return the new instance or the given {@code estimator}
+     */
+    public static LoadProfileEstimator wrap(LoadProfileEstimator estimator, Configuration configuration) {
+        final int numMachines = (int) configuration.getLongProperty("rheem.spark.machines", 1);
+        if (numMachines <= 1) return estimator;
+        return new BroadcastLoadProfileEstimator(estimator, numMachines);
+    }
+
+    @Override
+    public LoadProfile estimate(EstimationContext context) {
+        final LoadProfile loadProfile = this.delegate.estimate(context);
+        final LoadProfile result = new LoadProfile(
+                loadProfile.getCpuUsage(),
+                loadProfile.getRamUsage(),
+                loadProfile.getNetworkUsage() == null ? null : loadProfile.getNetworkUsage().times(this.numMachines),
+                loadProfile.getDiskUsage(),
+                loadProfile.getResourceUtilization(),
+                loadProfile.getOverheadMillis()
+        );
+        loadProfile.getSubprofiles().forEach(result::nest);
+        return result;
+    }
+
+    @Override
+    public void nest(LoadProfileEstimator loadProfileEstimator) {
+        this.delegate.nest(loadProfileEstimator);
+    }
+
+    @Override
+    public Collection<LoadProfileEstimator> getNestedEstimators() {
+        return this.delegate.getNestedEstimators();
+    }
+
+    @Override
+    public String getConfigurationKey() {
+        return this.delegate.getConfigurationKey();
+    }
+
+    @Override
+    public String getTemplateKey() {
+        return this.delegate.getTemplateKey();
+    }
+
+    @Override
+    public LoadProfileEstimator copy() {
+        return new BroadcastLoadProfileEstimator(this.delegate.copy(), this.numMachines);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[%s, x%d]", this.getClass().getSimpleName(), this.delegate, this.numMachines);
+    }
+}
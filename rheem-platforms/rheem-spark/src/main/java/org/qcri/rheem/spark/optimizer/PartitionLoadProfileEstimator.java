@@ -0,0 +1,105 @@
+package org.qcri.rheem.spark.optimizer;
+
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+import org.qcri.rheem.core.optimizer.costs.EstimationContext;
+import org.qcri.rheem.core.optimizer.costs.LoadEstimate;
+import org.qcri.rheem.core.optimizer.costs.LoadProfile;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimator;
+
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.Optional;
+
+/**
+ * {@link LoadProfileEstimator} for the scheduling overhead of the tasks of a shuffling operator, whose number
+ * of partitions is determined by a {@link PartitionSizer}. Nesting it into the main {@link LoadProfileEstimator}
+ * of such an operator lets the optimizer price the chosen number of partitions.
+ */
+public class PartitionLoadProfileEstimator implements LoadProfileEstimator {
+
+    /**
+     * Determines the number of partitions.
+     */
+    private final PartitionSizer partitionSizer;
+
+    /**
+     * CPU cycles spent on each task.
+     */
+    private final long cyclesPerTask;
+
+    /**
+     * Indices of the inputs that are being shuffled.
+     */
+    private final int[] inputIndices;
+
+    /**
+     * Nested {@link LoadProfileEstimator}s.
+     */
+    private final Collection<LoadProfileEstimator> nestedEstimators = new LinkedList<>();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param partitionSizer determines the number of partitions
+     * @param cyclesPerTask  CPU cycles spent on each task
+     * @param inputIndices   indices of the inputs that are being shuffled
+     */
+    public PartitionLoadProfileEstimator(PartitionSizer partitionSizer, long cyclesPerTask, int... inputIndices) {
+        this.partitionSizer = partitionSizer;
+        this.cyclesPerTask = cyclesPerTask;
+        this.inputIndices = inputIndices;
+    }
+
+    /**
+     * Nests a new instance into the given {@link LoadProfileEstimator}, if any.
+     *
+     * @param mainEstimatorOpt the optional {@link LoadProfileEstimator} of a shuffling operator
+     * @param configuration    provides the {@link PartitionSizer} and task overhead settings
+     * @param inputIndices     indices of the inputs that are being shuffled
+     */
+    public static void nestInto(Optional<LoadProfileEstimator> mainEstimatorOpt,
+                                Configuration configuration,
+                                int... inputIndices) {
+        final LoadProfileEstimator mainEstimator = mainEstimatorOpt.orElse(null);
+        if (mainEstimator == null) return;
+        mainEstimator.nest(new PartitionLoadProfileEstimator(
+                PartitionSizer.create(configuration),
+                configuration.getLongProperty("rheem.spark.partitions.task-cpu", 10000000L),
+                inputIndices
+        ));
+    }
+
+    @Override
+    public LoadProfile estimate(EstimationContext context) {
+        final CardinalityEstimate[] inputCardinalities = new CardinalityEstimate[this.inputIndices.length];
+        for (int i = 0; i < this.inputIndices.length; i++) {
+            inputCardinalities[i] = context.getInputCardinalities()[this.inputIndices[i]];
+        }
+        final int numPartitions = this.partitionSizer.getNumPartitions(inputCardinalities);
+        return new LoadProfile(new LoadEstimate(numPartitions * this.cyclesPerTask), new LoadEstimate(0));
+    }
+
+    @Override
+    public void nest(LoadProfileEstimator loadProfileEstimator) {
+        this.nestedEstimators.add(loadProfileEstimator);
+    }
+
+    @Override
+    public Collection<LoadProfileEstimator> getNestedEstimators() {
+        return this.nestedEstimators;
+    }
+
+    @Override
+    public String getConfigurationKey() {
+        return null;
+    }
+
+    @Override
+    public LoadProfileEstimator copy() {
+        final PartitionLoadProfileEstimator copy =
+                new PartitionLoadProfileEstimator(this.partitionSizer, this.cyclesPerTask, this.inputIndices);
+        this.nestedEstimators.forEach(nestedEstimator -> copy.nest(nestedEstimator.copy()));
+        return copy;
+    }
+}
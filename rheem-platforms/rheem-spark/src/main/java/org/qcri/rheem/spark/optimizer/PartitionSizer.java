@@ -0,0 +1,140 @@
+package org.qcri.rheem.spark.optimizer;
+
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+import org.qcri.rheem.spark.operators.SparkExecutionOperator;
+
+/**
+ * Determines the number of partitions of shuffling {@link SparkExecutionOperator}s from their estimated input
+ * cardinalities and the average size of data quanta, so that small inputs do not spawn lots of empty tasks and
+ * large inputs do not overload single tasks.
+ */
+public class PartitionSizer {
+
+    /**
+     * The number of partitions to use if the input cardinalities are unknown or adaptive sizing is disabled.
+     */
+    private final int numDefaultPartitions;
+
+    /**
+     * Whether the number of partitions should be adapted to the input cardinalities at all.
+     */
+    private final boolean isAdaptive;
+
+    /**
+     * Assumed main memory footprint of a single data quantum.
+     */
+    private final long quantumSize;
+
+    /**
+     * Targeted size of a single partition in bytes.
+     */
+    private final long partitionSize;
+
+    /**
+     * Minimum number of data quanta that justifies an additional partition below the {@link #numDefaultPartitions}.
+     */
+    private final long minQuantaPerPartition;
+
+    /**
+     * Upper bound for the number of partitions.
+     */
+    private final int maxPartitions;
+
+    /**
+     * Minimum correctness probability of input {@link CardinalityEstimate}s to size the partitions from them.
+     */
+    private final double minConfidence;
+
+    /**
+     * Creates a new instance as specified in the given {@link Configuration}, deriving the default and maximum
+     * number of partitions from the configured cores.
+     *
+     * @param configuration provides the {@code rheem.spark.partitions.*} properties
+     * @return the new instance
+     */
+    public static PartitionSizer create(Configuration configuration) {
+        final long executorCores = configuration.getLongProperty("spark.executor.cores", -1);
+        final long numCores = executorCores > 0 ?
+                executorCores :
+                configuration.getLongProperty("rheem.spark.machines")
+                        * configuration.getLongProperty("rheem.spark.cores-per-machine");
+        return create(configuration, (int) numCores);
+    }
+
+    /**
+     * Creates a new instance as specified in the given {@link Configuration}.
+     *
+     * @param configuration provides the {@code rheem.spark.partitions.*} properties
+     * @param numCores      the number of available cores, which determines the default and maximum number of partitions
+     * @return the new instance
+     */
+    public static PartitionSizer create(Configuration configuration, int numCores) {
+        final long maxPartitionsPerCore = configuration.getLongProperty("rheem.spark.partitions.max-per-core", 20L);
+        return new PartitionSizer(
+                2 * numCores,
+                configuration.getBooleanProperty("rheem.spark.partitions.adaptive", true),
+                configuration.getLongProperty("rheem.spark.quantum-size", 256L),
+                configuration.getLongProperty("rheem.spark.partitions.size", 64L * 1024 * 1024),
+                configuration.getLongProperty("rheem.spark.partitions.min-quanta", 10000L),
+                (int) Math.min(Integer.MAX_VALUE, numCores * maxPartitionsPerCore),
+                configuration.getDoubleProperty("rheem.spark.partitions.min-confidence", 0.5d)
+        );
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param numDefaultPartitions  the number of partitions if the input cardinalities are unknown
+     * @param isAdaptive            whether to adapt the number of partitions to the input cardinalities
+     * @param quantumSize           assumed main memory footprint of a single data quantum in bytes
+     * @param partitionSize         targeted size of a single partition in bytes
+     * @param minQuantaPerPartition minimum number of data quanta per partition below the default number of partitions
+     * @param maxPartitions         upper bound for the number of partitions
+     * @param minConfidence         minimum correctness probability of input cardinalities to size partitions from them
+     */
+    public PartitionSizer(int numDefaultPartitions, boolean isAdaptive, long quantumSize, long partitionSize,
+                          long minQuantaPerPartition, int maxPartitions, double minConfidence) {
+        this.numDefaultPartitions = Math.max(1, numDefaultPartitions);
+        this.isAdaptive = isAdaptive;
+        this.quantumSize = Math.max(1L, quantumSize);
+        this.partitionSize = Math.max(1L, partitionSize);
+        this.minQuantaPerPartition = Math.max(1L, minQuantaPerPartition);
+        this.maxPartitions = Math.max(this.numDefaultPartitions, maxPartitions);
+        this.minConfidence = minConfidence;
+    }
+
+    /**
+     * Determines the number of partitions for the given input {@link CardinalityEstimate}s. Their geometric mean
+     * estimates are considered, so that wide estimates do not inflate the number of partitions. Uncertain
+     * estimates are regarded as unknown.
+     *
+     * @param inputCardinalities the {@link CardinalityEstimate}s; {@code null}s are regarded as unknown
+     * @return the number of partitions
+     */
+    public int getNumPartitions(CardinalityEstimate... inputCardinalities) {
+        if (!this.isAdaptive) return this.numDefaultPartitions;
+        double numQuanta = 0d;
+        for (CardinalityEstimate inputCardinality : inputCardinalities) {
+            if (inputCardinality == null || inputCardinality.getCorrectnessProbability() < this.minConfidence) {
+                return this.numDefaultPartitions;
+            }
+            numQuanta += inputCardinality.getGeometricMeanEstimate();
+        }
+        final double numPartitionsBySize = Math.ceil(numQuanta * this.quantumSize / this.partitionSize);
+        final double numPartitionsByParallelism = Math.min(
+                this.numDefaultPartitions,
+                Math.ceil(numQuanta / this.minQuantaPerPartition)
+        );
+        return (int) Math.max(1d, Math.min(this.maxPartitions, Math.max(numPartitionsBySize, numPartitionsByParallelism)));
+    }
+
+    public int getNumDefaultPartitions() {
+        return this.numDefaultPartitions;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[default=%d, adaptive=%s]", this.getClass().getSimpleName(), this.numDefaultPartitions, this.isAdaptive);
+    }
+}
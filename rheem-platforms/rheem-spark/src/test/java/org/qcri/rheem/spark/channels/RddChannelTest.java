@@ -0,0 +1,64 @@
+package org.qcri.rheem.spark.channels;
+
+import org.apache.spark.api.java.JavaRDD;
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.core.plan.executionplan.Channel;
+import org.qcri.rheem.spark.operators.SparkOperatorTestBase;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Test suite for the instrumentation of {@link RddChannel}s.
+ */
+public class RddChannelTest extends SparkOperatorTestBase {
+
+    /**
+     * Creates an instrumented {@link RddChannel.Instance}, pushes 1000 data quanta in 10 partitions through it, of
+     * which only the first partition retains any, and provides the measured cardinality.
+     */
+    private OptionalLong measureCardinality(boolean isSamplingAllowed) {
+        final Channel channel = RddChannel.UNCACHED_DESCRIPTOR.createChannel(null, this.configuration);
+        channel.markForInstrumentation(isSamplingAllowed);
+        final RddChannel.Instance instance = (RddChannel.Instance) channel.createInstance(this.sparkExecutor, null, -1);
+
+        final List<Integer> data = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        instance.accept(this.getSC().parallelize(data, 10).filter(i -> i < 100), this.sparkExecutor);
+        final JavaRDD<Integer> rdd = instance.provideRdd();
+        Assert.assertEquals(100, rdd.collect().size());
+        return instance.getMeasuredCardinality();
+    }
+
+    @Test
+    public void testInstrumentation() {
+        Assert.assertEquals(OptionalLong.of(100L), this.measureCardinality(false));
+        // Sampling is only applied to RDDs with more partitions.
+        Assert.assertEquals(OptionalLong.of(100L), this.measureCardinality(true));
+    }
+
+    @Test
+    public void testSampledInstrumentation() {
+        this.configuration.setProperty("rheem.spark.instrumentation.sampled-partitions", "2");
+        Assert.assertEquals(OptionalLong.of(100L), this.measureCardinality(false));
+        // Only the partitions 0 and 5 are counted and extrapolated to all 10 partitions.
+        Assert.assertEquals(OptionalLong.of(500L), this.measureCardinality(true));
+    }
+
+    @Test
+    public void testInstrumentationOfPartiallyConsumedPartitions() {
+        final Channel channel = RddChannel.UNCACHED_DESCRIPTOR.createChannel(null, this.configuration);
+        channel.markForInstrumentation();
+        final RddChannel.Instance instance = (RddChannel.Instance) channel.createInstance(this.sparkExecutor, null, -1);
+
+        final List<Integer> data = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        instance.accept(this.getSC().parallelize(data, 1), this.sparkExecutor);
+        final JavaRDD<Integer> rdd = instance.provideRdd();
+        Assert.assertEquals(10, rdd.take(10).size());
+        // Only the data quanta that have actually been read are counted.
+        Assert.assertEquals(OptionalLong.of(10L), instance.getMeasuredCardinality());
+    }
+
+}
@@ -0,0 +1,91 @@
+package org.qcri.rheem.spark.operators;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.basic.data.Tuple2;
+import org.qcri.rheem.basic.function.ProjectionDescriptor;
+import org.qcri.rheem.core.platform.ChannelInstance;
+import org.qcri.rheem.core.types.DataSetType;
+import org.qcri.rheem.core.types.DataUnitType;
+import org.qcri.rheem.spark.channels.RddChannel;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Test suite for {@link SparkBroadcastJoinOperator}.
+ */
+public class SparkBroadcastJoinOperatorTest extends SparkOperatorTestBase {
+
+    private static final List<Tuple2<Integer, String>> INPUT0 = Arrays.asList(
+            new Tuple2<>(1, "b"), new Tuple2<>(1, "c"), new Tuple2<>(2, "d"), new Tuple2<>(3, "e"));
+
+    private static final List<Tuple2<String, Integer>> INPUT1 = Arrays.asList(
+            new Tuple2<>("x", 1), new Tuple2<>("y", 1), new Tuple2<>("z", 2), new Tuple2<>("w", 4));
+
+    private static final List<Tuple2<Tuple2<Integer, String>, Tuple2<String, Integer>>> EXPECTED_RESULT = Arrays.asList(
+            new Tuple2<>(new Tuple2<>(1, "b"), new Tuple2<>("x", 1)),
+            new Tuple2<>(new Tuple2<>(1, "b"), new Tuple2<>("y", 1)),
+            new Tuple2<>(new Tuple2<>(1, "c"), new Tuple2<>("x", 1)),
+            new Tuple2<>(new Tuple2<>(1, "c"), new Tuple2<>("y", 1)),
+            new Tuple2<>(new Tuple2<>(2, "d"), new Tuple2<>("z", 2))
+    );
+
+    private SparkBroadcastJoinOperator<Tuple2, Tuple2, Integer> createJoin(int buildInputIndex) {
+        return new SparkBroadcastJoinOperator<>(
+                DataSetType.createDefaultUnchecked(Tuple2.class),
+                DataSetType.createDefaultUnchecked(Tuple2.class),
+                new ProjectionDescriptor<>(
+                        DataUnitType.createBasicUnchecked(Tuple2.class),
+                        DataUnitType.createBasic(Integer.class),
+                        "field0"),
+                new ProjectionDescriptor<>(
+                        DataUnitType.createBasicUnchecked(Tuple2.class),
+                        DataUnitType.createBasic(Integer.class),
+                        "field1"),
+                buildInputIndex);
+    }
+
+    @Test
+    public void testExecutionWithSecondBuildInput() {
+        final ChannelInstance[] inputs = new ChannelInstance[]{
+                this.createRddChannelInstance(INPUT0), this.createCollectionChannelInstance(INPUT1)
+        };
+        final RddChannel.Instance output = this.createRddChannelInstance();
+
+        this.evaluate(this.createJoin(1), inputs, new ChannelInstance[]{output});
+
+        Assert.assertEquals(EXPECTED_RESULT, output.provideRdd().collect());
+    }
+
+    @Test
+    public void testExecutionWithFirstBuildInput() {
+        final ChannelInstance[] inputs = new ChannelInstance[]{
+                this.createCollectionChannelInstance(INPUT0), this.createRddChannelInstance(INPUT1)
+        };
+        final RddChannel.Instance output = this.createRddChannelInstance();
+
+        this.evaluate(this.createJoin(0), inputs, new ChannelInstance[]{output});
+
+        final List<Object> result = output.provideRdd().collect();
+        Assert.assertEquals(EXPECTED_RESULT.size(), result.size());
+        Assert.assertEquals(new HashSet<>(EXPECTED_RESULT), new HashSet<>(result));
+    }
+
+    @Test
+    public void testExecutionWithTooLargeBuildInput() {
+        this.configuration.setProperty("rheem.spark.broadcastjoin.max-build-cardinality", "2");
+        final ChannelInstance[] inputs = new ChannelInstance[]{
+                this.createRddChannelInstance(INPUT0), this.createCollectionChannelInstance(INPUT1)
+        };
+        final RddChannel.Instance output = this.createRddChannelInstance();
+
+        this.evaluate(this.createJoin(1), inputs, new ChannelInstance[]{output});
+
+        final List<Object> result = output.provideRdd().collect();
+        Assert.assertEquals(EXPECTED_RESULT.size(), result.size());
+        Assert.assertEquals(new HashSet<>(EXPECTED_RESULT), new HashSet<>(result));
+    }
+
+}
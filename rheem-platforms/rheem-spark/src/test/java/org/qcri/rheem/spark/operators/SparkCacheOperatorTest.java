@@ -0,0 +1,52 @@
+package org.qcri.rheem.spark.operators;
+
+import org.apache.spark.storage.StorageLevel;
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+import org.qcri.rheem.core.platform.ChannelInstance;
+import org.qcri.rheem.core.types.DataSetType;
+import org.qcri.rheem.spark.channels.RddChannel;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test suite for {@link SparkCacheOperator}.
+ */
+public class SparkCacheOperatorTest extends SparkOperatorTestBase {
+
+    @Test
+    public void testExecution() {
+        // Prepare test data.
+        List<Integer> inputData = Arrays.asList(1, 2, 3);
+
+        // Build the cache operator.
+        SparkCacheOperator<Integer> cacheOperator =
+                new SparkCacheOperator<>(DataSetType.createDefaultUnchecked(Integer.class));
+        final OptimizationContext.OperatorContext operatorContext = this.createOperatorContext(cacheOperator);
+        operatorContext.setOutputCardinality(0, new CardinalityEstimate(3, 3, 1d));
+
+        // Set up the ChannelInstances.
+        final ChannelInstance[] inputs = new ChannelInstance[]{this.createRddChannelInstance(inputData)};
+        final ChannelInstance[] outputs = new ChannelInstance[]{this.createRddChannelInstance()};
+
+        // Execute.
+        cacheOperator.evaluate(inputs, outputs, this.sparkExecutor, operatorContext);
+
+        // Verify the outcome.
+        final RddChannel.Instance output = (RddChannel.Instance) outputs[0];
+        Assert.assertEquals(StorageLevel.MEMORY_ONLY(), output.provideRdd().getStorageLevel());
+        Assert.assertEquals(inputData, output.<Integer>provideRdd().collect());
+    }
+
+    @Test
+    public void testStorageLevelChoice() {
+        Assert.assertEquals(StorageLevel.MEMORY_ONLY(), SparkCacheOperator.chooseStorageLevel(100d, 0.5d, 100L, 0L));
+        Assert.assertEquals(StorageLevel.MEMORY_ONLY_SER(), SparkCacheOperator.chooseStorageLevel(200d, 0.5d, 100L, 0L));
+        Assert.assertEquals(StorageLevel.OFF_HEAP(), SparkCacheOperator.chooseStorageLevel(400d, 0.5d, 100L, 200L));
+        Assert.assertEquals(StorageLevel.MEMORY_AND_DISK(), SparkCacheOperator.chooseStorageLevel(400d, 0.5d, 100L, 0L));
+    }
+
+}
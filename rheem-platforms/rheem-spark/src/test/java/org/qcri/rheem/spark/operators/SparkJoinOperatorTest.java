@@ -8,7 +8,10 @@ import org.qcri.rheem.core.platform.ChannelInstance;
 import org.qcri.rheem.core.types.DataSetType;
 import org.qcri.rheem.core.types.DataUnitType;
 import org.qcri.rheem.spark.channels.RddChannel;
+import org.qcri.rheem.spark.execution.SparkExecutor;
+import org.qcri.rheem.spark.platform.SparkPlatform;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -60,4 +63,45 @@ public class SparkJoinOperatorTest extends SparkOperatorTestBase {
 
     }
 
+    @Test
+    public void testExecutionWithSkew() {
+        // Request the skew handling with multiple partitions.
+        this.configuration.setProperty("rheem.spark.skew.mode", "on");
+        this.configuration.setProperty("rheem.spark.partitions.adaptive", "false");
+        this.sparkExecutor = (SparkExecutor) SparkPlatform.getInstance().getExecutorFactory().create(this.mockJob());
+
+        // Prepare test data, in which 1 is a heavy key of the first input.
+        List<Tuple2<Integer, Integer>> inputList0 = new ArrayList<>();
+        for (int i = 0; i < 100; i++) inputList0.add(new Tuple2<>(1, i));
+        inputList0.add(new Tuple2<>(2, 100));
+        inputList0.add(new Tuple2<>(3, 101));
+        RddChannel.Instance input0 = this.createRddChannelInstance(inputList0);
+        RddChannel.Instance input1 = this.createRddChannelInstance(Arrays.asList(
+                new Tuple2<>("x", 1), new Tuple2<>("y", 1), new Tuple2<>("z", 2), new Tuple2<>("w", 4)));
+        RddChannel.Instance output = this.createRddChannelInstance();
+
+        SparkJoinOperator<Tuple2, Tuple2, Integer> join =
+                new SparkJoinOperator<>(
+                        DataSetType.createDefaultUnchecked(Tuple2.class),
+                        DataSetType.createDefaultUnchecked(Tuple2.class),
+                        new ProjectionDescriptor<>(
+                                DataUnitType.createBasicUnchecked(Tuple2.class),
+                                DataUnitType.createBasic(Integer.class),
+                                "field0"),
+                        new ProjectionDescriptor<>(
+                                DataUnitType.createBasicUnchecked(Tuple2.class),
+                                DataUnitType.createBasic(Integer.class),
+                                "field1"));
+
+        // Execute.
+        this.evaluate(join, new ChannelInstance[]{input0, input1}, new ChannelInstance[]{output});
+
+        // Verify the outcome.
+        final List<Tuple2<Tuple2<Integer, Integer>, Tuple2<String, Integer>>> result =
+                output.<Tuple2<Tuple2<Integer, Integer>, Tuple2<String, Integer>>>provideRdd().collect();
+        Assert.assertEquals(201, result.size());
+        Assert.assertEquals(100, result.stream().filter(t -> t.field1.field0.equals("x")).count());
+        Assert.assertEquals(100, result.stream().filter(t -> t.field1.field0.equals("y")).count());
+        Assert.assertTrue(result.contains(new Tuple2<>(new Tuple2<>(2, 100), new Tuple2<>("z", 2))));
+    }
 }
@@ -1,5 +1,7 @@
 package org.qcri.rheem.spark.operators;
 
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.util.LongAccumulator;
 import org.junit.Assert;
 import org.junit.Test;
 import org.qcri.rheem.basic.data.Tuple2;
@@ -9,7 +11,10 @@ import org.qcri.rheem.core.platform.ChannelInstance;
 import org.qcri.rheem.core.types.DataSetType;
 import org.qcri.rheem.core.types.DataUnitType;
 import org.qcri.rheem.spark.channels.RddChannel;
+import org.qcri.rheem.spark.execution.SparkExecutor;
+import org.qcri.rheem.spark.platform.SparkPlatform;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -71,4 +76,55 @@ public class SparkReduceByOperatorTest extends SparkOperatorTestBase {
         Assert.assertEquals(expectedResults.length, resultSet.size());
 
     }
+
+    @Test
+    public void testExecutionWithSkew() {
+        // Request the skew handling with multiple partitions.
+        this.configuration.setProperty("rheem.spark.skew.mode", "on");
+        this.configuration.setProperty("rheem.spark.partitions.adaptive", "false");
+        this.sparkExecutor = (SparkExecutor) SparkPlatform.getInstance().getExecutorFactory().create(this.mockJob());
+
+        // Prepare test data, in which "a" is a heavy key.
+        List<Tuple2<String, Integer>> inputList = new ArrayList<>();
+        for (int i = 0; i < 100; i++) inputList.add(new Tuple2<>("a", 1));
+        Arrays.stream("bcdef".split("")).forEach(string -> inputList.add(new Tuple2<>(string, 1)));
+        final LongAccumulator numComputedInputs = this.getSC().sc().longAccumulator();
+        RddChannel.Instance input = this.createRddChannelInstance();
+        input.accept(this.getSC().parallelize(inputList).map(dataQuantum -> {
+            numComputedInputs.add(1L);
+            return dataQuantum;
+        }), this.sparkExecutor);
+        RddChannel.Instance output = this.createRddChannelInstance();
+
+        // Build the reduce operator.
+        SparkReduceByOperator<Tuple2<String, Integer>, String> reduceByOperator =
+                new SparkReduceByOperator<>(
+                        DataSetType.createDefaultUnchecked(Tuple2.class),
+                        new ProjectionDescriptor<>(
+                                DataUnitType.createBasicUnchecked(Tuple2.class),
+                                DataUnitType.createBasic(String.class),
+                                "field0"),
+                        new ReduceDescriptor<>(
+                                (a, b) -> new Tuple2<>(a.field0, a.field1 + b.field1),
+                                DataUnitType.createGroupedUnchecked(Tuple2.class),
+                                DataUnitType.createBasicUnchecked(Tuple2.class)
+                        ));
+
+        // Execute.
+        this.evaluate(reduceByOperator, new ChannelInstance[]{input}, new ChannelInstance[]{output});
+
+        // Verify the outcome.
+        final JavaRDD<Tuple2<String, Integer>> outputRdd = output.provideRdd();
+        Assert.assertEquals(
+                new HashSet<>(Arrays.asList(
+                        new Tuple2<>("a", 100), new Tuple2<>("b", 1), new Tuple2<>("c", 1),
+                        new Tuple2<>("d", 1), new Tuple2<>("e", 1), new Tuple2<>("f", 1)
+                )),
+                new HashSet<>(outputRdd.collect())
+        );
+        // The heavy key should have been pre-aggregated in a separate shuffle.
+        Assert.assertEquals(2, outputRdd.toDebugString().split("ShuffledRDD", -1).length - 1);
+        // Sampling the keys must not compute the input a second time.
+        Assert.assertEquals(inputList.size(), numComputedInputs.value().longValue());
+    }
 }
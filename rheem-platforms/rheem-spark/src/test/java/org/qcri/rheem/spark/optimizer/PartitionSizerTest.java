@@ -0,0 +1,51 @@
+package org.qcri.rheem.spark.optimizer;
+
+import gnu.trove.map.hash.TObjectDoubleHashMap;
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+import org.qcri.rheem.core.optimizer.costs.LoadProfile;
+import org.qcri.rheem.core.optimizer.costs.SimpleEstimationContext;
+
+/**
+ * Test suite for {@link PartitionSizer}.
+ */
+public class PartitionSizerTest {
+
+    private final PartitionSizer partitionSizer = new PartitionSizer(8, true, 100, 1000000, 1000, 50, 0.5d);
+
+    @Test
+    public void testGetNumPartitions() {
+        // Unknown cardinalities fall back to the default.
+        Assert.assertEquals(8, this.partitionSizer.getNumPartitions((CardinalityEstimate) null));
+        // Small inputs should not be spread over all cores.
+        Assert.assertEquals(1, this.partitionSizer.getNumPartitions(new CardinalityEstimate(10, 10, 1d)));
+        Assert.assertEquals(2, this.partitionSizer.getNumPartitions(new CardinalityEstimate(1000, 2500, 0.9d)));
+        // Wide estimates are sized by their geometric mean and uncertain ones fall back to the default.
+        Assert.assertEquals(1, this.partitionSizer.getNumPartitions(new CardinalityEstimate(1, 1000000, 0.9d)));
+        Assert.assertEquals(8, this.partitionSizer.getNumPartitions(new CardinalityEstimate(10, 10000000, 0.1d)));
+        // Medium inputs use all cores.
+        Assert.assertEquals(8, this.partitionSizer.getNumPartitions(new CardinalityEstimate(20000, 20000, 1d)));
+        // Large inputs are sized by bytes, also when they span multiple inputs.
+        Assert.assertEquals(20, this.partitionSizer.getNumPartitions(
+                new CardinalityEstimate(100000, 100000, 1d), new CardinalityEstimate(100000, 100000, 1d)
+        ));
+        Assert.assertEquals(50, this.partitionSizer.getNumPartitions(new CardinalityEstimate(1000000000, 1000000000, 1d)));
+
+        final PartitionSizer staticPartitionSizer = new PartitionSizer(8, false, 100, 1000000, 1000, 50, 0.5d);
+        Assert.assertEquals(8, staticPartitionSizer.getNumPartitions(new CardinalityEstimate(10, 10, 1d)));
+    }
+
+    @Test
+    public void testLoadProfileEstimator() {
+        final PartitionLoadProfileEstimator estimator = new PartitionLoadProfileEstimator(this.partitionSizer, 1000, 0, 1);
+        final LoadProfile loadProfile = estimator.estimate(new SimpleEstimationContext(
+                new CardinalityEstimate[]{new CardinalityEstimate(10, 10, 1d), new CardinalityEstimate(20000, 20000, 1d)},
+                new CardinalityEstimate[]{new CardinalityEstimate(10, 10, 1d)},
+                new TObjectDoubleHashMap<>(),
+                1
+        ));
+        Assert.assertEquals(8000L, loadProfile.getCpuUsage().getLowerEstimate());
+    }
+
+}
@@ -0,0 +1,27 @@
+package org.qcri.rheem.profiler.log;
+
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.api.exception.RheemException;
+import org.qcri.rheem.core.profiling.ExecutionLog;
+
+/**
+ * Converts a JSON-based {@link ExecutionLog} into the binary format.
+ */
+public class ExecutionLogConverter {
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.out.printf("Usage: java %s <JSON execution log> <binary execution log>\n", ExecutionLogConverter.class.getName());
+            System.exit(1);
+        }
+
+        Configuration configuration = new Configuration();
+        try (ExecutionLog executionLog = ExecutionLog.open(configuration, args[1], ExecutionLog.Format.BINARY)) {
+            final long numPartialExecutions = executionLog.importJson(args[0]);
+            System.out.printf("Converted %,d partial executions from %s to %s.\n", numPartialExecutions, args[0], args[1]);
+        } catch (Exception e) {
+            throw new RheemException("Could not convert execution log.", e);
+        }
+    }
+
+}
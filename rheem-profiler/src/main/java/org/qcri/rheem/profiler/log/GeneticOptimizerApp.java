@@ -27,6 +27,7 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -88,19 +89,23 @@ public class GeneticOptimizerApp {
         this.configuration = configuration;
 
         // Initialize platforms.
-        Java.platform();
-        Spark.platform();
-        Sqlite3.platform();
-        Postgres.platform();
-        GraphChi.platform();
+        final List<Platform> platforms = Arrays.asList(
+                Java.platform(),
+                Spark.platform(),
+                Sqlite3.platform(),
+                Postgres.platform(),
+                GraphChi.platform()
+        );
 
         // Load the ExecutionLog.
         double samplingFactor = this.configuration.getDoubleProperty("rheem.profiler.ga.sampling", 1d);
         double maxCardinalitySpread = this.configuration.getDoubleProperty("rheem.profiler.ga.max-cardinality-spread", 1d);
         double minCardinalityConfidence = this.configuration.getDoubleProperty("rheem.profiler.ga.min-cardinality-confidence", 1d);
         long minExecutionTime = this.configuration.getLongProperty("rheem.profiler.ga.min-exec-time", 1);
-        try (ExecutionLog executionLog = ExecutionLog.open(configuration)) {
-            this.partialExecutions = executionLog.stream().collect(Collectors.toList());
+        try {
+            this.partialExecutions = LogEvaluator.loadLog(
+                    configuration, "rheem.profiler.ga.operators", "rheem.profiler.ga.platforms", platforms
+            );
 
             int lastSize = this.partialExecutions.size();
             this.partialExecutions.removeIf(partialExecution -> !this.checkEstimatorTemplates(partialExecution));
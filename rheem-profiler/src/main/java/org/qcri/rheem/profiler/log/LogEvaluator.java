@@ -6,6 +6,7 @@ import org.qcri.rheem.core.optimizer.ProbabilisticIntervalEstimate;
 import org.qcri.rheem.core.optimizer.costs.TimeEstimate;
 import org.qcri.rheem.core.platform.AtomicExecutionGroup;
 import org.qcri.rheem.core.platform.PartialExecution;
+import org.qcri.rheem.core.platform.Platform;
 import org.qcri.rheem.core.profiling.ExecutionLog;
 import org.qcri.rheem.core.util.Formats;
 import org.qcri.rheem.java.platform.JavaPlatform;
@@ -16,9 +17,13 @@ import org.slf4j.LoggerFactory;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -42,25 +47,58 @@ public class LogEvaluator {
 
     public LogEvaluator(Configuration configuration) {
         // Initialize platforms - otherwise, we get some errors.
-        JavaPlatform.getInstance();
-        SparkPlatform.getInstance();
+        final List<Platform> platforms = Arrays.asList(JavaPlatform.getInstance(), SparkPlatform.getInstance());
 
         this.configuration = configuration;
-        this.partialExecutions = loadLog(configuration);
+        this.partialExecutions = loadLog(
+                configuration, "rheem.profiler.log.operators", "rheem.profiler.log.platforms", platforms
+        );
 
         // Print some general statistics.
         this.modifySorting("sort rel desc".split(" "));
         this.printStatistics();
     }
 
-    private static Collection<PartialExecution> loadLog(Configuration configuration) {
-        try (ExecutionLog executionLog = ExecutionLog.open(configuration)) {
-            return executionLog.stream().collect(Collectors.toList());
+    /**
+     * Loads the {@link PartialExecution}s from the {@link ExecutionLog} that involve the requested operator types and
+     * {@link Platform}s. Other {@link PartialExecution}s are skipped by the {@link ExecutionLog} without decoding them.
+     *
+     * @param configuration      describes the {@link ExecutionLog} and the requests
+     * @param operatorTypesKey   {@link Configuration} key for a comma-separated list of configuration keys of the main
+     *                           load profile estimators of the requested operators; if not set, any operator is requested
+     * @param platformsKey       {@link Configuration} key for a comma-separated list of configuration names of the
+     *                           requested {@link Platform}s; if not set, all {@code candidatePlatforms} are requested
+     * @param candidatePlatforms the {@link Platform}s that can be requested
+     * @return the requested {@link PartialExecution}s
+     */
+    static List<PartialExecution> loadLog(Configuration configuration,
+                                          String operatorTypesKey,
+                                          String platformsKey,
+                                          Collection<Platform> candidatePlatforms) {
+        final Collection<String> operatorTypes = configuration.getOptionalStringProperty(operatorTypesKey)
+                .map(LogEvaluator::splitList)
+                .orElse(null);
+        final Collection<Platform> platforms = configuration.getOptionalStringProperty(platformsKey)
+                .map(LogEvaluator::splitList)
+                .map(platformNames -> candidatePlatforms.stream()
+                        .filter(platform -> platformNames.contains(platform.getConfigurationName()))
+                        .collect(Collectors.toList()))
+                .orElse(new ArrayList<>(candidatePlatforms));
+        try (ExecutionLog executionLog = ExecutionLog.open(configuration);
+             Stream<PartialExecution> partialExecutions = executionLog.stream(operatorTypes, platforms)) {
+            return partialExecutions.collect(Collectors.toList());
         } catch (Exception e) {
             throw new RheemException("Could not evaluate execution log.", e);
         }
     }
 
+    private static Set<String> splitList(String list) {
+        return Arrays.stream(list.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
     private void runUserLoop() throws IOException {
         String input;
         BufferedReader commandLine = new BufferedReader(new InputStreamReader(System.in));
@@ -0,0 +1,211 @@
+package org.qcri.rheem.tests;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.api.Job;
+import org.qcri.rheem.core.api.RheemContext;
+import org.qcri.rheem.core.optimizer.ProbabilisticDoubleInterval;
+import org.qcri.rheem.core.optimizer.enumeration.PlanEnumeration;
+import org.qcri.rheem.core.optimizer.enumeration.PlanEnumerator;
+import org.qcri.rheem.core.optimizer.enumeration.PlanImplementation;
+import org.qcri.rheem.core.plan.rheemplan.RheemPlan;
+import org.qcri.rheem.java.Java;
+import org.qcri.rheem.spark.Spark;
+
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Integration tests for the {@link PlanEnumerator}.
+ */
+public class PlanEnumerationIT {
+
+    @Test
+    public void testParallelEnumerationOfMultiSourceHoleMultiSink() {
+        final List<String> inputs1 = IntStream.range(0, 10000).mapToObj(String::valueOf).collect(Collectors.toList());
+        final List<String> inputs2 = Arrays.asList("a", "b", "c");
+        this.checkDeterministicParallelEnumeration(() -> RheemPlans.multiSourceHoleMultiSink(
+                inputs1, inputs2, new ArrayList<>(), new ArrayList<>()
+        ));
+    }
+
+    @Test
+    public void testParallelEnumerationOfDiverseScenario2() {
+        this.checkDeterministicParallelEnumeration(() -> {
+            try {
+                return RheemPlans.diverseScenario2(RheemPlans.FILE_SOME_LINES_TXT, RheemPlans.FILE_OTHER_LINES_TXT);
+            } catch (URISyntaxException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    @Test
+    public void testParallelEnumerationOfPageRank() {
+        this.checkDeterministicParallelEnumeration(() -> RheemPlans.pageRankWithDictionaryCompression(new ArrayList<>()));
+    }
+
+    @Test
+    public void testBeamEnumerationOfMultiSourceHoleMultiSink() {
+        final List<String> inputs1 = IntStream.range(0, 10000).mapToObj(String::valueOf).collect(Collectors.toList());
+        final List<String> inputs2 = Arrays.asList("a", "b", "c");
+        this.checkBeamEnumeration(() -> RheemPlans.multiSourceHoleMultiSink(
+                inputs1, inputs2, new ArrayList<>(), new ArrayList<>()
+        ));
+    }
+
+    @Test
+    public void testBeamEnumerationOfDiverseScenario2() {
+        this.checkBeamEnumeration(() -> {
+            try {
+                return RheemPlans.diverseScenario2(RheemPlans.FILE_SOME_LINES_TXT, RheemPlans.FILE_OTHER_LINES_TXT);
+            } catch (URISyntaxException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    @Test
+    public void testBeamEnumerationOfPageRank() {
+        this.checkBeamEnumeration(() -> RheemPlans.pageRankWithDictionaryCompression(new ArrayList<>()));
+    }
+
+    /**
+     * Enumerates the {@link RheemPlan}s provided by the {@code planSupplier} with several beam widths and asserts that
+     * <ol>
+     * <li>a beam width of {@code 0} yields the same {@link PlanImplementation}s as a beam that is too wide to prune
+     * anything and</li>
+     * <li>a beam width of {@code 1} still yields the cheapest {@link PlanImplementation}.</li>
+     * </ol>
+     */
+    private void checkBeamEnumeration(Supplier<RheemPlan> planSupplier) {
+        final PlanEnumeration exhaustiveEnumeration = this.enumerate(planSupplier.get(), 1, 0);
+        final PlanEnumeration wideBeamEnumeration = this.enumerate(planSupplier.get(), 1, 100000);
+        Assert.assertEquals(
+                this.describeAll(exhaustiveEnumeration.getPlanImplementations()),
+                this.describeAll(wideBeamEnumeration.getPlanImplementations())
+        );
+
+        final CheapestPlans exhaustivePlans = this.collectCheapestPlans(exhaustiveEnumeration);
+        final PlanEnumeration narrowBeamEnumeration = this.enumerate(planSupplier.get(), 1, 1);
+        Assert.assertTrue(
+                narrowBeamEnumeration.getPlanImplementations().size()
+                        <= exhaustiveEnumeration.getPlanImplementations().size()
+        );
+        final CheapestPlans narrowBeamPlans = this.collectCheapestPlans(narrowBeamEnumeration);
+        Assert.assertFalse(exhaustivePlans.operators.isEmpty());
+        Assert.assertTrue(exhaustivePlans.operators.containsAll(narrowBeamPlans.operators));
+        Assert.assertEquals(exhaustivePlans.squashedCosts, narrowBeamPlans.squashedCosts, 0d);
+    }
+
+    /**
+     * Describes each of the given {@link PlanImplementation}s by its sorted {@link org.qcri.rheem.core.plan.rheemplan.Operator}s
+     * and its cost.
+     */
+    private List<String> describeAll(Collection<PlanImplementation> planImplementations) {
+        return planImplementations.stream()
+                .map(planImplementation -> String.format("%s:%s",
+                        this.describe(planImplementation), planImplementation.getCostEstimate()))
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private List<String> describe(PlanImplementation planImplementation) {
+        return planImplementation.getOperators().stream()
+                .map(operator -> String.format("%s[%s]", operator.getClass().getSimpleName(), operator.getName()))
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Enumerates the {@link RheemPlan}s provided by the {@code planSupplier} sequentially and in parallel and
+     * asserts that both enumerations yield the same cheapest {@link PlanImplementation}s and costs.
+     */
+    private void checkDeterministicParallelEnumeration(Supplier<RheemPlan> planSupplier) {
+        final CheapestPlans sequentialPlans = this.enumerateCheapestPlans(planSupplier.get(), 1);
+        final CheapestPlans parallelPlans = this.enumerateCheapestPlans(planSupplier.get(), 4);
+
+        Assert.assertFalse(sequentialPlans.operators.isEmpty());
+        Assert.assertEquals(sequentialPlans.operators, parallelPlans.operators);
+        Assert.assertEquals(sequentialPlans.squashedCosts, parallelPlans.squashedCosts, 0d);
+        Assert.assertEquals(sequentialPlans.costs, parallelPlans.costs);
+    }
+
+    /**
+     * Enumerates the given {@link RheemPlan} with the given parallelism.
+     *
+     * @return the cheapest {@link PlanImplementation}s in the enumeration
+     */
+    private CheapestPlans enumerateCheapestPlans(RheemPlan rheemPlan, int parallelism) {
+        return this.collectCheapestPlans(this.enumerate(rheemPlan, parallelism, 0));
+    }
+
+    /**
+     * Enumerates the given {@link RheemPlan} with the given parallelism and beam width.
+     *
+     * @return the {@link PlanEnumeration} with all {@link PlanImplementation}s
+     */
+    private PlanEnumeration enumerate(RheemPlan rheemPlan, int parallelism, int beamWidth) {
+        Configuration configuration = new Configuration();
+        configuration.setProperty("rheem.core.optimizer.enumeration.parallelism", String.valueOf(parallelism));
+        configuration.setProperty("rheem.core.optimizer.enumeration.beamwidth", String.valueOf(beamWidth));
+        configuration.setProperty("rheem.core.optimizer.plancache.enabled", "false");
+        RheemContext rheemContext = new RheemContext(configuration)
+                .with(Java.basicPlugin())
+                .with(Java.graphPlugin())
+                .with(Spark.basicPlugin())
+                .with(Spark.graphPlugin());
+
+        // Prepare the RheemPlan and its OptimizationContext.
+        final Job job = rheemContext.createJob("enumerate", rheemPlan);
+        job.buildInitialExecutionPlan();
+
+        // Enumerate again to obtain all PlanImplementations.
+        return new PlanEnumerator(rheemPlan, job.getOptimizationContext()).enumerate(true);
+    }
+
+    /**
+     * Collects the cheapest {@link PlanImplementation}s (there might be ties) in the given {@link PlanEnumeration}.
+     */
+    private CheapestPlans collectCheapestPlans(PlanEnumeration enumeration) {
+        final Collection<PlanImplementation> planImplementations = enumeration.getPlanImplementations();
+        final double minSquashedCosts = planImplementations.stream()
+                .mapToDouble(PlanImplementation::getSquashedCostEstimate)
+                .min()
+                .orElse(Double.NaN);
+
+        final CheapestPlans cheapestPlans = new CheapestPlans(minSquashedCosts);
+        for (PlanImplementation planImplementation : planImplementations) {
+            if (planImplementation.getSquashedCostEstimate() != minSquashedCosts) continue;
+            cheapestPlans.operators.add(this.describe(planImplementation));
+            cheapestPlans.costs.add(planImplementation.getCostEstimate());
+        }
+        return cheapestPlans;
+    }
+
+    /**
+     * Describes the cheapest {@link PlanImplementation}s of a {@link PlanEnumeration}.
+     */
+    private static class CheapestPlans {
+
+        private final double squashedCosts;
+
+        private final Set<List<String>> operators = new HashSet<>();
+
+        private final Set<ProbabilisticDoubleInterval> costs = new HashSet<>();
+
+        private CheapestPlans(double squashedCosts) {
+            this.squashedCosts = squashedCosts;
+        }
+    }
+
+}